@@ -40,4 +40,18 @@ public class GiraphGraph implements Graph {
 
     }
 
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public GraphFeatures graph() {
+                return new GraphFeatures() {
+                    @Override
+                    public boolean supportsConcurrentAccess() {
+                        return false;
+                    }
+                };
+            }
+        };
+    }
+
 }
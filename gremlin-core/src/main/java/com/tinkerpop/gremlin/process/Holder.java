@@ -29,6 +29,14 @@ public interface Holder<T> extends Serializable {
 
     public void resetLoops();
 
+    /**
+     * Gets the number of traversers this holder stands for, all of them at the same object with the same future and
+     * loops.  Children and siblings of the holder stand for as many traversers.
+     */
+    public long getBulk();
+
+    public void setBulk(final long bulk);
+
     public String getFuture();
 
     public void setFuture(final String as);
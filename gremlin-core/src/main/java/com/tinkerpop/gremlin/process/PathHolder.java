@@ -30,6 +30,7 @@ public class PathHolder<T> extends SimpleHolder<T> {
         holder.path.add(this.path);
         holder.path.add(as, r);
         holder.future = this.future;
+        holder.bulk = this.bulk;
         return holder;
     }
 
@@ -38,6 +39,7 @@ public class PathHolder<T> extends SimpleHolder<T> {
         holder.loops = this.loops;
         holder.path.add(this.path);
         holder.future = this.future;
+        holder.bulk = this.bulk;
         return holder;
     }
 
@@ -18,6 +18,7 @@ public class SimpleHolder<T> implements Holder<T> {
     protected T t;
     protected String future = NO_FUTURE;
     protected int loops = 0;
+    protected long bulk = 1l;
 
     private SimpleHolder() {
 
@@ -35,6 +36,14 @@ public class SimpleHolder<T> implements Holder<T> {
         this.t = t;
     }
 
+    public long getBulk() {
+        return this.bulk;
+    }
+
+    public void setBulk(final long bulk) {
+        this.bulk = bulk;
+    }
+
     public String getFuture() {
         return this.future;
     }
@@ -67,13 +76,27 @@ public class SimpleHolder<T> implements Holder<T> {
         final SimpleHolder<R> holder = new SimpleHolder<>(r);
         holder.future = this.future;
         holder.loops = this.loops;
+        holder.bulk = this.bulk;
         return holder;
     }
 
+    /**
+     * Turns this holder into what {@link #makeChild} would return for the parent and the object, so that a step which
+     * emits one end at a time can reuse its holder rather than allocate a child per end.
+     */
+    public <R> SimpleHolder<R> recycle(final Holder<?> parent, final R r) {
+        this.t = (T) r;
+        this.future = parent.getFuture();
+        this.loops = parent.getLoops();
+        this.bulk = parent.getBulk();
+        return (SimpleHolder<R>) this;
+    }
+
     public SimpleHolder<T> makeSibling() {
         final SimpleHolder<T> holder = new SimpleHolder<>(this.t);
         holder.future = this.future;
         holder.loops = this.loops;
+        holder.bulk = this.bulk;
         return holder;
     }
 
@@ -79,33 +79,24 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable {
     }
 
     public default Collection<E> fill(final Collection<E> collection) {
-        try {
-            while (true) {
-                collection.add(this.next());
-            }
-        } catch (final NoSuchElementException e) {
+        while (this.hasNext()) {
+            collection.add(this.next());
         }
         return collection;
     }
 
     public default Traversal iterate() {
-        try {
-            while (true) {
-                this.next();
-            }
-        } catch (final NoSuchElementException e) {
+        while (this.hasNext()) {
+            this.next();
         }
         return this;
     }
 
     public default long count() {
         long counter = 0;
-        try {
-            while (true) {
-                this.next();
-                counter++;
-            }
-        } catch (final NoSuchElementException e) {
+        while (this.hasNext()) {
+            this.next();
+            counter++;
         }
         return counter;
     }
@@ -115,8 +106,9 @@ public interface Traversal<S, E> extends Iterator<E>, Serializable {
     }
 
     public default void forEach(final Consumer<E> consumer) {
+        // an element the consumer does not find ends the iteration as it always has
         try {
-            while (true) {
+            while (this.hasNext()) {
                 consumer.accept(this.next());
             }
         } catch (final NoSuchElementException e) {
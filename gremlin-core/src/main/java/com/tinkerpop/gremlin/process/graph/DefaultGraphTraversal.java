@@ -2,6 +2,7 @@ package com.tinkerpop.gremlin.process.graph;
 
 import com.tinkerpop.gremlin.process.TraversalEngine;
 import com.tinkerpop.gremlin.process.graph.map.StartStep;
+import com.tinkerpop.gremlin.process.graph.util.optimizers.BulkOptimizer;
 import com.tinkerpop.gremlin.process.graph.util.optimizers.DedupOptimizer;
 import com.tinkerpop.gremlin.process.graph.util.optimizers.IdentityOptimizer;
 import com.tinkerpop.gremlin.process.graph.util.optimizers.SideEffectCapOptimizer;
@@ -16,9 +17,18 @@ public class DefaultGraphTraversal<S, E> extends DefaultTraversal<S, E> implemen
         super();
         this.optimizers.register(new DedupOptimizer());
         this.optimizers.register(new IdentityOptimizer());
+        this.optimizers.register(new BulkOptimizer());
         this.optimizers.register(new SideEffectCapOptimizer());
     }
 
+    public long count() {
+        if (this.firstNext) {
+            this.doFinalOptimization();
+            BulkOptimizer.doBulking(this);
+        }
+        return super.count();
+    }
+
     public GraphTraversal<S, E> submit(final TraversalEngine engine) {
         final GraphTraversal<S, E> traversal = new DefaultGraphTraversal<>();
         traversal.addStep(new StartStep<>(traversal, engine.execute(this)));
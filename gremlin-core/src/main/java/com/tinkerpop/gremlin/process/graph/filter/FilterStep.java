@@ -29,7 +29,9 @@ public class FilterStep<S> extends AbstractStep<S, S> {
 
     public Holder<S> processNextStart() {
         while (true) {
-            final Holder<S> holder = this.starts.next();
+            final Holder<S> holder = this.starts.nextOrEnd();
+            if (END == holder)
+                return END;
             if (this.predicate.test(holder)) {
                 if (holder instanceof PathHolder && TraversalHelper.isLabeled(this.getAs())) // TODO
                     holder.getPath().renameLastStep(this.getAs());
@@ -37,4 +39,23 @@ public class FilterStep<S> extends AbstractStep<S, S> {
             }
         }
     }
+
+    protected int processNextBatch(final Holder<S>[] batch, final int offset) {
+        while (true) {
+            final int size = offset + this.starts.nextBatch(batch, offset);
+            if (size == offset)
+                return 0;
+            int kept = offset;
+            for (int i = offset; i < size; i++) {
+                final Holder<S> holder = batch[i];
+                if (this.predicate.test(holder)) {
+                    if (holder instanceof PathHolder && TraversalHelper.isLabeled(this.getAs()))
+                        holder.getPath().renameLastStep(this.getAs());
+                    batch[kept++] = holder;
+                }
+            }
+            if (kept > offset)
+                return kept - offset;
+        }
+    }
 }
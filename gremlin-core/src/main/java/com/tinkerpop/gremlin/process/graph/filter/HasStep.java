@@ -1,15 +1,18 @@
 package com.tinkerpop.gremlin.process.graph.filter;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.structure.AnnotatedValue;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.util.HasContainer;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class HasStep<S> extends FilterStep<S> {
+public class HasStep<S> extends FilterStep<S> implements Partitionable {
 
     public HasContainer hasContainer;
 
@@ -28,6 +31,12 @@ public class HasStep<S> extends FilterStep<S> {
         });
     }
 
+    public HasStep<S> copy(final Traversal traversal) {
+        return this.hasContainer.predicate instanceof Compare || this.hasContainer.predicate instanceof Contains ?
+                new HasStep<>(traversal, this.hasContainer) :
+                null;
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this, this.hasContainer);
     }
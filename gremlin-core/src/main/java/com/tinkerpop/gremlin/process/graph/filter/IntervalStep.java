@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.process.graph.filter;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.structure.AnnotatedValue;
 import com.tinkerpop.gremlin.structure.Element;
@@ -9,7 +10,7 @@ import com.tinkerpop.gremlin.structure.util.HasContainer;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class IntervalStep<S> extends FilterStep<S> {
+public class IntervalStep<S> extends FilterStep<S> implements Partitionable {
 
     public HasContainer startContainer;
     public HasContainer endContainer;
@@ -29,6 +30,10 @@ public class IntervalStep<S> extends FilterStep<S> {
         });
     }
 
+    public IntervalStep<S> copy(final Traversal traversal) {
+        return new IntervalStep<>(traversal, this.startContainer, this.endContainer);
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this, this.startContainer, this.endContainer);
     }
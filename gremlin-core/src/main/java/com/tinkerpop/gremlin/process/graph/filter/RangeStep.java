@@ -1,7 +1,7 @@
 package com.tinkerpop.gremlin.process.graph.filter;
 
+import com.tinkerpop.gremlin.process.Holder;
 import com.tinkerpop.gremlin.process.Traversal;
-import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 
 import java.util.concurrent.atomic.AtomicInteger;
@@ -14,6 +14,7 @@ public class RangeStep<S> extends FilterStep<S> {
     // TODO: May need to make AtomicInteger for the sake of adjustments in setPredicate
     public int low;
     public int high;
+    private final AtomicInteger counter = new AtomicInteger(-1);
 
     public RangeStep(final Traversal traversal, final int low, final int high) {
         super(traversal);
@@ -23,18 +24,23 @@ public class RangeStep<S> extends FilterStep<S> {
         this.low = low;
         this.high = high;
 
-        final AtomicInteger counter = new AtomicInteger(-1);
         this.setPredicate(holder -> {
-            counter.incrementAndGet();
-            if ((this.low == -1 || counter.get() >= this.low) && (this.high == -1 || counter.get() <= this.high))
-                return true;
-            else if (this.high != -1 && counter.get() > this.high)
-                throw FastNoSuchElementException.instance();
-            else
-                return false;
+            final int count = this.counter.incrementAndGet();
+            return (this.low == -1 || count >= this.low) && (this.high == -1 || count <= this.high);
         });
     }
 
+    /**
+     * Ends the step once the last holder of the range was emitted rather than pulling one more start to find out.
+     */
+    public Holder<S> processNextStart() {
+        return this.high != -1 && this.counter.get() >= this.high ? END : super.processNextStart();
+    }
+
+    protected int processNextBatch(final Holder<S>[] batch, final int offset) {
+        return this.processEachStart(batch, offset);
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this, this.low, this.high);
     }
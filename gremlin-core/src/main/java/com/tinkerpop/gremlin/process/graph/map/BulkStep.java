@@ -0,0 +1,46 @@
+package com.tinkerpop.gremlin.process.graph.map;
+
+import com.tinkerpop.gremlin.process.Holder;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.Partitionable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Drains its starts and emits one holder per distinct object, its bulk being the sum of the bulks of the holders at
+ * that object.  Only holders that do not track paths are to be bulked as two paths to the same object are not equal.
+ */
+public class BulkStep<S> extends AbstractStep<S, S> implements Partitionable {
+
+    private Iterator<Holder<S>> bulked = null;
+
+    public BulkStep(final Traversal traversal) {
+        super(traversal);
+    }
+
+    public BulkStep<S> copy(final Traversal traversal) {
+        return new BulkStep<>(traversal);
+    }
+
+    protected Holder<S> processNextStart() {
+        if (null == this.bulked) {
+            final Map<Holder<S>, Holder<S>> holders = new LinkedHashMap<>();
+            Holder<S> holder;
+            while (END != (holder = this.starts.nextOrEnd())) {
+                final Holder<S> bulk = holders.putIfAbsent(holder, holder);
+                if (null != bulk)
+                    bulk.setBulk(bulk.getBulk() + holder.getBulk());
+            }
+            this.bulked = holders.values().iterator();
+        }
+        if (this.bulked.hasNext())
+            return this.bulked.next();
+        else {
+            this.bulked = null;
+            return END;
+        }
+    }
+}
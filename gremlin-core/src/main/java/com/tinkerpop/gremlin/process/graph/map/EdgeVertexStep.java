@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
@@ -12,7 +13,7 @@ import java.util.List;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class EdgeVertexStep extends FlatMapStep<Edge, Vertex> {
+public class EdgeVertexStep extends FlatMapStep<Edge, Vertex> implements Partitionable {
 
     public Direction direction;
 
@@ -32,6 +33,10 @@ public class EdgeVertexStep extends FlatMapStep<Edge, Vertex> {
         });
     }
 
+    public EdgeVertexStep copy(final Traversal traversal) {
+        return new EdgeVertexStep(traversal, this.direction);
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this, this.direction);
     }
@@ -1,9 +1,11 @@
 package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Holder;
+import com.tinkerpop.gremlin.process.SimpleHolder;
 import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.HolderRecycler;
 import com.tinkerpop.gremlin.util.function.SFunction;
 
 import java.util.Iterator;
@@ -14,10 +16,12 @@ import java.util.function.Function;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class FlatMapStep<S, E> extends AbstractStep<S, E> {
+public class FlatMapStep<S, E> extends AbstractStep<S, E> implements HolderRecycler {
 
     public SFunction<Holder<S>, Iterator<E>> function;
     protected final Queue<Iterator<Holder<E>>> queue = new LinkedList<>();
+    private Holder<S>[] startBatch = null;
+    private FlatMapHolderIterator<S, E> recycled = null;
 
     public FlatMapStep(final Traversal traversal, SFunction<Holder<S>, Iterator<E>> function) {
         super(traversal);
@@ -32,6 +36,16 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
         this.function = function;
     }
 
+    public void setRecycling(final boolean recycling) {
+        if (recycling && null == this.recycled)
+            this.recycled = new FlatMapHolderIterator<>(this);
+        else if (!recycling && null != this.recycled) {
+            if (this.recycled.hasNext())
+                this.queue.add(this.recycled.detach());
+            this.recycled = null;
+        }
+    }
+
     protected Holder<E> processNextStart() {
         while (true) {
             final Holder<E> holder = this.getNext();
@@ -40,8 +54,12 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
     }
 
     protected Holder<E> getNext() {
+        if (null != this.recycled && this.queue.isEmpty())
+            return this.getNextRecycled();
         if (this.queue.isEmpty()) {
-            final Holder<S> holder = this.starts.next();
+            final Holder<S> holder = this.starts.nextOrEnd();
+            if (END == holder)
+                return END;
             this.queue.add(new FlatMapHolderIterator<>(holder, this, this.function.apply(holder)));
             return null;
         } else {
@@ -55,11 +73,52 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    /**
+     * Emits the ends of one start after the other through the same iterator and the same child holder, a start being
+     * pulled only once the ends of the previous start were all emitted.
+     */
+    private Holder<E> getNextRecycled() {
+        while (true) {
+            if (this.recycled.hasNext())
+                return this.recycled.next();
+            final Holder<S> holder = this.starts.nextOrEnd();
+            if (END == holder)
+                return END;
+            this.recycled.reset(holder, this.function.apply(holder));
+        }
+    }
+
+    protected int processNextBatch(final Holder<E>[] batch, final int offset) {
+        if (null != this.recycled && this.recycled.hasNext())
+            this.queue.add(this.recycled.detach());
+        int size = offset;
+        while (size < batch.length) {
+            final Iterator<Holder<E>> iterator = this.queue.peek();
+            if (null == iterator) {
+                if (null == this.startBatch || this.startBatch.length != batch.length)
+                    this.startBatch = new Holder[batch.length];
+                final int starts = this.starts.nextBatch(this.startBatch, 0);
+                if (0 == starts)
+                    break;
+                for (int i = 0; i < starts; i++) {
+                    this.queue.add(new FlatMapHolderIterator<>(this.startBatch[i], this, this.function.apply(this.startBatch[i])));
+                    this.startBatch[i] = null;
+                }
+            } else if (iterator.hasNext())
+                batch[size++] = iterator.next();
+            else
+                this.queue.remove();
+        }
+        return size - offset;
+    }
+
     private class FlatMapHolderIterator<A, B> implements Iterator<Holder<B>> {
 
-        private final Holder<A> head;
-        private final Iterator<B> iterator;
+        private Holder<A> head;
+        private Iterator<B> iterator;
         private final Step step;
+        private SimpleHolder<B> child = null;
+        private boolean recycling = false;
 
         protected FlatMapHolderIterator(final Holder<A> head, final Step step, final Iterator<B> iterator) {
             this.iterator = iterator;
@@ -67,12 +126,38 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
             this.step = step;
         }
 
+        protected FlatMapHolderIterator(final Step step) {
+            this.step = step;
+        }
+
+        protected void reset(final Holder<A> head, final Iterator<B> iterator) {
+            this.head = head;
+            this.iterator = iterator;
+            this.recycling = SimpleHolder.class == head.getClass();
+        }
+
+        /**
+         * Hands the remaining ends over to a new iterator that makes a child per end, as is needed when the ends are
+         * batched.
+         */
+        protected FlatMapHolderIterator<A, B> detach() {
+            final FlatMapHolderIterator<A, B> iterator = new FlatMapHolderIterator<>(this.head, this.step, this.iterator);
+            this.iterator = null;
+            return iterator;
+        }
+
         public boolean hasNext() {
-            return this.iterator.hasNext();
+            return null != this.iterator && this.iterator.hasNext();
         }
 
         public Holder<B> next() {
-            return this.head.makeChild(this.step.getAs(), this.iterator.next());
+            if (!this.recycling)
+                return this.head.makeChild(this.step.getAs(), this.iterator.next());
+            else if (null == this.child)
+                this.child = (SimpleHolder<B>) this.head.makeChild(this.step.getAs(), this.iterator.next());
+            else
+                this.child.recycle(this.head, this.iterator.next());
+            return this.child;
         }
     }
 
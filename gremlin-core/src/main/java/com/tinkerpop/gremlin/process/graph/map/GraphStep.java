@@ -20,8 +20,14 @@ public abstract class GraphStep<E extends Element> extends FlatMapStep<E, E> imp
     public abstract void generateHolderIterator(final boolean trackPaths);
 
     protected Holder<E> processNextStart() {
-        final Holder<E> holder = this.starts.next();
+        final Holder<E> holder = this.starts.nextOrEnd();
+        if (END == holder)
+            return END;
         holder.setFuture(this.getNextStep().getAs());
         return holder;
     }
+
+    protected int processNextBatch(final Holder<E>[] batch, final int offset) {
+        return this.starts.nextBatch(batch, offset);
+    }
 }
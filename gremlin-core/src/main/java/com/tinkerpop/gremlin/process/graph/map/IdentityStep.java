@@ -2,13 +2,18 @@ package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Holder;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class IdentityStep<S> extends MapStep<S, S> {
+public class IdentityStep<S> extends MapStep<S, S> implements Partitionable {
 
     public IdentityStep(final Traversal traversal) {
         super(traversal, Holder::get);
     }
+
+    public IdentityStep<S> copy(final Traversal traversal) {
+        return new IdentityStep<>(traversal);
+    }
 }
@@ -2,17 +2,20 @@ package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Holder;
 import com.tinkerpop.gremlin.process.PathHolder;
+import com.tinkerpop.gremlin.process.SimpleHolder;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.HolderRecycler;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.util.function.SFunction;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class MapStep<S, E> extends AbstractStep<S, E> {
+public class MapStep<S, E> extends AbstractStep<S, E> implements HolderRecycler {
 
     public SFunction<Holder<S>, E> function;
+    private boolean recycling = false;
 
     public MapStep(final Traversal traversal) {
         super(traversal);
@@ -25,23 +28,56 @@ public class MapStep<S, E> extends AbstractStep<S, E> {
 
     protected Holder<E> processNextStart() {
         while (true) {
-            final Holder<S> holder = this.starts.next();
-            final E temp = this.function.apply(holder);
-            if (NO_OBJECT != temp)
-                if (holder.get().equals(temp)) {// no path extension (i.e. a filter, identity, side-effect)
-                    if (holder instanceof PathHolder && TraversalHelper.isLabeled(this)) {
-                        final Holder<E> sibling = (Holder<E>) holder.makeSibling();
-                        sibling.getPath().renameLastStep(this.getAs());
-                        return sibling;
-                    } else
-                        return (Holder<E>) holder.makeSibling();
-                } else
-                    return holder.makeChild(this.getAs(), temp);
+            final Holder<S> start = this.starts.nextOrEnd();
+            if (END == start)
+                return END;
+            final Holder<E> end = this.map(start);
+            if (null != end)
+                return end;
         }
     }
 
+    protected int processNextBatch(final Holder<E>[] batch, final int offset) {
+        final Holder<S>[] starts = (Holder[]) batch;
+        while (true) {
+            final int size = offset + this.starts.nextBatch(starts, offset);
+            if (size == offset)
+                return 0;
+            int mapped = offset;
+            for (int i = offset; i < size; i++) {
+                final Holder<E> end = this.map(starts[i]);
+                if (null != end)
+                    batch[mapped++] = end;
+            }
+            if (mapped > offset)
+                return mapped - offset;
+        }
+    }
+
+    private Holder<E> map(final Holder<S> holder) {
+        final E temp = this.function.apply(holder);
+        if (NO_OBJECT == temp)
+            return null;
+        else if (this.recycling && SimpleHolder.class == holder.getClass()) {// the start is not referenced past this step
+            ((Holder) holder).set(temp);
+            return (Holder<E>) holder;
+        } else if (holder.get().equals(temp)) {// no path extension (i.e. a filter, identity, side-effect)
+            if (holder instanceof PathHolder && TraversalHelper.isLabeled(this)) {
+                final Holder<E> sibling = (Holder<E>) holder.makeSibling();
+                sibling.getPath().renameLastStep(this.getAs());
+                return sibling;
+            } else
+                return (Holder<E>) holder.makeSibling();
+        } else
+            return holder.makeChild(this.getAs(), temp);
+    }
+
     public void setFunction(final SFunction<Holder<S>, E> function) {
         this.function = function;
     }
+
+    public void setRecycling(final boolean recycling) {
+        this.recycling = recycling;
+    }
 }
 
@@ -29,4 +29,8 @@ public class OrderStep<S> extends FlatMapStep<S, S> {
             return new UnHolderIterator<>(list.iterator());
         });
     }
+
+    protected int processNextBatch(final Holder<S>[] batch, final int offset) {
+        return this.processEachStart(batch, offset);
+    }
 }
@@ -1,15 +1,23 @@
 package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Property;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class PropertyStep<E> extends MapStep<Element, Property<E>> {
+public class PropertyStep<E> extends MapStep<Element, Property<E>> implements Partitionable {
+
+    public String key;
 
     public PropertyStep(final Traversal traversal, final String key) {
         super(traversal, holder -> holder.get().getProperty(key));
+        this.key = key;
+    }
+
+    public PropertyStep<E> copy(final Traversal traversal) {
+        return new PropertyStep<>(traversal, this.key);
     }
 }
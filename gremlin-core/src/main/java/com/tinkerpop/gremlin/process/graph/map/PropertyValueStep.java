@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.util.SOptional;
 
@@ -9,7 +10,7 @@ import java.util.function.Supplier;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class PropertyValueStep<E> extends MapStep<Element, E> {
+public class PropertyValueStep<E> extends MapStep<Element, E> implements Partitionable {
 
     public String key;
     public SOptional<E> defaultValue;
@@ -38,4 +39,12 @@ public class PropertyValueStep<E> extends MapStep<Element, E> {
         this.defaultSupplier = SOptional.of(defaultSupplier);
         this.setFunction(holder -> holder.get().<E>getProperty(key).orElse(this.defaultSupplier.get().get()));
     }
+
+    public PropertyValueStep<E> copy(final Traversal traversal) {
+        if (this.defaultSupplier.isPresent())
+            return null;
+        return this.defaultValue.isPresent() ?
+                new PropertyValueStep<>(traversal, this.key, this.defaultValue.get()) :
+                new PropertyValueStep<>(traversal, this.key);
+    }
 }
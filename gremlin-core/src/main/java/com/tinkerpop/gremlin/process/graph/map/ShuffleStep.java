@@ -25,4 +25,8 @@ public class ShuffleStep<S> extends FlatMapStep<S, S> {
             return new UnHolderIterator<>(list.iterator());
         });
     }
+
+    protected int processNextBatch(final Holder<S>[] batch, final int offset) {
+        return this.processEachStart(batch, offset);
+    }
 }
@@ -1,13 +1,14 @@
 package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.structure.AnnotatedValue;
 import com.tinkerpop.gremlin.structure.Property;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class ValueStep<S, E> extends MapStep<S, E> {
+public class ValueStep<S, E> extends MapStep<S, E> implements Partitionable {
 
     public ValueStep(final Traversal traversal) {
         super(traversal, holder -> {
@@ -19,4 +20,8 @@ public class ValueStep<S, E> extends MapStep<S, E> {
             else throw new IllegalStateException("A value can only be retrieved from a property or annotated value");
         });
     }
+
+    public ValueStep<S, E> copy(final Traversal traversal) {
+        return new ValueStep<>(traversal);
+    }
 }
@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Vertex;
@@ -10,19 +11,19 @@ import java.util.Iterator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> {
+public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implements Partitionable {
 
     public String[] labels;
     public Direction direction;
     public int branchFactor;
-    //public Class<E> returnClass;
+    public Class<E> returnClass;
 
     public VertexStep(final Traversal traversal, final Class<E> returnClass, final Direction direction, final int branchFactor, final String... labels) {
         super(traversal);
         this.direction = direction;
         this.labels = labels;
         this.branchFactor = branchFactor;
-        //this.returnClass = returnClass;
+        this.returnClass = returnClass;
         if (Vertex.class.isAssignableFrom(returnClass)) {
             this.setFunction(holder -> {
                 if (this.direction.equals(Direction.OUT)) {
@@ -45,4 +46,8 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> {
             });
         }
     }
+
+    public VertexStep<E> copy(final Traversal traversal) {
+        return new VertexStep<>(traversal, this.returnClass, this.direction, this.branchFactor, this.labels);
+    }
 }
@@ -1,8 +1,10 @@
 package com.tinkerpop.gremlin.process.graph.sideEffect;
 
+import com.tinkerpop.gremlin.process.Holder;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.map.FlatMapStep;
 import com.tinkerpop.gremlin.process.util.FunctionRing;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.util.StreamFactory;
 import com.tinkerpop.gremlin.util.function.SFunction;
 
@@ -14,13 +16,15 @@ import java.util.function.Function;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class AggregateStep<S> extends FlatMapStep<S, S> {
+public class AggregateStep<S> extends FlatMapStep<S, S> implements Mergeable<Collection>, Partitionable {
 
     public final FunctionRing<S, ?> functionRing;
     final Collection aggregate;
+    private final String variable;
 
     public AggregateStep(final Traversal traversal, final String variable, final SFunction<S, ?>... preAggregateFunctions) {
         super(traversal);
+        this.variable = variable;
         this.functionRing = new FunctionRing<>(preAggregateFunctions);
         this.aggregate = this.traversal.memory().getOrCreate(variable, ArrayList::new);
         this.setFunction(holder -> {
@@ -34,4 +38,20 @@ public class AggregateStep<S> extends FlatMapStep<S, S> {
             return list.iterator();
         });
     }
+
+    public AggregateStep<S> copy(final Traversal traversal) {
+        return this.functionRing.hasFunctions() ? null : new AggregateStep<>(traversal, this.variable);
+    }
+
+    public Collection getSideEffect() {
+        return this.aggregate;
+    }
+
+    public void mergeSideEffect(final Collection sideEffect) {
+        this.aggregate.addAll(sideEffect);
+    }
+
+    protected int processNextBatch(final Holder<S>[] batch, final int offset) {
+        return this.processEachStart(batch, offset);
+    }
 }
@@ -2,11 +2,12 @@ package com.tinkerpop.gremlin.process.graph.sideEffect;
 
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.filter.FilterStep;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class CountStep<S> extends FilterStep<S> implements SideEffectCapable {
+public class CountStep<S> extends FilterStep<S> implements SideEffectCapable, Mergeable<Long>, Partitionable {
 
     private Long counter = 0l;
 
@@ -14,8 +15,21 @@ public class CountStep<S> extends FilterStep<S> implements SideEffectCapable {
         super(traversal);
         this.traversal.memory().set(CAP_VARIABLE, this.counter);
         this.setPredicate(holder -> {
-            this.counter++;
+            this.counter = this.counter + holder.getBulk();
             return true;
         });
     }
+
+    public CountStep<S> copy(final Traversal traversal) {
+        return new CountStep<>(traversal);
+    }
+
+    public Long getSideEffect() {
+        return this.counter;
+    }
+
+    public void mergeSideEffect(final Long sideEffect) {
+        this.counter = this.counter + sideEffect;
+        this.traversal.memory().set(CAP_VARIABLE, this.counter);
+    }
 }
@@ -1,5 +1,6 @@
 package com.tinkerpop.gremlin.process.graph.sideEffect;
 
+import com.tinkerpop.gremlin.process.Holder;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.filter.FilterStep;
 import com.tinkerpop.gremlin.util.function.SFunction;
@@ -43,6 +44,10 @@ public class GroupByStep<S, K, V, R> extends FilterStep<S> implements SideEffect
         this(traversal, traversal.memory().getOrCreate(variable, HashMap<K, Collection<V>>::new), keyFunction, valueFunction, reduceFunction);
     }
 
+    protected int processNextBatch(final Holder<S>[] batch, final int offset) {
+        return this.processEachStart(batch, offset);
+    }
+
     private static <S, K, V> void doGroup(final S s, final Map<K, Collection<V>> groupMap, final SFunction<S, K> keyFunction, final SFunction<S, V> valueFunction) {
         final K key = keyFunction.apply(s);
         final V value = valueFunction.apply(s);
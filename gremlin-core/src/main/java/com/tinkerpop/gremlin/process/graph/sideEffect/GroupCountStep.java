@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.filter.FilterStep;
 import com.tinkerpop.gremlin.process.util.FunctionRing;
 import com.tinkerpop.gremlin.process.util.MapHelper;
+import com.tinkerpop.gremlin.process.util.Partitionable;
 import com.tinkerpop.gremlin.util.function.SFunction;
 
 import java.util.HashMap;
@@ -13,10 +14,11 @@ import java.util.function.Function;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class GroupCountStep<S> extends FilterStep<S> implements SideEffectCapable {
+public class GroupCountStep<S> extends FilterStep<S> implements SideEffectCapable, Mergeable<Map<Object, Long>>, Partitionable {
 
     public final Map<Object, Long> groupCountMap;
     public FunctionRing<S, ?> functionRing;
+    private String variable = null;
 
     public GroupCountStep(final Traversal traversal, final Map<Object, Long> groupCountMap, final SFunction<S, ?>... preGroupFunctions) {
         super(traversal);
@@ -24,12 +26,33 @@ public class GroupCountStep<S> extends FilterStep<S> implements SideEffectCapabl
         this.groupCountMap = groupCountMap;
         this.traversal.memory().set(CAP_VARIABLE, this.groupCountMap);
         this.setPredicate(holder -> {
-            MapHelper.incr(this.groupCountMap, this.functionRing.next().apply(holder.get()), 1l);
+            MapHelper.incr(this.groupCountMap, this.functionRing.next().apply(holder.get()), holder.getBulk());
             return true;
         });
     }
 
     public GroupCountStep(final Traversal traversal, final String variable, final SFunction<S, ?>... preGroupFunctions) {
         this(traversal, traversal.memory().getOrCreate(variable, HashMap<Object, Long>::new), preGroupFunctions);
+        this.variable = variable;
+    }
+
+    /**
+     * The copy keeps its counts in a map of its own, which is shared with the copies of the other steps of the same
+     * memory variable as the map of this step is.
+     */
+    public GroupCountStep<S> copy(final Traversal traversal) {
+        if (this.functionRing.hasFunctions())
+            return null;
+        return null == this.variable ?
+                new GroupCountStep<>(traversal, new HashMap<Object, Long>()) :
+                new GroupCountStep<>(traversal, this.variable);
+    }
+
+    public Map<Object, Long> getSideEffect() {
+        return this.groupCountMap;
+    }
+
+    public void mergeSideEffect(final Map<Object, Long> sideEffect) {
+        sideEffect.forEach((key, count) -> MapHelper.incr(this.groupCountMap, key, count));
     }
 }
@@ -0,0 +1,15 @@
+package com.tinkerpop.gremlin.process.graph.sideEffect;
+
+/**
+ * A step whose side-effect does not depend on the order in which its starts are processed, so that copies of the step
+ * can compute it over partitions of the starts and have it merged afterwards.
+ */
+public interface Mergeable<T> {
+
+    public T getSideEffect();
+
+    /**
+     * Merges the side-effect computed by a copy of this step into the side-effect of this step.
+     */
+    public void mergeSideEffect(final T sideEffect);
+}
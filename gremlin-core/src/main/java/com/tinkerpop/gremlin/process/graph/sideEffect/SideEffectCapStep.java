@@ -5,8 +5,6 @@ import com.tinkerpop.gremlin.process.SimpleHolder;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
 
-import java.util.NoSuchElementException;
-
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -18,12 +16,12 @@ public class SideEffectCapStep<S, E> extends AbstractStep<S, E> {
 
     public Holder<E> processNextStart() {
         Holder<E> holder = new SimpleHolder<>((E) NO_OBJECT);
-        try {
-            while (true) {
-                holder = (Holder<E>) this.starts.next();
-            }
-        } catch (final NoSuchElementException e) {
+        Holder<S> start;
+        while (END != (start = this.starts.nextOrEnd())) {
+            holder = (Holder<E>) start;
         }
-        return holder.makeChild(this.getAs(), this.traversal.memory().get(SideEffectCapable.CAP_VARIABLE));
+        final Holder<E> cap = holder.makeChild(this.getAs(), this.traversal.memory().get(SideEffectCapable.CAP_VARIABLE));
+        cap.setBulk(1l);
+        return cap;
     }
 }
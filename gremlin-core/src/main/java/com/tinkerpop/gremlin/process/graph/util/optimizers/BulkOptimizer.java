@@ -0,0 +1,77 @@
+package com.tinkerpop.gremlin.process.graph.util.optimizers;
+
+import com.tinkerpop.gremlin.process.Optimizer;
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.graph.filter.HasStep;
+import com.tinkerpop.gremlin.process.graph.filter.IntervalStep;
+import com.tinkerpop.gremlin.process.graph.map.BulkStep;
+import com.tinkerpop.gremlin.process.graph.map.EdgeVertexStep;
+import com.tinkerpop.gremlin.process.graph.map.GraphStep;
+import com.tinkerpop.gremlin.process.graph.map.IdentityStep;
+import com.tinkerpop.gremlin.process.graph.map.PropertyValueStep;
+import com.tinkerpop.gremlin.process.graph.map.StartStep;
+import com.tinkerpop.gremlin.process.graph.map.VertexStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.CountStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.GroupCountStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.SideEffectCapStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.SideEffectCapable;
+import com.tinkerpop.gremlin.process.util.HolderOptimizer;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Merges the holders at the same object into one holder with a bulk after each step that expands a vertex or an edge
+ * into its adjacent elements and is followed by another such step, so that the following step is processed once per
+ * distinct element rather than once per path to it.  As the merge drains all the holders before the next one is
+ * emitted, it is only done when the traversal is drained anyway: when it ends with a side-effect (e.g.
+ * {@code groupCount()}) or is counted with {@link Traversal#count()}.  The traversal must not track paths and must
+ * only hold steps that respect bulks.
+ */
+public class BulkOptimizer implements Optimizer.FinalOptimizer {
+
+    private static final List<Class> BULKING_STEPS = new ArrayList<Class>(
+            Arrays.asList(
+                    GraphStep.class,
+                    StartStep.class,
+                    VertexStep.class,
+                    EdgeVertexStep.class,
+                    IdentityStep.class,
+                    PropertyValueStep.class,
+                    HasStep.class,
+                    IntervalStep.class,
+                    CountStep.class,
+                    GroupCountStep.class,
+                    SideEffectCapStep.class,
+                    BulkStep.class
+            ));
+
+    public void optimize(final Traversal traversal) {
+        final Step end = TraversalHelper.getEnd(traversal);
+        if (end instanceof SideEffectCapable || end instanceof SideEffectCapStep)
+            BulkOptimizer.doBulking(traversal);
+    }
+
+    public static void doBulking(final Traversal traversal) {
+        final List<Step> steps = traversal.getSteps();
+        if (HolderOptimizer.trackPaths(traversal) ||
+                !steps.stream().allMatch(step -> BULKING_STEPS.stream().filter(c -> c.isAssignableFrom(step.getClass())).findFirst().isPresent()))
+            return;
+
+        int lastExpansion = -1;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            if (BulkOptimizer.isExpansion(steps.get(i))) {
+                if (-1 != lastExpansion && !(steps.get(i + 1) instanceof BulkStep))
+                    TraversalHelper.insertStep(new BulkStep(traversal), i + 1, traversal);
+                lastExpansion = i;
+            }
+        }
+    }
+
+    private static boolean isExpansion(final Step step) {
+        return step instanceof VertexStep || step instanceof EdgeVertexStep;
+    }
+}
@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.process.util;
 
 import com.tinkerpop.gremlin.process.Holder;
+import com.tinkerpop.gremlin.process.SimpleHolder;
 import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 
@@ -13,6 +14,13 @@ import java.util.NoSuchElementException;
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     private static final String UNDERSCORE = "_";
+
+    /**
+     * Returned by {@link #processNextStart()} and {@link ExpandableStepIterator#nextOrEnd()} once there are no more
+     * holders so that the end of the stream is not signalled by throwing an exception.  It is never emitted by
+     * {@link #next()}, which throws a {@link NoSuchElementException} as any iterator.
+     */
+    protected static final Holder END = new SimpleHolder<>(NO_OBJECT);
     protected String as;
     protected final Traversal traversal;
     protected ExpandableStepIterator<S> starts;
@@ -62,6 +70,8 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
             return this.nextEnd;
         } else {
             final Holder<E> holder = this.processNextStart();
+            if (END == holder)
+                throw FastNoSuchElementException.instance();
             holder.setFuture(this.nextStep.getAs());
             return holder;
         }
@@ -73,22 +83,78 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         else {
             try {
                 this.nextEnd = this.processNextStart();
-                this.nextEnd.setFuture(this.nextStep.getAs());
-                this.available = true;
-                return true;
             } catch (final NoSuchElementException e) {
-                this.available = false;
+                // steps may still signal the end of the stream by throwing
+                this.nextEnd = END;
+            }
+            if (END == this.nextEnd) {
+                this.nextEnd = null;
                 return false;
             }
+            this.nextEnd.setFuture(this.nextStep.getAs());
+            this.available = true;
+            return true;
         }
     }
 
+    /**
+     * Sets the next ends of the step in the provided array from the offset onwards and returns how many were set,
+     * which is {@code 0} only when the step has no more ends or the array has no room left.  Batches are only pulled
+     * by the {@link BatchTraversalEngine}.
+     */
+    protected int nextBatch(final Holder<E>[] batch, final int offset) {
+        if (offset == batch.length)
+            return 0;
+        int size = offset;
+        if (this.available) {
+            this.available = false;
+            batch[size++] = this.nextEnd;
+        }
+        final int from = size;
+        size = size + this.processNextBatch(batch, size);
+        for (int i = from; i < size; i++) {
+            batch[i].setFuture(this.nextStep.getAs());
+        }
+        return size - offset;
+    }
+
     public <S, E> Traversal<S, E> getTraversal() {
         return this.traversal;
     }
 
+    /**
+     * Processes starts until the next end of the step and returns it, or {@link #END} once there are no more.
+     * Throwing a {@link NoSuchElementException} instead of returning {@link #END} is supported though slower.
+     */
     protected abstract Holder<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Sets the next ends of the step in the provided array from the offset onwards and returns how many were set,
+     * which is {@code 0} only when the step has no more ends or the array has no room left.  Unless overridden, the
+     * ends are processed one at a time by {@link #processNextStart()}.
+     */
+    protected int processNextBatch(final Holder<E>[] batch, final int offset) {
+        return this.processEachStart(batch, offset);
+    }
+
+    /**
+     * Fills the batch with {@link #processNextStart()}.  Steps whose function reads the previous step itself must
+     * process their starts this way as a batch of starts would otherwise be pulled before the function is applied.
+     */
+    protected final int processEachStart(final Holder<E>[] batch, final int offset) {
+        int size = offset;
+        try {
+            while (size < batch.length) {
+                final Holder<E> holder = this.processNextStart();
+                if (END == holder)
+                    break;
+                batch[size++] = holder;
+            }
+        } catch (final NoSuchElementException e) {
+        }
+        return size - offset;
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this);
     }
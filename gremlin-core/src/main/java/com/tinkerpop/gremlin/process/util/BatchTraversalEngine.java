@@ -0,0 +1,78 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Holder;
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Executes a traversal by having its steps exchange their holders a batch at a time rather than one at a time.
+ * {@link com.tinkerpop.gremlin.process.graph.filter.FilterStep}, {@link com.tinkerpop.gremlin.process.graph.map.MapStep}
+ * and {@link com.tinkerpop.gremlin.process.graph.map.FlatMapStep} process a batch of starts at once and the other
+ * steps process their starts one at a time.  The ends are emitted in the same order as when the traversal is iterated
+ * itself.  The traversal is iterated itself when it is not a {@link DefaultTraversal}.
+ */
+public class BatchTraversalEngine implements TraversalEngine {
+
+    private final int batchSize;
+
+    public BatchTraversalEngine(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The provided batch size is not supported: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    public <E> Iterator<E> execute(final Traversal<?, E> traversal) {
+        if (!(traversal instanceof DefaultTraversal))
+            return traversal;
+        ((DefaultTraversal) traversal).doFinalOptimization();
+        final List<Step> steps = traversal.getSteps();
+        if (!(steps.get(steps.size() - 1) instanceof AbstractStep))
+            return traversal;
+        HolderOptimizer.undoRecycling(traversal);
+        return new BatchIterator<>((AbstractStep<?, E>) steps.get(steps.size() - 1), new Holder[this.batchSize]);
+    }
+
+    private static class BatchIterator<E> implements Iterator<E> {
+
+        private final AbstractStep<?, E> endStep;
+        private final Holder<E>[] batch;
+        private int index = 0;
+        private int size = 0;
+        // the end that is emitted again for the rest of its bulk
+        private E lastEnd = null;
+        private long lastEndBulk = 0l;
+
+        private BatchIterator(final AbstractStep<?, E> endStep, final Holder<E>[] batch) {
+            this.endStep = endStep;
+            this.batch = batch;
+        }
+
+        public boolean hasNext() {
+            if (this.lastEndBulk > 0l || this.index < this.size)
+                return true;
+            this.index = 0;
+            this.size = this.endStep.nextBatch(this.batch, 0);
+            return this.size > 0;
+        }
+
+        public E next() {
+            if (this.lastEndBulk > 0l) {
+                this.lastEndBulk--;
+                return this.lastEnd;
+            }
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            final Holder<E> holder = this.batch[this.index];
+            this.batch[this.index++] = null;
+            if (holder.getBulk() > 1l) {
+                this.lastEnd = holder.get();
+                this.lastEndBulk = holder.getBulk() - 1l;
+            }
+            return holder.get();
+        }
+    }
+}
@@ -20,6 +20,10 @@ public class DefaultTraversal<S, E> implements Traversal<S, E> {
     protected final Optimizers optimizers = new DefaultOptimizers();
     protected final Memory memory = new DefaultMemory();
     protected boolean firstNext = true;
+    private boolean recycled = false;
+    // the end that is emitted again for the rest of its bulk
+    private Holder<E> lastEnd = null;
+    private long lastEndBulk = 0l;
 
     public DefaultTraversal() {
         this.optimizers.register(new HolderOptimizer());
@@ -53,12 +57,34 @@ public class DefaultTraversal<S, E> implements Traversal<S, E> {
 
     public boolean hasNext() {
         this.doFinalOptimization();
-        return this.steps.get(this.steps.size() - 1).hasNext();
+        return this.lastEndBulk > 0l || this.steps.get(this.steps.size() - 1).hasNext();
     }
 
     public E next() {
         this.doFinalOptimization();
-        return ((Holder<E>) this.steps.get(this.steps.size() - 1).next()).get();
+        this.doRecycling();
+        if (this.lastEndBulk > 0l) {
+            this.lastEndBulk--;
+            return this.lastEnd.get();
+        }
+        final Holder<E> holder = (Holder<E>) this.steps.get(this.steps.size() - 1).next();
+        if (holder.getBulk() > 1l) {
+            this.lastEnd = holder;
+            this.lastEndBulk = holder.getBulk() - 1l;
+        }
+        return holder.get();
+    }
+
+    public long count() {
+        this.doFinalOptimization();
+        this.doRecycling();
+        long counter = this.lastEndBulk;
+        this.lastEndBulk = 0l;
+        final Step<?, E> endStep = this.steps.get(this.steps.size() - 1);
+        while (endStep.hasNext()) {
+            counter = counter + endStep.next().getBulk();
+        }
+        return counter;
     }
 
     public String toString() {
@@ -76,11 +102,23 @@ public class DefaultTraversal<S, E> implements Traversal<S, E> {
         return traversal;
     }
 
-    private final void doFinalOptimization() {
+    protected final void doFinalOptimization() {
         if (this.firstNext) {
             this.optimizers().doFinalOptimizers(this);
             this.firstNext = false;
         }
     }
 
+    /**
+     * Holders are only recycled once the traversal is iterated by its own {@link #next()} or {@link #count()}, which
+     * are done with an end before they pull the next one, and not when a step reads the ends of a nested traversal
+     * as holders or when the traversal is executed by a {@link TraversalEngine}.
+     */
+    private void doRecycling() {
+        if (!this.recycled) {
+            HolderOptimizer.doRecycling(this);
+            this.recycled = true;
+        }
+    }
+
 }
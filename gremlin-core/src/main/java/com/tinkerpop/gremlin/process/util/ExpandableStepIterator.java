@@ -29,10 +29,45 @@ public class ExpandableStepIterator<E> implements Iterator<Holder<E>>, Serializa
     }
 
     public Holder<E> next() {
+        final Holder<E> holder = this.nextOrEnd();
+        if (AbstractStep.END == holder)
+            throw FastNoSuchElementException.instance();
+        return holder;
+    }
+
+    /**
+     * Gets the next start or {@link AbstractStep#END} once there are no more.
+     */
+    public Holder<E> nextOrEnd() {
         if (this.hostStep.getPreviousStep().hasNext())
             return (Holder<E>) this.hostStep.getPreviousStep().next();
         else
-            return this.expander.next();
+            return this.expander.nextOrEnd();
+    }
+
+    /**
+     * Sets the next starts in the provided array from the offset onwards, pulling them a batch at a time from the
+     * previous step, and returns how many were set.  As with {@link #nextOrEnd()}, the added starts (e.g. holders
+     * sent back by a {@link com.tinkerpop.gremlin.process.graph.map.JumpStep}) are only taken once the previous step
+     * has no more ends, so that a batch that the previous step could not fill does not move them ahead of its later
+     * ends.
+     */
+    public int nextBatch(final Holder<E>[] batch, final int offset) {
+        final Step<?, ?> previousStep = this.hostStep.getPreviousStep();
+        int size = offset;
+        if (previousStep instanceof AbstractStep)
+            size = size + ((AbstractStep<?, E>) previousStep).nextBatch(batch, offset);
+        else {
+            while (size < batch.length && previousStep.hasNext()) {
+                batch[size++] = (Holder<E>) previousStep.next();
+            }
+        }
+        if (size > offset)
+            return size - offset;
+        while (size < batch.length && this.expander.hasNext()) {
+            batch[size++] = this.expander.next();
+        }
+        return size - offset;
     }
 
     public void add(final Iterator<E> iterator) {
@@ -56,11 +91,19 @@ public class ExpandableStepIterator<E> implements Iterator<Holder<E>>, Serializa
         }
 
         public T next() {
-            while (true) {
-                final Iterator<T> itty = this.queue.element();
+            final T t = this.nextOrEnd();
+            if (AbstractStep.END == t)
+                throw FastNoSuchElementException.instance();
+            return t;
+        }
+
+        private T nextOrEnd() {
+            while (!this.queue.isEmpty()) {
+                final Iterator<T> itty = this.queue.peek();
                 if (null != itty && itty.hasNext()) return itty.next();
                 else this.queue.remove();
             }
+            return (T) AbstractStep.END;
         }
 
         public void add(final Iterator<T> iterator) {
@@ -1,13 +1,42 @@
 package com.tinkerpop.gremlin.process.util;
 
 import com.tinkerpop.gremlin.process.Optimizer;
+import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.graph.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.map.JumpStep;
+import com.tinkerpop.gremlin.process.graph.map.MapStep;
+import com.tinkerpop.gremlin.process.graph.map.OrderStep;
+import com.tinkerpop.gremlin.process.graph.map.ShuffleStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.AggregateStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.SideEffectCapable;
+import com.tinkerpop.gremlin.process.graph.sideEffect.SideEffectStep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class HolderOptimizer implements Optimizer.FinalOptimizer {
 
+    /**
+     * Steps that keep references to the holders they are handed past the next pull.  Any step that is not a
+     * {@link MapStep}, {@link FlatMapStep} or {@link FilterStep} (e.g. {@link com.tinkerpop.gremlin.process.graph.map.BulkStep})
+     * is assumed to do so as well.
+     */
+    private static final List<Class> BUFFERING_STEPS = new ArrayList<Class>(
+            Arrays.asList(
+                    OrderStep.class,
+                    ShuffleStep.class,
+                    AggregateStep.class,
+                    JumpStep.class,
+                    SideEffectStep.class,
+                    SideEffectCapable.class
+            ));
+
     public void optimize(final Traversal traversal) {
         final boolean trackPaths = HolderOptimizer.trackPaths(traversal);
         traversal.getSteps().forEach(step -> {
@@ -29,4 +58,43 @@ public class HolderOptimizer implements Optimizer.FinalOptimizer {
                 ((HolderSource) step).generateHolderIterator(true);
         });
     }
+
+    /**
+     * Lets the steps after the last step that buffers holders reuse their holders, as the holders they emit are
+     * dropped by the time the next one is pulled.  Nothing is recycled when paths are tracked.
+     */
+    public static <S, E> void doRecycling(final Traversal<S, E> traversal) {
+        final List<Step> steps = traversal.getSteps();
+        int lastBuffering = -1;
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i) instanceof PathConsumer)
+                return;
+            if (HolderOptimizer.isBuffering(steps.get(i)))
+                lastBuffering = i;
+        }
+        for (int i = lastBuffering + 1; i < steps.size(); i++) {
+            if (steps.get(i) instanceof HolderRecycler)
+                ((HolderRecycler) steps.get(i)).setRecycling(true);
+        }
+    }
+
+    /**
+     * Stops all the steps from reusing their holders, as is needed by whatever collects the holders of a traversal.
+     */
+    public static <S, E> void undoRecycling(final Traversal<S, E> traversal) {
+        traversal.getSteps().forEach(step -> {
+            if (step instanceof HolderRecycler)
+                ((HolderRecycler) step).setRecycling(false);
+        });
+    }
+
+    private static boolean isBuffering(final Step step) {
+        if (!(step instanceof MapStep || step instanceof FlatMapStep || step instanceof FilterStep))
+            return true;
+        for (final Class bufferingStep : BUFFERING_STEPS) {
+            if (bufferingStep.isInstance(step))
+                return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,11 @@
+package com.tinkerpop.gremlin.process.util;
+
+/**
+ * A step that can reuse holders rather than allocate a new holder per end.  A reused holder changes once the next end
+ * is pulled, so the step may only recycle when no step after it keeps a reference to a holder (see
+ * {@link HolderOptimizer#doRecycling}).
+ */
+public interface HolderRecycler {
+
+    public void setRecycling(final boolean recycling);
+}
@@ -0,0 +1,215 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Holder;
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.graph.map.GraphStep;
+import com.tinkerpop.gremlin.process.graph.map.JumpStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.AggregateStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.Mergeable;
+import com.tinkerpop.gremlin.process.graph.sideEffect.SideEffectCapStep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Executes a traversal over partitions of the starts of its {@link GraphStep} in parallel.  Each partition is processed
+ * by its own copy of the steps of the traversal as a task of a {@link ForkJoinPool} and the ends of the partitions are
+ * emitted in the order of the starts.  The side-effects computed by the copies of {@link Mergeable} steps are merged
+ * into the steps of the traversal as the ends of their partition are emitted.
+ * <p/>
+ * Only the steps after the {@link GraphStep} that are {@link Partitionable}, up to the first step that is not, are
+ * processed in parallel.  That step and the steps after it are processed serially over the merged ends.  The traversal
+ * is executed serially as a whole when it does not start with a {@link GraphStep} or when there is no step to process
+ * in parallel.
+ * <p/>
+ * The starts are read a partition at a time and only {@link #PARTITIONS_PER_THREAD} partitions per thread of the pool
+ * are processed ahead of the end that is emitted, so a traversal of which only the first ends are read (e.g. by
+ * {@code next()} or {@code range()}) does not process all of its starts.  Partitioning and copying the traversal costs
+ * more than it saves on a single core, so the engine should only be used where there are several.
+ */
+public class ParallelTraversalEngine implements TraversalEngine {
+
+    private static final int PARTITIONS_PER_THREAD = 4;
+    private static final int PARTITION_SIZE = 64;
+
+    private final ForkJoinPool pool;
+
+    public ParallelTraversalEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelTraversalEngine(final ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public <E> Iterator<E> execute(final Traversal<?, E> traversal) {
+        if (!(traversal instanceof DefaultTraversal))
+            return traversal;
+        ((DefaultTraversal) traversal).doFinalOptimization();
+
+        final List<Step> steps = traversal.getSteps();
+        if (!(steps.get(0) instanceof GraphStep))
+            return traversal;
+        final List<Step> copies = ParallelTraversalEngine.copy(steps, ParallelTraversalEngine.getBarrier(steps));
+        final int barrier = copies.size() + 1;
+        if (barrier < 2 || (barrier < steps.size() && steps.stream().filter(step -> step instanceof JumpStep).findFirst().isPresent()))
+            return traversal;
+
+        // the holders of the graph step are read by the partitions and the graph step emits the merged ends instead
+        final GraphStep<?> graphStep = (GraphStep) steps.get(0);
+        final Iterator<Holder> starts = (Iterator) graphStep.starts;
+        graphStep.starts = new ExpandableStepIterator<>((Step) graphStep);
+        final Iterator<Holder> ends = new PartitionIterator(this.pool, starts, new ArrayList<>(steps.subList(0, barrier)), copies);
+        for (int i = barrier - 1; i > 0; i--) {
+            TraversalHelper.removeStep(i, traversal);
+        }
+        graphStep.addStarts((Iterator) ends);
+        return traversal;
+    }
+
+    /**
+     * Gets the index of the step that the steps processed in parallel must not reach, or the number of steps when
+     * there is none.  An {@link AggregateStep} is such a step unless it ends the traversal, possibly followed by a
+     * {@link SideEffectCapStep}, as the steps after it may read the aggregate.
+     */
+    private static int getBarrier(final List<Step> steps) {
+        for (int i = 1; i < steps.size(); i++) {
+            if (steps.get(i) instanceof AggregateStep && i < steps.size() - 1 &&
+                    !(i == steps.size() - 2 && steps.get(i + 1) instanceof SideEffectCapStep))
+                return i;
+        }
+        return steps.size();
+    }
+
+    /**
+     * Copies the steps after the {@link GraphStep} into a traversal of their own, stopping before the barrier or
+     * before the first step that can not be copied.  A copy must be of the class of its step so that a step that
+     * extends a {@link Partitionable} step without copying itself is not replaced by a step of its parent class.
+     */
+    private static List<Step> copy(final List<Step> steps, final int barrier) {
+        final Traversal traversal = new DefaultTraversal<>();
+        for (int i = 1; i < barrier; i++) {
+            final Step step = steps.get(i);
+            final Step copy = step instanceof Partitionable ? ((Partitionable) step).copy(traversal) : null;
+            if (null == copy || !step.getClass().equals(copy.getClass()))
+                break;
+            copy.setAs(step.getAs());
+            traversal.addStep(copy);
+        }
+        return traversal.getSteps();
+    }
+
+    /**
+     * Side-effects held by several steps under the same memory variable are shared by their copies and thus merged
+     * once.  Counts are not shared as they are immutable.
+     */
+    private static void mergeSideEffects(final List<Step> steps, final List<Step> copies) {
+        final Set<Object> merged = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < copies.size(); i++) {
+            if (copies.get(i) instanceof Mergeable) {
+                final Object sideEffect = ((Mergeable) copies.get(i)).getSideEffect();
+                if (sideEffect instanceof Number || merged.add(sideEffect))
+                    ((Mergeable) steps.get(i + 1)).mergeSideEffect(sideEffect);
+            }
+        }
+    }
+
+    /**
+     * Emits the ends of the partitions in the order of their starts, reading the starts and submitting the partitions
+     * as the ends are pulled.
+     */
+    private static class PartitionIterator implements Iterator<Holder> {
+
+        private final ForkJoinPool pool;
+        private final Iterator<Holder> starts;
+        private final List<Step> steps;
+        private final String future;
+        private final Queue<ForkJoinTask<Partition>> partitions = new LinkedList<>();
+        private List<Step> copies;
+        private Iterator<Holder> ends = Collections.emptyIterator();
+
+        private PartitionIterator(final ForkJoinPool pool, final Iterator<Holder> starts, final List<Step> steps, final List<Step> copies) {
+            this.pool = pool;
+            this.starts = starts;
+            this.steps = steps;
+            this.future = steps.get(1).getAs();
+            this.copies = copies;
+        }
+
+        public boolean hasNext() {
+            while (!this.ends.hasNext()) {
+                this.submitPartitions();
+                if (this.partitions.isEmpty())
+                    return false;
+                final Partition partition = this.partitions.remove().join();
+                ParallelTraversalEngine.mergeSideEffects(this.steps, partition.steps);
+                this.ends = partition.ends.iterator();
+            }
+            return true;
+        }
+
+        public Holder next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            return this.ends.next();
+        }
+
+        private void submitPartitions() {
+            while (this.partitions.size() < this.pool.getParallelism() * PARTITIONS_PER_THREAD && this.starts.hasNext()) {
+                final List<Holder> starts = new ArrayList<>(PARTITION_SIZE);
+                while (starts.size() < PARTITION_SIZE && this.starts.hasNext()) {
+                    final Holder holder = this.starts.next();
+                    holder.setFuture(this.future);
+                    starts.add(holder);
+                }
+                // the copies made to find the steps to process in parallel serve the first partition
+                final List<Step> copies = null == this.copies ? ParallelTraversalEngine.copy(this.steps, this.steps.size()) : this.copies;
+                this.copies = null;
+                this.partitions.add(this.pool.submit(new PartitionTask(copies, starts)));
+            }
+        }
+    }
+
+    private static class Partition {
+
+        private final List<Step> steps;
+        private final List<Holder> ends;
+
+        private Partition(final List<Step> steps, final List<Holder> ends) {
+            this.steps = steps;
+            this.ends = ends;
+        }
+    }
+
+    private static class PartitionTask extends RecursiveTask<Partition> {
+
+        private final List<Step> steps;
+        private final List<Holder> starts;
+
+        private PartitionTask(final List<Step> steps, final List<Holder> starts) {
+            this.steps = steps;
+            this.starts = starts;
+        }
+
+        protected Partition compute() {
+            this.steps.get(0).addStarts((Iterator) this.starts.iterator());
+            final Step<?, ?> end = this.steps.get(this.steps.size() - 1);
+            final List<Holder> ends = new ArrayList<>();
+            while (end.hasNext()) {
+                ends.add(end.next());
+            }
+            return new Partition(this.steps, ends);
+        }
+    }
+}
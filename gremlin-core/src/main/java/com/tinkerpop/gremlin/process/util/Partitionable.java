@@ -0,0 +1,19 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+
+/**
+ * A step that the {@link ParallelTraversalEngine} may copy so that each copy processes a partition of the starts of
+ * the traversal on a thread of its own.  Only steps that implement this interface are processed in parallel, so a
+ * step must not implement it when its copies would share state that they alter.
+ */
+public interface Partitionable {
+
+    /**
+     * Creates a step in the provided traversal that does what this step does but shares no state with it, or returns
+     * {@code null} when the step holds a closure that was given to the traversal (e.g. a function or a predicate) as
+     * it is not known whether the closure may be applied by several threads at once.
+     */
+    public Step copy(final Traversal traversal);
+}
@@ -23,18 +23,41 @@ public enum Compare implements BiPredicate<Object, Object> {
                     return second != null;
                 return !first.equals(second);
             case GREATER_THAN:
-                return !(null == first || second == null) && ((Comparable) first).compareTo(second) >= 1;
+                return !(null == first || second == null) && compare(first, second) >= 1;
             case LESS_THAN:
-                return !(null == first || second == null) && ((Comparable) first).compareTo(second) <= -1;
+                return !(null == first || second == null) && compare(first, second) <= -1;
             case GREATER_THAN_EQUAL:
-                return !(null == first || second == null) && ((Comparable) first).compareTo(second) >= 0;
+                return !(null == first || second == null) && compare(first, second) >= 0;
             case LESS_THAN_EQUAL:
-                return !(null == first || second == null) && ((Comparable) first).compareTo(second) <= 0;
+                return !(null == first || second == null) && compare(first, second) <= 0;
             default:
                 throw new IllegalStateException("Invalid state as no valid compare was provided");
         }
     }
 
+    /**
+     * Compares integral numbers of different classes as {@code long} values and floating point numbers of different
+     * classes as {@code double} values so that, for example, an {@link Integer} can be compared with a {@link Long}.
+     * Any other pair of values is compared by the first value.
+     */
+    private static int compare(final Object first, final Object second) {
+        if (first instanceof Number && second instanceof Number && !first.getClass().equals(second.getClass())) {
+            if (isIntegral(first) && isIntegral(second))
+                return Long.compare(((Number) first).longValue(), ((Number) second).longValue());
+            else if (isFloatingPoint(first) && isFloatingPoint(second))
+                return Double.compare(((Number) first).doubleValue(), ((Number) second).doubleValue());
+        }
+        return ((Comparable) first).compareTo(second);
+    }
+
+    private static boolean isIntegral(final Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isFloatingPoint(final Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
     public Compare opposite() {
         if (this.equals(EQUAL))
             return NOT_EQUAL;
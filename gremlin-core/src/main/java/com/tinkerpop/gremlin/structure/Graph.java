@@ -167,6 +167,7 @@ public interface Graph extends AutoCloseable {
             public static final String FEATURE_PERSISTENCE = "Persistence";
             public static final String FEATURE_THREADED_TRANSACTIONS = "ThreadedTransactions";
             public static final String FEATURE_FULLY_ISOLATED_TRANSACTIONS = "FullyIsolatedTransactions";
+            public static final String FEATURE_CONCURRENT_ACCESS = "ConcurrentAccess";
 
             @FeatureDescriptor(name = FEATURE_COMPUTER)
             public default boolean supportsComputer() {
@@ -203,6 +204,15 @@ public interface Graph extends AutoCloseable {
                 return true;
             }
 
+            /**
+             * Refers to the ability of the Graph implementation to have elements added, removed and read by multiple
+             * threads at the same time without external synchronization.
+             */
+            @FeatureDescriptor(name = FEATURE_CONCURRENT_ACCESS)
+            public default boolean supportsConcurrentAccess() {
+                return true;
+            }
+
             public default MemoryFeatures memory() {
                 return new MemoryFeatures() {
                 };
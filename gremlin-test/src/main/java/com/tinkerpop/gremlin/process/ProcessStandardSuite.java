@@ -17,8 +17,10 @@ import com.tinkerpop.gremlin.process.graph.map.OrderTest;
 import com.tinkerpop.gremlin.process.graph.map.PathTest;
 import com.tinkerpop.gremlin.process.graph.map.SelectTest;
 import com.tinkerpop.gremlin.process.graph.map.TraversalTest;
+import com.tinkerpop.gremlin.process.graph.map.UnionTest;
 import com.tinkerpop.gremlin.process.graph.map.ValuesTest;
 import com.tinkerpop.gremlin.process.graph.sideEffect.AggregateTest;
+import com.tinkerpop.gremlin.process.graph.sideEffect.CountTest;
 import com.tinkerpop.gremlin.process.graph.sideEffect.GroupByTest;
 import com.tinkerpop.gremlin.process.graph.sideEffect.GroupCountTest;
 import com.tinkerpop.gremlin.process.graph.sideEffect.LinkTest;
@@ -57,24 +59,43 @@ public class ProcessStandardSuite extends AbstractGremlinSuite {
     private static final Class<?>[] testsToExecute = new Class<?>[]{
             CyclicPathTest.JavaCyclicPathTest.class,
             DedupTest.JavaDedupTest.class,
+            DedupTest.JavaBatchDedupTest.class,
+            DedupTest.JavaParallelDedupTest.class,
             ExceptTest.JavaExceptTest.class,
             FilterTest.JavaFilterTest.class,
+            FilterTest.JavaBatchFilterTest.class,
+            FilterTest.JavaParallelFilterTest.class,
             HasTest.JavaHasTest.class,
             IntervalTest.JavaIntervalTest.class,
             RangeTest.JavaRangeTest.class,
+            RangeTest.JavaBatchRangeTest.class,
+            RangeTest.JavaParallelRangeTest.class,
             RetainTest.JavaRetainTest.class,
             SimplePathTest.JavaSimplePathTest.class,
             AnnotatedValuesTest.JavaAnnotatedValuesTest.class,
             BackTest.JavaBackTest.class,
             JumpTest.JavaJumpTest.class,
+            JumpTest.JavaBatchJumpTest.class,
+            JumpTest.JavaParallelJumpTest.class,
             OrderTest.JavaOrderTest.class,
+            OrderTest.JavaBatchOrderTest.class,
+            OrderTest.JavaParallelOrderTest.class,
             PathTest.JavaPathTest.class,
             SelectTest.JavaSelectTest.class,
             TraversalTest.JavaTraversalTest.class,
+            TraversalTest.JavaBatchTraversalTest.class,
+            TraversalTest.JavaParallelTraversalTest.class,
+            UnionTest.JavaUnionTest.class,
+            UnionTest.JavaBatchUnionTest.class,
+            UnionTest.JavaParallelUnionTest.class,
             ValuesTest.JavaValuesTest.class,
             AggregateTest.JavaAggregateTest.class,
+            AggregateTest.JavaParallelAggregateTest.class,
+            CountTest.JavaCountTest.class,
+            CountTest.JavaParallelCountTest.class,
             GroupByTest.JavaGroupByTest.class,
             GroupCountTest.JavaGroupCountTest.class,
+            GroupCountTest.JavaParallelGroupCountTest.class,
             LinkTest.JavaLinkTest.class,
             SideEffectTest.JavaSideEffectTest.class,
             SubGraphTest.JavaSideEffectTest.class,
@@ -99,8 +120,10 @@ public class ProcessStandardSuite extends AbstractGremlinSuite {
             PathTest.class,
             SelectTest.class,
             TraversalTest.class,
+            UnionTest.class,
             ValuesTest.class,
             AggregateTest.class,
+            CountTest.class,
             GroupByTest.class,
             GroupCountTest.class,
             LinkTest.class,
@@ -3,6 +3,8 @@ package com.tinkerpop.gremlin.process.graph.filter;
 import com.tinkerpop.gremlin.AbstractGremlinTest;
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.util.StreamFactory;
 import org.junit.Test;
@@ -64,4 +66,26 @@ public abstract class DedupTest extends AbstractGremlinTest {
             return g.V().both().dedup(v -> v.getProperty("lang").orElse(null)).value("name");
         }
     }
+
+    public static class JavaParallelDedupTest extends DedupTest {
+
+        public Traversal<Vertex, String> get_g_V_both_dedup_name() {
+            return g.V().both().dedup().<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, String> get_g_V_both_dedupXlangX_name() {
+            return g.V().both().dedup(v -> v.getProperty("lang").orElse(null)).<String>value("name").submit(new ParallelTraversalEngine());
+        }
+    }
+
+    public static class JavaBatchDedupTest extends DedupTest {
+
+        public Traversal<Vertex, String> get_g_V_both_dedup_name() {
+            return g.V().both().dedup().<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, String> get_g_V_both_dedupXlangX_name() {
+            return g.V().both().dedup(v -> v.getProperty("lang").orElse(null)).<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+    }
 }
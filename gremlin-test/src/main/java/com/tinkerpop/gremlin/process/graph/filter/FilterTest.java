@@ -3,6 +3,8 @@ package com.tinkerpop.gremlin.process.graph.filter;
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
@@ -128,6 +130,64 @@ public abstract class FilterTest extends AbstractGremlinProcessTest {
         }
     }
 
+    public static class JavaParallelFilterTest extends FilterTest {
+        public JavaParallelFilterTest() {
+            this.requiresGraphComputer = false;
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXfalseX() {
+            return g.V().filter(v -> false).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXtrueX() {
+            return g.V().filter(v -> true).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXlang_eq_javaX() {
+            return g.V().filter(v -> v.get().<String>getProperty("lang").orElse("none").equals("java")).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_out_filterXage_gt_30X(final Object v1Id) {
+            return g.v(v1Id).out().filter(v -> v.get().<Integer>getProperty("age").orElse(0) > 30).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXname_startsWith_m_OR_name_startsWith_pX() {
+            return g.V().filter(v -> {
+                final String name = v.get().getValue("name");
+                return name.startsWith("m") || name.startsWith("p");
+            });
+        }
+    }
+
+    public static class JavaBatchFilterTest extends FilterTest {
+        public JavaBatchFilterTest() {
+            this.requiresGraphComputer = false;
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXfalseX() {
+            return g.V().filter(v -> false).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXtrueX() {
+            return g.V().filter(v -> true).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXlang_eq_javaX() {
+            return g.V().filter(v -> v.get().<String>getProperty("lang").orElse("none").equals("java")).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_out_filterXage_gt_30X(final Object v1Id) {
+            return g.v(v1Id).out().filter(v -> v.get().<Integer>getProperty("age").orElse(0) > 30).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_filterXname_startsWith_m_OR_name_startsWith_pX() {
+            return g.V().filter(v -> {
+                final String name = v.get().getValue("name");
+                return name.startsWith("m") || name.startsWith("p");
+            });
+        }
+    }
+
     public static class JavaComputerFilterTest extends FilterTest {
 
         public JavaComputerFilterTest() {
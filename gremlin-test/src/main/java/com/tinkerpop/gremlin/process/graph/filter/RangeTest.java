@@ -3,6 +3,8 @@ package com.tinkerpop.gremlin.process.graph.filter;
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
@@ -141,4 +143,64 @@ public abstract class RangeTest extends AbstractGremlinProcessTest {
             return g.v(v1Id).out("created").inE("created").range(1, 2).outV();
         }
     }
+
+    public static class JavaParallelRangeTest extends RangeTest {
+        public JavaParallelRangeTest() {
+            requiresGraphComputer = false;
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_out_rangeX0_1X(final Object v1Id) {
+            return g.v(v1Id).out().range(0, 1).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_outX1X_rangeX0_2X() {
+            return g.V().out(1).range(0, 2).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXknowsX_outEXcreatedX_rangeX0_0X_inV(final Object v1Id) {
+            return g.v(v1Id).out("knows").outE("created").range(0, 0).inV().submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXknowsX_outXcreatedX_rangeX0_0X(final Object v1Id) {
+            return g.v(v1Id).out("knows").out("created").range(0, 0).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXcreatedX_inXcreatedX_rangeX1_2X(final Object v1Id) {
+            return g.v(v1Id).out("created").in("created").range(1, 2).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXcreatedX_inEXcreatedX_rangeX1_2X_outV(final Object v1Id) {
+            return g.v(v1Id).out("created").inE("created").range(1, 2).outV().submit(new ParallelTraversalEngine());
+        }
+    }
+
+    public static class JavaBatchRangeTest extends RangeTest {
+        public JavaBatchRangeTest() {
+            requiresGraphComputer = false;
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_out_rangeX0_1X(final Object v1Id) {
+            return g.v(v1Id).out().range(0, 1).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_outX1X_rangeX0_2X() {
+            return g.V().out(1).range(0, 2).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXknowsX_outEXcreatedX_rangeX0_0X_inV(final Object v1Id) {
+            return g.v(v1Id).out("knows").outE("created").range(0, 0).inV().submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXknowsX_outXcreatedX_rangeX0_0X(final Object v1Id) {
+            return g.v(v1Id).out("knows").out("created").range(0, 0).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXcreatedX_inXcreatedX_rangeX1_2X(final Object v1Id) {
+            return g.v(v1Id).out("created").in("created").range(1, 2).submit(new BatchTraversalEngine(2));
+        }
+
+        public Traversal<Vertex, Vertex> get_g_v1_outXcreatedX_inEXcreatedX_rangeX1_2X_outV(final Object v1Id) {
+            return g.v(v1Id).out("created").inE("created").range(1, 2).outV().submit(new BatchTraversalEngine(2));
+        }
+    }
 }
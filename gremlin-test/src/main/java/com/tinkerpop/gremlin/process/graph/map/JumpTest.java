@@ -2,6 +2,8 @@ package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.structure.Element;
 import org.junit.Test;
 
@@ -20,6 +22,8 @@ import static org.junit.Assert.assertTrue;
 public abstract class JumpTest extends AbstractGremlinProcessTest {
     public abstract Iterator<String> get_g_v1_asXxX_out_jumpXx_loops_lt_2X_valueXnameX(final Object v1Id);
 
+    public abstract Iterator<Integer> get_g_V_filterXname_not_lopX_identity_asXxX_both_jumpXx_loops_lt_2_trueX_loops();
+
     @Test
     @LoadGraphWith(CLASSIC)
     public void g_v1_asXxX_out_jumpXx_loops_lt_2X_valueXnameX() {
@@ -34,6 +38,25 @@ public abstract class JumpTest extends AbstractGremlinProcessTest {
         assertTrue(names.contains("lop"));
     }
 
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_filterXname_not_lopX_identity_asXxX_both_jumpXx_loops_lt_2_trueX_loops() {
+        final Iterator<Integer> step = get_g_V_filterXname_not_lopX_identity_asXxX_both_jumpXx_loops_lt_2_trueX_loops();
+        System.out.println("Testing: " + step);
+        final List<Integer> loops = new ArrayList<>();
+        while (step.hasNext()) {
+            loops.add(step.next());
+        }
+        assertEquals(32, loops.size());
+        assertEquals(9, loops.stream().filter(l -> l == 1).count());
+        // without a graph computer, the holders sent back by the jump are emitted after all the holders of the first loop
+        if (!requiresGraphComputer) {
+            for (int i = 1; i < loops.size(); i++) {
+                assertTrue(loops.get(i - 1) <= loops.get(i));
+            }
+        }
+    }
+
     public static class JavaJumpTest extends JumpTest {
         public JavaJumpTest() {
             requiresGraphComputer = false;
@@ -42,6 +65,41 @@ public abstract class JumpTest extends AbstractGremlinProcessTest {
         public Iterator<String> get_g_v1_asXxX_out_jumpXx_loops_lt_2X_valueXnameX(final Object v1Id) {
             return g.v(v1Id).as("x").out().jump("x", h -> h.getLoops() < 2).value("name");
         }
+
+        public Iterator<Integer> get_g_V_filterXname_not_lopX_identity_asXxX_both_jumpXx_loops_lt_2_trueX_loops() {
+            return g.V().filter(h -> !h.get().getValue("name").equals("lop")).identity().as("x").both()
+                    .jump("x", h -> h.getLoops() < 2, h -> true).map(h -> h.getLoops());
+        }
+    }
+
+    public static class JavaParallelJumpTest extends JumpTest {
+        public JavaParallelJumpTest() {
+            requiresGraphComputer = false;
+        }
+
+        public Iterator<String> get_g_v1_asXxX_out_jumpXx_loops_lt_2X_valueXnameX(final Object v1Id) {
+            return g.v(v1Id).as("x").out().jump("x", h -> h.getLoops() < 2).<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Integer> get_g_V_filterXname_not_lopX_identity_asXxX_both_jumpXx_loops_lt_2_trueX_loops() {
+            return g.V().filter(h -> !h.get().getValue("name").equals("lop")).identity().as("x").both()
+                    .jump("x", h -> h.getLoops() < 2, h -> true).map(h -> h.getLoops()).submit(new ParallelTraversalEngine());
+        }
+    }
+
+    public static class JavaBatchJumpTest extends JumpTest {
+        public JavaBatchJumpTest() {
+            requiresGraphComputer = false;
+        }
+
+        public Iterator<String> get_g_v1_asXxX_out_jumpXx_loops_lt_2X_valueXnameX(final Object v1Id) {
+            return g.v(v1Id).as("x").out().jump("x", h -> h.getLoops() < 2).<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Integer> get_g_V_filterXname_not_lopX_identity_asXxX_both_jumpXx_loops_lt_2_trueX_loops() {
+            return g.V().filter(h -> !h.get().getValue("name").equals("lop")).identity().as("x").both()
+                    .jump("x", h -> h.getLoops() < 2, h -> true).<Integer>map(h -> h.getLoops()).submit(new BatchTraversalEngine(2));
+        }
     }
 
     public static class JavaComputerJumpTest extends JumpTest {
@@ -54,5 +112,10 @@ public abstract class JumpTest extends AbstractGremlinProcessTest {
             return g.v(v1Id).identity().as("x").out().jump("x", h -> h.getLoops() < 2).<String>value("name").submit(g.compute());
             //return g.V().has(Element.ID, v1Id).identity().as("x").out().jump("x", h -> h.getLoops() < 2).<String>value("name").submit(g.compute());
         }
+
+        public Iterator<Integer> get_g_V_filterXname_not_lopX_identity_asXxX_both_jumpXx_loops_lt_2_trueX_loops() {
+            return g.V().filter(h -> !h.get().getValue("name").equals("lop")).identity().as("x").both()
+                    .jump("x", h -> h.getLoops() < 2, h -> true).<Integer>map(h -> h.getLoops()).submit(g.compute());
+        }
     }
 }
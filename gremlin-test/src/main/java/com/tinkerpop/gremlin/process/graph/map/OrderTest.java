@@ -2,6 +2,8 @@ package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.AbstractGremlinTest;
 import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.util.StreamFactory;
 import org.junit.Test;
 
@@ -83,4 +85,34 @@ public abstract class OrderTest extends AbstractGremlinTest {
             return g.V().order((a, b) -> a.get().<String>getValue("name").compareTo(b.get().getValue("name"))).value("name");
         }
     }
+
+    public static class JavaParallelOrderTest extends OrderTest {
+
+        public Iterator<String> get_g_V_name_order() {
+            return g.V().<String>value("name").order().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_V_name_orderXabX() {
+            return g.V().<String>value("name").order((a, b) -> b.get().compareTo(a.get())).submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_V_orderXa_nameXb_nameX_name() {
+            return g.V().order((a, b) -> a.get().<String>getValue("name").compareTo(b.get().getValue("name"))).<String>value("name").submit(new ParallelTraversalEngine());
+        }
+    }
+
+    public static class JavaBatchOrderTest extends OrderTest {
+
+        public Iterator<String> get_g_V_name_order() {
+            return g.V().<String>value("name").order().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_V_name_orderXabX() {
+            return g.V().<String>value("name").order((a, b) -> b.get().compareTo(a.get())).submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_V_orderXa_nameXb_nameX_name() {
+            return g.V().order((a, b) -> a.get().<String>getValue("name").compareTo(b.get().getValue("name"))).<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+    }
 }
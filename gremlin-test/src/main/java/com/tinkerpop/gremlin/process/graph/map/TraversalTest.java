@@ -2,6 +2,8 @@ package com.tinkerpop.gremlin.process.graph.map;
 
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.util.StreamFactory;
@@ -535,6 +537,210 @@ public abstract class TraversalTest extends AbstractGremlinProcessTest {
         }
     }
 
+    public static class JavaParallelTraversalTest extends TraversalTest {
+        public JavaParallelTraversalTest() {
+            requiresGraphComputer = false;
+        }
+
+        public Iterator<Vertex> get_g_V() {
+            return g.V().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v1_out(final Object v1Id) {
+            return g.v(v1Id).out().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v2_in(final Object v2Id) {
+            return g.v(v2Id).in().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v4_both(final Object v4Id) {
+            return g.v(v4Id).both().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_v1_outX1_knowsX_name(final Object v1Id) {
+            return g.v(v1Id).out(1, "knows").<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_V_bothX1_createdX_name() {
+            return g.V().both(1, "created").<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Edge> get_g_E() {
+            return g.E().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Edge> get_g_v1_outE(final Object v1Id) {
+            return g.v(v1Id).outE().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Edge> get_g_v2_inE(final Object v2Id) {
+            return g.v(v2Id).inE().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Edge> get_g_v4_bothE(final Object v4Id) {
+            return g.v(v4Id).bothE().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Edge> get_g_v4_bothEX1_createdX(final Object v4Id) {
+            return g.v(v4Id).bothE(1, "created").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_V_inEX2_knowsX_outV_name() {
+            return g.V().inE(2, "knows").outV().<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v1_outE_inV(final Object v1Id) {
+            return g.v(v1Id).outE().inV().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v2_inE_outV(final Object v2Id) {
+            return g.v(v2Id).inE().outV().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_V_outE_hasXweight_1X_outV() {
+            return g.V().outE().has("weight", 1.0f).outV().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_V_out_outE_inV_inE_inV_both_name() {
+            return g.V().out().outE().inV().inE().inV().both().<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_v1_outEXknowsX_bothV_name(final Object v1Id) {
+            return g.v(v1Id).outE("knows").bothV().<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v1_outXknowsX(final Object v1Id) {
+            return g.v(v1Id).out("knows").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v1_outXknows_createdX(final Object v1Id) {
+            return g.v(v1Id).out("knows", "created").submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v1_outEXknowsX_inV(final Object v1Id) {
+            return g.v(v1Id).outE("knows").inV().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v1_outEXknows_createdX_inV(final Object v1Id) {
+            return g.v(v1Id).outE("knows", "created").inV().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_V_out_out() {
+            return g.V().out().out().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<Vertex> get_g_v1_out_out_out(final Object v1Id) {
+            return g.v(v1Id).out().out().out().submit(new ParallelTraversalEngine());
+        }
+
+        public Iterator<String> get_g_v1_out_propertyXnameX(final Object v1Id) {
+            return g.v(v1Id).out().<String>value("name").submit(new ParallelTraversalEngine());
+        }
+    }
+
+    public static class JavaBatchTraversalTest extends TraversalTest {
+        public JavaBatchTraversalTest() {
+            requiresGraphComputer = false;
+        }
+
+        public Iterator<Vertex> get_g_V() {
+            return g.V().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v1_out(final Object v1Id) {
+            return g.v(v1Id).out().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v2_in(final Object v2Id) {
+            return g.v(v2Id).in().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v4_both(final Object v4Id) {
+            return g.v(v4Id).both().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_v1_outX1_knowsX_name(final Object v1Id) {
+            return g.v(v1Id).out(1, "knows").<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_V_bothX1_createdX_name() {
+            return g.V().both(1, "created").<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Edge> get_g_E() {
+            return g.E().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Edge> get_g_v1_outE(final Object v1Id) {
+            return g.v(v1Id).outE().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Edge> get_g_v2_inE(final Object v2Id) {
+            return g.v(v2Id).inE().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Edge> get_g_v4_bothE(final Object v4Id) {
+            return g.v(v4Id).bothE().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Edge> get_g_v4_bothEX1_createdX(final Object v4Id) {
+            return g.v(v4Id).bothE(1, "created").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_V_inEX2_knowsX_outV_name() {
+            return g.V().inE(2, "knows").outV().<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v1_outE_inV(final Object v1Id) {
+            return g.v(v1Id).outE().inV().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v2_inE_outV(final Object v2Id) {
+            return g.v(v2Id).inE().outV().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_V_outE_hasXweight_1X_outV() {
+            return g.V().outE().has("weight", 1.0f).outV().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_V_out_outE_inV_inE_inV_both_name() {
+            return g.V().out().outE().inV().inE().inV().both().<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_v1_outEXknowsX_bothV_name(final Object v1Id) {
+            return g.v(v1Id).outE("knows").bothV().<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v1_outXknowsX(final Object v1Id) {
+            return g.v(v1Id).out("knows").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v1_outXknows_createdX(final Object v1Id) {
+            return g.v(v1Id).out("knows", "created").submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v1_outEXknowsX_inV(final Object v1Id) {
+            return g.v(v1Id).outE("knows").inV().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v1_outEXknows_createdX_inV(final Object v1Id) {
+            return g.v(v1Id).outE("knows", "created").inV().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_V_out_out() {
+            return g.V().out().out().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<Vertex> get_g_v1_out_out_out(final Object v1Id) {
+            return g.v(v1Id).out().out().out().submit(new BatchTraversalEngine(2));
+        }
+
+        public Iterator<String> get_g_v1_out_propertyXnameX(final Object v1Id) {
+            return g.v(v1Id).out().<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+    }
+
     // todo: some of the graph computer tests do not pass
 
     public static class JavaComputerTraversalTest extends TraversalTest {
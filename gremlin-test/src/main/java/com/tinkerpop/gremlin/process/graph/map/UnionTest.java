@@ -0,0 +1,58 @@
+package com.tinkerpop.gremlin.process.graph.map;
+
+import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.graph.GraphTraversal;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.util.StreamFactory;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.CLASSIC;
+import static org.junit.Assert.assertEquals;
+
+public abstract class UnionTest extends AbstractGremlinProcessTest {
+
+    public abstract Iterator<String> get_g_V_unionXout_inX_name();
+
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_unionXout_inX_name() {
+        final Iterator<String> step = get_g_V_unionXout_inX_name();
+        System.out.println("Testing: " + step);
+        final Map<String, Long> names = StreamFactory.stream(step).collect(Collectors.groupingBy(s -> s, Collectors.counting()));
+        assertEquals(6, names.size());
+        assertEquals(Long.valueOf(3), names.get("marko"));
+        assertEquals(Long.valueOf(3), names.get("josh"));
+        assertEquals(Long.valueOf(3), names.get("lop"));
+        assertEquals(Long.valueOf(1), names.get("peter"));
+        assertEquals(Long.valueOf(1), names.get("vadas"));
+        assertEquals(Long.valueOf(1), names.get("ripple"));
+    }
+
+    public static class JavaUnionTest extends UnionTest {
+
+        public Iterator<String> get_g_V_unionXout_inX_name() {
+            return g.V().union(GraphTraversal.of().out(), GraphTraversal.of().in()).value("name");
+        }
+    }
+
+    public static class JavaParallelUnionTest extends UnionTest {
+
+        public Iterator<String> get_g_V_unionXout_inX_name() {
+            return g.V().union(GraphTraversal.of().out(), GraphTraversal.of().in()).<String>value("name").submit(new ParallelTraversalEngine());
+        }
+    }
+
+    public static class JavaBatchUnionTest extends UnionTest {
+
+        public Iterator<String> get_g_V_unionXout_inX_name() {
+            return g.V().union(GraphTraversal.of().out(), GraphTraversal.of().in()).<String>value("name").submit(new BatchTraversalEngine(2));
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.tinkerpop.gremlin.process.graph.sideEffect;
 
 import com.tinkerpop.gremlin.AbstractGremlinTest;
 import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.util.StreamFactory;
 import org.junit.Test;
 
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.CLASSIC;
 import static org.junit.Assert.assertEquals;
@@ -25,6 +30,8 @@ public abstract class AggregateTest extends AbstractGremlinTest {
 
     public abstract List<String> get_g_V_aggregateXa_nameX_iterate_getXaX();
 
+    public abstract Iterator<String> get_g_V_both_aggregateXxX_name();
+
     @Test
     @LoadGraphWith(CLASSIC)
     public void g_v1_aggregateXaX_outXcreatedX_inXcreatedX_exceptXaX() {
@@ -63,6 +70,21 @@ public abstract class AggregateTest extends AbstractGremlinTest {
         assert_g_V_valueXnameX_aggregateXaX_iterate_getXaX(names);
     }
 
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_both_aggregateXxX_name() {
+        final Iterator<String> step = get_g_V_both_aggregateXxX_name();
+        System.out.println("Testing: " + step);
+        final Map<String, Long> names = StreamFactory.stream(step).collect(Collectors.groupingBy(s -> s, Collectors.counting()));
+        assertEquals(6, names.size());
+        assertEquals(Long.valueOf(3), names.get("marko"));
+        assertEquals(Long.valueOf(3), names.get("josh"));
+        assertEquals(Long.valueOf(3), names.get("lop"));
+        assertEquals(Long.valueOf(1), names.get("peter"));
+        assertEquals(Long.valueOf(1), names.get("vadas"));
+        assertEquals(Long.valueOf(1), names.get("ripple"));
+    }
+
     public static class JavaAggregateTest extends AggregateTest {
 
         public Iterator<Vertex> get_g_v1_aggregateXaX_outXcreatedX_inXcreatedX_exceptXaX(final Object v1Id) {
@@ -76,5 +98,32 @@ public abstract class AggregateTest extends AbstractGremlinTest {
         public List<String> get_g_V_aggregateXa_nameX_iterate_getXaX() {
             return g.V().aggregate("a", v -> v.getValue("name")).iterate().memory().get("a");
         }
+
+        public Iterator<String> get_g_V_both_aggregateXxX_name() {
+            return g.V().both().aggregate("x").value("name");
+        }
+    }
+
+    public static class JavaParallelAggregateTest extends AggregateTest {
+
+        public Iterator<Vertex> get_g_v1_aggregateXaX_outXcreatedX_inXcreatedX_exceptXaX(final Object v1Id) {
+            return g.v(v1Id).with("x", new HashSet<>()).aggregate("x").out("created").in("created").except("x").submit(new ParallelTraversalEngine());
+        }
+
+        public List<String> get_g_V_valueXnameX_aggregateXaX_iterate_getXaX() {
+            final Traversal<Vertex, String> traversal = g.V().<String>value("name").aggregate("x");
+            traversal.submit(new ParallelTraversalEngine()).iterate();
+            return traversal.memory().get("x");
+        }
+
+        public List<String> get_g_V_aggregateXa_nameX_iterate_getXaX() {
+            final Traversal<Vertex, Vertex> traversal = g.V().aggregate("a", v -> v.getValue("name"));
+            traversal.submit(new ParallelTraversalEngine()).iterate();
+            return traversal.memory().get("a");
+        }
+
+        public Iterator<String> get_g_V_both_aggregateXxX_name() {
+            return g.V().both().aggregate("x").<String>value("name").submit(new ParallelTraversalEngine());
+        }
     }
 }
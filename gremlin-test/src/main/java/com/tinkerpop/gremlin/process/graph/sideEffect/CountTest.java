@@ -1,9 +1,130 @@
 package com.tinkerpop.gremlin.process.graph.sideEffect;
 
 import com.tinkerpop.gremlin.AbstractGremlinTest;
+import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.CLASSIC;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public abstract class CountTest extends AbstractGremlinTest {
+
+    public abstract Traversal<Vertex, Vertex> get_g_V();
+
+    public abstract Traversal<Vertex, Vertex> get_g_V_out();
+
+    public abstract Traversal<Vertex, Vertex> get_g_V_both_both();
+
+    public abstract Traversal<Vertex, Vertex> get_g_V_both_both_both();
+
+    public abstract Traversal<Vertex, String> get_g_V_both_both_name();
+
+    public abstract Traversal<Vertex, Vertex> get_g_V_both_both_filterXcounter_incrementX(final AtomicInteger counter);
+
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_count() {
+        assertEquals(6, get_g_V().count());
+    }
+
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_out_count() {
+        assertEquals(6, get_g_V_out().count());
+    }
+
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_both_both_count() {
+        assertEquals(30, get_g_V_both_both().count());
+    }
+
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_both_both_both_count() {
+        assertEquals(72, get_g_V_both_both_both().count());
+    }
+
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_both_both_name() {
+        final Traversal<Vertex, String> traversal = get_g_V_both_both_name();
+        System.out.println("Testing: " + traversal);
+        int counter = 0;
+        while (traversal.hasNext()) {
+            traversal.next();
+            counter++;
+        }
+        assertEquals(30, counter);
+    }
+
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_both_both_filterXcounter_incrementX_count() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        assertEquals(30, get_g_V_both_both_filterXcounter_incrementX(counter).count());
+        assertEquals(30, counter.get());
+    }
+
+    public static class JavaCountTest extends CountTest {
+
+        public Traversal<Vertex, Vertex> get_g_V() {
+            return g.V();
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_out() {
+            return g.V().out();
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_both_both() {
+            return g.V().both().both();
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_both_both_both() {
+            return g.V().both().both().both();
+        }
+
+        public Traversal<Vertex, String> get_g_V_both_both_name() {
+            return g.V().both().both().value("name");
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_both_both_filterXcounter_incrementX(final AtomicInteger counter) {
+            return g.V().both().both().filter(h -> counter.incrementAndGet() > 0);
+        }
+    }
+
+    public static class JavaParallelCountTest extends CountTest {
+
+        public Traversal<Vertex, Vertex> get_g_V() {
+            return g.V().submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_out() {
+            return g.V().out().submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_both_both() {
+            return g.V().both().both().submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_both_both_both() {
+            return g.V().both().both().both().submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, String> get_g_V_both_both_name() {
+            return g.V().both().both().<String>value("name").submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Vertex> get_g_V_both_both_filterXcounter_incrementX(final AtomicInteger counter) {
+            return g.V().both().both().filter(h -> counter.incrementAndGet() > 0).submit(new ParallelTraversalEngine());
+        }
+    }
 }
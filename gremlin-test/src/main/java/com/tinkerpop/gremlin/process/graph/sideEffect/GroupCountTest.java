@@ -3,6 +3,7 @@ package com.tinkerpop.gremlin.process.graph.sideEffect;
 import com.tinkerpop.gremlin.AbstractGremlinTest;
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
@@ -23,6 +24,8 @@ public abstract class GroupCountTest extends AbstractGremlinTest {
 
     public abstract Map<Object, Long> get_g_V_asXxX_out_groupCountXa_nameX_jumpXx_loops_lt_2X_iterate_getXaX();
 
+    public abstract Traversal<Vertex, Map<Object, Long>> get_g_V_both_both_name_groupCount();
+
     @Test
     @LoadGraphWith(CLASSIC)
     public void g_V_outXcreatedX_groupCountXnameX() {
@@ -56,6 +59,21 @@ public abstract class GroupCountTest extends AbstractGremlinTest {
         assertEquals(map.get("vadas").longValue(), 1l);
     }
 
+    @Test
+    @LoadGraphWith(CLASSIC)
+    public void g_V_both_both_name_groupCount() {
+        final Traversal<Vertex, Map<Object, Long>> traversal = get_g_V_both_both_name_groupCount();
+        System.out.println("Testing: " + traversal);
+        final Map<Object, Long> map = traversal.next();
+        assertEquals(map.size(), 6);
+        assertEquals(map.get("marko").longValue(), 7l);
+        assertEquals(map.get("josh").longValue(), 7l);
+        assertEquals(map.get("lop").longValue(), 7l);
+        assertEquals(map.get("vadas").longValue(), 3l);
+        assertEquals(map.get("ripple").longValue(), 3l);
+        assertEquals(map.get("peter").longValue(), 3l);
+    }
+
     public static class JavaGroupCountTest extends GroupCountTest {
         public Traversal<Vertex, Map<Object, Long>> get_g_V_outXcreatedX_groupCountXnameX() {
             return (Traversal) g.V().out("created").groupCount(v -> v.getValue("name"));
@@ -70,5 +88,31 @@ public abstract class GroupCountTest extends AbstractGremlinTest {
                     .groupCount("a", v -> v.getValue("name"))
                     .jump("x", h -> h.getLoops() < 2).iterate().memory().get("a");
         }
+
+        public Traversal<Vertex, Map<Object, Long>> get_g_V_both_both_name_groupCount() {
+            return (Traversal) g.V().both().both().value("name").groupCount();
+        }
+    }
+
+    public static class JavaParallelGroupCountTest extends GroupCountTest {
+        public Traversal<Vertex, Map<Object, Long>> get_g_V_outXcreatedX_groupCountXnameX() {
+            return (Traversal) g.V().out("created").groupCount(v -> v.getValue("name")).submit(new ParallelTraversalEngine());
+        }
+
+        public Traversal<Vertex, Map<Object, Long>> get_g_V_outXcreatedX_name_groupCount() {
+            return (Traversal) g.V().out("created").value("name").groupCount().submit(new ParallelTraversalEngine());
+        }
+
+        public Map<Object, Long> get_g_V_asXxX_out_groupCountXa_nameX_jumpXx_loops_lt_2X_iterate_getXaX() {
+            final Traversal<Vertex, Vertex> traversal = g.V().as("x").out()
+                    .groupCount("a", v -> v.getValue("name"))
+                    .jump("x", h -> h.getLoops() < 2);
+            traversal.submit(new ParallelTraversalEngine()).iterate();
+            return traversal.memory().get("a");
+        }
+
+        public Traversal<Vertex, Map<Object, Long>> get_g_V_both_both_name_groupCount() {
+            return (Traversal) g.V().both().both().value("name").groupCount().submit(new ParallelTraversalEngine());
+        }
     }
 }
\ No newline at end of file
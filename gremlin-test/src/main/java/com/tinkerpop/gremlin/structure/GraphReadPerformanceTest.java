@@ -39,10 +39,13 @@ public class GraphReadPerformanceTest {
         public TestRule benchmarkRun = new BenchmarkRule();
 
         private Set<Object> ids = new HashSet<>();
+        private Set<Object> edgeIds = new HashSet<>();
 
         @Override
         protected void prepareGraph(final Graph g) throws Exception {
             ids.clear();
+            edgeIds.clear();
+            final long usedMemoryBefore = PerformanceHelper.usedMemory();
             final int numVertices = 10000;
             final Random r = new Random(854939487556l);
             for (int i = 0; i < numVertices; i++) {
@@ -59,6 +62,8 @@ public class GraphReadPerformanceTest {
                     .inDistribution(inDist)
                     .expectedNumEdges(numVertices * 3).build();
             generator.generate();
+            g.E().forEach(e -> edgeIds.add(e.getId()));
+            PerformanceHelper.reportMemory(graphProvider, g, "readFromGraph", usedMemoryBefore);
         }
 
         @Test
@@ -77,5 +82,22 @@ public class GraphReadPerformanceTest {
                 counter.set(0);
             }
         }
+
+        @Test
+        @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+        public void readAllEdgesById() throws Exception {
+            final AtomicInteger counter = new AtomicInteger(0);
+
+            // read the edges 10 times over
+            for (int ix = 0; ix < 10; ix++) {
+                edgeIds.stream().map(g::e).forEach(e -> {
+                    assertNotNull(e.getVertex(Direction.IN));
+                    counter.incrementAndGet();
+                });
+
+                assertEquals(edgeIds.size(), counter.get());
+                counter.set(0);
+            }
+        }
     }
 }
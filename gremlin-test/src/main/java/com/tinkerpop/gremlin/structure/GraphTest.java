@@ -14,10 +14,13 @@ import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.tinkerpop.gremlin.structure.Graph.Features.GraphFeatures.FEATURE_CONCURRENT_ACCESS;
 import static com.tinkerpop.gremlin.structure.Graph.Features.GraphFeatures.FEATURE_PERSISTENCE;
 import static org.junit.Assert.*;
 
@@ -444,4 +447,53 @@ public class GraphTest extends AbstractGremlinTest {
 
         graphProvider.clear(reopenedGraph, graphProvider.standardGraphConfiguration());
     }
+
+    /**
+     * Stresses a graph that claims {@link Graph.Features.GraphFeatures#FEATURE_CONCURRENT_ACCESS} by having several
+     * threads add vertices and edges around a shared vertex while reading the graph at the same time.
+     */
+    @Test
+    @FeatureRequirement(featureClass = Graph.Features.GraphFeatures.class, feature = FEATURE_CONCURRENT_ACCESS)
+    public void shouldAddAndReadElementsConcurrently() throws Exception {
+        final GraphProvider graphProvider = GraphManager.get();
+        final int threads = 8;
+        final int verticesPerThread = 1000;
+        final Vertex hub = g.addVertex();
+        tryCommit(g);
+
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final CountDownLatch doneSignal = new CountDownLatch(threads);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int ix = 0; ix < threads; ix++) {
+            new Thread(() -> {
+                try {
+                    startSignal.await();
+                    for (int jx = 0; jx < verticesPerThread; jx++) {
+                        final Vertex v = g.addVertex();
+                        v.addEdge(graphProvider.convertLabel("links"), hub);
+                        hub.addEdge(graphProvider.convertLabel("knows"), v);
+                        if (jx % 100 == 0) {
+                            g.V().count();
+                            hub.inE().count();
+                        }
+                    }
+                    tryCommit(g);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    doneSignal.countDown();
+                }
+            }).start();
+        }
+
+        startSignal.countDown();
+        doneSignal.await();
+        if (null != failure.get())
+            throw new AssertionError("A thread failed while altering the graph", failure.get());
+
+        final int totalVertices = threads * verticesPerThread;
+        AbstractGremlinSuite.assertVertexEdgeCounts(totalVertices + 1, totalVertices * 2).accept(g);
+        assertEquals(totalVertices, hub.inE().count());
+        assertEquals(totalVertices, hub.outE().count());
+    }
 }
@@ -21,6 +21,8 @@ import org.junit.runner.RunWith;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -65,6 +67,49 @@ public class GraphWritePerformanceTest {
 
             AbstractGremlinSuite.assertVertexEdgeCounts(verticesToGenerate, verticesToGenerate - 1).accept(g);
         }
+
+        @Test
+        @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+        public void writeVerticesAndEdgesWithProperties() throws Exception {
+            final long usedMemoryBefore = PerformanceHelper.usedMemory();
+            final int verticesToGenerate = 100000;
+            Optional<Vertex> lastVertex = Optional.empty();
+            for (int ix = 0; ix < verticesToGenerate; ix++) {
+                final Vertex v = g.addVertex("oid", ix, "name", "v" + ix);
+                if (lastVertex.isPresent())
+                    v.addEdge("parent", lastVertex.get(), "weight", 0.5d);
+
+                lastVertex = Optional.of(v);
+                tryBatchCommit(g, ix);
+            }
+
+            AbstractGremlinSuite.assertVertexEdgeCounts(verticesToGenerate, verticesToGenerate - 1).accept(g);
+            PerformanceHelper.reportMemory(graphProvider, g, "writeVerticesAndEdgesWithProperties", usedMemoryBefore);
+        }
+
+        @Test
+        @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+        public void removeVerticesAndEdgesWithProperties() throws Exception {
+            final int verticesToGenerate = 100000;
+            final List<Vertex> vertices = new ArrayList<>(verticesToGenerate);
+            Optional<Vertex> lastVertex = Optional.empty();
+            for (int ix = 0; ix < verticesToGenerate; ix++) {
+                final Vertex v = g.addVertex("oid", ix, "name", "v" + ix);
+                if (lastVertex.isPresent())
+                    v.addEdge("parent", lastVertex.get(), "weight", 0.5d);
+
+                vertices.add(v);
+                lastVertex = Optional.of(v);
+                tryBatchCommit(g, ix);
+            }
+
+            for (int ix = 0; ix < verticesToGenerate; ix++) {
+                vertices.get(ix).remove();
+                tryBatchCommit(g, ix);
+            }
+
+            AbstractGremlinSuite.assertVertexEdgeCounts(0, 0).accept(g);
+        }
     }
 
     @AxisRange(min = 0, max = 1)
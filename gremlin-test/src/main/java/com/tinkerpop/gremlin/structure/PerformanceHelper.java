@@ -0,0 +1,53 @@
+package com.tinkerpop.gremlin.structure;
+
+import com.tinkerpop.gremlin.GraphProvider;
+import org.apache.log4j.Logger;
+
+/**
+ * Utility methods shared by the structure performance tests.
+ */
+final class PerformanceHelper {
+
+    private static final Logger LOGGER = Logger.getLogger(PerformanceHelper.class);
+
+    private static final int MAX_SETTLE_ROUNDS = 10;
+    private static final long SETTLE_PAUSE_MILLIS = 50;
+
+    private PerformanceHelper() {
+    }
+
+    /**
+     * Gets the heap in use once it has settled.  {@link System#gc()} is only a request, so collections are requested
+     * until two samples differ by no more than one percent (or {@link #MAX_SETTLE_ROUNDS} have passed) and the
+     * last sample is returned.  A retained size computed from it is still an estimate, but garbage left over from
+     * the work before the sample no longer dominates it.
+     */
+    public static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        for (int i = 0; i < MAX_SETTLE_ROUNDS; i++) {
+            System.gc();
+            try {
+                Thread.sleep(SETTLE_PAUSE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            final long settled = runtime.totalMemory() - runtime.freeMemory();
+            final boolean stable = Math.abs(settled - used) <= used / 100;
+            used = settled;
+            if (stable)
+                break;
+        }
+        return used;
+    }
+
+    /**
+     * Logs the heap retained by a graph since {@code usedMemoryBefore} was sampled so that implementations (and
+     * different configurations of the same implementation) can be compared.
+     */
+    public static void reportMemory(final GraphProvider graphProvider, final Graph g, final String test, final long usedMemoryBefore) {
+        final long retained = usedMemory() - usedMemoryBefore;
+        LOGGER.info(String.format("[%s] %s from %s retains %.2f MB (%d bytes)", test, g, graphProvider.getClass().getSimpleName(), retained / (1024d * 1024d), retained));
+    }
+}
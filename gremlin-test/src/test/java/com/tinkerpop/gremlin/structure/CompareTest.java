@@ -70,7 +70,13 @@ public class CompareTest {
                 {Compare.LESS_THAN_EQUAL, 100, 99, false},
                 {Compare.LESS_THAN_EQUAL, 100, 101, true},
                 {Compare.LESS_THAN_EQUAL, "z", "a", false},
-                {Compare.LESS_THAN_EQUAL, "a", "z", true}
+                {Compare.LESS_THAN_EQUAL, "a", "z", true},
+                {Compare.GREATER_THAN, 100l, 99, true},
+                {Compare.GREATER_THAN, 99, 100l, false},
+                {Compare.LESS_THAN, (short) 1, 2l, true},
+                {Compare.GREATER_THAN_EQUAL, 1l, 1, true},
+                {Compare.LESS_THAN_EQUAL, 1.5f, 1.5d, true},
+                {Compare.LESS_THAN, 1.5d, 2.5f, true}
         });
     }
 
@@ -12,11 +12,14 @@ import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.HasContainer;
 import com.tinkerpop.gremlin.util.StreamFactory;
+import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.index.AutoIndexer;
+import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.tooling.GlobalGraphOperations;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -113,8 +116,22 @@ public class Neo4jGraphStep<E extends Element> extends GraphStep<E> {
 
         return this.hasContainers.stream()
                 .filter(c -> indexedKeys.contains(c.key) && c.predicate.equals(Compare.EQUAL))
-                .findFirst()
+                .min(Comparator.comparingLong(c -> this.count(indexedClass, c)))
                 .orElseGet(() -> null);
     }
 
+    /**
+     * Gets the number of hits of the auto index for the container so that the most selective one is used.
+     */
+    private long count(final Class<? extends Element> indexedClass, final HasContainer indexedContainer) {
+        final AutoIndexer<? extends PropertyContainer> indexer = indexedClass.isAssignableFrom(Vertex.class) ?
+                this.graph.getRawGraph().index().getNodeAutoIndexer() :
+                this.graph.getRawGraph().index().getRelationshipAutoIndexer();
+        if (!indexer.isEnabled() || !indexer.getAutoIndexedProperties().contains(indexedContainer.key))
+            return Long.MAX_VALUE;
+        try (final IndexHits<? extends PropertyContainer> hits = indexer.getAutoIndex().get(indexedContainer.key, indexedContainer.value)) {
+            return hits.size();
+        }
+    }
+
 }
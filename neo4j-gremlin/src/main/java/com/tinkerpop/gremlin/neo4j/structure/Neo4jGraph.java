@@ -364,6 +364,15 @@ public class Neo4jGraph implements Graph {
                 public boolean supportsFullyIsolatedTransactions() {
                     return false;
                 }
+
+                /**
+                 * Elements are added and read by several threads through the transaction of each thread, which is
+                 * not the unsynchronized access this feature refers to.
+                 */
+                @Override
+                public boolean supportsConcurrentAccess() {
+                    return false;
+                }
             };
         }
 
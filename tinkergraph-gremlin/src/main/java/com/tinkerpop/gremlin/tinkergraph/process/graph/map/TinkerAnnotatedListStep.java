@@ -4,16 +4,46 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.map.FlatMapStep;
 import com.tinkerpop.gremlin.structure.AnnotatedList;
 import com.tinkerpop.gremlin.structure.AnnotatedValue;
+import com.tinkerpop.gremlin.structure.util.HasContainer;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerAnnotatedList;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.util.StreamFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerAnnotatedListStep<V> extends FlatMapStep<AnnotatedList<V>, AnnotatedValue<V>> {
 
+    /**
+     * The containers the values are filtered by, as folded in by the optimizer.  When the bounds on one of their
+     * annotation keys can be read from the annotation index of the list, only the values within them are visited.
+     */
+    public final List<HasContainer> hasContainers = new ArrayList<>();
+
     public TinkerAnnotatedListStep(final Traversal traversal) {
         super(traversal);
-        this.setFunction(holder -> TinkerHelper.getAnnotatedValues((TinkerAnnotatedList) holder.get()));
+        this.setFunction(holder -> getAnnotatedValues((TinkerAnnotatedList<V>) holder.get(), this.hasContainers));
+    }
+
+    static <V> Iterator<AnnotatedValue<V>> getAnnotatedValues(final TinkerAnnotatedList<V> annotatedList, final List<HasContainer> hasContainers) {
+        if (hasContainers.isEmpty())
+            return (Iterator) TinkerHelper.getAnnotatedValues(annotatedList);
+        Iterator<AnnotatedValue<V>> annotatedValues = null;
+        for (final TinkerGraphStep.Bounds bounds : TinkerGraphStep.getBounds(hasContainers, TinkerAnnotatedListStep::isAnnotationBoundContainer)) {
+            annotatedValues = (Iterator) TinkerHelper.queryAnnotationIndex(annotatedList, bounds.key, bounds.lower, bounds.lowerInclusive, bounds.upper, bounds.upperInclusive);
+            if (null != annotatedValues)
+                break;
+        }
+        if (null == annotatedValues)
+            annotatedValues = (Iterator) TinkerHelper.getAnnotatedValues(annotatedList);
+        return StreamFactory.stream(annotatedValues).filter(annotatedValue -> HasContainer.testAll(annotatedValue, hasContainers)).iterator();
+    }
+
+    private static boolean isAnnotationBoundContainer(final HasContainer container) {
+        return TinkerVertexStep.isBoundContainer(container) && !AnnotatedValue.VALUE.equals(container.key);
     }
 }
@@ -0,0 +1,31 @@
+package com.tinkerpop.gremlin.tinkergraph.process.graph.map;
+
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.graph.map.AnnotatedValueStep;
+import com.tinkerpop.gremlin.structure.AnnotatedList;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.util.HasContainer;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerAnnotatedList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link AnnotatedValueStep} that reads the values straight from the {@link TinkerAnnotatedList} of the vertex
+ * rather than through a traversal per vertex, filtering them by the containers folded in by the optimizer.
+ */
+public class TinkerAnnotatedValueStep<V> extends AnnotatedValueStep<V> {
+
+    public final List<HasContainer> hasContainers = new ArrayList<>();
+
+    public TinkerAnnotatedValueStep(final Traversal traversal, final String propertyKey) {
+        super(traversal, propertyKey);
+        this.setFunction(holder -> {
+            final Property<AnnotatedList<V>> property = holder.get().<AnnotatedList<V>>getProperty(propertyKey);
+            return property.isPresent() ?
+                    TinkerAnnotatedListStep.getAnnotatedValues((TinkerAnnotatedList<V>) property.get(), this.hasContainers) :
+                    Collections.emptyIterator();
+        });
+    }
+}
@@ -10,11 +10,18 @@ import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.HasContainer;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.util.StreamFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +31,11 @@ public class TinkerGraphStep<E extends Element> extends GraphStep<E> {
 
     private TinkerGraph graph;
     public final List<HasContainer> hasContainers = new ArrayList<>();
+    /**
+     * Whether the elements are filtered in parallel up front rather than lazily as they are pulled.  Only worthwhile
+     * when every element is going to be pulled and so is set by the optimizer when it knows the full result is needed.
+     */
+    public boolean parallel = false;
 
     public TinkerGraphStep(final Traversal traversal, final Class<E> returnClass, final TinkerGraph graph) {
         super(traversal, returnClass);
@@ -45,27 +57,177 @@ public class TinkerGraphStep<E extends Element> extends GraphStep<E> {
     }
 
     private Iterator<Edge> edges() {
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
-        return (Iterator) ((null == indexedContainer) ?
-                TinkerHelper.getEdges(this.graph).parallelStream() :
-                TinkerHelper.queryEdgeIndex(this.graph, indexedContainer.key, indexedContainer.value).parallelStream())
-                .filter(e -> HasContainer.testAll((Edge) e, this.hasContainers)).collect(Collectors.toList()).iterator();
+        final List<? extends Element> indexedEdges = this.getIndexedElements(Edge.class);
+        if (this.parallel)
+            return this.filterAll(null == indexedEdges ? TinkerHelper.getEdges(this.graph) : indexedEdges);
+        return this.filter(null == indexedEdges ? TinkerHelper.iterateEdges(this.graph) : indexedEdges.iterator());
     }
 
     private Iterator<Vertex> vertices() {
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
-        return (Iterator) ((null == indexedContainer) ?
-                TinkerHelper.getVertices(this.graph).parallelStream() :
-                TinkerHelper.queryVertexIndex(this.graph, indexedContainer.key, indexedContainer.value).parallelStream())
-                .filter(v -> HasContainer.testAll((Vertex) v, this.hasContainers)).collect(Collectors.toList()).iterator();
+        final List<? extends Element> indexedVertices = this.getIndexedElements(Vertex.class);
+        if (this.parallel)
+            return this.filterAll(null == indexedVertices ? TinkerHelper.getVertices(this.graph) : indexedVertices);
+        return this.filter(null == indexedVertices ? TinkerHelper.iterateVertices(this.graph) : indexedVertices.iterator());
+    }
+
+    /**
+     * Tests the elements against the {@code hasContainers} lazily as they are pulled so that a downstream step that
+     * stops early (e.g. {@link com.tinkerpop.gremlin.process.graph.filter.RangeStep}) leaves the rest untested.
+     */
+    private <T> Iterator<T> filter(final Iterator<? extends Element> elements) {
+        return (Iterator) StreamFactory.stream(elements).filter(e -> TinkerHelper.testAll(e, this.hasContainers)).iterator();
+    }
+
+    private <T> Iterator<T> filterAll(final Collection<? extends Element> elements) {
+        return (Iterator) elements.parallelStream().filter(e -> TinkerHelper.testAll(e, this.hasContainers)).collect(Collectors.toList()).iterator();
+    }
+
+    /**
+     * Gets the candidate elements from the most selective index that covers the {@code hasContainers} or
+     * {@code null} if no index applies.  Equality lookups, on a single key or on all the keys of a composite index,
+     * are compared by the size of the bucket they resolve to.  Range lookups are compared by the number of elements
+     * between their bounds, counting no further than the best lookup found so far.
+     */
+    private List<? extends Element> getIndexedElements(final Class<? extends Element> indexedClass) {
+        final boolean vertices = Vertex.class.isAssignableFrom(indexedClass);
+        final HasContainer indexedContainer = this.getIndexKey(indexedClass);
+        List<String> bestKeys = null;
+        List<Object> bestValues = null;
+        long bestCount = null == indexedContainer ? Long.MAX_VALUE : this.count(vertices, indexedContainer);
+
+        final Set<List<String>> compositeKeys = this.graph.getCompositeIndexedKeys(indexedClass);
+        if (!compositeKeys.isEmpty()) {
+            final Map<String, Object> equalities = new HashMap<>();
+            this.hasContainers.stream()
+                    .filter(c -> null != c.key && null != c.value && c.predicate.equals(Compare.EQUAL))
+                    .forEach(c -> equalities.putIfAbsent(c.key, c.value));
+            for (final List<String> keys : compositeKeys) {
+                if (equalities.keySet().containsAll(keys)) {
+                    final List<Object> values = keys.stream().map(equalities::get).collect(Collectors.toList());
+                    final long count = vertices ?
+                            TinkerHelper.countVertexIndex(this.graph, keys, values) :
+                            TinkerHelper.countEdgeIndex(this.graph, keys, values);
+                    if (count < bestCount) {
+                        bestKeys = keys;
+                        bestValues = values;
+                        bestCount = count;
+                    }
+                }
+            }
+        }
+
+        Bounds bestBounds = null;
+        for (final Bounds bounds : this.getIndexBounds(indexedClass)) {
+            final long count = vertices ?
+                    TinkerHelper.countVertexIndex(this.graph, bounds.key, bounds.lower, bounds.lowerInclusive, bounds.upper, bounds.upperInclusive, bestCount) :
+                    TinkerHelper.countEdgeIndex(this.graph, bounds.key, bounds.lower, bounds.lowerInclusive, bounds.upper, bounds.upperInclusive, bestCount);
+            if (count < bestCount) {
+                bestBounds = bounds;
+                bestCount = count;
+            }
+        }
+
+        if (null != bestBounds)
+            return vertices ?
+                    TinkerHelper.queryVertexIndex(this.graph, bestBounds.key, bestBounds.lower, bestBounds.lowerInclusive, bestBounds.upper, bestBounds.upperInclusive) :
+                    TinkerHelper.queryEdgeIndex(this.graph, bestBounds.key, bestBounds.lower, bestBounds.lowerInclusive, bestBounds.upper, bestBounds.upperInclusive);
+        else if (null != bestKeys)
+            return vertices ?
+                    TinkerHelper.queryVertexIndex(this.graph, bestKeys, bestValues) :
+                    TinkerHelper.queryEdgeIndex(this.graph, bestKeys, bestValues);
+        else if (null != indexedContainer)
+            return vertices ?
+                    TinkerHelper.queryVertexIndex(this.graph, indexedContainer.key, indexedContainer.value) :
+                    TinkerHelper.queryEdgeIndex(this.graph, indexedContainer.key, indexedContainer.value);
+        else
+            return null;
+    }
+
+    private long count(final boolean vertices, final HasContainer container) {
+        return vertices ?
+                TinkerHelper.countVertexIndex(this.graph, container.key, container.value) :
+                TinkerHelper.countEdgeIndex(this.graph, container.key, container.value);
     }
 
     private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
+        final boolean vertices = Vertex.class.isAssignableFrom(indexedClass);
         final Set<String> indexedKeys = this.graph.getIndexedKeys(indexedClass);
         return this.hasContainers.stream()
                 .filter(c -> indexedKeys.contains(c.key) && c.predicate.equals(Compare.EQUAL))
-                .findFirst()
+                .min(Comparator.comparingLong(c -> this.count(vertices, c)))
                 .orElseGet(() -> null);
     }
 
+    /**
+     * Folds the {@code GREATER_THAN}/{@code LESS_THAN} style containers on each {@link TinkerGraph.IndexType#RANGE}
+     * indexed key into the tightest bounds they describe so that the candidates can be read from the sorted index.
+     * Only containers whose value is of the same class as the first range container of the key are folded as the
+     * index keeps values of different classes apart.  All containers are still tested against the candidates.
+     */
+    private List<Bounds> getIndexBounds(final Class<? extends Element> indexedClass) {
+        return getBounds(this.hasContainers, c -> isRangeContainer(c) && TinkerGraph.IndexType.RANGE == this.graph.getIndexType(c.key, indexedClass));
+    }
+
+    /**
+     * Folds the containers the predicate accepts into the tightest bounds they describe for each of their keys.
+     */
+    static List<Bounds> getBounds(final List<HasContainer> hasContainers, final Predicate<HasContainer> foldable) {
+        final Map<String, Bounds> bounds = new LinkedHashMap<>();
+        for (final HasContainer container : hasContainers) {
+            if (foldable.test(container) && !bounds.containsKey(container.key)) {
+                final Bounds keyBounds = new Bounds(container.key);
+                hasContainers.stream()
+                        .filter(c -> container.key.equals(c.key) && foldable.test(c) && c.value.getClass().equals(container.value.getClass()))
+                        .forEach(keyBounds::fold);
+                bounds.put(container.key, keyBounds);
+            }
+        }
+        return new ArrayList<>(bounds.values());
+    }
+
+    static boolean isRangeContainer(final HasContainer container) {
+        return container.value instanceof Comparable && null != container.key &&
+                (container.predicate.equals(Compare.GREATER_THAN) || container.predicate.equals(Compare.GREATER_THAN_EQUAL) ||
+                        container.predicate.equals(Compare.LESS_THAN) || container.predicate.equals(Compare.LESS_THAN_EQUAL));
+    }
+
+    static class Bounds {
+        final String key;
+        Object lower = null;
+        boolean lowerInclusive = true;
+        Object upper = null;
+        boolean upperInclusive = true;
+
+        private Bounds(final String key) {
+            this.key = key;
+        }
+
+        private void fold(final HasContainer container) {
+            final Comparable value = (Comparable) container.value;
+            if (container.predicate.equals(Compare.EQUAL)) {
+                this.foldLower(value, true);
+                this.foldUpper(value, true);
+            } else if (container.predicate.equals(Compare.GREATER_THAN) || container.predicate.equals(Compare.GREATER_THAN_EQUAL))
+                this.foldLower(value, container.predicate.equals(Compare.GREATER_THAN_EQUAL));
+            else
+                this.foldUpper(value, container.predicate.equals(Compare.LESS_THAN_EQUAL));
+        }
+
+        private void foldLower(final Comparable value, final boolean inclusive) {
+            final int compare = null == this.lower ? 1 : value.compareTo(this.lower);
+            if (compare > 0 || (compare == 0 && !inclusive)) {
+                this.lower = value;
+                this.lowerInclusive = inclusive;
+            }
+        }
+
+        private void foldUpper(final Comparable value, final boolean inclusive) {
+            final int compare = null == this.upper ? -1 : value.compareTo(this.upper);
+            if (compare < 0 || (compare == 0 && !inclusive)) {
+                this.upper = value;
+                this.upperInclusive = inclusive;
+            }
+        }
+    }
+
 }
@@ -2,25 +2,86 @@ package com.tinkerpop.gremlin.tinkergraph.process.graph.map;
 
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.map.VertexStep;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Vertex;
-import com.tinkerpop.gremlin.util.StreamFactory;
+import com.tinkerpop.gremlin.structure.util.HasContainer;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import com.tinkerpop.gremlin.util.StreamFactory;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerVertexStep<E extends Element> extends VertexStep<E> {
 
+    /**
+     * The {@code labels} resolved to the identifiers they are interned to in the graph.  The graph is not known until
+     * the first vertex is expanded, so they are resolved then and reused for every later vertex.  Labels that no edge
+     * has had are left out, and are resolved again once the graph has interned more labels than it had then.
+     */
+    private int[] labelIds = null;
+    private int labelCount = -1;
+    /**
+     * The containers the edges are filtered by, as folded in by the optimizer.  When the bounds on one of their keys
+     * can be read from a vertex-centric index of the vertex, only the edges within them are visited.
+     */
+    public final List<HasContainer> hasContainers = new ArrayList<>();
+
     public TinkerVertexStep(final Traversal traversal, final Class<E> returnClass, final Direction direction, final int branchFactor, final String... labels) {
         super(traversal, returnClass, direction, branchFactor, labels);
         if (Vertex.class.isAssignableFrom(returnClass))
-            this.setFunction(holder -> (Iterator) StreamFactory.stream(TinkerHelper.getVertices((TinkerVertex) holder.get(), this.direction, this.labels)).limit(this.branchFactor).iterator());
+            this.setFunction(holder -> this.limit(TinkerHelper.getVertices((TinkerVertex) holder.get(), this.direction, this.getLabelIds((TinkerVertex) holder.get()))));
         else
-            this.setFunction(holder -> (Iterator) StreamFactory.stream(TinkerHelper.getEdges((TinkerVertex) holder.get(), this.direction, this.labels)).limit(this.branchFactor).iterator());
+            this.setFunction(holder -> this.limit(this.getEdges((TinkerVertex) holder.get())));
+    }
+
+    public TinkerVertexStep<E> copy(final Traversal traversal) {
+        if (this.hasContainers.stream().anyMatch(c -> !(c.predicate instanceof Compare || c.predicate instanceof Contains)))
+            return null;
+        final TinkerVertexStep<E> copy = new TinkerVertexStep<>(traversal, this.returnClass, this.direction, this.branchFactor, this.labels);
+        copy.hasContainers.addAll(this.hasContainers);
+        return copy;
+    }
+
+    private Iterator<Edge> getEdges(final TinkerVertex vertex) {
+        if (this.hasContainers.isEmpty())
+            return (Iterator) TinkerHelper.getEdges(vertex, this.direction, this.getLabelIds(vertex));
+        Iterator<Edge> edges = null;
+        for (final TinkerGraphStep.Bounds bounds : TinkerGraphStep.getBounds(this.hasContainers, TinkerVertexStep::isBoundContainer)) {
+            edges = TinkerHelper.queryVertexCentricIndex(vertex, this.direction, this.labels, bounds.key, bounds.lower, bounds.lowerInclusive, bounds.upper, bounds.upperInclusive);
+            if (null != edges)
+                break;
+        }
+        if (null == edges)
+            edges = (Iterator) TinkerHelper.getEdges(vertex, this.direction, this.getLabelIds(vertex));
+        return StreamFactory.stream(edges).filter(edge -> TinkerHelper.testAll(edge, this.hasContainers)).iterator();
+    }
+
+    private int[] getLabelIds(final TinkerVertex vertex) {
+        final int labelCount = TinkerHelper.getLabelCount(vertex);
+        if (null == this.labelIds || (this.labelIds.length < this.labels.length && labelCount != this.labelCount)) {
+            this.labelIds = TinkerHelper.getLabelIds(vertex, this.labels);
+            this.labelCount = labelCount;
+        }
+        return this.labelIds;
+    }
+
+    private Iterator<E> limit(final Iterator iterator) {
+        return Integer.MAX_VALUE == this.branchFactor ?
+                iterator :
+                (Iterator) StreamFactory.stream(iterator).limit(this.branchFactor).iterator();
+    }
+
+    static boolean isBoundContainer(final HasContainer container) {
+        return TinkerGraphStep.isRangeContainer(container) ||
+                (container.predicate.equals(Compare.EQUAL) && container.value instanceof Comparable && null != container.key);
     }
 }
@@ -5,10 +5,23 @@ import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.filter.HasStep;
 import com.tinkerpop.gremlin.process.graph.filter.IntervalStep;
+import com.tinkerpop.gremlin.process.graph.filter.RangeStep;
+import com.tinkerpop.gremlin.process.graph.map.AnnotatedValueStep;
 import com.tinkerpop.gremlin.process.graph.map.IdentityStep;
+import com.tinkerpop.gremlin.process.graph.map.VertexStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.CountStep;
+import com.tinkerpop.gremlin.process.graph.sideEffect.GroupCountStep;
 import com.tinkerpop.gremlin.process.util.EmptyStep;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.util.HasContainer;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerAnnotatedListStep;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerAnnotatedValueStep;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerGraphStep;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerVertexStep;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -37,7 +50,79 @@ public class TinkerGraphStepOptimizer implements Optimizer.FinalOptimizer {
                 }
                 currentStep = currentStep.getNextStep();
             }
+            tinkerGraphStep.parallel = requiresFullResult(currentStep);
             tinkerGraphStep.generateHolderIterator(false);
         }
+
+        // expand adjacent elements directly from TinkerVertex rather than through a traversal per vertex
+        ((List<Step>) traversal.getSteps()).stream()
+                .filter(step -> step.getClass().equals(VertexStep.class))
+                .collect(Collectors.<Step>toList())
+                .forEach(step -> {
+                    final VertexStep vertexStep = (VertexStep) step;
+                    final TinkerVertexStep tinkerVertexStep = new TinkerVertexStep(traversal, vertexStep.returnClass, vertexStep.direction, vertexStep.branchFactor, vertexStep.labels);
+                    if (TraversalHelper.isLabeled(vertexStep))
+                        tinkerVertexStep.setAs(vertexStep.getAs());
+                    final int index = traversal.getSteps().indexOf(vertexStep);
+                    TraversalHelper.removeStep(vertexStep, traversal);
+                    TraversalHelper.insertStep(tinkerVertexStep, index, traversal);
+                });
+
+        // filter the adjacent edges as they are expanded so that a vertex-centric index can bound them
+        ((List<Step>) traversal.getSteps()).stream()
+                .filter(step -> step instanceof TinkerVertexStep && Edge.class.isAssignableFrom(((TinkerVertexStep) step).returnClass) && Integer.MAX_VALUE == ((TinkerVertexStep) step).branchFactor)
+                .collect(Collectors.<Step>toList())
+                .forEach(step -> foldHasContainers(step, ((TinkerVertexStep) step).hasContainers, traversal));
+
+        // read annotated values straight from the list so that its annotation index can bound them
+        ((List<Step>) traversal.getSteps()).stream()
+                .filter(step -> step.getClass().equals(AnnotatedValueStep.class))
+                .collect(Collectors.<Step>toList())
+                .forEach(step -> {
+                    final AnnotatedValueStep annotatedValueStep = (AnnotatedValueStep) step;
+                    final TinkerAnnotatedValueStep tinkerAnnotatedValueStep = new TinkerAnnotatedValueStep(traversal, annotatedValueStep.annotatedListKey);
+                    if (TraversalHelper.isLabeled(annotatedValueStep))
+                        tinkerAnnotatedValueStep.setAs(annotatedValueStep.getAs());
+                    final int index = traversal.getSteps().indexOf(annotatedValueStep);
+                    TraversalHelper.removeStep(annotatedValueStep, traversal);
+                    TraversalHelper.insertStep(tinkerAnnotatedValueStep, index, traversal);
+                });
+        ((List<Step>) traversal.getSteps()).stream()
+                .filter(step -> step instanceof TinkerAnnotatedValueStep || step instanceof TinkerAnnotatedListStep)
+                .collect(Collectors.<Step>toList())
+                .forEach(step -> foldHasContainers(step, step instanceof TinkerAnnotatedValueStep ?
+                        ((TinkerAnnotatedValueStep) step).hasContainers :
+                        ((TinkerAnnotatedListStep) step).hasContainers, traversal));
+    }
+
+    private static void foldHasContainers(final Step step, final List<HasContainer> hasContainers, final Traversal traversal) {
+        Step currentStep = step.getNextStep();
+        while (currentStep != EmptyStep.instance() && !TraversalHelper.isLabeled(currentStep)) {
+            if (currentStep instanceof HasStep) {
+                hasContainers.add(((HasStep) currentStep).hasContainer);
+                TraversalHelper.removeStep(currentStep, traversal);
+            } else if (currentStep instanceof IntervalStep) {
+                hasContainers.add(((IntervalStep) currentStep).startContainer);
+                hasContainers.add(((IntervalStep) currentStep).endContainer);
+                TraversalHelper.removeStep(currentStep, traversal);
+            } else if (!(currentStep instanceof IdentityStep))
+                break;
+            currentStep = currentStep.getNextStep();
+        }
+    }
+
+    /**
+     * Determines if every element emitted by the graph step is going to be pulled, in which case filtering them in
+     * parallel up front pays off.  A {@link RangeStep} ahead of the counting step means only a prefix is needed.
+     */
+    private static boolean requiresFullResult(Step step) {
+        while (step != EmptyStep.instance()) {
+            if (step instanceof RangeStep)
+                return false;
+            else if (step instanceof CountStep || step instanceof GroupCountStep)
+                return true;
+            step = step.getNextStep();
+        }
+        return false;
     }
 }
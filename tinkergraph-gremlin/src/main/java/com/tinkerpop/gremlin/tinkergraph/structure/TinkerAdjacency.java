@@ -0,0 +1,76 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Edge;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * The mutable form of the edges incident to a {@link TinkerVertex} in one direction, grouped by the identifier their
+ * label is interned to in the {@link TinkerLabels} of the graph.  A vertex tends to have edges of only a few labels,
+ * so the identifiers are scanned in a small array rather than hashed in a map.  The arrays are never altered once
+ * published, so adding a label creates a new adjacency and readers may iterate without taking the lock of the vertex.
+ */
+class TinkerAdjacency implements Serializable {
+
+    protected static final TinkerAdjacency EMPTY = new TinkerAdjacency(new int[0], new Set[0]);
+
+    private final int[] labels;
+    private final Set<Edge>[] edges;
+
+    protected TinkerAdjacency(final int[] labels, final Set<Edge>[] edges) {
+        this.labels = labels;
+        this.edges = edges;
+    }
+
+    /**
+     * Gets the edges of the label or {@code null} if the vertex never had an edge of the label.
+     */
+    protected Set<Edge> get(final int label) {
+        for (int i = 0; i < this.labels.length; i++) {
+            if (this.labels[i] == label)
+                return this.edges[i];
+        }
+        return null;
+    }
+
+    /**
+     * Creates an adjacency that holds the edges of this one and the provided set of edges for a new label.
+     */
+    protected TinkerAdjacency with(final int label, final Set<Edge> edges) {
+        final int size = this.labels.length;
+        final int[] labels = Arrays.copyOf(this.labels, size + 1);
+        final Set<Edge>[] sets = Arrays.copyOf(this.edges, size + 1);
+        labels[size] = label;
+        sets[size] = edges;
+        return new TinkerAdjacency(labels, sets);
+    }
+
+    /**
+     * Gets the number of labels the vertex has had edges of, including labels whose edges were all removed.
+     */
+    protected int size() {
+        return this.labels.length;
+    }
+
+    protected int getLabel(final int index) {
+        return this.labels[index];
+    }
+
+    protected Set<Edge> getEdges(final int index) {
+        return this.edges[index];
+    }
+
+    /**
+     * Copies the adjacency along with the sets it holds.
+     */
+    protected TinkerAdjacency copy(final TinkerGraph graph) {
+        final Set<Edge>[] sets = new Set[this.edges.length];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = TinkerHelper.createEdgeSet(graph);
+            sets[i].addAll(this.edges[i]);
+        }
+        return new TinkerAdjacency(this.labels, sets);
+    }
+}
@@ -5,32 +5,92 @@ import com.tinkerpop.gremlin.process.graph.map.StartStep;
 import com.tinkerpop.gremlin.process.graph.DefaultGraphTraversal;
 import com.tinkerpop.gremlin.structure.AnnotatedList;
 import com.tinkerpop.gremlin.structure.AnnotatedValue;
+import com.tinkerpop.gremlin.structure.util.AnnotatedValueHelper;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerAnnotatedListStep;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.util.optimizers.TinkerGraphStepOptimizer;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
+ * An {@link AnnotatedList} laid out as parallel arrays rather than as an object with a map of annotations per value.
+ * The values are held by one array and each annotation key has a column of its own, which holds {@link Long},
+ * {@link Integer} and {@link Double} annotations as primitives until an annotation of another class is set.  A value
+ * is given an identifier in the order it is added and the {@link TinkerAnnotatedValue} handed out for it refers to it
+ * by that identifier, so the handle stays valid as the arrays are compacted.  A removed value leaves a gap that is
+ * closed the next time the arrays are full.
+ * <p/>
+ * Once the list holds {@link #MIN_INDEX_SIZE} values, a filter on an annotation is answered from a sorted index of the
+ * annotation that is built on the first such filter and maintained from then on.  As with a
+ * {@link TinkerGraph.IndexType#RANGE} index, only {@link Comparable} annotations are indexed and annotations of
+ * different classes are kept apart.
+ * <p/>
+ * The values added to or removed from the list and the annotations set on or removed from them are written to the
+ * {@link TinkerLog} of the graph of the vertex that holds the list, if it has one.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerAnnotatedList<V> implements AnnotatedList<V>, Serializable {
 
-    protected final List<AnnotatedValue<V>> annotatedValues = new ArrayList<>();
+    protected static final int MIN_INDEX_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long nextId = 0l;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+    private int removed = 0;
+    private final Map<String, AnnotationColumn> annotations = new LinkedHashMap<>();
+    private transient Map<String, Map<Class, NavigableMap<Object, Set<Long>>>> indices = null;
+    private final transient TinkerVertex vertex;
+    private final transient String key;
+
+    protected TinkerAnnotatedList(final TinkerVertex vertex, final String key) {
+        this.vertex = vertex;
+        this.key = key;
+    }
 
     public AnnotatedValue<V> addValue(final V value, final Object... annotationKeyValues) {
-        final AnnotatedValue<V> annotatedValue = new TinkerAnnotatedValue<V>(value, annotationKeyValues) {
-            public void remove() {
-                annotatedValues.remove(this);
-            }
-        };
-        this.annotatedValues.add(annotatedValue);
+        AnnotatedValueHelper.validateAnnotatedValue(value);
+        AnnotatedValueHelper.legalAnnotationKeyValueArray(annotationKeyValues);
+        final AnnotatedValue<V> annotatedValue = this.putValue(value, annotationKeyValues);
+        final TinkerLog log = this.getLog();
+        if (null != log)
+            log.addAnnotatedValue(this.vertex, this.key, value, annotationKeyValues);
         return annotatedValue;
     }
 
+    /**
+     * Adds the value without validating or logging it, as when the list is read back from storage.
+     */
+    protected AnnotatedValue<V> putValue(final V value, final Object... annotationKeyValues) {
+        if (this.size == this.values.length)
+            this.grow();
+        final int slot = this.size++;
+        final long id = this.nextId++;
+        this.ids[slot] = id;
+        this.values[slot] = value;
+        for (int i = 0; i < annotationKeyValues.length; i = i + 2) {
+            this.putAnnotation(slot, (String) annotationKeyValues[i], annotationKeyValues[i + 1]);
+        }
+        return new TinkerAnnotatedValue<>(this, id, slot, value);
+    }
+
     public GraphTraversal<AnnotatedList<V>, AnnotatedValue<V>> annotatedValues() {
         final GraphTraversal<AnnotatedList<V>, AnnotatedValue<V>> traversal = new DefaultGraphTraversal<>();
+        traversal.optimizers().register(new TinkerGraphStepOptimizer());
         traversal.addStep(new StartStep<AnnotatedList>(traversal, this));
         traversal.addStep(new TinkerAnnotatedListStep<V>(traversal));
         return traversal;
@@ -39,5 +99,343 @@ public class TinkerAnnotatedList<V> implements AnnotatedList<V>, Serializable {
     public String toString() {
         return StringFactory.annotatedListString(this);
     }
-}
 
+    /**
+     * Gets the number of values in the list.
+     */
+    protected int size() {
+        return this.size - this.removed;
+    }
+
+    /**
+     * Iterates over the values that are in the list when the iterator is created, in the order they were added.
+     * Values added afterwards are not visited and values removed before they are reached are skipped, so the list may
+     * be altered while it is iterated.
+     */
+    protected Iterator<TinkerAnnotatedValue<V>> iterator() {
+        return new ValueIterator(this.ids, this.size, true);
+    }
+
+    /**
+     * Gets the values whose annotation falls between the provided bounds, in the order they were added as
+     * {@link #iterator()} visits them, or {@code null} if the list holds too few values to be indexed.  A {@code null} bound leaves that side of the range
+     * open, but at least one bound must be provided as it determines the class of the annotations that are read.
+     */
+    protected Iterator<TinkerAnnotatedValue<V>> getAnnotatedValues(final String key, final Object lowerBound, final boolean lowerInclusive, final Object upperBound, final boolean upperInclusive) {
+        if (this.size() < MIN_INDEX_SIZE || (null == lowerBound && null == upperBound))
+            return null;
+        final Object lower = TinkerHelper.getRangeValue(lowerBound);
+        final Object upper = TinkerHelper.getRangeValue(upperBound);
+        final Class boundClass = null == lower ? upper.getClass() : lower.getClass();
+        NavigableMap<Object, Set<Long>> classMap = this.getIndex(key).get(boundClass);
+        if (null == classMap || (null != upper && !boundClass.equals(upper.getClass())))
+            return Collections.emptyIterator();
+        if (null != lower && null != upper && ((Comparable) lower).compareTo(upper) > 0)
+            return Collections.emptyIterator();
+        if (null != lower)
+            classMap = classMap.tailMap(lower, lowerInclusive);
+        if (null != upper)
+            classMap = classMap.headMap(upper, upperInclusive);
+        // the identifiers are copied out so that the list may be altered while the values are iterated, and sorted
+        // as they are given in the order the values are added
+        final long[] matches = classMap.values().stream().flatMap(Set::stream).mapToLong(Long::longValue).toArray();
+        Arrays.sort(matches);
+        return new ValueIterator(matches, matches.length, false);
+    }
+
+    ///////////// ACCESS BY SLOT ///////////////
+
+    /**
+     * Gets the slot the value of the identifier is held at, trying the slot it was last seen at first, or {@code -1}
+     * if the value was removed.
+     */
+    protected int getSlot(final long id, final int hint) {
+        final int slot = hint >= 0 && hint < this.size && this.ids[hint] == id ? hint : Arrays.binarySearch(this.ids, 0, this.size, id);
+        return slot < 0 || null == this.values[slot] ? -1 : slot;
+    }
+
+    protected Object getAnnotation(final int slot, final String key) {
+        final AnnotationColumn column = this.annotations.get(key);
+        return null == column ? null : column.get(slot);
+    }
+
+    protected void setAnnotation(final int slot, final String key, final Object value) {
+        this.putAnnotation(slot, key, value);
+        final TinkerLog log = this.getLog();
+        if (null != log)
+            log.setAnnotation(this.vertex, this.key, this.ids[slot], key, value);
+    }
+
+    protected void removeAnnotation(final int slot, final String key) {
+        if (this.clearAnnotation(slot, key)) {
+            final TinkerLog log = this.getLog();
+            if (null != log)
+                log.removeAnnotation(this.vertex, this.key, this.ids[slot], key);
+        }
+    }
+
+    private void putAnnotation(final int slot, final String key, final Object value) {
+        AnnotationColumn column = this.annotations.get(key);
+        if (null == column) {
+            column = new AnnotationColumn(this.values.length);
+            this.annotations.put(key, column);
+        }
+        final Object oldValue = column.get(slot);
+        column.set(slot, value);
+        this.reindex(key, this.ids[slot], oldValue, value);
+    }
+
+    private boolean clearAnnotation(final int slot, final String key) {
+        final AnnotationColumn column = this.annotations.get(key);
+        final Object oldValue = null == column ? null : column.get(slot);
+        if (null == oldValue)
+            return false;
+        column.remove(slot);
+        this.reindex(key, this.ids[slot], oldValue, null);
+        return true;
+    }
+
+    protected Set<String> getAnnotationKeys(final int slot) {
+        final Set<String> keys = new HashSet<>();
+        this.annotations.forEach((key, column) -> {
+            if (column.contains(slot))
+                keys.add(key);
+        });
+        return keys;
+    }
+
+    protected void remove(final int slot) {
+        for (final String key : this.annotations.keySet()) {
+            this.clearAnnotation(slot, key);
+        }
+        this.values[slot] = null;
+        this.removed++;
+        final TinkerLog log = this.getLog();
+        if (null != log)
+            log.removeAnnotatedValue(this.vertex, this.key, this.ids[slot]);
+    }
+
+    private TinkerLog getLog() {
+        return null == this.vertex ? null : this.vertex.graph.log;
+    }
+
+    /**
+     * Makes room for another value by closing the gaps left by removed values when they make up half of the list and
+     * by doubling the arrays otherwise.  New arrays are always allocated as iterators hold on to the old ones.
+     */
+    private void grow() {
+        if (this.removed > this.size / 2) {
+            final int[] kept = new int[this.size - this.removed];
+            for (int slot = 0, i = 0; slot < this.size; slot++) {
+                if (null != this.values[slot])
+                    kept[i++] = slot;
+            }
+            final int capacity = Math.max(INITIAL_CAPACITY, kept.length * 2);
+            final long[] ids = new long[capacity];
+            final Object[] values = new Object[capacity];
+            for (int i = 0; i < kept.length; i++) {
+                ids[i] = this.ids[kept[i]];
+                values[i] = this.values[kept[i]];
+            }
+            this.annotations.values().forEach(column -> column.compact(kept, capacity));
+            this.ids = ids;
+            this.values = values;
+            this.size = kept.length;
+            this.removed = 0;
+        } else {
+            final int capacity = this.values.length * 2;
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+            this.annotations.values().forEach(column -> column.resize(capacity));
+        }
+    }
+
+    ///////////// ANNOTATION INDICES ///////////////
+
+    private Map<Class, NavigableMap<Object, Set<Long>>> getIndex(final String key) {
+        if (null == this.indices)
+            this.indices = new HashMap<>();
+        Map<Class, NavigableMap<Object, Set<Long>>> index = this.indices.get(key);
+        if (null == index) {
+            index = new HashMap<>();
+            final AnnotationColumn column = this.annotations.get(key);
+            if (null != column) {
+                for (int slot = 0; slot < this.size; slot++) {
+                    if (null != this.values[slot] && column.contains(slot))
+                        put(index, column.get(slot), this.ids[slot]);
+                }
+            }
+            this.indices.put(key, index);
+        }
+        return index;
+    }
+
+    private void reindex(final String key, final long id, final Object oldValue, final Object newValue) {
+        final Map<Class, NavigableMap<Object, Set<Long>>> index = null == this.indices ? null : this.indices.get(key);
+        if (null == index)
+            return;
+        if (null != oldValue && oldValue instanceof Comparable) {
+            final Object value = TinkerHelper.getRangeValue(oldValue);
+            final NavigableMap<Object, Set<Long>> classMap = index.get(value.getClass());
+            final Set<Long> ids = null == classMap ? null : classMap.get(value);
+            if (null != ids && ids.remove(id) && ids.isEmpty())
+                classMap.remove(value);
+        }
+        if (null != newValue)
+            put(index, newValue, id);
+    }
+
+    private static void put(final Map<Class, NavigableMap<Object, Set<Long>>> index, final Object annotationValue, final long id) {
+        if (!(annotationValue instanceof Comparable))
+            return;
+        final Object value = TinkerHelper.getRangeValue(annotationValue);
+        NavigableMap<Object, Set<Long>> classMap = index.get(value.getClass());
+        if (null == classMap) {
+            classMap = new TreeMap<>();
+            index.put(value.getClass(), classMap);
+        }
+        Set<Long> ids = classMap.get(value);
+        if (null == ids) {
+            ids = new HashSet<>();
+            classMap.put(value, ids);
+        }
+        ids.add(id);
+    }
+
+    /**
+     * Visits the values of the provided identifiers that are still in the list.  When the identifiers are the
+     * identifiers array of the list, their position is the slot of their value unless the list was compacted since.
+     */
+    private class ValueIterator implements Iterator<TinkerAnnotatedValue<V>> {
+
+        private final long[] ids;
+        private final int end;
+        private final boolean positional;
+        private int position = 0;
+        private TinkerAnnotatedValue<V> next = null;
+
+        private ValueIterator(final long[] ids, final int end, final boolean positional) {
+            this.ids = ids;
+            this.end = end;
+            this.positional = positional;
+        }
+
+        public boolean hasNext() {
+            while (null == this.next && this.position < this.end) {
+                final long id = this.ids[this.position];
+                final int slot = getSlot(id, this.positional ? this.position : -1);
+                this.position++;
+                if (-1 != slot)
+                    this.next = new TinkerAnnotatedValue<>(TinkerAnnotatedList.this, id, slot, (V) values[slot]);
+            }
+            return null != this.next;
+        }
+
+        public TinkerAnnotatedValue<V> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            final TinkerAnnotatedValue<V> annotatedValue = this.next;
+            this.next = null;
+            return annotatedValue;
+        }
+    }
+
+    /**
+     * The annotations of one key, by slot.  Annotations are held as the bits of a {@code long} while they are all of
+     * the class of the first annotation set and that class is {@link Long}, {@link Integer} or {@link Double}, and as
+     * objects otherwise.
+     */
+    private static class AnnotationColumn implements Serializable {
+
+        private Class type = null;
+        private long[] primitives;
+        private Object[] objects = null;
+        private BitSet present = new BitSet();
+
+        private AnnotationColumn(final int capacity) {
+            this.primitives = new long[capacity];
+        }
+
+        private boolean contains(final int slot) {
+            return this.present.get(slot);
+        }
+
+        private Object get(final int slot) {
+            if (!this.present.get(slot))
+                return null;
+            return null == this.objects ? this.box(this.primitives[slot]) : this.objects[slot];
+        }
+
+        private void set(final int slot, final Object value) {
+            if (null == this.objects) {
+                if (null == this.type && this.present.isEmpty() && isPrimitive(value.getClass()))
+                    this.type = value.getClass();
+                if (value.getClass().equals(this.type)) {
+                    this.primitives[slot] = unbox(value);
+                    this.present.set(slot);
+                    return;
+                }
+                this.promote();
+            }
+            this.objects[slot] = value;
+            this.present.set(slot);
+        }
+
+        private void remove(final int slot) {
+            this.present.clear(slot);
+            if (null != this.objects)
+                this.objects[slot] = null;
+        }
+
+        private void resize(final int capacity) {
+            if (null == this.objects)
+                this.primitives = Arrays.copyOf(this.primitives, capacity);
+            else
+                this.objects = Arrays.copyOf(this.objects, capacity);
+        }
+
+        private void compact(final int[] kept, final int capacity) {
+            final BitSet present = new BitSet();
+            final long[] primitives = null == this.objects ? new long[capacity] : null;
+            final Object[] objects = null == this.objects ? null : new Object[capacity];
+            for (int i = 0; i < kept.length; i++) {
+                if (this.present.get(kept[i])) {
+                    present.set(i);
+                    if (null == objects)
+                        primitives[i] = this.primitives[kept[i]];
+                    else
+                        objects[i] = this.objects[kept[i]];
+                }
+            }
+            this.present = present;
+            this.primitives = primitives;
+            this.objects = objects;
+        }
+
+        private void promote() {
+            this.objects = new Object[this.primitives.length];
+            for (int slot = this.present.nextSetBit(0); slot >= 0; slot = this.present.nextSetBit(slot + 1)) {
+                this.objects[slot] = this.box(this.primitives[slot]);
+            }
+            this.primitives = null;
+            this.type = null;
+        }
+
+        private Object box(final long bits) {
+            if (Long.class.equals(this.type))
+                return bits;
+            else if (Integer.class.equals(this.type))
+                return (int) bits;
+            else
+                return Double.longBitsToDouble(bits);
+        }
+
+        private static long unbox(final Object value) {
+            return value instanceof Double ? Double.doubleToRawLongBits((Double) value) : ((Number) value).longValue();
+        }
+
+        private static boolean isPrimitive(final Class type) {
+            return Long.class.equals(type) || Integer.class.equals(type) || Double.class.equals(type);
+        }
+    }
+}
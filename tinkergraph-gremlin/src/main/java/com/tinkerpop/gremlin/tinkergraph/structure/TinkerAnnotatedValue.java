@@ -5,56 +5,80 @@ import com.tinkerpop.gremlin.structure.util.AnnotatedValueHelper;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
 
 /**
+ * A handle on a value of a {@link TinkerAnnotatedList}, which holds the value and its annotations.  Once the value
+ * is removed from the list, the handle has no annotations and setting them has no effect.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerAnnotatedValue<V> implements AnnotatedValue<V>, Serializable {
 
+    private final TinkerAnnotatedList<V> annotatedList;
+    private final long id;
     private final V value;
-    private final Map<String, Object> annotations = new HashMap<>();
+    private int slot;
 
-    public TinkerAnnotatedValue(final V value, final Object... annotationKeyValues) {
-        AnnotatedValueHelper.validateAnnotatedValue(value);
-        AnnotatedValueHelper.legalAnnotationKeyValueArray(annotationKeyValues);
+    protected TinkerAnnotatedValue(final TinkerAnnotatedList<V> annotatedList, final long id, final int slot, final V value) {
+        this.annotatedList = annotatedList;
+        this.id = id;
+        this.slot = slot;
         this.value = value;
-        for (int i = 0; i < annotationKeyValues.length; i = i + 2) {
-            this.annotations.put((String) annotationKeyValues[i], annotationKeyValues[i + 1]);
-        }
     }
 
     public V getValue() {
         return this.value;
     }
 
-
     public <T> Optional<T> getAnnotation(final String key) {
-        return Optional.ofNullable((T) this.annotations.get(key));
+        final int slot = this.getSlot();
+        return -1 == slot ? Optional.empty() : Optional.ofNullable((T) this.annotatedList.getAnnotation(slot, key));
     }
 
     public void setAnnotation(final String key, final Object value) {
         AnnotatedValueHelper.validateAnnotation(key, value);
-        this.annotations.put(key, value);
+        final int slot = this.getSlot();
+        if (-1 != slot)
+            this.annotatedList.setAnnotation(slot, key, value);
     }
 
     public Set<String> getAnnotationKeys() {
-        return this.annotations.keySet();
+        final int slot = this.getSlot();
+        return -1 == slot ? Collections.emptySet() : this.annotatedList.getAnnotationKeys(slot);
     }
 
     public void removeAnnotation(final String key) {
-        this.annotations.remove(key);
+        final int slot = this.getSlot();
+        if (-1 != slot)
+            this.annotatedList.removeAnnotation(slot, key);
     }
 
     public void remove() {
+        final int slot = this.getSlot();
+        if (-1 != slot)
+            this.annotatedList.remove(slot);
+    }
+
+    private int getSlot() {
+        this.slot = this.annotatedList.getSlot(this.id, this.slot);
+        return this.slot;
+    }
+
+    public boolean equals(final Object object) {
+        return object instanceof TinkerAnnotatedValue &&
+                ((TinkerAnnotatedValue) object).annotatedList == this.annotatedList &&
+                ((TinkerAnnotatedValue) object).id == this.id;
+    }
 
+    public int hashCode() {
+        return Long.hashCode(this.id);
     }
 
     public String toString() {
         return StringFactory.annotatedValueString(this);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,298 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.AnnotatedList;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Vertex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Loads elements into a {@link TinkerGraph} in bulk, as created by {@link TinkerGraph#bulkLoader()}.  Elements may be
+ * added from any number of producer threads, each into a batch of its own, and are only inserted into the graph by
+ * {@link #load()}.  Loading skips what makes {@link TinkerGraph#addVertex} and {@link Vertex#addEdge} costly one
+ * element at a time: the key/value arrays are not validated, the element maps are sized once for all the elements,
+ * the adjacency of the loaded vertices is laid out in its compact form in a single sort-based pass and the indices are
+ * built once every element is inserted.  Identifiers are drawn as {@link TinkerGraph#addVertex} draws them, skipping
+ * those taken in the graph.  As with {@link TinkerGraph#addVertex}, identifiers may not be supplied when the graph
+ * is configured for primitive storage.
+ * <p/>
+ * An edge refers to its vertices by identifier, so it may be added before its vertices are or by another thread.  An
+ * identifier that is taken, in the graph or by another element of the loader, and an edge whose vertex does not
+ * exist are found before the graph is altered, so they fail the load and leave the graph as it was.  Nothing else is
+ * rolled back: as the key/value arrays are not validated, a malformed one fails the load part way through and leaves
+ * the elements inserted so far in the graph.  The graph must not be read or altered while {@link #load()} runs and a
+ * loader can only be loaded once.  When the graph has a write-ahead log, the loaded elements are made durable by a
+ * checkpoint rather than logged one by one.
+ */
+public class TinkerBulkLoader {
+
+    private final TinkerGraph graph;
+    private final Queue<Batch> batches = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Batch> batch = ThreadLocal.withInitial(() -> {
+        final Batch batch = new Batch();
+        this.batches.add(batch);
+        return batch;
+    });
+    private volatile boolean loaded = false;
+
+    protected TinkerBulkLoader(final TinkerGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Adds a vertex to be loaded and returns its identifier, which edges may refer to before the vertex is loaded.
+     */
+    public Object addVertex(final Object... keyValues) {
+        this.validateNotLoaded();
+        final Object id = this.getId(Vertex.class, keyValues);
+        this.batch.get().vertices.add(new VertexRecord(id, getLabel(keyValues), keyValues));
+        return id;
+    }
+
+    /**
+     * Adds an edge to be loaded between the vertices of the provided identifiers and returns its identifier.
+     */
+    public Object addEdge(final Object outVertexId, final Object inVertexId, final String label, final Object... keyValues) {
+        this.validateNotLoaded();
+        if (null == label)
+            throw Edge.Exceptions.edgeLabelCanNotBeNull();
+        final Object id = this.getId(Edge.class, keyValues);
+        this.batch.get().edges.add(new EdgeRecord(id, this.toId(outVertexId), this.toId(inVertexId), label, keyValues));
+        return id;
+    }
+
+    /**
+     * Inserts every element added so far into the graph.
+     */
+    public synchronized void load() {
+        this.validateNotLoaded();
+        this.loaded = true;
+        final List<VertexRecord> vertexRecords = new ArrayList<>();
+        final List<EdgeRecord> edgeRecords = new ArrayList<>();
+        for (final Batch batch : this.batches) {
+            vertexRecords.addAll(batch.vertices);
+            edgeRecords.addAll(batch.edges);
+        }
+        this.batches.clear();
+        final Map<Object, Integer> ordinals = this.validate(vertexRecords, edgeRecords);
+
+        // elements are created in parallel unless they take ordinals from the shared columns
+        final boolean parallel = null == this.graph.columns;
+        if (this.graph.snapshots.isEmpty()) {
+            this.graph.vertices = this.graph.createElementMap(this.graph.vertices, vertexRecords.size());
+            this.graph.edges = this.graph.createElementMap(this.graph.edges, edgeRecords.size());
+            this.graph.vertexScans = new AtomicInteger(0);
+            this.graph.edgeScans = new AtomicInteger(0);
+        }
+
+        final TinkerVertex[] vertices = new TinkerVertex[vertexRecords.size()];
+        range(vertices.length, parallel).forEach(i -> {
+            final VertexRecord record = vertexRecords.get(i);
+            vertices[i] = new TinkerVertex(record.id, record.label, this.graph);
+            setProperties(vertices[i], record.keyValues);
+        });
+        for (final TinkerVertex vertex : vertices) {
+            this.graph.getVerticesForUpdate().put(vertex.id, vertex);
+        }
+
+        // the ordinal of the out and in vertex of each edge, or -1 for a vertex that was in the graph already
+        final TinkerEdge[] edges = new TinkerEdge[edgeRecords.size()];
+        final int[] outOrdinals = new int[edges.length];
+        final int[] inOrdinals = new int[edges.length];
+        range(edges.length, parallel).forEach(i -> {
+            final EdgeRecord record = edgeRecords.get(i);
+            final Integer out = ordinals.get(record.outVertexId);
+            final Integer in = ordinals.get(record.inVertexId);
+            outOrdinals[i] = null == out ? -1 : out;
+            inOrdinals[i] = null == in ? -1 : in;
+            edges[i] = new TinkerEdge(record.id, this.getVertex(vertices, out, record.outVertexId), record.label, this.getVertex(vertices, in, record.inVertexId), this.graph);
+            setProperties(edges[i], record.keyValues);
+        });
+        for (final TinkerEdge edge : edges) {
+            this.graph.getEdgesForUpdate().put(edge.id, edge);
+        }
+
+        final Edge[] outEdges = groupByVertex(edges, outOrdinals, vertices.length);
+        final Edge[] inEdges = groupByVertex(edges, inOrdinals, vertices.length);
+        final int[] outOffsets = offsets(outOrdinals, vertices.length);
+        final int[] inOffsets = offsets(inOrdinals, vertices.length);
+        IntStream.range(0, vertices.length).parallel().forEach(i -> {
+            vertices[i].compactOutEdges = new TinkerCompactEdges(Arrays.copyOfRange(outEdges, outOffsets[i], outOffsets[i + 1]), this.graph.labels);
+            vertices[i].outEdges = null;
+            vertices[i].compactInEdges = new TinkerCompactEdges(Arrays.copyOfRange(inEdges, inOffsets[i], inOffsets[i + 1]), this.graph.labels);
+            vertices[i].inEdges = null;
+        });
+        for (int i = 0; i < edges.length; i++) {
+            if (-1 == outOrdinals[i])
+                TinkerHelper.addOutEdge((TinkerVertex) edges[i].getVertex(Direction.OUT), edges[i].label, edges[i]);
+            if (-1 == inOrdinals[i])
+                TinkerHelper.addInEdge((TinkerVertex) edges[i].getVertex(Direction.IN), edges[i].label, edges[i]);
+        }
+
+        this.graph.vertexIndex.putElements(Arrays.asList(vertices));
+        this.graph.edgeIndex.putElements(Arrays.asList(edges));
+        this.graph.vertexCentricKeys.forEach((label, keys) -> keys.forEach(key -> TinkerVertexCentricIndex.build(this.graph, label, key)));
+
+        if (null != this.graph.log) {
+            try {
+                this.graph.storage.checkpointLogged(this.graph);
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Checks the identifiers of the elements and the vertices of the edges before the graph is altered, and gets the
+     * ordinal of each vertex to load by its identifier.
+     */
+    private Map<Object, Integer> validate(final List<VertexRecord> vertexRecords, final List<EdgeRecord> edgeRecords) {
+        final Map<Object, Integer> ordinals = new HashMap<>((int) (vertexRecords.size() / 0.75f) + 1);
+        for (int i = 0; i < vertexRecords.size(); i++) {
+            final Object id = vertexRecords.get(i).id;
+            if (this.graph.vertices.containsKey(id) || null != ordinals.put(id, i))
+                throw Graph.Exceptions.vertexWithIdAlreadyExists(id);
+        }
+        final Set<Object> edgeIds = new HashSet<>((int) (edgeRecords.size() / 0.75f) + 1);
+        for (final EdgeRecord record : edgeRecords) {
+            if (this.graph.edges.containsKey(record.id) || !edgeIds.add(record.id))
+                throw Graph.Exceptions.edgeWithIdAlreadyExist(record.id);
+            for (final Object vertexId : Arrays.asList(record.outVertexId, record.inVertexId)) {
+                if (!ordinals.containsKey(vertexId) && !this.graph.vertices.containsKey(vertexId))
+                    throw Element.Exceptions.elementHasAlreadyBeenRemovedOrDoesNotExist(Vertex.class, vertexId);
+            }
+        }
+        return ordinals;
+    }
+
+    private TinkerVertex getVertex(final TinkerVertex[] vertices, final Integer ordinal, final Object id) {
+        return (TinkerVertex) (null == ordinal ? this.graph.vertices.get(id) : vertices[ordinal]);
+    }
+
+    private Object getId(final Class<? extends Element> elementClass, final Object... keyValues) {
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (Element.ID.equals(keyValues[i])) {
+                if (this.graph.usesPrimitiveStorage)
+                    throw Vertex.class.equals(elementClass) ? Vertex.Exceptions.userSuppliedIdsNotSupported() : Edge.Exceptions.userSuppliedIdsNotSupported();
+                return this.toId(keyValues[i + 1]);
+            }
+        }
+        return TinkerHelper.getNextId(this.graph);
+    }
+
+    private Object toId(final Object id) {
+        if (null == id)
+            throw Graph.Exceptions.argumentCanNotBeNull("id");
+        return this.graph.usesPrimitiveStorage ? TinkerLongMap.toLong(id) : id;
+    }
+
+    private void validateNotLoaded() {
+        if (this.loaded)
+            throw Exceptions.bulkLoaderHasAlreadyLoaded();
+    }
+
+    private static String getLabel(final Object... keyValues) {
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (Element.LABEL.equals(keyValues[i]))
+                return (String) keyValues[i + 1];
+        }
+        return Element.DEFAULT_LABEL;
+    }
+
+    /**
+     * Sets the properties straight on the properties of the element, as the element is not yet in the graph and so
+     * is neither locked, logged nor indexed.
+     */
+    private static void setProperties(final TinkerElement element, final Object... keyValues) {
+        for (int i = 0; i < keyValues.length; i = i + 2) {
+            if (!Element.ID.equals(keyValues[i]) && !Element.LABEL.equals(keyValues[i])) {
+                final String key = (String) keyValues[i];
+                final Object value = element instanceof TinkerVertex && keyValues[i + 1] == AnnotatedList.make() ? new TinkerAnnotatedList<>((TinkerVertex) element, key) : keyValues[i + 1];
+                element.properties.put(key, new TinkerProperty<>(element, key, value));
+            }
+        }
+    }
+
+    /**
+     * Lays out the edges grouped by the ordinal of their vertex with a counting sort.  Edges of a vertex that was in
+     * the graph already are left out.
+     */
+    private static Edge[] groupByVertex(final TinkerEdge[] edges, final int[] ordinals, final int vertexCount) {
+        final int[] positions = offsets(ordinals, vertexCount);
+        final Edge[] grouped = new Edge[positions[vertexCount]];
+        for (int i = 0; i < edges.length; i++) {
+            if (-1 != ordinals[i])
+                grouped[positions[ordinals[i]]++] = edges[i];
+        }
+        return grouped;
+    }
+
+    private static int[] offsets(final int[] ordinals, final int vertexCount) {
+        final int[] offsets = new int[vertexCount + 1];
+        for (final int ordinal : ordinals) {
+            if (-1 != ordinal)
+                offsets[ordinal + 1]++;
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            offsets[i + 1] = offsets[i + 1] + offsets[i];
+        }
+        return offsets;
+    }
+
+    private static IntStream range(final int size, final boolean parallel) {
+        return parallel ? IntStream.range(0, size).parallel() : IntStream.range(0, size);
+    }
+
+    private static class Batch {
+        private final List<VertexRecord> vertices = new ArrayList<>();
+        private final List<EdgeRecord> edges = new ArrayList<>();
+    }
+
+    private static class VertexRecord {
+        private final Object id;
+        private final String label;
+        private final Object[] keyValues;
+
+        private VertexRecord(final Object id, final String label, final Object[] keyValues) {
+            this.id = id;
+            this.label = label;
+            this.keyValues = keyValues;
+        }
+    }
+
+    private static class EdgeRecord {
+        private final Object id;
+        private final Object outVertexId;
+        private final Object inVertexId;
+        private final String label;
+        private final Object[] keyValues;
+
+        private EdgeRecord(final Object id, final Object outVertexId, final Object inVertexId, final String label, final Object[] keyValues) {
+            this.id = id;
+            this.outVertexId = outVertexId;
+            this.inVertexId = inVertexId;
+            this.label = label;
+            this.keyValues = keyValues;
+        }
+    }
+
+    public static class Exceptions {
+        public static IllegalStateException bulkLoaderHasAlreadyLoaded() {
+            return new IllegalStateException("The bulk loader has already loaded its elements");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The properties of an element as a view over the {@link TinkerColumns} of its graph.  The element holds no
+ * {@link TinkerProperty} of its own.  A property is created each time one is read from the view and only its value
+ * is kept when one is put into it.  Once the element is removed the view releases its ordinal and holds nothing.
+ */
+class TinkerColumnProperties extends AbstractMap<String, Property> implements Serializable {
+
+    private final TinkerElement element;
+    private final TinkerColumns columns;
+    private int ordinal;
+
+    public TinkerColumnProperties(final TinkerElement element, final TinkerColumns columns) {
+        this.element = element;
+        this.columns = columns;
+        this.ordinal = columns.nextOrdinal();
+    }
+
+    /**
+     * Reads the value of the key straight from its column without creating a {@link TinkerProperty}.
+     */
+    public <V> V getValue(final String key) {
+        return (V) this.columns.get(this.ordinal, this.columns.getKeyId(key));
+    }
+
+    public Property get(final Object key) {
+        return key instanceof String ? this.createProperty((String) key, this.getValue((String) key)) : null;
+    }
+
+    public Property getOrDefault(final Object key, final Property defaultValue) {
+        final Property property = this.get(key);
+        return null == property ? defaultValue : property;
+    }
+
+    public boolean containsKey(final Object key) {
+        return key instanceof String && null != this.getValue((String) key);
+    }
+
+    public Property put(final String key, final Property property) {
+        if (-1 == this.ordinal)
+            throw Element.Exceptions.elementHasAlreadyBeenRemovedOrDoesNotExist(this.element instanceof Vertex ? Vertex.class : Edge.class, this.element.getId());
+        return this.createProperty(key, this.columns.set(this.ordinal, key, property.get()));
+    }
+
+    public Property remove(final Object key) {
+        return key instanceof String ? this.createProperty((String) key, this.columns.remove(this.ordinal, this.columns.getKeyId((String) key))) : null;
+    }
+
+    public void clear() {
+        for (int keyId = 0; keyId < this.columns.getKeyCount(); keyId++) {
+            this.columns.remove(this.ordinal, keyId);
+        }
+    }
+
+    /**
+     * Clears the properties of the removed element and releases its ordinal to the next element created.
+     */
+    public void release() {
+        if (-1 != this.ordinal) {
+            this.columns.release(this.ordinal);
+            this.ordinal = -1;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (int keyId = 0; keyId < this.columns.getKeyCount(); keyId++) {
+            if (null != this.columns.get(this.ordinal, keyId))
+                size++;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size();
+    }
+
+    /**
+     * Gets the properties the element holds at the time of the call.  Altering the view afterwards does not alter
+     * the returned set, nor can the set be used to alter the view.
+     */
+    public Set<Entry<String, Property>> entrySet() {
+        final Map<String, Property> properties = new HashMap<>();
+        for (int keyId = 0; keyId < this.columns.getKeyCount(); keyId++) {
+            final Object value = this.columns.get(this.ordinal, keyId);
+            if (null != value) {
+                final String key = this.columns.getKey(keyId);
+                properties.put(key, new TinkerProperty<>(this.element, key, value));
+            }
+        }
+        return Collections.unmodifiableMap(properties).entrySet();
+    }
+
+    private Property createProperty(final String key, final Object value) {
+        return null == value ? null : new TinkerProperty<>(this.element, key, value);
+    }
+}
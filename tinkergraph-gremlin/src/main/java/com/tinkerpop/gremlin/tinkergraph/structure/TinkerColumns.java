@@ -0,0 +1,352 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the properties of the elements of a {@link TinkerGraph} in columns rather than in a map per element.  Each
+ * property key is interned to a small {@code int} and the values of a key are held in a column indexed by the dense
+ * ordinal that every element is given when it is created.  The ordinal of a removed element is released and given
+ * to the next element created, so that the columns do not grow with elements that are no longer in the graph.  A column of {@code Long}, {@code Integer}, {@code Double}
+ * or {@code Float} values holds them in a primitive array and a column of {@code String} values encodes them against a
+ * dictionary until it holds too many distinct values.  Any other column, or a column that is given a value of another
+ * class than the one it was created for, holds the values as they are.
+ */
+class TinkerColumns implements Serializable {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int DICTIONARY_LIMIT = 65536;
+
+    private final Map<String, Integer> keyIds = new HashMap<>();
+    private String[] keys = new String[0];
+    private Column[] columns = new Column[0];
+    private int ordinals = 0;
+    private int[] released = new int[0];
+    private int releasedCount = 0;
+
+    /**
+     * Gets an ordinal released by a removed element, if any, or else a new one.
+     */
+    protected int nextOrdinal() {
+        return this.releasedCount > 0 ? this.released[--this.releasedCount] : this.ordinals++;
+    }
+
+    /**
+     * Removes the values of the element of the ordinal from every column and makes the ordinal available to the next
+     * element created.
+     */
+    protected void release(final int ordinal) {
+        for (int keyId = 0; keyId < this.columns.length; keyId++) {
+            this.remove(ordinal, keyId);
+        }
+        if (this.releasedCount == this.released.length)
+            this.released = Arrays.copyOf(this.released, grow(this.released.length, this.releasedCount));
+        this.released[this.releasedCount++] = ordinal;
+    }
+
+    /**
+     * Gets the identifier the key is interned to or {@code -1} if no element has ever held the key.
+     */
+    protected int getKeyId(final String key) {
+        final Integer keyId = this.keyIds.get(key);
+        return null == keyId ? -1 : keyId;
+    }
+
+    protected int getKeyCount() {
+        return this.keys.length;
+    }
+
+    protected String getKey(final int keyId) {
+        return this.keys[keyId];
+    }
+
+    protected Object get(final int ordinal, final int keyId) {
+        return keyId < 0 || ordinal < 0 ? null : this.columns[keyId].get(ordinal);
+    }
+
+    /**
+     * Sets the value of the key for the element of the ordinal and returns the value it replaced, if any.
+     */
+    protected Object set(final int ordinal, final String key, final Object value) {
+        Integer keyId = this.keyIds.get(key);
+        if (null == keyId) {
+            keyId = this.keys.length;
+            this.keyIds.put(key, keyId);
+            this.keys = Arrays.copyOf(this.keys, keyId + 1);
+            this.keys[keyId] = key;
+            this.columns = Arrays.copyOf(this.columns, keyId + 1);
+            this.columns[keyId] = createColumn(value);
+        }
+        final Column column = this.columns[keyId];
+        final Object previous = column.get(ordinal);
+        if (!column.set(ordinal, value)) {
+            final Column values = new ValueColumn();
+            for (int i = 0; i < column.capacity(); i++) {
+                final Object v = column.get(i);
+                if (null != v)
+                    values.set(i, v);
+            }
+            values.set(ordinal, value);
+            this.columns[keyId] = values;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the value of the key for the element of the ordinal and returns it, if any.
+     */
+    protected Object remove(final int ordinal, final int keyId) {
+        if (keyId < 0 || ordinal < 0)
+            return null;
+        final Object previous = this.columns[keyId].get(ordinal);
+        if (null != previous)
+            this.columns[keyId].remove(ordinal);
+        return previous;
+    }
+
+    private static Column createColumn(final Object value) {
+        if (value instanceof Long)
+            return new LongColumn();
+        else if (value instanceof Integer)
+            return new IntegerColumn();
+        else if (value instanceof Double)
+            return new DoubleColumn();
+        else if (value instanceof Float)
+            return new FloatColumn();
+        else if (value instanceof String)
+            return new DictionaryColumn();
+        else
+            return new ValueColumn();
+    }
+
+    private static int grow(final int capacity, final int ordinal) {
+        return Math.max(ordinal + 1, Math.max(INITIAL_CAPACITY, capacity * 2));
+    }
+
+    /**
+     * The values of one key indexed by the ordinal of their element.
+     */
+    private static abstract class Column implements Serializable {
+
+        public abstract Object get(final int ordinal);
+
+        /**
+         * Sets the value for the ordinal or returns {@code false} if the column can not hold it.
+         */
+        public abstract boolean set(final int ordinal, final Object value);
+
+        public abstract void remove(final int ordinal);
+
+        public abstract int capacity();
+    }
+
+    /**
+     * A column of primitive values that records which ordinals hold a value apart from the values themselves.
+     */
+    private static abstract class PrimitiveColumn extends Column {
+
+        protected final BitSet present = new BitSet();
+
+        public Object get(final int ordinal) {
+            return this.present.get(ordinal) ? this.getPrimitive(ordinal) : null;
+        }
+
+        public boolean set(final int ordinal, final Object value) {
+            if (!this.accepts(value))
+                return false;
+            if (ordinal >= this.capacity())
+                this.resize(grow(this.capacity(), ordinal));
+            this.setPrimitive(ordinal, value);
+            this.present.set(ordinal);
+            return true;
+        }
+
+        public void remove(final int ordinal) {
+            this.present.clear(ordinal);
+        }
+
+        protected abstract boolean accepts(final Object value);
+
+        protected abstract Object getPrimitive(final int ordinal);
+
+        protected abstract void setPrimitive(final int ordinal, final Object value);
+
+        protected abstract void resize(final int capacity);
+    }
+
+    private static class LongColumn extends PrimitiveColumn {
+
+        private long[] values = new long[0];
+
+        protected boolean accepts(final Object value) {
+            return value instanceof Long;
+        }
+
+        protected Object getPrimitive(final int ordinal) {
+            return this.values[ordinal];
+        }
+
+        protected void setPrimitive(final int ordinal, final Object value) {
+            this.values[ordinal] = (Long) value;
+        }
+
+        protected void resize(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        public int capacity() {
+            return this.values.length;
+        }
+    }
+
+    private static class IntegerColumn extends PrimitiveColumn {
+
+        private int[] values = new int[0];
+
+        protected boolean accepts(final Object value) {
+            return value instanceof Integer;
+        }
+
+        protected Object getPrimitive(final int ordinal) {
+            return this.values[ordinal];
+        }
+
+        protected void setPrimitive(final int ordinal, final Object value) {
+            this.values[ordinal] = (Integer) value;
+        }
+
+        protected void resize(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        public int capacity() {
+            return this.values.length;
+        }
+    }
+
+    private static class DoubleColumn extends PrimitiveColumn {
+
+        private double[] values = new double[0];
+
+        protected boolean accepts(final Object value) {
+            return value instanceof Double;
+        }
+
+        protected Object getPrimitive(final int ordinal) {
+            return this.values[ordinal];
+        }
+
+        protected void setPrimitive(final int ordinal, final Object value) {
+            this.values[ordinal] = (Double) value;
+        }
+
+        protected void resize(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        public int capacity() {
+            return this.values.length;
+        }
+    }
+
+    private static class FloatColumn extends PrimitiveColumn {
+
+        private float[] values = new float[0];
+
+        protected boolean accepts(final Object value) {
+            return value instanceof Float;
+        }
+
+        protected Object getPrimitive(final int ordinal) {
+            return this.values[ordinal];
+        }
+
+        protected void setPrimitive(final int ordinal, final Object value) {
+            this.values[ordinal] = (Float) value;
+        }
+
+        protected void resize(final int capacity) {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        public int capacity() {
+            return this.values.length;
+        }
+    }
+
+    /**
+     * A column of {@code String} values held as codes into a dictionary of the distinct values.  Code {@code 0} marks
+     * an ordinal without a value.  Values are never dropped from the dictionary, so a column that comes to hold more
+     * than {@link #DICTIONARY_LIMIT} distinct values refuses the next one and is replaced by a {@link ValueColumn}.
+     */
+    private static class DictionaryColumn extends Column {
+
+        private final Map<Object, Integer> codes = new HashMap<>();
+        private final List<Object> dictionary = new ArrayList<>();
+        private int[] values = new int[0];
+
+        public Object get(final int ordinal) {
+            final int code = ordinal < this.values.length ? this.values[ordinal] : 0;
+            return 0 == code ? null : this.dictionary.get(code - 1);
+        }
+
+        public boolean set(final int ordinal, final Object value) {
+            if (!(value instanceof String))
+                return false;
+            Integer code = this.codes.get(value);
+            if (null == code) {
+                if (this.dictionary.size() >= DICTIONARY_LIMIT)
+                    return false;
+                this.dictionary.add(value);
+                code = this.dictionary.size();
+                this.codes.put(value, code);
+            }
+            if (ordinal >= this.values.length)
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, ordinal));
+            this.values[ordinal] = code;
+            return true;
+        }
+
+        public void remove(final int ordinal) {
+            if (ordinal < this.values.length)
+                this.values[ordinal] = 0;
+        }
+
+        public int capacity() {
+            return this.values.length;
+        }
+    }
+
+    /**
+     * A column that holds values of any class as they are.
+     */
+    private static class ValueColumn extends Column {
+
+        private Object[] values = new Object[0];
+
+        public Object get(final int ordinal) {
+            return ordinal < this.values.length ? this.values[ordinal] : null;
+        }
+
+        public boolean set(final int ordinal, final Object value) {
+            if (ordinal >= this.values.length)
+                this.values = Arrays.copyOf(this.values, grow(this.values.length, ordinal));
+            this.values[ordinal] = value;
+            return true;
+        }
+
+        public void remove(final int ordinal) {
+            if (ordinal < this.values.length)
+                this.values[ordinal] = null;
+        }
+
+        public int capacity() {
+            return this.values.length;
+        }
+    }
+}
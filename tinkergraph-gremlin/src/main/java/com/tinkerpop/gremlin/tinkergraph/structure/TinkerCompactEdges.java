@@ -0,0 +1,154 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * A read-optimized, frozen form of the edges incident to a {@link TinkerVertex} in one direction.  The edges are laid
+ * out in compressed-sparse-row style: a single array holds every edge grouped by label, the identifiers the labels
+ * are interned to are sorted and the offsets array marks where the edges of each label begin and end.  Expanding the
+ * adjacency of a vertex is then a scan over a contiguous range of the array.
+ */
+class TinkerCompactEdges implements Serializable {
+
+    private final int[] labels;
+    private final int[] offsets;
+    private final Edge[] edges;
+
+    protected TinkerCompactEdges(final TinkerAdjacency edges) {
+        final int[] indices = IntStream.range(0, edges.size())
+                .filter(i -> !edges.getEdges(i).isEmpty())
+                .boxed().sorted(Comparator.comparingInt(edges::getLabel))
+                .mapToInt(Integer::intValue).toArray();
+        this.labels = new int[indices.length];
+        this.offsets = new int[indices.length + 1];
+        for (int i = 0; i < indices.length; i++) {
+            this.labels[i] = edges.getLabel(indices[i]);
+            this.offsets[i + 1] = this.offsets[i] + edges.getEdges(indices[i]).size();
+        }
+        this.edges = new Edge[this.offsets[indices.length]];
+        for (int i = 0; i < indices.length; i++) {
+            int offset = this.offsets[i];
+            for (final Edge edge : edges.getEdges(indices[i])) {
+                this.edges[offset++] = edge;
+            }
+        }
+    }
+
+    /**
+     * Lays out the provided edges without first grouping them in the mutable form.  The array is sorted in place by
+     * the identifier of the label and is owned by the compact form afterwards.
+     */
+    protected TinkerCompactEdges(final Edge[] edges, final TinkerLabels labels) {
+        // sort the edges by the identifier of their label through a single primitive array of identifier and position
+        final long[] order = new long[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            order[i] = ((long) labels.getOrCreateId(edges[i].getLabel()) << 32) | i;
+        }
+        Arrays.sort(order);
+        final Edge[] unsorted = edges.clone();
+        int size = 0;
+        for (int i = 0; i < order.length; i++) {
+            edges[i] = unsorted[(int) order[i]];
+            if (0 == i || (order[i] >>> 32) != (order[i - 1] >>> 32))
+                size++;
+        }
+        this.labels = new int[size];
+        this.offsets = new int[size + 1];
+        for (int i = 0, label = 0; i < order.length; i++) {
+            if (0 == i || (order[i] >>> 32) != (order[i - 1] >>> 32)) {
+                this.labels[label] = (int) (order[i] >>> 32);
+                this.offsets[label++] = i;
+            }
+        }
+        this.offsets[size] = edges.length;
+        this.edges = edges;
+    }
+
+    /**
+     * Rebuilds the mutable form of the adjacency so that edges can be added or removed again.
+     */
+    protected TinkerAdjacency expand(final TinkerGraph graph) {
+        final Set<Edge>[] sets = new Set[this.labels.length];
+        for (int i = 0; i < this.labels.length; i++) {
+            sets[i] = TinkerHelper.createEdgeSet(graph);
+            sets[i].addAll(Arrays.asList(this.edges).subList(this.offsets[i], this.offsets[i + 1]));
+        }
+        return new TinkerAdjacency(Arrays.copyOf(this.labels, this.labels.length), sets);
+    }
+
+    protected int size() {
+        return this.edges.length;
+    }
+
+    /**
+     * Gets the edges with the provided labels or all edges if no labels are provided.
+     */
+    protected <E> Iterator<E> edges(final int... labels) {
+        return new RangeIterator<>(this.ranges(labels), null);
+    }
+
+    /**
+     * Gets the vertices at the {@code direction} end of the edges with the provided labels or of all edges if no
+     * labels are provided.
+     */
+    protected <V> Iterator<V> vertices(final Direction direction, final int... labels) {
+        return new RangeIterator<>(this.ranges(labels), direction);
+    }
+
+    private int[] ranges(final int... labels) {
+        if (labels.length == 0)
+            return new int[]{0, this.edges.length};
+
+        final int[] ranges = new int[labels.length * 2];
+        int size = 0;
+        for (final int label : labels) {
+            final int index = Arrays.binarySearch(this.labels, label);
+            if (index >= 0) {
+                ranges[size++] = this.offsets[index];
+                ranges[size++] = this.offsets[index + 1];
+            }
+        }
+        return size == ranges.length ? ranges : Arrays.copyOf(ranges, size);
+    }
+
+    private class RangeIterator<T> implements Iterator<T> {
+
+        private final int[] ranges;
+        private final Direction direction;
+        private int range = 0;
+        private int current;
+
+        public RangeIterator(final int[] ranges, final Direction direction) {
+            this.ranges = ranges;
+            this.direction = direction;
+            this.current = ranges.length > 0 ? ranges[0] : 0;
+        }
+
+        public boolean hasNext() {
+            while (this.range < this.ranges.length) {
+                if (this.current < this.ranges[this.range + 1])
+                    return true;
+                this.range = this.range + 2;
+                if (this.range < this.ranges.length)
+                    this.current = this.ranges[this.range];
+            }
+            return false;
+        }
+
+        public T next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            final Edge edge = edges[this.current++];
+            return (T) (null == this.direction ? edge : edge.getVertex(this.direction));
+        }
+    }
+}
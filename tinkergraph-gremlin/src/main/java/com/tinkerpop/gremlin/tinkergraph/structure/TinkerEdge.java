@@ -8,8 +8,6 @@ import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 
-import java.util.Set;
-
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -25,14 +23,37 @@ class TinkerEdge extends TinkerElement implements Edge {
         this.graph.edgeIndex.autoUpdate(Element.LABEL, this.label, null, this);
     }
 
+    /**
+     * Creates a read-only view of the edge as it was when the snapshot was taken.
+     */
+    protected TinkerEdge(final TinkerEdge edge, final TinkerGraphSnapshot snapshot) {
+        super(edge, snapshot);
+        this.outVertex = new TinkerVertex((TinkerVertex) edge.outVertex, snapshot);
+        this.inVertex = new TinkerVertex((TinkerVertex) edge.inVertex, snapshot);
+    }
+
     public <V> void setProperty(final String key, final V value) {
         if (this.graph.usesElementMemory) {
             this.graph.elementMemory.setProperty(this, key, value);
         } else {
             ElementHelper.validateProperty(key, value);
-            final Property oldProperty = super.getProperty(key);
-            this.properties.put(key, new TinkerProperty<>(this, key, value));
-            this.graph.edgeIndex.autoUpdate(key, value, oldProperty.isPresent() ? oldProperty.get() : null, this);
+            final TinkerLog log = this.graph.log;
+            long position = 0l;
+            TinkerHelper.lockWithVertices(this);
+            try {
+                final Property oldProperty = super.getProperty(key);
+                TinkerHelper.retireProperties(this);
+                this.properties.put(key, new TinkerProperty<>(this, key, value));
+                if (null != log)
+                    position = log.setProperty(this, key, value);
+                // the indices are updated while the stripes are locked so that they see the changes of the edge in order
+                this.graph.edgeIndex.autoUpdate(key, value, oldProperty.isPresent() ? oldProperty.get() : null, this);
+                TinkerVertexCentricIndex.updateEdge(this, key, oldProperty.isPresent() ? oldProperty.get() : null, value);
+            } finally {
+                TinkerHelper.unlockWithVertices(this);
+            }
+            if (null != log)
+                log.commit(position);
         }
     }
 
@@ -49,22 +70,28 @@ class TinkerEdge extends TinkerElement implements Edge {
         if (!this.graph.edges.containsKey(this.getId()))
             throw Element.Exceptions.elementHasAlreadyBeenRemovedOrDoesNotExist(Edge.class, this.getId());
 
+        TinkerHelper.retireElement(this);
         final TinkerVertex outVertex = (TinkerVertex) this.getVertex(Direction.OUT);
         final TinkerVertex inVertex = (TinkerVertex) this.getVertex(Direction.IN);
-        if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.getLabel());
-            if (null != edges)
-                edges.remove(this);
-        }
-        if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.getLabel());
-            if (null != edges)
-                edges.remove(this);
-        }
+        if (null != outVertex)
+            TinkerHelper.removeEdge(outVertex, Direction.OUT, this);
+        if (null != inVertex)
+            TinkerHelper.removeEdge(inVertex, Direction.IN, this);
 
         this.graph.edgeIndex.removeElement(this);
-        this.graph.edges.remove(this.getId());
-        this.properties.clear();
+        this.graph.getEdgesForUpdate().remove(this.getId());
+        TinkerHelper.lock(this);
+        try {
+            TinkerHelper.retireProperties(this);
+            if (this.properties instanceof TinkerColumnProperties)
+                ((TinkerColumnProperties) this.properties).release();
+            else
+                this.properties.clear();
+        } finally {
+            TinkerHelper.unlock(this);
+        }
+        if (null != this.graph.log)
+            this.graph.log.remove(this);
     }
 
     public String toString() {
@@ -7,21 +7,39 @@ import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 abstract class TinkerElement implements Element, Serializable {
 
-    protected Map<String, Property> properties = new HashMap<>();
+    protected volatile Map<String, Property> properties;
+    protected volatile TinkerVersions versions;
     protected final Object id;
     protected final String label;
     protected final TinkerGraph graph;
+    protected transient TinkerElementMemory.ComputeOrdinal computeOrdinal = null;
 
     protected TinkerElement(final Object id, final String label, final TinkerGraph graph) {
         this.graph = graph;
         this.id = id;
         this.label = label;
+        this.properties = TinkerHelper.createProperties(this);
+        this.versions = TinkerHelper.createVersions(graph);
+    }
+
+    /**
+     * Creates a read-only view of the element as it was when the snapshot was taken.
+     */
+    protected TinkerElement(final TinkerElement element, final TinkerGraphSnapshot snapshot) {
+        this.graph = snapshot;
+        this.id = element.id;
+        this.label = element.label;
+        final Map<String, Property> properties = TinkerHelper.getProperties(element, snapshot.version);
+        // columns are altered in place so the view holds a copy of the properties it resolved to
+        this.properties = properties instanceof TinkerColumnProperties ? new HashMap<>(properties) : properties;
+        this.versions = null;
     }
 
     public int hashCode() {
@@ -38,17 +56,39 @@ abstract class TinkerElement implements Element, Serializable {
 
     public Map<String, Property> getProperties() {
         // TODO: Make this work with GraphComputer
-        return new HashMap<>(this.properties);
+        final Map<String, Property> properties = new HashMap<>(this.properties);
+        if (this.graph.readOnly)
+            properties.replaceAll((key, property) -> new TinkerProperty<>(this, key, property.get()));
+        return properties;
     }
 
     public <V> Property<V> getProperty(final String key) {
         if (this.graph.usesElementMemory) {
             return this.graph.elementMemory.getProperty(this, key);
+        } else if (this.graph.readOnly) {
+            final Property<V> property = this.properties.get(key);
+            return null == property ? Property.empty() : new TinkerProperty<>(this, key, property.get());
         } else {
             return this.properties.getOrDefault(key, Property.empty());
         }
     }
 
+    public <V> V getValue(final String key) throws NoSuchElementException {
+        final Map<String, Property> properties = this.properties;
+        if (this.graph.usesElementMemory && this.graph.elementMemory.isComputeKey(key)) {
+            final V value = this.graph.elementMemory.getValue(this, key);
+            if (null == value)
+                throw Property.Exceptions.propertyDoesNotExist();
+            return value;
+        } else if (properties instanceof TinkerColumnProperties && !this.graph.usesElementMemory) {
+            final V value = ((TinkerColumnProperties) properties).getValue(key);
+            if (null == value)
+                throw Property.Exceptions.propertyDoesNotExist();
+            return value;
+        }
+        return Element.super.getValue(key);
+    }
+
     public boolean equals(final Object object) {
         return ElementHelper.areEqual(this, object);
     }
@@ -2,52 +2,58 @@ package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
 import com.tinkerpop.gremlin.process.computer.VertexProgram;
+import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Holds the values of the compute keys of a {@link TinkerGraphComputer} run.  Each vertex is given a dense ordinal
+ * for the duration of the computation and each compute key is held as an array indexed by that ordinal: a
+ * {@code double[]} or {@code long[]} when the first value set is a {@link Double} or a {@link Long} and an
+ * {@code Object[]} otherwise.  Under {@link GraphComputer.Isolation#BSP} the values read during an iteration and the
+ * values set during it are held by two sets of arrays that are swapped at the end of the iteration.  Edges are only
+ * given ordinals once a compute key is set on one of them.  Each element holds its ordinal so that reading or setting
+ * a compute key takes no lookup by id.  The values of an element added to the graph after the computation started,
+ * which has no ordinal, are held by id.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerElementMemory {
 
     private final Map<String, VertexProgram.KeyType> computeKeys;
     protected final GraphComputer.Isolation isolation;
-    private Map<Object, Map<String, Object>> getMap;
-    private Map<Object, Map<String, Object>> setMap;
-    private Map<Object, Map<String, Object>> constantMap;
+    private final Map<String, Integer> keyIndices = new HashMap<>();
+    private final TinkerGraph graph;
+    private final States vertexStates;
+    private volatile States edgeStates = null;
 
-    public TinkerElementMemory(final GraphComputer.Isolation isolation, final Map<String, VertexProgram.KeyType> computeKeys) {
+    public TinkerElementMemory(final GraphComputer.Isolation isolation, final Map<String, VertexProgram.KeyType> computeKeys, final TinkerGraph graph) {
         this.isolation = isolation;
-        this.constantMap = new HashMap<>();
         this.computeKeys = computeKeys;
-        if (this.isolation.equals(GraphComputer.Isolation.BSP)) {
-            this.getMap = new HashMap<>();
-            this.setMap = new HashMap<>();
-        } else {
-            this.getMap = this.setMap = new HashMap<>();
-        }
+        this.graph = graph;
+        computeKeys.keySet().forEach(key -> this.keyIndices.put(key, this.keyIndices.size()));
+        this.vertexStates = new States(graph.vertices.values());
     }
 
     public void completeIteration() {
-        //  todo: is this if statement needed?
         if (this.isolation.equals(GraphComputer.Isolation.BSP)) {
-            this.getMap = this.setMap;
-            this.setMap = new HashMap<>();
+            this.vertexStates.swap();
+            if (null != this.edgeStates)
+                this.edgeStates.swap();
         }
     }
 
     public <V> void setProperty(final TinkerElement element, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerProperty<V> property = new TinkerProperty<V>(element, key, value) {
-                public void remove() {
-                    removeProperty(element, key);
-                }
-            };
-            this.setValue(element.getId(), key, property);
+            this.getStates(element, true).set(element, key, value);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAComputeKey(key);
             //element.properties.put(key, new TinkerProperty<>(element, key, value));
@@ -55,9 +61,23 @@ public class TinkerElementMemory {
     }
 
 
+    /**
+     * Gets the value of the compute key without wrapping it in a {@link Property}, or {@code null} if it has none.
+     */
+    public <V> V getValue(final TinkerElement element, final String key) {
+        final States states = this.getStates(element, false);
+        return null == states ? null : states.get(element, key);
+    }
+
     public <V> Property<V> getProperty(final TinkerElement element, final String key) {
         if (isComputeKey(key)) {
-            return this.getValue(element.getId(), key);
+            final States states = this.getStates(element, false);
+            final V value = null == states ? null : states.get(element, key);
+            return null == value ? Property.empty() : new TinkerProperty<V>(element, key, value) {
+                public void remove() {
+                    removeProperty(element, key);
+                }
+            };
         } else {
             return element.properties.getOrDefault(key, Property.empty());
         }
@@ -66,50 +86,254 @@ public class TinkerElementMemory {
 
     public void removeProperty(final TinkerElement element, final String key) {
         if (isComputeKey(key)) {
-            this.removeValue(element.getId(), key);
+            final States states = this.getStates(element, false);
+            if (null != states)
+                states.remove(element, key);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAComputeKey(key);
             //element.properties.remove(key);
         }
     }
 
-    //////////////////////
+    public boolean isComputeKey(final String key) {
+        return this.computeKeys.containsKey(key);
+    }
+
+    public boolean isConstantKey(final String key) {
+        return VertexProgram.KeyType.CONSTANT.equals(this.computeKeys.get(key));
+    }
 
-    private void setValue(final Object id, final String key, final Object value) {
-        final Map<Object, Map<String, Object>> map = isConstantKey(key) ? this.constantMap : this.setMap;
-        final Map<String, Object> nextMap = map.getOrDefault(id, new HashMap<>());
-        map.put(id, nextMap);
-        if (isConstantKey(key) && nextMap.containsKey(key))
-            throw GraphComputer.Exceptions.constantComputeKeyHasAlreadyBeenSet(key, id);
-        nextMap.put(key, value);
+    /**
+     * Gets the number of vertices that were in the graph when the computation started.
+     */
+    protected int getVertexCount() {
+        return this.vertexStates.ordinals.size();
     }
 
-    private void removeValue(final Object id, final String key) {
-        final Map<String, Object> map = this.setMap.get(id);
-        if (null != map)
-            map.remove(key);
+    /**
+     * Gets the ordinal of the vertex or {@code -1} if it was not in the graph when the computation started.
+     */
+    protected int getOrdinal(final Vertex vertex) {
+        return this.vertexStates.getOrdinal(vertex);
     }
 
-    private <V> Property<V> getValue(final Object id, final String key) {
-        final Map<String, Object> map = this.isConstantKey(key) ? this.constantMap.get(id) : this.getMap.get(id);
-        if (null == map)
-            return Property.empty();
-        else {
-            final Property<V> property = (Property<V>) map.get(key);
-            return null == property ? Property.empty() : property;
+    /*public boolean isVariableKey(final String key) {
+        return VertexProgram.KeyType.VARIABLE.equals(this.computeKeys.get(key));
+    }*/
+
+    //////////////////////
+
+    private States getStates(final Element element, final boolean create) {
+        if (element instanceof Vertex)
+            return this.vertexStates;
+        if (null == this.edgeStates && create) {
+            synchronized (this) {
+                if (null == this.edgeStates)
+                    this.edgeStates = new States(this.graph.edges.values());
+            }
         }
+        return this.edgeStates;
     }
 
-    public boolean isComputeKey(final String key) {
-        return this.computeKeys.containsKey(key);
+    /**
+     * The values of the compute keys of either the vertices or the edges of the graph.
+     */
+    private class States {
+
+        private final Map<Object, Integer> ordinals;
+        private Column[] getColumns;
+        private Column[] setColumns;
+        private final Column[] constantColumns;
+        // the values of the elements added after the computation started, by id and then by key index
+        private Map<Object, Object[]> getAdded = new ConcurrentHashMap<>();
+        private Map<Object, Object[]> setAdded;
+        private final Map<Object, Object[]> constantAdded = new ConcurrentHashMap<>();
+
+        private States(final Collection<? extends Element> elements) {
+            this.ordinals = new HashMap<>((int) (elements.size() / 0.75f) + 1);
+            elements.forEach(element -> {
+                final int ordinal = this.ordinals.size();
+                this.ordinals.put(element.getId(), ordinal);
+                ((TinkerElement) element).computeOrdinal = new ComputeOrdinal(this, ordinal);
+            });
+            this.constantColumns = new Column[keyIndices.size()];
+            this.getColumns = new Column[keyIndices.size()];
+            this.setColumns = isolation.equals(GraphComputer.Isolation.BSP) ? new Column[keyIndices.size()] : this.getColumns;
+            this.setAdded = isolation.equals(GraphComputer.Isolation.BSP) ? new ConcurrentHashMap<>() : this.getAdded;
+        }
+
+        /**
+         * Gets the ordinal the element holds, or looks it up by id for an element that does not hold one of these
+         * states such as the view of an element of a snapshot or a detached element.  Returns {@code -1} for an
+         * element that was not in the graph when the computation started.
+         */
+        private int getOrdinal(final Element element) {
+            if (element instanceof TinkerElement) {
+                final ComputeOrdinal computeOrdinal = ((TinkerElement) element).computeOrdinal;
+                if (null != computeOrdinal && computeOrdinal.states == this)
+                    return computeOrdinal.ordinal;
+            }
+            final Integer ordinal = this.ordinals.get(element.getId());
+            return null == ordinal ? -1 : ordinal;
+        }
+
+        private <V> V get(final Element element, final String key) {
+            final boolean constant = isConstantKey(key);
+            final int index = keyIndices.get(key);
+            final int ordinal = this.getOrdinal(element);
+            if (-1 == ordinal) {
+                final Object[] values = (constant ? this.constantAdded : this.getAdded).get(element.getId());
+                return null == values ? null : (V) values[index];
+            }
+            final Column column = (constant ? this.constantColumns : this.getColumns)[index];
+            return null == column ? null : (V) column.get(ordinal);
+        }
+
+        private void set(final Element element, final String key, final Object value) {
+            final boolean constant = isConstantKey(key);
+            final int index = keyIndices.get(key);
+            final int ordinal = this.getOrdinal(element);
+            if (-1 == ordinal) {
+                final Object[] values = (constant ? this.constantAdded : this.setAdded).computeIfAbsent(element.getId(), id -> new Object[keyIndices.size()]);
+                if (constant && null != values[index])
+                    throw GraphComputer.Exceptions.constantComputeKeyHasAlreadyBeenSet(key, element.getId());
+                values[index] = value;
+                return;
+            }
+            final Column column = this.getColumn(constant ? this.constantColumns : this.setColumns, index, value);
+            if (constant && null != column.get(ordinal))
+                throw GraphComputer.Exceptions.constantComputeKeyHasAlreadyBeenSet(key, element.getId());
+            column.set(ordinal, value);
+        }
+
+        private void remove(final Element element, final String key) {
+            if (isConstantKey(key))
+                return;
+            final int index = keyIndices.get(key);
+            final int ordinal = this.getOrdinal(element);
+            if (-1 == ordinal) {
+                final Object[] values = this.setAdded.get(element.getId());
+                if (null != values)
+                    values[index] = null;
+                return;
+            }
+            final Column column = this.setColumns[index];
+            if (null != column)
+                column.remove(ordinal);
+        }
+
+        /**
+         * Makes the values set during the iteration the values read during the next one and reuses the arrays of
+         * the values that were read for the values to be set.
+         */
+        private void swap() {
+            final Column[] columns = this.getColumns;
+            this.getColumns = this.setColumns;
+            this.setColumns = columns;
+            for (final Column column : this.setColumns) {
+                if (null != column)
+                    column.clear();
+            }
+            this.getAdded = this.setAdded;
+            this.setAdded = new ConcurrentHashMap<>();
+        }
+
+        private Column getColumn(final Column[] columns, final int index, final Object value) {
+            Column column = columns[index];
+            if (null == column) {
+                synchronized (this) {
+                    column = columns[index];
+                    if (null == column) {
+                        column = new Column(value.getClass(), this.ordinals.size());
+                        columns[index] = column;
+                    }
+                }
+            }
+            return column;
+        }
     }
 
-    public boolean isConstantKey(final String key) {
-        return VertexProgram.KeyType.CONSTANT.equals(this.computeKeys.get(key));
+    /**
+     * The values of one compute key by ordinal, held as primitives when the first value set is a {@link Double} or
+     * a {@link Long}.  Values of another class set later on are held aside by ordinal.  Distinct ordinals may be set
+     * from distinct threads.
+     */
+    private static class Column {
+
+        private final double[] doubles;
+        private final long[] longs;
+        private final Object[] objects;
+        private final boolean[] present;
+        private final Map<Integer, Object> others = new ConcurrentHashMap<>();
+
+        private Column(final Class type, final int size) {
+            this.doubles = Double.class.equals(type) ? new double[size] : null;
+            this.longs = Long.class.equals(type) ? new long[size] : null;
+            this.objects = null == this.doubles && null == this.longs ? new Object[size] : null;
+            this.present = null == this.objects ? new boolean[size] : null;
+        }
+
+        private Object get(final int ordinal) {
+            if (!this.others.isEmpty()) {
+                final Object value = this.others.get(ordinal);
+                if (null != value)
+                    return value;
+            }
+            if (null != this.objects)
+                return this.objects[ordinal];
+            else if (!this.present[ordinal])
+                return null;
+            else
+                return null != this.doubles ? (Object) this.doubles[ordinal] : (Object) this.longs[ordinal];
+        }
+
+        private void set(final int ordinal, final Object value) {
+            if (null != this.objects)
+                this.objects[ordinal] = value;
+            else if (null != this.doubles && value instanceof Double) {
+                this.doubles[ordinal] = (Double) value;
+                this.present[ordinal] = true;
+            } else if (null != this.longs && value instanceof Long) {
+                this.longs[ordinal] = (Long) value;
+                this.present[ordinal] = true;
+            } else {
+                this.present[ordinal] = false;
+                this.others.put(ordinal, value);
+                return;
+            }
+            if (!this.others.isEmpty())
+                this.others.remove(ordinal);
+        }
+
+        private void remove(final int ordinal) {
+            if (null != this.objects)
+                this.objects[ordinal] = null;
+            else
+                this.present[ordinal] = false;
+            this.others.remove(ordinal);
+        }
+
+        private void clear() {
+            if (null != this.objects)
+                Arrays.fill(this.objects, null);
+            else
+                Arrays.fill(this.present, false);
+            this.others.clear();
+        }
     }
 
-    /*public boolean isVariableKey(final String key) {
-        return VertexProgram.KeyType.VARIABLE.equals(this.computeKeys.get(key));
-    }*/
+    /**
+     * The ordinal an element was given by the states of a run.  The states are held along with the ordinal as an
+     * element may be part of several runs, one after the other or at once.
+     */
+    protected static class ComputeOrdinal {
+
+        private final Object states;
+        private final int ordinal;
 
-}
\ No newline at end of file
+        private ComputeOrdinal(final Object states, final int ordinal) {
+            this.states = states;
+            this.ordinal = ordinal;
+        }
+    }
+}
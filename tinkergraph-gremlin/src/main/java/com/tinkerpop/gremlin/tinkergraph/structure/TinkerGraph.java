@@ -15,11 +15,22 @@ import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerGraphStep;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.util.optimizers.TinkerGraphStepOptimizer;
 import org.apache.commons.configuration.Configuration;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * An in-memory, reference implementation of the property graph interfaces provided by Blueprints.
@@ -29,22 +40,78 @@ import java.util.Set;
  */
 public class TinkerGraph implements Graph, Serializable {
 
-    protected Long currentId = -1l;
-    protected Map<Object, Vertex> vertices = new HashMap<>();
-    protected Map<Object, Edge> edges = new HashMap<>();
+    public static final String CONFIG_STORAGE = "gremlin.tg.storage";
+    public static final String HASH_STORAGE = "hash";
+    public static final String PRIMITIVE_STORAGE = "primitive";
+    public static final String CONFIG_PROPERTIES = "gremlin.tg.properties";
+    public static final String MAP_PROPERTIES = "map";
+    public static final String COLUMN_PROPERTIES = "column";
+    public static final String CONFIG_CONCURRENT = "gremlin.tg.concurrent";
+    public static final String CONFIG_DIRECTORY = "gremlin.tg.directory";
+    public static final String CONFIG_LOG = "gremlin.tg.log";
+    public static final String CONFIG_LOG_SYNC_BATCH = "gremlin.tg.log.sync-batch";
+
+    private static final int LOCK_STRIPES = 64;
+
+    protected final AtomicLong currentId = new AtomicLong(-1l);
+    protected final AtomicLong currentVersion = new AtomicLong(0l);
+    protected final NavigableSet<Long> snapshots = new ConcurrentSkipListSet<>();
+    protected Map<Object, Vertex> vertices;
+    protected Map<Object, Edge> edges;
+    /**
+     * The number of scans iterating the map of vertices (or edges) itself that have not run to their end, in which
+     * case the map is copied before it is next altered.  A copy starts a new count as the scans in progress go on
+     * iterating the map they started on.  Only used in the non-concurrent mode.
+     */
+    protected transient volatile AtomicInteger vertexScans = new AtomicInteger(0);
+    protected transient volatile AtomicInteger edgeScans = new AtomicInteger(0);
+    protected Map<Object, Queue<Vertex>> retiredVertices;
+    protected Map<Object, Queue<Edge>> retiredEdges;
     protected TinkerGraphMemory graphMemory = new TinkerGraphMemory(this);
     protected TinkerElementMemory elementMemory;
+    protected TinkerColumns columns = null;
+    protected TinkerLabels labels = new TinkerLabels();
 
     protected boolean usesElementMemory = false;
+    protected boolean usesPrimitiveStorage = false;
+    protected boolean usesConcurrentAccess = false;
+    protected boolean readOnly = false;
+    protected ReentrantLock[] vertexLocks = null;
+    protected transient TinkerMappedStorage storage = null;
+    protected transient TinkerLog log = null;
 
     protected TinkerIndex<TinkerVertex> vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
     protected TinkerIndex<TinkerEdge> edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+    protected Map<String, Set<String>> vertexCentricKeys = new ConcurrentHashMap<>();
 
     /**
      * An empty private constructor that initializes {@link TinkerGraph} with no {@link com.tinkerpop.gremlin.structure.strategy.GraphStrategy}.  Primarily
      * used for purposes of serialization issues.
      */
     private TinkerGraph() {
+        this(HASH_STORAGE, false);
+    }
+
+    protected TinkerGraph(final String storage, final boolean concurrent) {
+        if (HASH_STORAGE.equals(storage))
+            this.usesPrimitiveStorage = false;
+        else if (PRIMITIVE_STORAGE.equals(storage))
+            this.usesPrimitiveStorage = true;
+        else
+            throw new IllegalArgumentException("The provided storage type is not supported: " + storage);
+        if (concurrent) {
+            if (this.usesPrimitiveStorage)
+                throw new IllegalArgumentException("The provided storage type is not supported in concurrent mode: " + storage);
+            this.usesConcurrentAccess = true;
+            this.vertexLocks = new ReentrantLock[LOCK_STRIPES];
+            for (int i = 0; i < LOCK_STRIPES; i++) {
+                this.vertexLocks[i] = new ReentrantLock();
+            }
+        }
+        this.vertices = this.createElementMap();
+        this.edges = this.createElementMap();
+        this.retiredVertices = TinkerHelper.createMap(this);
+        this.retiredEdges = TinkerHelper.createMap(this);
     }
 
     /**
@@ -71,12 +138,62 @@ public class TinkerGraph implements Graph, Serializable {
      * behind that facade and since {@link com.tinkerpop.gremlin.structure.util.GraphFactory} is the preferred method
      * to opening graphs it will be consistent at that level.
      *
+     * <p/>
+     * The {@link #CONFIG_STORAGE} setting selects how elements are held.  {@link #HASH_STORAGE} (the default) keeps
+     * them in {@code HashMap}s keyed by any identifier.  {@link #PRIMITIVE_STORAGE} assigns {@code long} identifiers
+     * from a counter and keeps elements in open-addressing {@code long} keyed tables which lowers the per-element
+     * memory overhead of large graphs.  In that mode identifiers are always assigned by the graph and user supplied
+     * identifiers are not supported.
+     * <p/>
+     * The {@link #CONFIG_PROPERTIES} setting selects how properties are held.  {@link #MAP_PROPERTIES} (the default)
+     * gives each element a map of its properties.  {@link #COLUMN_PROPERTIES} holds the values of each property key
+     * in a single column indexed by element, in a primitive array for numbers and against a dictionary for strings,
+     * which lowers the memory overhead of graphs whose elements share their keys and lets {@code has()} filters and
+     * {@link Element#getValue} read values without creating a {@link com.tinkerpop.gremlin.structure.Property}.
+     * Column properties are not supported in concurrent mode.
+     * <p/>
+     * Setting {@link #CONFIG_CONCURRENT} to {@code true} allows elements to be added, removed and read from several
+     * threads at once.  Elements and their properties and adjacency are then held in concurrent maps, properties
+     * and adjacency are mutated under a lock striped by element and the indices are guarded by a read-write lock.  Concurrent mode
+     * requires {@link #HASH_STORAGE}.
+     * <p/>
+     * Setting {@link #CONFIG_DIRECTORY} persists the graph to memory-mapped segment files in that directory.  The
+     * graph is written when it is closed and is restored from the directory when it is opened again.  Restoring reads
+     * the identifiers, labels and adjacency of the elements along with the indices, but leaves the properties of each
+     * element in the mapped segments until they are first accessed.
+     * <p/>
+     * Setting {@link #CONFIG_LOG} to {@code true} as well appends every alteration of the graph to a write-ahead log
+     * in the directory, so that alterations made since the graph was last closed survive a crash and are replayed
+     * when the graph is opened again.  {@link #CONFIG_LOG_SYNC_BATCH} sets how many alterations are forced to disk
+     * at once.  At {@code 1} (the default) an alteration is durable when it returns, and at {@code n} the log is forced
+     * every {@code n} alterations, so that up to {@code n - 1} of the latest alterations may be lost.
+     *
      * @param configuration the configuration for the instance
      * @param <G>           the {@link com.tinkerpop.gremlin.structure.Graph} instance
      * @return a newly opened {@link com.tinkerpop.gremlin.structure.Graph}
      */
     public static <G extends Graph> G open(final Optional<Configuration> configuration) {
-        return (G) new TinkerGraph();
+        final TinkerGraph graph = new TinkerGraph(configuration.map(c -> c.getString(CONFIG_STORAGE, HASH_STORAGE)).orElse(HASH_STORAGE),
+                configuration.map(c -> c.getBoolean(CONFIG_CONCURRENT, false)).orElse(false));
+        final String properties = configuration.map(c -> c.getString(CONFIG_PROPERTIES, MAP_PROPERTIES)).orElse(MAP_PROPERTIES);
+        if (COLUMN_PROPERTIES.equals(properties)) {
+            if (graph.usesConcurrentAccess)
+                throw new IllegalArgumentException("The provided property storage type is not supported in concurrent mode: " + properties);
+            graph.columns = new TinkerColumns();
+        } else if (!MAP_PROPERTIES.equals(properties))
+            throw new IllegalArgumentException("The provided property storage type is not supported: " + properties);
+        final Optional<String> directory = configuration.map(c -> c.getString(CONFIG_DIRECTORY, null));
+        final boolean log = configuration.map(c -> c.getBoolean(CONFIG_LOG, false)).orElse(false);
+        if (log && !directory.isPresent())
+            throw new IllegalArgumentException("The provided configuration is not supported: " + CONFIG_LOG + " requires " + CONFIG_DIRECTORY);
+        if (directory.isPresent()) {
+            try {
+                graph.storage = TinkerMappedStorage.open(graph, directory.get(), log, configuration.get().getInt(CONFIG_LOG_SYNC_BATCH, 1));
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+        return (G) graph;
     }
 
     ////////////// BLUEPRINTS API METHODS //////////////////
@@ -132,6 +249,8 @@ public class TinkerGraph implements Graph, Serializable {
         final String label = ElementHelper.getLabelValue(keyValues).orElse(Element.DEFAULT_LABEL);
 
         if (null != idValue) {
+            if (this.usesPrimitiveStorage)
+                throw Vertex.Exceptions.userSuppliedIdsNotSupported();
             if (this.vertices.containsKey(idValue))
                 throw Exceptions.vertexWithIdAlreadyExists(idValue);
         } else {
@@ -139,7 +258,10 @@ public class TinkerGraph implements Graph, Serializable {
         }
 
         final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.getId(), vertex);
+        if (null != this.getVerticesForUpdate().putIfAbsent(vertex.getId(), vertex))
+            throw Exceptions.vertexWithIdAlreadyExists(idValue);
+        if (null != this.log)
+            this.log.addVertex((TinkerVertex) vertex);
         ElementHelper.attachProperties(vertex, keyValues);
         return vertex;
     }
@@ -157,16 +279,131 @@ public class TinkerGraph implements Graph, Serializable {
     }
 
     public void clear() {
-        this.vertices.clear();
-        this.edges.clear();
+        if (null != this.log)
+            this.log.clear();
+        this.vertices = this.createElementMap();
+        this.edges = this.createElementMap();
+        this.retiredVertices = TinkerHelper.createMap(this);
+        this.retiredEdges = TinkerHelper.createMap(this);
         this.graphMemory = new TinkerGraphMemory(this);
-        this.currentId = 0l;
+        if (null != this.columns)
+            this.columns = new TinkerColumns();
+        this.currentId.set(0l);
+        this.vertexIndex.cancelBuilds();
+        this.edgeIndex.cancelBuilds();
         this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
         this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+        this.vertexCentricKeys = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Freezes the adjacency of every vertex into a read-optimized, array-based layout.  Edges are still allowed to be
+     * added or removed afterwards, but doing so reverts the affected vertex to its mutable layout, so this method is
+     * best called once a graph is loaded.  It may be called again to re-compact vertices that have been altered.
+     * In concurrent mode it must not be called while other threads are reading or altering the graph.
+     */
+    public void compact() {
+        this.vertices.values().forEach(vertex -> TinkerHelper.compactEdges((TinkerVertex) vertex));
     }
 
+    /**
+     * Creates a loader that adds vertices and edges from many threads at once and inserts them into the graph in one
+     * pass, which is far faster than adding them one at a time when loading a large graph.
+     */
+    public TinkerBulkLoader bulkLoader() {
+        return new TinkerBulkLoader(this);
+    }
+
+    /**
+     * Takes a read-only snapshot of the graph.  The snapshot sees the graph as it is now and is isolated from any
+     * write made afterwards, so long running traversals (or a {@link TinkerGraphComputer}) can read it while the
+     * graph continues to be altered.  Taking a snapshot is constant time: the snapshot shares the elements of the
+     * graph and the first write to a part of an element that an open snapshot can see (its properties or its out or
+     * in adjacency) copies that part, preserving the original for the snapshot.  Removed elements are retained for
+     * as long as an open snapshot can see them.
+     * <p/>
+     * The elements returned by a snapshot are views created as they are read.  The values of
+     * {@link com.tinkerpop.gremlin.structure.AnnotatedList} properties are shared with the graph rather than copied.
+     * Indices are not versioned, so lookups on a snapshot scan its elements.  In concurrent mode, a write that is in
+     * progress while the snapshot is taken may or may not be visible to it.  A snapshot must be closed to release
+     * the state retained for it.
+     */
+    public TinkerGraph snapshot() {
+        synchronized (this.snapshots) {
+            final long version = this.currentVersion.get();
+            this.snapshots.add(version);
+            this.currentVersion.incrementAndGet();
+            return new TinkerGraphSnapshot(this, version);
+        }
+    }
+
+    /**
+     * Releases the state retained for the snapshot taken at the provided version.
+     */
+    protected void releaseSnapshot(final long version) {
+        synchronized (this.snapshots) {
+            this.snapshots.remove(version);
+            final Long oldest = this.snapshots.isEmpty() ? null : this.snapshots.first();
+            TinkerHelper.pruneRetired(this.retiredVertices, oldest);
+            TinkerHelper.pruneRetired(this.retiredEdges, oldest);
+        }
+    }
+
+    /**
+     * Writes the graph to its {@link #CONFIG_DIRECTORY} if it has one, which also discards its write-ahead log.  The
+     * indices being built in the background are waited for so that they are written as well.
+     */
     public void close() {
+        if (null != this.storage) {
+            this.vertexIndex.awaitBuilds();
+            this.edgeIndex.awaitBuilds();
+            try {
+                this.storage.close(this);
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+    }
 
+    /**
+     * Gets the map of vertices to alter.  A traversal in the non-concurrent mode iterates the map itself rather than
+     * a copy of it, so the map is copied before it is altered while such an iteration is in progress, which leaves
+     * the iteration with the vertices it started with.
+     */
+    protected Map<Object, Vertex> getVerticesForUpdate() {
+        if (this.vertexScans.get() > 0) {
+            this.vertices = this.createElementMap(this.vertices, 0);
+            this.vertexScans = new AtomicInteger(0);
+        }
+        return this.vertices;
+    }
+
+    protected Map<Object, Edge> getEdgesForUpdate() {
+        if (this.edgeScans.get() > 0) {
+            this.edges = this.createElementMap(this.edges, 0);
+            this.edgeScans = new AtomicInteger(0);
+        }
+        return this.edges;
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        this.vertexScans = new AtomicInteger(0);
+        this.edgeScans = new AtomicInteger(0);
+    }
+
+    private <E extends Element> Map<Object, E> createElementMap() {
+        return this.usesPrimitiveStorage ? new TinkerLongMap<>() : this.usesConcurrentAccess ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Creates a map holding the provided elements that is sized to take the additional elements without growing.
+     */
+    protected <E extends Element> Map<Object, E> createElementMap(final Map<Object, E> elements, final int additional) {
+        final int capacity = (int) Math.min(Integer.MAX_VALUE, (long) ((elements.size() + additional) / 0.75f) + 1);
+        final Map<Object, E> map = this.usesPrimitiveStorage ? new TinkerLongMap<>(capacity) : this.usesConcurrentAccess ? new ConcurrentHashMap<>(capacity) : new HashMap<>(capacity);
+        map.putAll(elements);
+        return map;
     }
 
     public Transaction tx() {
@@ -175,13 +412,49 @@ public class TinkerGraph implements Graph, Serializable {
 
 
     public Features getFeatures() {
-        return new TinkerGraphFeatures();
+        return new TinkerGraphFeatures(this.usesConcurrentAccess, null != this.storage, !this.usesPrimitiveStorage);
     }
 
     public static class TinkerGraphFeatures implements Features {
+        private final boolean concurrentAccess;
+        private final boolean persistence;
+        private final boolean userSuppliedIds;
+
+        public TinkerGraphFeatures() {
+            this(false);
+        }
+
+        public TinkerGraphFeatures(final boolean concurrentAccess) {
+            this(concurrentAccess, false);
+        }
+
+        public TinkerGraphFeatures(final boolean concurrentAccess, final boolean persistence) {
+            this(concurrentAccess, persistence, true);
+        }
+
+        /**
+         * @param userSuppliedIds false when the graph is configured for primitive storage, which assigns every
+         *                        identifier itself
+         */
+        public TinkerGraphFeatures(final boolean concurrentAccess, final boolean persistence, final boolean userSuppliedIds) {
+            this.concurrentAccess = concurrentAccess;
+            this.persistence = persistence;
+            this.userSuppliedIds = userSuppliedIds;
+        }
+
         @Override
         public GraphFeatures graph() {
-            return new TinkerGraphGraphFeatures();
+            return new TinkerGraphGraphFeatures(this.concurrentAccess, this.persistence);
+        }
+
+        @Override
+        public VertexFeatures vertex() {
+            return new TinkerGraphVertexFeatures(this.userSuppliedIds);
+        }
+
+        @Override
+        public EdgeFeatures edge() {
+            return new TinkerGraphEdgeFeatures(this.userSuppliedIds);
         }
 
         @Override
@@ -191,6 +464,27 @@ public class TinkerGraph implements Graph, Serializable {
     }
 
     public static class TinkerGraphGraphFeatures implements Features.GraphFeatures {
+        private final boolean concurrentAccess;
+        private final boolean persistence;
+
+        public TinkerGraphGraphFeatures() {
+            this(false);
+        }
+
+        public TinkerGraphGraphFeatures(final boolean concurrentAccess) {
+            this(concurrentAccess, false);
+        }
+
+        public TinkerGraphGraphFeatures(final boolean concurrentAccess, final boolean persistence) {
+            this.concurrentAccess = concurrentAccess;
+            this.persistence = persistence;
+        }
+
+        @Override
+        public boolean supportsConcurrentAccess() {
+            return this.concurrentAccess;
+        }
+
         @Override
         public boolean supportsTransactions() {
             return false;
@@ -198,8 +492,7 @@ public class TinkerGraph implements Graph, Serializable {
 
         @Override
         public boolean supportsPersistence() {
-            // todo: temporary.........
-            return false;
+            return this.persistence;
         }
 
         @Override
@@ -208,16 +501,90 @@ public class TinkerGraph implements Graph, Serializable {
         }
     }
 
+    public static class TinkerGraphVertexFeatures implements Features.VertexFeatures {
+        private final boolean userSuppliedIds;
+
+        public TinkerGraphVertexFeatures() {
+            this(true);
+        }
+
+        public TinkerGraphVertexFeatures(final boolean userSuppliedIds) {
+            this.userSuppliedIds = userSuppliedIds;
+        }
+
+        @Override
+        public boolean supportsUserSuppliedIds() {
+            return this.userSuppliedIds;
+        }
+    }
+
+    public static class TinkerGraphEdgeFeatures implements Features.EdgeFeatures {
+        private final boolean userSuppliedIds;
+
+        public TinkerGraphEdgeFeatures() {
+            this(true);
+        }
+
+        public TinkerGraphEdgeFeatures(final boolean userSuppliedIds) {
+            this.userSuppliedIds = userSuppliedIds;
+        }
+
+        @Override
+        public boolean supportsUserSuppliedIds() {
+            return this.userSuppliedIds;
+        }
+    }
+
     ///////////// GRAPH SPECIFIC INDEXING METHODS ///////////////
 
+    /**
+     * The structure backing an index created with {@link #createIndex(String, Class, IndexType)}.  A {@code HASH}
+     * index answers equality lookups only.  A {@code RANGE} index keeps the values of the key sorted so that it can
+     * also answer {@link com.tinkerpop.gremlin.structure.Compare#GREATER_THAN}, {@link com.tinkerpop.gremlin.structure.Compare#LESS_THAN}
+     * (and their inclusive forms) lookups.  Only {@link Comparable} values are held by a {@code RANGE} index.
+     */
+    public enum IndexType {
+        HASH, RANGE
+    }
+
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexIndex.createKeyIndex(key, indexType);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeIndex.createKeyIndex(key, indexType);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+        if (null != this.log)
+            this.log.createIndex(key, elementClass, indexType);
+    }
+
+    public <E extends Element> TinkerIndexBuild createIndexInBackground(final String key, final Class<E> elementClass) {
+        return this.createIndexInBackground(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Creates an index as {@link #createIndex(String, Class, IndexType)} does but builds it on a thread of its own,
+     * so that the graph can be read and altered by other threads meanwhile.  Lookups do not use the index, and
+     * {@link #getIndexedKeys(Class)} does not report the key, until the returned build is ready.  Only available in
+     * concurrent mode.
+     */
+    public <E extends Element> TinkerIndexBuild createIndexInBackground(final String key, final Class<E> elementClass, final IndexType indexType) {
+        final TinkerIndexBuild build;
         if (Vertex.class.isAssignableFrom(elementClass)) {
-            this.vertexIndex.createKeyIndex(key);
+            build = this.vertexIndex.buildKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
-            this.edgeIndex.createKeyIndex(key);
+            build = this.edgeIndex.buildKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
+        if (null != this.log)
+            this.log.createIndex(key, elementClass, indexType);
+        return build;
     }
 
     public <E extends Element> void dropIndex(final String key, final Class<E> elementClass) {
@@ -228,6 +595,59 @@ public class TinkerGraph implements Graph, Serializable {
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
+        if (null != this.log)
+            this.log.dropIndex(key, elementClass);
+    }
+
+    /**
+     * Gets the statistics of the index on the key or {@code null} if the key is not indexed.
+     */
+    public <E extends Element> TinkerIndexStatistics getIndexStatistics(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return this.vertexIndex.getStatistics(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return this.edgeIndex.getStatistics(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Creates an index over the ordered tuple of values of the provided keys.  An element is only held by the index
+     * when it has a value for every key.  The index answers lookups where all of the keys are tested for equality.
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexIndex.createCompositeIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeIndex.createCompositeIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+        if (null != this.log)
+            this.log.createCompositeIndex(elementClass, keys);
+    }
+
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexIndex.dropCompositeIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeIndex.dropCompositeIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+        if (null != this.log)
+            this.log.dropCompositeIndex(elementClass, keys);
+    }
+
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
     }
 
     public <E extends Element> Set<String> getIndexedKeys(final Class<E> elementClass) {
@@ -239,4 +659,46 @@ public class TinkerGraph implements Graph, Serializable {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
     }
+
+    public <E extends Element> IndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Creates a vertex-centric index that sorts the edges of the label at each vertex, in each direction, by the
+     * value of the key.  Only vertices with many edges of the label get the index, so that {@code outE}, {@code inE}
+     * or {@code bothE} on the label followed by {@code has()} or {@code interval()} on the key reads only the edges
+     * between the bounds from such a vertex, in the order of their values, rather than scanning all of its edges.
+     */
+    public void createVertexCentricIndex(final String label, final String key) {
+        if (null == label)
+            throw Graph.Exceptions.argumentCanNotBeNull("label");
+        if (null == key)
+            throw Graph.Exceptions.argumentCanNotBeNull("key");
+        if (!this.vertexCentricKeys.computeIfAbsent(label, l -> ConcurrentHashMap.newKeySet()).add(key))
+            return;
+        TinkerVertexCentricIndex.build(this, label, key);
+        if (null != this.log)
+            this.log.createVertexCentricIndex(label, key);
+    }
+
+    public void dropVertexCentricIndex(final String label, final String key) {
+        final Set<String> keys = this.vertexCentricKeys.get(label);
+        if (null == keys || !keys.remove(key))
+            return;
+        TinkerVertexCentricIndex.drop(this, label, key);
+        if (null != this.log)
+            this.log.dropVertexCentricIndex(label, key);
+    }
+
+    public Set<String> getVertexCentricIndexedKeys(final String label) {
+        final Set<String> keys = this.vertexCentricKeys.get(label);
+        return null == keys ? Collections.emptySet() : Collections.unmodifiableSet(keys);
+    }
 }
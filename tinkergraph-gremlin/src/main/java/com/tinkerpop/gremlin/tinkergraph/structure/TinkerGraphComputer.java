@@ -24,13 +24,19 @@ public class TinkerGraphComputer implements GraphComputer, TraversalEngine {
 
     public static final String EXECUTION_TYPE = "tinkergraph.computer.execution-type";
     public static final String CLONE_GRAPH = "tinkergraph.computer.clone-graph";
+    /**
+     * Computes over a snapshot of the graph rather than the graph itself, so that the graph can be written to while
+     * the computation runs.  The graph returned by {@link #submit()} is then the snapshot, which holds the state of
+     * the graph it read for as long as it is open.  It is closed if the computation fails and must otherwise be
+     * closed by the caller with {@link Graph#close()} once its results have been read.
+     */
+    public static final String SNAPSHOT_GRAPH = "tinkergraph.computer.snapshot-graph";
     public static final String PARALLEL = "parallel";
     public static final String SERIAL = "serial";
 
     private Isolation isolation = Isolation.BSP;
     private Configuration configuration = new BaseConfiguration();
     private final TinkerGraph graph;
-    private final TinkerMessenger messenger = new TinkerMessenger();
 
     public TinkerGraphComputer(final TinkerGraph graph) {
         this.graph = graph;
@@ -61,7 +67,7 @@ public class TinkerGraphComputer implements GraphComputer, TraversalEngine {
         return CompletableFuture.<Graph>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
 
-            // clone the graph or operate directly on the existing graph
+            // clone the graph, snapshot it or operate directly on the existing graph
             final TinkerGraph g;
             if (this.configuration.getBoolean(CLONE_GRAPH, false)) {
                 try {
@@ -70,38 +76,49 @@ public class TinkerGraphComputer implements GraphComputer, TraversalEngine {
                 } catch (IOException e) {
                     throw new RuntimeException(e.getMessage(), e);
                 }
+            } else if (this.configuration.getBoolean(SNAPSHOT_GRAPH, false) && !this.graph.readOnly) {
+                // the computed graph is the snapshot which should be closed once its results have been read
+                g = this.graph.snapshot();
             } else {
                 g = this.graph;
             }
 
-            final VertexProgram vertexProgram = VertexProgram.createVertexProgram(this.configuration);
-            g.usesElementMemory = true;
-            g.elementMemory = new TinkerElementMemory(this.isolation, vertexProgram.getComputeKeys());
-            final boolean parallel;
-            if (this.configuration.getString(EXECUTION_TYPE, PARALLEL).equals(PARALLEL))
-                parallel = true;
-            else if (this.configuration.getString(EXECUTION_TYPE, SERIAL).equals(SERIAL))
-                parallel = false;
-            else
-                throw new IllegalArgumentException("The provided execution type is not supported: " + this.configuration.getString(EXECUTION_TYPE));
-
-            // execute the vertex program
-            vertexProgram.setup(g.memory());
-            while (true) {
-                if (parallel)
-                    StreamFactory.parallelStream(g.V()).forEach(vertex -> vertexProgram.execute(vertex, this.messenger, g.memory()));
+            try {
+                final VertexProgram vertexProgram = VertexProgram.createVertexProgram(this.configuration);
+                g.usesElementMemory = true;
+                g.elementMemory = new TinkerElementMemory(this.isolation, vertexProgram.getComputeKeys(), g);
+                final TinkerMessenger messenger = new TinkerMessenger(g.elementMemory, vertexProgram.getMessageClass());
+                final boolean parallel;
+                if (this.configuration.getString(EXECUTION_TYPE, PARALLEL).equals(PARALLEL))
+                    parallel = true;
+                else if (this.configuration.getString(EXECUTION_TYPE, SERIAL).equals(SERIAL))
+                    parallel = false;
                 else
-                    StreamFactory.stream(g.V()).forEach(vertex -> vertexProgram.execute(vertex, this.messenger, g.memory()));
+                    throw new IllegalArgumentException("The provided execution type is not supported: " + this.configuration.getString(EXECUTION_TYPE));
+
+                // execute the vertex program
+                vertexProgram.setup(g.memory());
+                while (true) {
+                    if (parallel)
+                        StreamFactory.parallelStream(g.V()).forEach(vertex -> vertexProgram.execute(vertex, messenger, g.memory()));
+                    else
+                        StreamFactory.stream(g.V()).forEach(vertex -> vertexProgram.execute(vertex, messenger, g.memory()));
+
+                    g.<Graph.Memory.Computer.Administrative>memory().incrIteration();
+                    g.elementMemory.completeIteration();
+                    messenger.completeIteration();
+                    if (vertexProgram.terminate(g.memory())) break;
+                }
 
-                g.<Graph.Memory.Computer.Administrative>memory().incrIteration();
-                g.elementMemory.completeIteration();
-                this.messenger.completeIteration();
-                if (vertexProgram.terminate(g.memory())) break;
+                // update runtime and return the newly computed graph
+                g.<Graph.Memory.Computer.Administrative>memory().setRuntime(System.currentTimeMillis() - time);
+                return g;
+            } catch (final RuntimeException e) {
+                // a snapshot that is not returned is not closed by anyone else
+                if (g instanceof TinkerGraphSnapshot)
+                    g.close();
+                throw e;
             }
-
-            // update runtime and return the newly computed graph
-            g.<Graph.Memory.Computer.Administrative>memory().setRuntime(System.currentTimeMillis() - time);
-            return g;
         });
     }
 
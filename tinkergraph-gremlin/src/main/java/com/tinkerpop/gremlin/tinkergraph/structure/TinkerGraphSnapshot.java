@@ -0,0 +1,167 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.util.StreamFactory;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A read-only view of a {@link TinkerGraph} as it was when {@link TinkerGraph#snapshot()} was called.  The snapshot
+ * holds no copy of the graph.  It reads the elements of the graph (and the elements the graph has removed since)
+ * that were visible at its version and resolves each of them to the state it had at that version.
+ */
+class TinkerGraphSnapshot extends TinkerGraph {
+
+    protected final TinkerGraph graph;
+    protected final long version;
+
+    protected TinkerGraphSnapshot(final TinkerGraph graph, final long version) {
+        super(HASH_STORAGE, false);
+        this.graph = graph;
+        this.version = version;
+        this.readOnly = true;
+        this.labels = graph.labels;
+        this.vertices = new SnapshotMap<>(() -> graph.vertices, () -> TinkerHelper.iterateVertices(graph), graph.retiredVertices, vertex -> new TinkerVertex((TinkerVertex) vertex, this));
+        this.edges = new SnapshotMap<>(() -> graph.edges, () -> TinkerHelper.iterateEdges(graph), graph.retiredEdges, edge -> new TinkerEdge((TinkerEdge) edge, this));
+    }
+
+    public Vertex addVertex(final Object... keyValues) {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public TinkerGraph snapshot() {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public void clear() {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public void compact() {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public <E extends Element> TinkerIndexBuild createIndexInBackground(final String key, final Class<E> elementClass, final IndexType indexType) {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public void createVertexCentricIndex(final String label, final String key) {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public TinkerBulkLoader bulkLoader() {
+        throw Exceptions.snapshotIsReadOnly();
+    }
+
+    public void close() {
+        this.graph.releaseSnapshot(this.version);
+    }
+
+    /**
+     * A read-only map over the elements of the graph that were visible at the version of the snapshot.  Elements
+     * are resolved to views as they are read.  The map of the graph is read anew each time as the graph replaces it
+     * when it is altered while being iterated.  The elements are counted the first time the size is asked for and,
+     * as they can not change at the version of the snapshot, the count is kept from then on.
+     */
+    private class SnapshotMap<E extends Element> extends AbstractMap<Object, E> {
+
+        private final Supplier<Map<Object, E>> elements;
+        private final Supplier<Iterator<E>> iterator;
+        private final Map<Object, Queue<E>> retired;
+        private final Function<E, E> view;
+        private volatile int size = -1;
+
+        public SnapshotMap(final Supplier<Map<Object, E>> elements, final Supplier<Iterator<E>> iterator, final Map<Object, Queue<E>> retired, final Function<E, E> view) {
+            this.elements = elements;
+            this.iterator = iterator;
+            this.retired = retired;
+            this.view = view;
+        }
+
+        public E get(final Object id) {
+            final E element = this.elements.get().get(id);
+            if (null != element && TinkerHelper.isVisible((TinkerElement) element, version))
+                return this.view.apply(element);
+            final Queue<E> queue = this.retired.get(id);
+            if (null != queue) {
+                for (final E retiredElement : queue) {
+                    if (TinkerHelper.isVisible((TinkerElement) retiredElement, version))
+                        return this.view.apply(retiredElement);
+                }
+            }
+            return null;
+        }
+
+        public boolean containsKey(final Object id) {
+            return null != this.get(id);
+        }
+
+        /**
+         * Gets the visible elements of the graph followed by the visible elements it has removed since, without
+         * resolving them to views.
+         */
+        private Stream<E> stream() {
+            // the removed elements are few and the graph may retire more of them while they are iterated
+            final Stream<E> retired = Stream.of(this.retired.values().toArray(new Queue[0])).flatMap(queue -> ((Queue<E>) queue).stream())
+                    // an element being removed concurrently may still be held by the graph
+                    .filter(element -> this.elements.get().get(((TinkerElement) element).id) != element);
+            return Stream.concat(StreamFactory.stream(this.iterator.get()), retired)
+                    .filter(element -> TinkerHelper.isVisible((TinkerElement) element, version));
+        }
+
+        public Collection<E> values() {
+            return new AbstractCollection<E>() {
+                public Iterator<E> iterator() {
+                    return SnapshotMap.this.stream().map(SnapshotMap.this.view).iterator();
+                }
+
+                public int size() {
+                    return SnapshotMap.this.size();
+                }
+            };
+        }
+
+        public Set<Entry<Object, E>> entrySet() {
+            return new AbstractSet<Entry<Object, E>>() {
+                public Iterator<Entry<Object, E>> iterator() {
+                    return SnapshotMap.this.stream().map(SnapshotMap.this.view).<Entry<Object, E>>map(element -> new SimpleImmutableEntry<>(element.getId(), element)).iterator();
+                }
+
+                public int size() {
+                    return SnapshotMap.this.size();
+                }
+            };
+        }
+
+        public int size() {
+            if (-1 == this.size)
+                this.size = (int) this.stream().count();
+            return this.size;
+        }
+    }
+
+    public static class Exceptions {
+        public static UnsupportedOperationException snapshotIsReadOnly() {
+            return new UnsupportedOperationException("A snapshot of a TinkerGraph is read-only");
+        }
+    }
+}
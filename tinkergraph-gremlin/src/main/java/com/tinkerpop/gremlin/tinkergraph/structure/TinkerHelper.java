@@ -1,20 +1,33 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
+import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.MultiIterator;
+import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.HasContainer;
 import com.tinkerpop.gremlin.util.StreamFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -22,11 +35,26 @@ import java.util.stream.Stream;
  */
 public class TinkerHelper {
 
-    protected static String getNextId(final TinkerGraph graph) {
-        return Stream.generate(() -> ((Long) (++graph.currentId)).toString()).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findFirst().get();
+    /**
+     * The resolved labels that stand for all labels, which is told apart from labels that resolved to no identifier.
+     */
+    private static final int[] ALL_LABELS = new int[0];
+
+    protected static Object getNextId(final TinkerGraph graph) {
+        if (graph.usesPrimitiveStorage) {
+            final TinkerLongMap<Vertex> vertices = (TinkerLongMap<Vertex>) graph.vertices;
+            final TinkerLongMap<Edge> edges = (TinkerLongMap<Edge>) graph.edges;
+            long id;
+            do {
+                id = graph.currentId.incrementAndGet();
+            } while (vertices.containsKey(id) || edges.containsKey(id));
+            return id;
+        } else
+            return Stream.generate(() -> Long.toString(graph.currentId.incrementAndGet())).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findFirst().get();
     }
 
     protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
+        TinkerHelper.validateWritable(graph);
         if (null == label)
             throw Edge.Exceptions.edgeLabelCanNotBeNull();
         ElementHelper.legalPropertyKeyValueArray(keyValues);
@@ -35,6 +63,8 @@ public class TinkerHelper {
 
         final Edge edge;
         if (null != idValue) {
+            if (graph.usesPrimitiveStorage)
+                throw Edge.Exceptions.userSuppliedIdsNotSupported();
             if (graph.edges.containsKey(idValue))
                 throw Graph.Exceptions.edgeWithIdAlreadyExist(idValue);
         } else {
@@ -42,30 +72,344 @@ public class TinkerHelper {
         }
 
         edge = new TinkerEdge(idValue, outVertex, label, inVertex, graph);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.getId(), edge);
+        if (null != graph.getEdgesForUpdate().putIfAbsent(edge.getId(), edge))
+            throw Graph.Exceptions.edgeWithIdAlreadyExist(idValue);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        // the edge is logged before its properties so that they can be replayed onto it
+        if (null != graph.log)
+            graph.log.addEdge((TinkerEdge) edge);
+        ElementHelper.attachProperties(edge, keyValues);
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        Set<Edge> edges = vertex.outEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.outEdges.put(label, edges);
+        TinkerHelper.lock(vertex);
+        try {
+            TinkerHelper.retireEdges(vertex, Direction.OUT);
+            TinkerHelper.expandEdges(vertex, Direction.OUT);
+            final int id = vertex.graph.labels.getOrCreateId(label);
+            Set<Edge> edges = vertex.outEdges.get(id);
+            if (null == edges) {
+                edges = TinkerHelper.createEdgeSet(vertex.graph);
+                vertex.outEdges = vertex.outEdges.with(id, edges);
+            }
+            edges.add(edge);
+            TinkerVertexCentricIndex.addEdge(vertex, Direction.OUT, edges, edge);
+        } finally {
+            TinkerHelper.unlock(vertex);
         }
-        edges.add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        Set<Edge> edges = vertex.inEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.inEdges.put(label, edges);
+        TinkerHelper.lock(vertex);
+        try {
+            TinkerHelper.retireEdges(vertex, Direction.IN);
+            TinkerHelper.expandEdges(vertex, Direction.IN);
+            final int id = vertex.graph.labels.getOrCreateId(label);
+            Set<Edge> edges = vertex.inEdges.get(id);
+            if (null == edges) {
+                edges = TinkerHelper.createEdgeSet(vertex.graph);
+                vertex.inEdges = vertex.inEdges.with(id, edges);
+            }
+            edges.add(edge);
+            TinkerVertexCentricIndex.addEdge(vertex, Direction.IN, edges, edge);
+        } finally {
+            TinkerHelper.unlock(vertex);
+        }
+    }
+
+    protected static void removeEdge(final TinkerVertex vertex, final Direction direction, final Edge edge) {
+        TinkerHelper.lock(vertex);
+        try {
+            TinkerHelper.retireEdges(vertex, direction);
+            TinkerHelper.expandEdges(vertex, direction);
+            final TinkerAdjacency adjacency = direction.equals(Direction.OUT) ? vertex.outEdges : vertex.inEdges;
+            final Set<Edge> edges = adjacency.get(vertex.graph.labels.getId(edge.getLabel()));
+            if (null != edges)
+                edges.remove(edge);
+            TinkerVertexCentricIndex.removeEdge(vertex, direction, edge);
+        } finally {
+            TinkerHelper.unlock(vertex);
+        }
+    }
+
+    protected static <K, V> Map<K, V> createMap(final TinkerGraph graph) {
+        return graph.usesConcurrentAccess ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    /**
+     * Creates the map that holds the properties of a new element, which is a view over the columns of the graph
+     * when the graph holds its properties in {@link TinkerColumns}.
+     */
+    protected static Map<String, Property> createProperties(final TinkerElement element) {
+        return null == element.graph.columns ? TinkerHelper.createMap(element.graph) : new TinkerColumnProperties(element, element.graph.columns);
+    }
+
+    protected static Set<Edge> createEdgeSet(final TinkerGraph graph) {
+        return graph.usesConcurrentAccess ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+    }
+
+    /**
+     * Gets the value that the sorted indices keep in place of the provided value.  Integral numbers are kept as a
+     * {@link Long} and floating point numbers as a {@link Double}, so a bound of one of those classes finds the
+     * values of the others, as {@link com.tinkerpop.gremlin.structure.Compare} does when it tests them.
+     */
+    protected static Object getRangeValue(final Object value) {
+        if (value instanceof Long || value instanceof Double)
+            return value;
+        else if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return ((Number) value).longValue();
+        else if (value instanceof Float)
+            return ((Number) value).doubleValue();
+        else
+            return value;
+    }
+
+    /**
+     * Locks the stripe of the element so that its adjacency and properties are altered by one thread at a time.
+     * A no-op unless the graph is in concurrent mode.  Locks are reentrant so a self-loop locks the same stripe
+     * twice safely.
+     */
+    protected static void lock(final TinkerElement element) {
+        if (element.graph.usesConcurrentAccess)
+            element.graph.vertexLocks[stripe(element)].lock();
+    }
+
+    protected static void unlock(final TinkerElement element) {
+        if (element.graph.usesConcurrentAccess)
+            element.graph.vertexLocks[stripe(element)].unlock();
+    }
+
+    /**
+     * Locks the stripes of the edge and of both of its vertices, so that a property of the edge and the
+     * vertex-centric indices it is held in are altered together.  The stripes are taken in ascending order, so two
+     * threads locking overlapping stripes this way cannot deadlock.
+     */
+    protected static void lockWithVertices(final TinkerEdge edge) {
+        if (edge.graph.usesConcurrentAccess) {
+            for (final int stripe : stripes(edge)) {
+                edge.graph.vertexLocks[stripe].lock();
+            }
+        }
+    }
+
+    protected static void unlockWithVertices(final TinkerEdge edge) {
+        if (edge.graph.usesConcurrentAccess) {
+            for (final int stripe : stripes(edge)) {
+                edge.graph.vertexLocks[stripe].unlock();
+            }
+        }
+    }
+
+    private static int[] stripes(final TinkerEdge edge) {
+        return IntStream.of(stripe(edge), stripe((TinkerElement) edge.getVertex(Direction.OUT)), stripe((TinkerElement) edge.getVertex(Direction.IN)))
+                .distinct().sorted().toArray();
+    }
+
+    private static int stripe(final TinkerElement element) {
+        return (element.id.hashCode() & 0x7fffffff) % element.graph.vertexLocks.length;
+    }
+
+    ///////////// SNAPSHOT VERSIONING ///////////////
+
+    protected static void validateWritable(final TinkerGraph graph) {
+        if (graph.readOnly)
+            throw TinkerGraphSnapshot.Exceptions.snapshotIsReadOnly();
+    }
+
+    /**
+     * Gets the bookkeeping for an element created now, which is only needed while a snapshot is open.
+     */
+    protected static TinkerVersions createVersions(final TinkerGraph graph) {
+        return graph.snapshots.isEmpty() ? null : new TinkerVersions(graph.currentVersion.get());
+    }
+
+    /**
+     * Preserves the properties of the element for the open snapshots that can see them, before they are altered.
+     * The alteration is then applied to a copy so the preserved properties are never mutated again.  Must be called
+     * with the stripe of the element locked.
+     */
+    protected static void retireProperties(final TinkerElement element) {
+        final TinkerGraph graph = element.graph;
+        TinkerHelper.validateWritable(graph);
+        final Long newest = graph.snapshots.floor(Long.MAX_VALUE);
+        final Long oldest = graph.snapshots.ceiling(Long.MIN_VALUE);
+        if (null == newest || null == oldest) {
+            element.versions = null;
+            return;
+        }
+
+        final TinkerVersions versions = TinkerHelper.getVersions(element);
+        if (versions.properties > newest)
+            return;
+        final Map<String, Property> properties = TinkerHelper.createMap(graph);
+        properties.putAll(element.properties);
+        if (element.properties instanceof TinkerColumnProperties) {
+            // columns are altered in place so it is the copy that is preserved
+            versions.retiredProperties = TinkerVersions.retire(versions.properties, properties, versions.retiredProperties, oldest);
+            versions.properties = graph.currentVersion.get();
+            element.versions = versions;
+        } else {
+            versions.retiredProperties = TinkerVersions.retire(versions.properties, element.properties, versions.retiredProperties, oldest);
+            versions.properties = graph.currentVersion.get();
+            element.versions = versions;
+            element.properties = properties;
+        }
+    }
+
+    /**
+     * Preserves the adjacency of the vertex in the provided direction for the open snapshots that can see it, before
+     * it is altered.  Must be called with the stripe of the vertex locked.
+     */
+    protected static void retireEdges(final TinkerVertex vertex, final Direction direction) {
+        final TinkerGraph graph = vertex.graph;
+        TinkerHelper.validateWritable(graph);
+        final Long newest = graph.snapshots.floor(Long.MAX_VALUE);
+        final Long oldest = graph.snapshots.ceiling(Long.MIN_VALUE);
+        if (null == newest || null == oldest) {
+            vertex.versions = null;
+            return;
+        }
+
+        final TinkerVersions versions = TinkerHelper.getVersions(vertex);
+        if ((direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) && versions.outEdges <= newest) {
+            versions.retiredOutEdges = TinkerVersions.retire(versions.outEdges, null == vertex.compactOutEdges ? vertex.outEdges : vertex.compactOutEdges, versions.retiredOutEdges, oldest);
+            versions.outEdges = graph.currentVersion.get();
+            vertex.versions = versions;
+            // compacted adjacency is immutable and is expanded into new maps by the write that follows
+            if (null == vertex.compactOutEdges)
+                vertex.outEdges = vertex.outEdges.copy(graph);
+        }
+        if ((direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) && versions.inEdges <= newest) {
+            versions.retiredInEdges = TinkerVersions.retire(versions.inEdges, null == vertex.compactInEdges ? vertex.inEdges : vertex.compactInEdges, versions.retiredInEdges, oldest);
+            versions.inEdges = graph.currentVersion.get();
+            vertex.versions = versions;
+            if (null == vertex.compactInEdges)
+                vertex.inEdges = vertex.inEdges.copy(graph);
+        }
+    }
+
+    /**
+     * Retains a removed element for the open snapshots that can see it.  Must be called before the element is
+     * removed from the graph.
+     */
+    protected static void retireElement(final TinkerElement element) {
+        final TinkerGraph graph = element.graph;
+        TinkerHelper.validateWritable(graph);
+        final Long newest = graph.snapshots.floor(Long.MAX_VALUE);
+        if (null == newest) {
+            element.versions = null;
+            return;
+        }
+
+        final TinkerVersions versions = TinkerHelper.getVersions(element);
+        if (versions.created > newest)
+            return;
+
+        versions.removed = graph.currentVersion.get();
+        element.versions = versions;
+        final Map<Object, Queue> retired = element instanceof Vertex ? (Map) graph.retiredVertices : (Map) graph.retiredEdges;
+        retired.compute(element.id, (id, queue) -> {
+            final Queue q = null == queue ? new ConcurrentLinkedQueue<>() : queue;
+            q.add(element);
+            return q;
+        });
+    }
+
+    /**
+     * Drops the removed elements that no open snapshot can see any longer.
+     */
+    protected static <E extends Element> void pruneRetired(final Map<Object, Queue<E>> retired, final Long oldestSnapshot) {
+        if (null == oldestSnapshot) {
+            retired.clear();
+            return;
+        }
+        for (final Object id : new ArrayList<>(retired.keySet())) {
+            retired.computeIfPresent(id, (k, queue) -> {
+                queue.removeIf(element -> ((TinkerElement) element).versions.removed <= oldestSnapshot);
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+    }
+
+    /**
+     * Gets the bookkeeping of the element while a snapshot is open.  An element without bookkeeping predates every
+     * open snapshot.  The bookkeeping is dropped by the first write made once no snapshot is open since a snapshot
+     * taken later sees only the live state.
+     */
+    private static TinkerVersions getVersions(final TinkerElement element) {
+        return null == element.versions ? new TinkerVersions(-1l) : element.versions;
+    }
+
+    /**
+     * Gets the properties of the element as they were at the snapshot version.
+     */
+    protected static Map<String, Property> getProperties(final TinkerElement element, final long snapshot) {
+        // read the state before its version so that a state being retired concurrently is not mistaken for the live one
+        final Map<String, Property> properties = element.properties;
+        final TinkerVersions versions = element.versions;
+        return null == versions ? properties : TinkerVersions.resolve(versions.properties, properties, versions.retiredProperties, snapshot);
+    }
+
+    /**
+     * Gets the adjacency of the vertex in the provided direction as it was at the snapshot version, either as a
+     * {@code Map} of edge sets or as {@link TinkerCompactEdges}.
+     */
+    protected static Object getEdges(final TinkerVertex vertex, final Direction direction, final long snapshot) {
+        final boolean out = direction.equals(Direction.OUT);
+        final TinkerCompactEdges compact = out ? vertex.compactOutEdges : vertex.compactInEdges;
+        final Object edges = null != compact ? compact : out ? vertex.outEdges : vertex.inEdges;
+        final TinkerVersions versions = vertex.versions;
+        if (null == versions)
+            return edges;
+        return out ?
+                TinkerVersions.resolve(versions.outEdges, edges, versions.retiredOutEdges, snapshot) :
+                TinkerVersions.resolve(versions.inEdges, edges, versions.retiredInEdges, snapshot);
+    }
+
+    protected static boolean isVisible(final TinkerElement element, final long snapshot) {
+        final TinkerVersions versions = element.versions;
+        return null == versions || versions.isVisible(snapshot);
+    }
+
+    /**
+     * Freezes the adjacency of the vertex into {@link TinkerCompactEdges} and releases the mutable maps.
+     */
+    protected static void compactEdges(final TinkerVertex vertex) {
+        TinkerHelper.lock(vertex);
+        try {
+            if (null == vertex.compactOutEdges) {
+                vertex.compactOutEdges = new TinkerCompactEdges(vertex.outEdges);
+                vertex.outEdges = null;
+            }
+            if (null == vertex.compactInEdges) {
+                vertex.compactInEdges = new TinkerCompactEdges(vertex.inEdges);
+                vertex.inEdges = null;
+            }
+        } finally {
+            TinkerHelper.unlock(vertex);
+        }
+    }
+
+    /**
+     * Restores the mutable adjacency of a compacted vertex in the provided direction so that it can be altered.
+     */
+    protected static void expandEdges(final TinkerVertex vertex, final Direction direction) {
+        TinkerHelper.lock(vertex);
+        try {
+            if ((direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) && null != vertex.compactOutEdges) {
+                vertex.outEdges = vertex.compactOutEdges.expand(vertex.graph);
+                vertex.compactOutEdges = null;
+            }
+            if ((direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) && null != vertex.compactInEdges) {
+                vertex.inEdges = vertex.compactInEdges.expand(vertex.graph);
+                vertex.compactInEdges = null;
+            }
+        } finally {
+            TinkerHelper.unlock(vertex);
         }
-        edges.add(edge);
     }
 
     public static Collection<Vertex> getVertices(final TinkerGraph graph) {
@@ -76,6 +420,51 @@ public class TinkerHelper {
         return graph.edges.values();
     }
 
+    /**
+     * Iterates the vertices of the graph as they are when the first of them is pulled, even if the graph is altered
+     * while the iteration goes on.  In the non-concurrent mode the map of vertices is iterated as it is and the graph
+     * copies it only if it is altered after the iteration has started and before it has run to its end or been
+     * closed.  In the concurrent mode other threads
+     * alter the map in place so the vertices are copied up front.
+     */
+    public static Iterator<Vertex> iterateVertices(final TinkerGraph graph) {
+        if (graph.usesConcurrentAccess)
+            return Arrays.asList(graph.vertices.values().toArray(new Vertex[0])).iterator();
+        return new ScanIterator<>(graph, true);
+    }
+
+    public static Iterator<Edge> iterateEdges(final TinkerGraph graph) {
+        if (graph.usesConcurrentAccess)
+            return Arrays.asList(graph.edges.values().toArray(new Edge[0])).iterator();
+        return new ScanIterator<>(graph, false);
+    }
+
+    /**
+     * Tests the element against all the containers as {@link HasContainer#testAll} does, except that the property
+     * values of an element held in {@link TinkerColumns} are read from their columns without creating a
+     * {@link TinkerProperty} for each of them.
+     */
+    public static boolean testAll(final Element element, final List<HasContainer> hasContainers) {
+        final Map<String, Property> properties = ((TinkerElement) element).properties;
+        if (!(properties instanceof TinkerColumnProperties) || ((TinkerElement) element).graph.usesElementMemory)
+            return HasContainer.testAll(element, hasContainers);
+
+        for (final HasContainer hasContainer : hasContainers) {
+            if (Element.ID.equals(hasContainer.key) || Element.LABEL.equals(hasContainer.key)) {
+                if (!hasContainer.test(element))
+                    return false;
+            } else {
+                final Object value = ((TinkerColumnProperties) properties).getValue(hasContainer.key);
+                if (null != hasContainer.value) {
+                    if (null == value || !hasContainer.predicate.test(value, hasContainer.value))
+                        return false;
+                } else if (Contains.IN.equals(hasContainer.predicate) == (null == value))
+                    return false;
+            }
+        }
+        return true;
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
         return graph.vertexIndex.get(key, value);
     }
@@ -84,45 +473,204 @@ public class TinkerHelper {
         return graph.edgeIndex.get(key, value);
     }
 
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.vertexIndex.get(keys, values);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.edgeIndex.get(keys, values);
+    }
+
+    public static long countVertexIndex(final TinkerGraph graph, final String key, final Object value) {
+        return graph.vertexIndex.count(key, value);
+    }
+
+    public static long countEdgeIndex(final TinkerGraph graph, final String key, final Object value) {
+        return graph.edgeIndex.count(key, value);
+    }
+
+    public static long countVertexIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.vertexIndex.count(keys, values);
+    }
+
+    public static long countEdgeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.edgeIndex.count(keys, values);
+    }
+
+    public static long countVertexIndex(final TinkerGraph graph, final String key, final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive, final long limit) {
+        return graph.vertexIndex.countRange(key, lower, lowerInclusive, upper, upperInclusive, limit);
+    }
+
+    public static long countEdgeIndex(final TinkerGraph graph, final String key, final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive, final long limit) {
+        return graph.edgeIndex.countRange(key, lower, lowerInclusive, upper, upperInclusive, limit);
+    }
+
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive) {
+        return graph.vertexIndex.getRange(key, lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive) {
+        return graph.edgeIndex.getRange(key, lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    /**
+     * Gets the edges of the labels incident to the vertex whose value for the key falls between the bounds, in the
+     * order of their values, or {@code null} if the vertex does not have a vertex-centric index on the key for each
+     * of the labels.
+     */
+    public static Iterator<Edge> queryVertexCentricIndex(final TinkerVertex vertex, final Direction direction, final String[] labels, final String key,
+                                                         final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive) {
+        return TinkerVertexCentricIndex.getEdges(vertex, direction, labels, key, lower, lowerInclusive, upper, upperInclusive);
+    }
+
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... labels) {
+        return TinkerHelper.getEdges(vertex, direction, labels.length == 0 ? ALL_LABELS : vertex.graph.labels.getIds(labels));
+    }
+
+    /**
+     * Gets the edges of the labels resolved by {@link #getLabelIds} so that the labels are not looked up each time
+     * a vertex is expanded.
+     */
+    public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final int[] labelIds) {
+        final Iterator<TinkerEdge> edges = TinkerHelper.getAdjacentEdges(vertex, direction, labelIds);
+        return vertex.graph.readOnly ?
+                StreamFactory.stream(edges).map(e -> new TinkerEdge(e, (TinkerGraphSnapshot) vertex.graph)).iterator() :
+                edges;
+    }
+
+    private static Iterator<TinkerEdge> getAdjacentEdges(final TinkerVertex vertex, final Direction direction, final int[] labels) {
+        if (labels != ALL_LABELS && labels.length == 0)
+            return Collections.emptyIterator();
+        if (direction.equals(Direction.OUT) && null != vertex.compactOutEdges)
+            return vertex.compactOutEdges.edges(labels);
+        if (direction.equals(Direction.IN) && null != vertex.compactInEdges)
+            return vertex.compactInEdges.edges(labels);
+
         final MultiIterator<Edge> edges = new MultiIterator<>();
-        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
-            if (labels.length > 0) {
-                for (final String label : labels) {
-                    edges.addIterator(vertex.outEdges.getOrDefault(label, Collections.emptySet()).iterator());
-                }
-            } else {
-                for (final Set<Edge> set : vertex.outEdges.values()) {
+        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
+            TinkerHelper.addAdjacentEdges(edges, vertex.compactOutEdges, vertex.outEdges, labels);
+        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
+            TinkerHelper.addAdjacentEdges(edges, vertex.compactInEdges, vertex.inEdges, labels);
+        return (Iterator) edges;
+    }
+
+    private static void addAdjacentEdges(final MultiIterator<Edge> edges, final TinkerCompactEdges compact, final TinkerAdjacency adjacency, final int[] labels) {
+        if (null != compact) {
+            edges.addIterator(compact.edges(labels));
+        } else if (labels.length > 0) {
+            for (final int label : labels) {
+                final Set<Edge> set = adjacency.get(label);
+                if (null != set)
                     edges.addIterator(set.iterator());
-                }
             }
-        }
-        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
-            if (labels.length > 0) {
-                for (final String label : labels) {
-                    edges.addIterator(vertex.inEdges.getOrDefault(label, Collections.emptySet()).iterator());
-                }
-            } else {
-                for (final Set<Edge> set : vertex.inEdges.values()) {
-                    edges.addIterator(set.iterator());
-                }
+        } else {
+            for (int i = 0; i < adjacency.size(); i++) {
+                edges.addIterator(adjacency.getEdges(i).iterator());
             }
         }
-        return (Iterator) edges;
     }
 
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... labels) {
+        return TinkerHelper.getVertices(vertex, direction, labels.length == 0 ? ALL_LABELS : vertex.graph.labels.getIds(labels));
+    }
+
+    /**
+     * Gets the adjacent vertices over the edges of the labels resolved by {@link #getLabelIds} so that the labels
+     * are not looked up each time a vertex is expanded.
+     */
+    public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final int[] labelIds) {
+        if (!vertex.graph.readOnly && (labelIds == ALL_LABELS || labelIds.length > 0)) {
+            if (direction.equals(Direction.OUT) && null != vertex.compactOutEdges)
+                return vertex.compactOutEdges.vertices(Direction.IN, labelIds);
+            if (direction.equals(Direction.IN) && null != vertex.compactInEdges)
+                return vertex.compactInEdges.vertices(Direction.OUT, labelIds);
+        }
+
         if (direction != Direction.BOTH) {
-            return (Iterator) StreamFactory.stream(TinkerHelper.getEdges(vertex, direction, labels)).map(e -> e.getVertex(direction.opposite())).iterator();
+            return (Iterator) StreamFactory.stream(TinkerHelper.getEdges(vertex, direction, labelIds)).map(e -> e.getVertex(direction.opposite())).iterator();
         } else {
             final MultiIterator<TinkerVertex> vertices = new MultiIterator<>();
-            vertices.addIterator((Iterator) StreamFactory.stream(TinkerHelper.getEdges(vertex, Direction.OUT, labels)).map(e -> e.getVertex(Direction.IN)).iterator());
-            vertices.addIterator((Iterator) StreamFactory.stream(TinkerHelper.getEdges(vertex, Direction.IN, labels)).map(e -> e.getVertex(Direction.OUT)).iterator());
+            vertices.addIterator(TinkerHelper.getVertices(vertex, Direction.OUT, labelIds));
+            vertices.addIterator(TinkerHelper.getVertices(vertex, Direction.IN, labelIds));
             return vertices;
         }
     }
 
+    /**
+     * Resolves the labels to the identifiers they are interned to in the graph of the vertex, leaving out those that
+     * no edge has had.  Reading never interns a label.  No labels resolve to all labels.
+     */
+    public static int[] getLabelIds(final TinkerVertex vertex, final String... labels) {
+        return labels.length == 0 ? ALL_LABELS : vertex.graph.labels.getIds(labels);
+    }
+
+    /**
+     * Gets the number of labels interned in the graph of the vertex, which grows as edges of new labels are added.
+     */
+    public static int getLabelCount(final TinkerVertex vertex) {
+        return vertex.graph.labels.size();
+    }
+
     public static <V> Iterator<TinkerAnnotatedValue<V>> getAnnotatedValues(final TinkerAnnotatedList<V> annotatedList) {
-        return (Iterator) new ArrayList<>(annotatedList.annotatedValues).iterator();
+        return annotatedList.iterator();
+    }
+
+    /**
+     * Gets the values of the list whose annotation falls between the bounds, in the order they were added, or
+     * {@code null} if the list holds too few values to have an index on its annotations.
+     */
+    public static <V> Iterator<TinkerAnnotatedValue<V>> queryAnnotationIndex(final TinkerAnnotatedList<V> annotatedList, final String key,
+                                                                        final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive) {
+        return annotatedList.getAnnotatedValues(key, lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    /**
+     * Iterates the map of vertices (or edges) of the graph and counts itself among the scans of that map from the
+     * first element it is asked for until it has run to its end or been closed.  A scan that is dropped before either
+     * is counted until the graph next copies the map.
+     */
+    private static class ScanIterator<E> implements Iterator<E>, AutoCloseable {
+
+        private final TinkerGraph graph;
+        private final boolean vertices;
+        private Iterator<E> elements = null;
+        private AtomicInteger scans = null;
+        private boolean closed = false;
+
+        public ScanIterator(final TinkerGraph graph, final boolean vertices) {
+            this.graph = graph;
+            this.vertices = vertices;
+        }
+
+        public boolean hasNext() {
+            if (this.closed)
+                return false;
+            if (this.start().hasNext())
+                return true;
+            this.close();
+            return false;
+        }
+
+        public E next() {
+            if (this.closed)
+                throw FastNoSuchElementException.instance();
+            return this.start().next();
+        }
+
+        public void close() {
+            if (null != this.scans)
+                this.scans.decrementAndGet();
+            this.scans = null;
+            this.closed = true;
+        }
+
+        private Iterator<E> start() {
+            if (null == this.elements) {
+                this.scans = this.vertices ? this.graph.vertexScans : this.graph.edgeScans;
+                this.scans.incrementAndGet();
+                this.elements = (Iterator<E>) (this.vertices ? this.graph.vertices : this.graph.edges).values().iterator();
+            }
+            return this.elements;
+        }
     }
 }
@@ -1,18 +1,30 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
+import com.tinkerpop.gremlin.structure.AnnotatedList;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -20,16 +32,35 @@ import java.util.Set;
 class TinkerIndex<T extends Element> implements Serializable {
 
     protected Map<String, Map<Object, Set<T>>> index = new HashMap<>();
+    protected Map<String, Map<Class, NavigableMap<Object, Set<T>>>> rangeIndex = new HashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    protected Map<List<String>, Map<List<Object>, Set<T>>> compositeIndex = new ConcurrentHashMap<>();
+    private final Map<String, TinkerGraph.IndexType> indexedKeys = new ConcurrentHashMap<>();
+    private final Map<String, TinkerIndexStatistics> statistics = new HashMap<>();
+    private final Map<String, Set<List<String>>> compositeKeys = new HashMap<>();
+    private transient Map<String, TinkerIndexBuild> builds = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
         this.indexClass = indexClass;
     }
 
+    /**
+     * Determines if the value of the key is held by the range index.  A value that is not {@link Comparable} can
+     * not be sorted so, even for a {@link TinkerGraph.IndexType#RANGE} indexed key, it is held by the hash index
+     * where it can still be looked up by equality.
+     */
+    private boolean isRanged(final String key, final Object value) {
+        return value instanceof Comparable && TinkerGraph.IndexType.RANGE == this.indexedKeys.get(key);
+    }
+
     protected void put(final String key, final Object value, final T element) {
+        if (this.isRanged(key, value)) {
+            this.putRange(key, value, element);
+            return;
+        }
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (keyMap == null) {
             keyMap = new HashMap<>();
@@ -40,98 +71,655 @@ class TinkerIndex<T extends Element> implements Serializable {
             objects = new HashSet<>();
             keyMap.put(value, objects);
         }
-        objects.add(element);
+        if (objects.add(element))
+            this.statistics.get(key).bucketGrew(objects.size());
+    }
 
+    private void putRange(final String key, final Object propertyValue, final T element) {
+        final Object value = TinkerHelper.getRangeValue(propertyValue);
+        Map<Class, NavigableMap<Object, Set<T>>> classMap = this.rangeIndex.get(key);
+        if (null == classMap) {
+            classMap = new HashMap<>();
+            this.rangeIndex.put(key, classMap);
+        }
+        NavigableMap<Object, Set<T>> keyMap = classMap.get(value.getClass());
+        if (null == keyMap) {
+            keyMap = new TreeMap<>();
+            classMap.put(value.getClass(), keyMap);
+        }
+        Set<T> objects = keyMap.get(value);
+        if (null == objects) {
+            objects = new HashSet<>();
+            keyMap.put(value, objects);
+        }
+        if (objects.add(element))
+            this.statistics.get(key).bucketGrew(objects.size());
+    }
+
+    private Set<T> getRangeBucket(final String key, final Object propertyValue) {
+        final Map<Class, NavigableMap<Object, Set<T>>> classMap = this.rangeIndex.get(key);
+        if (null == classMap)
+            return null;
+        final Object value = TinkerHelper.getRangeValue(propertyValue);
+        final NavigableMap<Object, Set<T>> keyMap = classMap.get(value.getClass());
+        return null == keyMap ? null : keyMap.get(value);
     }
 
     public List<T> get(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null == keyMap) {
-            return Collections.emptyList();
-        } else {
-            Set<T> set = keyMap.get(value);
-            if (null == set)
+        this.readLock();
+        try {
+            if (this.isRanged(key, value)) {
+                final Set<T> set = this.getRangeBucket(key, value);
+                return null == set ? Collections.emptyList() : new ArrayList<>(set);
+            }
+            final Map<Object, Set<T>> keyMap = this.index.get(key);
+            if (null == keyMap) {
+                return Collections.emptyList();
+            } else {
+                Set<T> set = keyMap.get(value);
+                if (null == set)
+                    return Collections.emptyList();
+                else
+                    return new ArrayList<>(set);
+            }
+        } finally {
+            this.readUnlock();
+        }
+    }
+
+    /**
+     * Gets the elements whose value for a {@link TinkerGraph.IndexType#RANGE} indexed key falls between the provided
+     * bounds.  A {@code null} bound leaves that side of the range open.  Only values of the same class as the bounds
+     * are considered as values of other classes can not be compared with them, except that integral numbers are
+     * compared with integral numbers and floating point numbers with floating point numbers whatever their class.
+     */
+    public List<T> getRange(final String key, final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive) {
+        this.readLock();
+        try {
+            final NavigableMap<Object, Set<T>> keyMap = this.getRangeMap(key, lower, lowerInclusive, upper, upperInclusive);
+            if (null == keyMap)
                 return Collections.emptyList();
-            else
-                return new ArrayList<>(set);
+            final List<T> list = new ArrayList<>();
+            keyMap.values().forEach(list::addAll);
+            return list;
+        } finally {
+            this.readUnlock();
         }
     }
 
+    private NavigableMap<Object, Set<T>> getRangeMap(final String key, final Object lowerBound, final boolean lowerInclusive, final Object upperBound, final boolean upperInclusive) {
+        final Object lower = TinkerHelper.getRangeValue(lowerBound);
+        final Object upper = TinkerHelper.getRangeValue(upperBound);
+        final Class boundClass = null == lower ? (null == upper ? null : upper.getClass()) : lower.getClass();
+        final Map<Class, NavigableMap<Object, Set<T>>> classMap = this.rangeIndex.get(key);
+        if (null == boundClass || null == classMap || (null != upper && !boundClass.equals(upper.getClass())))
+            return null;
+        NavigableMap<Object, Set<T>> keyMap = classMap.get(boundClass);
+        if (null == keyMap)
+            return null;
+        if (null != lower && null != upper && ((Comparable) lower).compareTo(upper) > 0)
+            return null;
+
+        if (null != lower)
+            keyMap = keyMap.tailMap(lower, lowerInclusive);
+        if (null != upper)
+            keyMap = keyMap.headMap(upper, upperInclusive);
+        return keyMap;
+    }
+
     public long count(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null == keyMap) {
-            return 0;
-        } else {
-            Set<T> set = keyMap.get(value);
-            if (null == set)
+        this.readLock();
+        try {
+            if (this.isRanged(key, value)) {
+                final Set<T> set = this.getRangeBucket(key, value);
+                return null == set ? 0 : set.size();
+            }
+            final Map<Object, Set<T>> keyMap = this.index.get(key);
+            if (null == keyMap) {
                 return 0;
-            else
-                return set.size();
+            } else {
+                Set<T> set = keyMap.get(value);
+                if (null == set)
+                    return 0;
+                else
+                    return set.size();
+            }
+        } finally {
+            this.readUnlock();
         }
     }
 
     public void remove(final String key, final Object value, final T element) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
+        this.writeLock();
+        try {
+            if (this.isRanged(key, value)) {
+                final Set<T> objects = this.getRangeBucket(key, value);
+                if (null != objects && objects.remove(element)) {
+                    this.statistics.get(key).bucketShrank(objects.size());
+                    if (objects.size() == 0) {
+                        final Object rangeValue = TinkerHelper.getRangeValue(value);
+                        this.rangeIndex.get(key).get(rangeValue.getClass()).remove(rangeValue);
+                    }
+                }
+                return;
+            }
+            final Map<Object, Set<T>> keyMap = this.index.get(key);
+            if (null != keyMap) {
+                Set<T> objects = keyMap.get(value);
+                if (null != objects && objects.remove(element)) {
+                    this.statistics.get(key).bucketShrank(objects.size());
+                    if (objects.size() == 0) {
+                        keyMap.remove(value);
+                    }
                 }
             }
+        } finally {
+            this.writeUnlock();
         }
     }
 
+    /**
+     * Removes the element from the buckets of its own indexed values rather than searching every bucket, so the
+     * element must still hold its properties when this is called.
+     */
     public void removeElement(final T element) {
-        if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+        this.writeLock();
+        try {
+            if (this.indexClass.isAssignableFrom(element.getClass())) {
+                if (this.indexedKeys.containsKey(Element.LABEL))
+                    this.remove(Element.LABEL, element.getLabel(), element);
+                final Set<List<String>> composites = new HashSet<>();
+                for (final Map.Entry<String, Property> entry : ((TinkerElement) element).properties.entrySet()) {
+                    if (this.indexedKeys.containsKey(entry.getKey()))
+                        this.remove(entry.getKey(), getIndexedValue(entry.getValue()), element);
+                    final TinkerIndexBuild build = this.builds.get(entry.getKey());
+                    if (null != build)
+                        build.recordRemoval(entry.getValue().get(), element);
+                    if (this.compositeKeys.containsKey(entry.getKey()))
+                        composites.addAll(this.compositeKeys.get(entry.getKey()));
+                }
+                for (final List<String> keys : composites) {
+                    this.removeComposite(keys, this.getValues(keys, null, null, element), element);
                 }
             }
+        } finally {
+            this.writeUnlock();
         }
     }
 
+    /**
+     * Gets the value a property was indexed under.  An {@link AnnotatedList} is indexed under the
+     * {@link AnnotatedList#make()} marker it was created with.
+     */
+    private static Object getIndexedValue(final Property property) {
+        final Object value = property.get();
+        return value instanceof AnnotatedList ? AnnotatedList.make() : value;
+    }
+
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key)) {
-            if (oldValue != null)
-                this.remove(key, oldValue, element);
-            this.put(key, newValue, element);
+        this.writeLock();
+        try {
+            final TinkerIndexBuild build = this.builds.get(key);
+            if (null != build)
+                build.record(oldValue, newValue, element);
+            if (this.indexedKeys.containsKey(key)) {
+                if (oldValue != null)
+                    this.remove(key, oldValue, element);
+                this.put(key, newValue, element);
+            }
+            if (this.compositeKeys.containsKey(key)) {
+                for (final List<String> keys : this.compositeKeys.get(key)) {
+                    if (oldValue != null)
+                        this.removeComposite(keys, this.getValues(keys, key, oldValue, element), element);
+                    this.putComposite(keys, this.getValues(keys, key, newValue, element), element);
+                }
+            }
+        } finally {
+            this.writeUnlock();
         }
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key))
-            this.remove(key, oldValue, element);
+        this.writeLock();
+        try {
+            final TinkerIndexBuild build = this.builds.get(key);
+            if (null != build)
+                build.record(oldValue, null, element);
+            if (this.indexedKeys.containsKey(key))
+                this.remove(key, oldValue, element);
+            if (this.compositeKeys.containsKey(key)) {
+                for (final List<String> keys : this.compositeKeys.get(key)) {
+                    this.removeComposite(keys, this.getValues(keys, key, oldValue, element), element);
+                }
+            }
+        } finally {
+            this.writeUnlock();
+        }
+    }
+
+    ///////////// COMPOSITE INDICES ///////////////
+
+    /**
+     * Gets the values of the element for the keys of a composite index, substituting {@code value} for {@code key}
+     * as the element may not hold that value (yet or anymore).  If the element does not have a value for each of the
+     * keys then {@code null} is returned as the element is not part of the composite index.
+     */
+    private List<Object> getValues(final List<String> keys, final String key, final Object value, final T element) {
+        final Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            final String k = keys.get(i);
+            if (k.equals(key))
+                values[i] = value;
+            else if (k.equals(Element.LABEL))
+                values[i] = element.getLabel();
+            else {
+                final Property property = ((TinkerElement) element).properties.get(k);
+                values[i] = null == property ? null : getIndexedValue(property);
+            }
+            if (null == values[i])
+                return null;
+        }
+        return Arrays.asList(values);
+    }
+
+    protected void putComposite(final List<String> keys, final List<Object> values, final T element) {
+        if (null == values)
+            return;
+        Map<List<Object>, Set<T>> keyMap = this.compositeIndex.get(keys);
+        if (null == keyMap) {
+            keyMap = new HashMap<>();
+            this.compositeIndex.put(keys, keyMap);
+        }
+        Set<T> objects = keyMap.get(values);
+        if (null == objects) {
+            objects = new HashSet<>();
+            keyMap.put(values, objects);
+        }
+        objects.add(element);
+    }
+
+    private void removeComposite(final List<String> keys, final List<Object> values, final T element) {
+        if (null == values)
+            return;
+        final Map<List<Object>, Set<T>> keyMap = this.compositeIndex.get(keys);
+        if (null != keyMap) {
+            final Set<T> objects = keyMap.get(values);
+            if (null != objects) {
+                objects.remove(element);
+                if (objects.size() == 0)
+                    keyMap.remove(values);
+            }
+        }
+    }
+
+    public List<T> get(final List<String> keys, final List<Object> values) {
+        this.readLock();
+        try {
+            final Map<List<Object>, Set<T>> keyMap = this.compositeIndex.get(keys);
+            if (null == keyMap)
+                return Collections.emptyList();
+            final Set<T> set = keyMap.get(values);
+            return null == set ? Collections.emptyList() : new ArrayList<>(set);
+        } finally {
+            this.readUnlock();
+        }
+    }
+
+    public long count(final List<String> keys, final List<Object> values) {
+        this.readLock();
+        try {
+            final Map<List<Object>, Set<T>> keyMap = this.compositeIndex.get(keys);
+            if (null == keyMap)
+                return 0;
+            final Set<T> set = keyMap.get(values);
+            return null == set ? 0 : set.size();
+        } finally {
+            this.readUnlock();
+        }
+    }
+
+    public void createCompositeIndex(final String... keys) {
+        this.writeLock();
+        try {
+            if (null == keys)
+                throw Graph.Exceptions.argumentCanNotBeNull("keys");
+            if (keys.length < 2)
+                throw new IllegalArgumentException("A composite index requires at least two keys");
+            for (final String key : keys) {
+                if (null == key)
+                    throw Graph.Exceptions.argumentCanNotBeNull("key");
+                if (key.isEmpty())
+                    throw new IllegalArgumentException("The key for the index cannot be an empty string");
+            }
+
+            final List<String> compositeKey = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(keys)));
+            if (this.compositeIndex.containsKey(compositeKey))
+                return;
+            this.registerCompositeIndex(compositeKey);
+
+            (Vertex.class.isAssignableFrom(this.indexClass) ?
+                    this.graph.vertices.values().<T>stream() :
+                    this.graph.edges.values().<T>stream())
+                    .forEach(e -> this.putComposite(compositeKey, this.getValues(compositeKey, null, null, (T) e), (T) e));
+        } finally {
+            this.writeUnlock();
+        }
+    }
+
+    /**
+     * Registers a composite index whose buckets are restored with {@link #putComposite} rather than built from the
+     * properties of the elements.
+     */
+    protected void restoreCompositeIndex(final List<String> keys) {
+        this.writeLock();
+        try {
+            this.registerCompositeIndex(Collections.unmodifiableList(new ArrayList<>(keys)));
+        } finally {
+            this.writeUnlock();
+        }
+    }
+
+    private void registerCompositeIndex(final List<String> compositeKey) {
+        this.compositeIndex.put(compositeKey, new HashMap<>());
+        for (final String key : compositeKey) {
+            Set<List<String>> composites = this.compositeKeys.get(key);
+            if (null == composites) {
+                composites = new HashSet<>();
+                this.compositeKeys.put(key, composites);
+            }
+            composites.add(compositeKey);
+        }
+    }
+
+    public void dropCompositeIndex(final String... keys) {
+        this.writeLock();
+        try {
+            final List<String> compositeKey = Arrays.asList(keys);
+            if (this.compositeIndex.containsKey(compositeKey)) {
+                this.compositeIndex.remove(compositeKey).clear();
+                for (final String key : compositeKey) {
+                    final Set<List<String>> composites = this.compositeKeys.get(key);
+                    composites.remove(compositeKey);
+                    if (composites.isEmpty())
+                        this.compositeKeys.remove(key);
+                }
+            }
+        } finally {
+            this.writeUnlock();
+        }
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeIndex.keySet();
+    }
+
+    /**
+     * Indexes elements whose properties were set without updating the index, as when they are bulk loaded.
+     */
+    protected void putElements(final Collection<T> elements) {
+        this.writeLock();
+        try {
+            for (final String key : this.indexedKeys.keySet()) {
+                elements.parallelStream()
+                        .map(e -> new Object[]{e.getProperty(key), e})
+                        .filter(a -> ((Property) a[0]).isPresent())
+                        .collect(Collectors.toList())
+                        .forEach(a -> this.put(key, ((Property) a[0]).get(), (T) a[1]));
+            }
+            for (final TinkerIndexBuild build : this.builds.values()) {
+                elements.forEach(e -> e.getProperty(build.getKey()).ifPresent(value -> build.record(null, value, e)));
+            }
+            for (final List<String> compositeKey : this.compositeIndex.keySet()) {
+                elements.forEach(e -> this.putComposite(compositeKey, this.getValues(compositeKey, null, null, e), e));
+            }
+        } finally {
+            this.writeUnlock();
+        }
     }
 
     public void createKeyIndex(final String key) {
+        this.createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    /**
+     * Creates the index on the key and builds it from the properties of the elements.  Nothing is done when the key
+     * is indexed already.  In concurrent mode the index is built as {@link #buildKeyIndex} builds it, and waited on,
+     * so that the graph is not locked against other threads for the length of the scan.  An index on the
+     * {@link Element#LABEL} is still built under the exclusive lock, for the reason given on {@link #buildKeyIndex}.
+     */
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
+        if (this.graph.usesConcurrentAccess && !Element.LABEL.equals(key)) {
+            try {
+                this.buildKeyIndex(key, indexType).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            return;
+        }
+        this.writeLock();
+        try {
+            validateKeyIndex(key, indexType);
+            if (this.indexedKeys.containsKey(key) || this.builds.containsKey(key))
+                return;
+            this.indexedKeys.put(key, indexType);
+            this.statistics.put(key, new TinkerIndexStatistics());
+
+            (Vertex.class.isAssignableFrom(this.indexClass) ?
+                    this.graph.vertices.values().<T>parallelStream() :
+                    this.graph.edges.values().<T>parallelStream())
+                    .map(e -> new Object[]{((T) e).getProperty(key), e})
+                    .filter(a -> ((Property) a[0]).isPresent())
+                    .collect(Collectors.toList())
+                    .forEach(a -> this.put(key, ((Property) a[0]).get(), (T) a[1]));
+        } finally {
+            this.writeUnlock();
+        }
+    }
+
+    /**
+     * Creates the index on the key and starts building it in the background, returning the build that tracks it.
+     * The key is only reported as indexed once the build is ready.  An index on the {@link Element#LABEL} is built
+     * right away as the label of an edge is indexed before the edge is added to the graph and so could be missed by
+     * the scan of the elements.
+     */
+    protected TinkerIndexBuild buildKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
+        validateKeyIndex(key, indexType);
+        if (!this.graph.usesConcurrentAccess)
+            throw TinkerIndexBuild.Exceptions.backgroundBuildRequiresConcurrentAccess();
+        if (Element.LABEL.equals(key)) {
+            this.createKeyIndex(key, indexType);
+            return TinkerIndexBuild.completed(key, this.indexedKeys.get(key));
+        }
+        final TinkerIndexBuild build;
+        this.writeLock();
+        try {
+            if (this.indexedKeys.containsKey(key))
+                return TinkerIndexBuild.completed(key, this.indexedKeys.get(key));
+            if (this.builds.containsKey(key))
+                return this.builds.get(key);
+            build = new TinkerIndexBuild(this, this.graph, this.indexClass, key, indexType);
+            this.builds.put(key, build);
+        } finally {
+            this.writeUnlock();
+        }
+        build.start((Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values() :
+                this.graph.edges.values()).toArray(new Element[0]));
+        return build;
+    }
+
+    /**
+     * Swaps the staging index of the build in once the rest of its delta is replayed.  Returns {@code false} if the
+     * build was cancelled in the meantime.
+     */
+    protected boolean publishBuild(final TinkerIndexBuild build) {
+        this.writeLock();
+        try {
+            final String key = build.getKey();
+            if (build.isCancelled() || this.builds.get(key) != build)
+                return false;
+            build.applyDelta();
+            if (build.staging.index.containsKey(key))
+                this.index.put(key, (Map<Object, Set<T>>) build.staging.index.get(key));
+            if (build.staging.rangeIndex.containsKey(key))
+                this.rangeIndex.put(key, (Map<Class, NavigableMap<Object, Set<T>>>) build.staging.rangeIndex.get(key));
+            this.statistics.put(key, (TinkerIndexStatistics) build.staging.statistics.get(key));
+            this.indexedKeys.put(key, build.getIndexType());
+            this.builds.remove(key);
+            return true;
+        } finally {
+            this.writeUnlock();
+        }
+    }
+
+    protected void abandonBuild(final TinkerIndexBuild build) {
+        this.builds.remove(build.getKey(), build);
+    }
+
+    /**
+     * Cancels the builds in the background, as when the index is discarded.
+     */
+    protected void cancelBuilds() {
+        this.builds.values().forEach(TinkerIndexBuild::cancel);
+        this.builds.clear();
+    }
+
+    /**
+     * Waits for the builds in the background to finish so that their indices are in place, as when the graph is
+     * closed.  A build that failed is left out.
+     */
+    protected void awaitBuilds() {
+        for (final TinkerIndexBuild build : this.builds.values()) {
+            try {
+                build.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // the index of a failed build is not in place so there is nothing to wait for
+            }
+        }
+    }
+
+    private static void validateKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
+    }
 
-        if (this.indexedKeys.contains(key))
-            return;
-        this.indexedKeys.add(key);
-
-        (Vertex.class.isAssignableFrom(this.indexClass) ?
-                this.graph.vertices.values().<T>parallelStream() :
-                this.graph.edges.values().<T>parallelStream())
-                .map(e -> new Object[]{((T) e).getProperty(key), e})
-                .filter(a -> ((Property) a[0]).isPresent())
-                .forEach(a -> this.put(key, ((Property) a[0]).get(), (T) a[1]));
+    /**
+     * Registers an index on the key whose buckets are restored with {@link #put} rather than built from the
+     * properties of the elements.
+     */
+    protected void restoreKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
+        this.writeLock();
+        try {
+            this.indexedKeys.put(key, indexType);
+            this.statistics.put(key, new TinkerIndexStatistics());
+        } finally {
+            this.writeUnlock();
+        }
     }
 
     public void dropKeyIndex(final String key) {
-        if (this.index.containsKey(key))
-            this.index.remove(key).clear();
+        this.writeLock();
+        try {
+            final TinkerIndexBuild build = this.builds.remove(key);
+            if (null != build)
+                build.cancel();
+            if (this.index.containsKey(key))
+                this.index.remove(key).clear();
+            if (this.rangeIndex.containsKey(key))
+                this.rangeIndex.remove(key).clear();
 
-        this.indexedKeys.remove(key);
+            this.indexedKeys.remove(key);
+            this.statistics.remove(key);
+        } finally {
+            this.writeUnlock();
+        }
     }
 
     public Set<String> getIndexedKeys() {
-        return this.indexedKeys;
+        return this.indexedKeys.keySet();
+    }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        return this.indexedKeys.get(key);
+    }
+
+    /**
+     * Gets a copy of the statistics of the index on the key or {@code null} if the key is not indexed.
+     */
+    public TinkerIndexStatistics getStatistics(final String key) {
+        this.writeLock();
+        try {
+            final TinkerIndexStatistics statistics = this.statistics.get(key);
+            if (null == statistics)
+                return null;
+            if (statistics.isMaxBucketSizeStale()) {
+                final Stream<Set<T>> buckets = Stream.concat(
+                        this.rangeIndex.getOrDefault(key, Collections.emptyMap()).values().stream().flatMap(m -> m.values().stream()),
+                        this.index.getOrDefault(key, Collections.emptyMap()).values().stream());
+                statistics.setMaxBucketSize(buckets.mapToLong(Set::size).max().orElse(0l));
+            }
+            return statistics.copy();
+        } finally {
+            this.writeUnlock();
+        }
+    }
+
+    /**
+     * Counts the elements whose value for a {@link TinkerGraph.IndexType#RANGE} indexed key falls between the
+     * provided bounds, giving up once the count exceeds {@code limit} so that a wide range is not walked only to
+     * learn that another lookup is more selective.
+     */
+    public long countRange(final String key, final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive, final long limit) {
+        this.readLock();
+        try {
+            final NavigableMap<Object, Set<T>> keyMap = this.getRangeMap(key, lower, lowerInclusive, upper, upperInclusive);
+            long count = 0l;
+            if (null != keyMap) {
+                for (final Set<T> set : keyMap.values()) {
+                    count = count + set.size();
+                    if (count > limit)
+                        break;
+                }
+            }
+            return count;
+        } finally {
+            this.readUnlock();
+        }
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        this.builds = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * In concurrent mode the buckets are read under a shared lock and altered under an exclusive lock.
+     */
+    private void readLock() {
+        if (this.graph.usesConcurrentAccess)
+            this.lock.readLock().lock();
+    }
+
+    private void readUnlock() {
+        if (this.graph.usesConcurrentAccess)
+            this.lock.readLock().unlock();
+    }
+
+    private void writeLock() {
+        if (this.graph.usesConcurrentAccess)
+            this.lock.writeLock().lock();
+    }
+
+    private void writeUnlock() {
+        if (this.graph.usesConcurrentAccess)
+            this.lock.writeLock().unlock();
     }
 }
@@ -0,0 +1,187 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+/**
+ * An index being built on a background thread, as created by
+ * {@link TinkerGraph#createIndexInBackground(String, Class, TinkerGraph.IndexType)}.  The elements that were in the
+ * graph when the build started are scanned a chunk at a time into a staging index that no other thread sees.  The
+ * graph is read and altered as usual meanwhile: every change to the value of the key is recorded in a delta that is
+ * replayed onto the staging index after each chunk.  Once every element is scanned, the rest of the delta is replayed
+ * and the staging index is swapped in under the exclusive lock of the index, so lookups switch from full scans to the
+ * index all at once.  Until then the key is not reported as indexed and so queries keep scanning the elements.
+ */
+public class TinkerIndexBuild {
+
+    private static final int CHUNK_SIZE = 10000;
+
+    private final String key;
+    private final TinkerGraph.IndexType indexType;
+    private final TinkerIndex index;
+    protected final TinkerIndex staging;
+    private Element[] elements = new Element[0];
+    private final Queue<Object[]> delta = new ConcurrentLinkedQueue<>();
+    private final Set<Element> removed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile long elementCount = 0l;
+    private volatile long elementsScanned = 0l;
+    private volatile boolean ready = false;
+    private volatile boolean cancelled = false;
+    private volatile Throwable failure = null;
+
+    protected TinkerIndexBuild(final TinkerIndex index, final TinkerGraph graph, final Class indexClass, final String key, final TinkerGraph.IndexType indexType) {
+        this.index = index;
+        this.key = key;
+        this.indexType = indexType;
+        this.staging = null == index ? null : new TinkerIndex<>(graph, indexClass);
+        if (null != this.staging)
+            this.staging.restoreKeyIndex(key, indexType);
+    }
+
+    /**
+     * Creates a build of an index that is already in place.
+     */
+    protected static TinkerIndexBuild completed(final String key, final TinkerGraph.IndexType indexType) {
+        final TinkerIndexBuild build = new TinkerIndexBuild(null, null, null, key, indexType);
+        build.ready = true;
+        build.done.countDown();
+        return build;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public TinkerGraph.IndexType getIndexType() {
+        return this.indexType;
+    }
+
+    /**
+     * Gets the number of elements that were in the graph when the build started and are to be scanned.
+     */
+    public long getElementCount() {
+        return this.elementCount;
+    }
+
+    public long getElementsScanned() {
+        return this.elementsScanned;
+    }
+
+    /**
+     * Gets the share of the elements scanned so far, which is {@code 1.0} once the index is ready.
+     */
+    public double getProgress() {
+        if (this.ready)
+            return 1.0d;
+        final long count = this.elementCount;
+        return 0l == count ? 0.0d : (double) this.elementsScanned / (double) count;
+    }
+
+    /**
+     * Determines whether the index is in place and used by lookups.
+     */
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    /**
+     * Waits until the index is ready or the build is cancelled because the index was dropped.  A build that failed
+     * rethrows its failure.
+     */
+    public void await() throws InterruptedException {
+        this.done.await();
+        if (null != this.failure)
+            throw new RuntimeException(this.failure.getMessage(), this.failure);
+    }
+
+    /**
+     * Starts scanning the elements on a thread of its own.  The build must be registered with its index before the
+     * elements are gathered so that no change goes unrecorded.
+     */
+    protected void start(final Element[] elements) {
+        this.elements = elements;
+        this.elementCount = elements.length;
+        final Thread thread = new Thread(this::run, "tinkergraph-index-build-" + this.key);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Records the change of the value of the key of an element.  A {@code null} value stands for a property that was
+     * not present.  Must be called with the exclusive lock of the index and the stripe of the element held, so that
+     * the changes of an element are recorded in the order they were made.
+     */
+    protected void record(final Object oldValue, final Object newValue, final Element element) {
+        this.delta.add(new Object[]{oldValue, newValue, element});
+    }
+
+    /**
+     * Records the removal of an element from the graph, which happens before its properties are cleared, so the
+     * element is not to be indexed should it be scanned later on.
+     */
+    protected void recordRemoval(final Object oldValue, final Element element) {
+        this.removed.add(element);
+        this.record(oldValue, null, element);
+    }
+
+    /**
+     * Replays the recorded changes onto the staging index.  Only called by the thread of the build.
+     */
+    protected void applyDelta() {
+        Object[] change;
+        while (null != (change = this.delta.poll())) {
+            if (null != change[0])
+                this.staging.remove(this.key, change[0], (Element) change[2]);
+            if (null != change[1])
+                this.staging.put(this.key, change[1], (Element) change[2]);
+        }
+    }
+
+    protected void cancel() {
+        this.cancelled = true;
+    }
+
+    protected boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    private void run() {
+        try {
+            for (int from = 0; from < this.elements.length && !this.cancelled; from = from + CHUNK_SIZE) {
+                final int to = Math.min(from + CHUNK_SIZE, this.elements.length);
+                // the property is read before the element is checked for removal so that a removal is either seen
+                // here or recorded after the value was read
+                Arrays.stream(this.elements, from, to).parallel()
+                        .map(e -> new Object[]{((TinkerElement) e).properties.get(this.key), e})
+                        .filter(a -> null != a[0] && !this.removed.contains(a[1]))
+                        .collect(Collectors.toList())
+                        .forEach(a -> this.staging.put(this.key, ((Property) a[0]).get(), (Element) a[1]));
+                this.elementsScanned = to;
+                this.applyDelta();
+            }
+            this.elements = null;
+            this.ready = this.index.publishBuild(this);
+        } catch (final Throwable t) {
+            this.failure = t;
+            this.index.abandonBuild(this);
+        } finally {
+            this.done.countDown();
+        }
+    }
+
+    public static class Exceptions {
+        public static IllegalStateException backgroundBuildRequiresConcurrentAccess() {
+            return new IllegalStateException("Indices can only be built in the background in concurrent mode");
+        }
+    }
+}
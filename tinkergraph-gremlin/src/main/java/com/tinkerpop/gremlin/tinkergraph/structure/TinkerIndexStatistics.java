@@ -0,0 +1,103 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Statistics about the values held by an index on a single key: the number of distinct values, the number of
+ * indexed elements, the size of the largest bucket (the elements sharing one value) and a histogram of the bucket
+ * sizes.  The histogram has one slot per power of two so that slot {@code i} counts the buckets holding between
+ * {@code 2^i} and {@code 2^(i+1) - 1} elements.  The statistics are maintained as the index is updated and are used
+ * to estimate the selectivity of a lookup.
+ */
+public class TinkerIndexStatistics implements Serializable {
+
+    private static final int HISTOGRAM_SLOTS = 32;
+
+    private long distinctValues = 0l;
+    private long elementCount = 0l;
+    private long maxBucketSize = 0l;
+    private boolean maxBucketSizeStale = false;
+    private final long[] histogram = new long[HISTOGRAM_SLOTS];
+
+    protected TinkerIndexStatistics() {
+    }
+
+    private TinkerIndexStatistics(final TinkerIndexStatistics statistics) {
+        this.distinctValues = statistics.distinctValues;
+        this.elementCount = statistics.elementCount;
+        this.maxBucketSize = statistics.maxBucketSize;
+        System.arraycopy(statistics.histogram, 0, this.histogram, 0, HISTOGRAM_SLOTS);
+    }
+
+    public long getDistinctValues() {
+        return this.distinctValues;
+    }
+
+    public long getElementCount() {
+        return this.elementCount;
+    }
+
+    public long getMaxBucketSize() {
+        return this.maxBucketSize;
+    }
+
+    /**
+     * Gets the number of buckets whose size falls in each power of two slot.
+     */
+    public long[] getHistogram() {
+        return Arrays.copyOf(this.histogram, HISTOGRAM_SLOTS);
+    }
+
+    /**
+     * Estimates the number of elements a lookup on an unknown value resolves to, which is the average bucket size.
+     */
+    public double getAverageBucketSize() {
+        return this.distinctValues == 0 ? 0d : (double) this.elementCount / (double) this.distinctValues;
+    }
+
+    public String toString() {
+        return String.format("distinct:%d elements:%d max:%d", this.distinctValues, this.elementCount, this.maxBucketSize);
+    }
+
+    ///////////// MAINTAINED BY TinkerIndex ///////////////
+
+    protected void bucketGrew(final int size) {
+        this.elementCount++;
+        if (size == 1)
+            this.distinctValues++;
+        else
+            this.histogram[slot(size - 1)]--;
+        this.histogram[slot(size)]++;
+        if (size > this.maxBucketSize)
+            this.maxBucketSize = size;
+    }
+
+    protected void bucketShrank(final int size) {
+        this.elementCount--;
+        this.histogram[slot(size + 1)]--;
+        if (size == 0)
+            this.distinctValues--;
+        else
+            this.histogram[slot(size)]++;
+        if (size + 1 == this.maxBucketSize)
+            this.maxBucketSizeStale = true;
+    }
+
+    protected boolean isMaxBucketSizeStale() {
+        return this.maxBucketSizeStale;
+    }
+
+    protected void setMaxBucketSize(final long maxBucketSize) {
+        this.maxBucketSize = maxBucketSize;
+        this.maxBucketSizeStale = false;
+    }
+
+    protected TinkerIndexStatistics copy() {
+        return new TinkerIndexStatistics(this);
+    }
+
+    private static int slot(final int size) {
+        return 31 - Integer.numberOfLeadingZeros(size);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The dictionary that interns the edge labels of a {@link TinkerGraph} to small {@code int} identifiers by which the
+ * adjacency of each vertex is grouped.  Identifiers are handed out in the order labels are first seen and are never
+ * released, so an identifier resolved once stays valid for the life of the graph, even across
+ * {@link TinkerGraph#clear()}.
+ */
+class TinkerLabels implements Serializable {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] labels = new String[0];
+
+    /**
+     * Gets the identifier the label is interned to or {@code -1} if no edge has ever had the label.
+     */
+    protected int getId(final String label) {
+        final Integer id = this.ids.get(label);
+        return null == id ? -1 : id;
+    }
+
+    protected int getOrCreateId(final String label) {
+        final Integer id = this.ids.get(label);
+        return null == id ? this.createId(label) : id;
+    }
+
+    protected String getLabel(final int id) {
+        return this.labels[id];
+    }
+
+    protected int size() {
+        return this.labels.length;
+    }
+
+    /**
+     * Resolves the labels to their identifiers, leaving out those that no edge has ever had.
+     */
+    protected int[] getIds(final String... labels) {
+        final int[] ids = new int[labels.length];
+        int size = 0;
+        for (final String label : labels) {
+            final int id = this.getId(label);
+            if (id >= 0)
+                ids[size++] = id;
+        }
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    private synchronized int createId(final String label) {
+        final Integer existing = this.ids.get(label);
+        if (null != existing)
+            return existing;
+        final int id = this.labels.length;
+        final String[] labels = Arrays.copyOf(this.labels, id + 1);
+        labels[id] = label;
+        this.labels = labels;
+        this.ids.put(label, id);
+        return id;
+    }
+}
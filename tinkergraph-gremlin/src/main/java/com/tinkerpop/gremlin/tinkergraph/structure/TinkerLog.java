@@ -0,0 +1,461 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.structure.AnnotatedList;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Vertex;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only write-ahead log of the alterations made to a persisted {@link TinkerGraph} since its last
+ * checkpoint.  Each alteration is appended as a record framed by its length and a CRC32 checksum, and the log is
+ * replayed on top of the checkpoint when the graph is opened again.  A record that was only partly written when the
+ * process died fails its checksum and ends the replay, and the log is truncated there.
+ * <p/>
+ * Records are appended to a buffer in memory and forced to disk in groups.  When {@code syncBatch} is {@code 1}, an
+ * alteration only returns once its record is on disk, but a thread that forces the log writes out the records that
+ * other threads appended meanwhile, so concurrent writers share the cost of a force.  When {@code syncBatch} is
+ * larger, alterations return as soon as their record is appended and the log is forced once that many records are
+ * pending, so a crash may lose up to {@code syncBatch - 1} of the most recent alterations.
+ */
+class TinkerLog implements Closeable {
+
+    protected static final String LOG = "log.tgl";
+
+    private static final byte ADD_VERTEX = 0;
+    private static final byte ADD_EDGE = 1;
+    private static final byte SET_VERTEX_PROPERTY = 2;
+    private static final byte SET_VERTEX_ANNOTATED_LIST = 3;
+    private static final byte SET_EDGE_PROPERTY = 4;
+    private static final byte REMOVE_VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_EDGE_PROPERTY = 6;
+    private static final byte REMOVE_VERTEX = 7;
+    private static final byte REMOVE_EDGE = 8;
+    private static final byte CREATE_INDEX = 9;
+    private static final byte DROP_INDEX = 10;
+    private static final byte CREATE_COMPOSITE_INDEX = 11;
+    private static final byte DROP_COMPOSITE_INDEX = 12;
+    private static final byte CLEAR = 13;
+    private static final byte CREATE_VERTEX_CENTRIC_INDEX = 14;
+    private static final byte DROP_VERTEX_CENTRIC_INDEX = 15;
+    private static final byte ADD_ANNOTATED_VALUE = 16;
+    private static final byte REMOVE_ANNOTATED_VALUE = 17;
+    private static final byte SET_ANNOTATION = 18;
+    private static final byte REMOVE_ANNOTATION = 19;
+
+    private final FileChannel channel;
+    private final int syncBatch;
+    private final Kryo kryo = TinkerMappedStorage.createKryo();
+    private final Output record = new Output(256, -1);
+    private final Output pending = new Output(4096, -1);
+    private final CRC32 checksum = new CRC32();
+    private final Object syncLock = new Object();
+    private long appended = 0l;
+    private volatile long synced = 0l;
+
+    private TinkerLog(final FileChannel channel, final int syncBatch) {
+        this.channel = channel;
+        this.syncBatch = syncBatch;
+    }
+
+    /**
+     * Replays the log onto the graph and opens it for appending after the last complete record.
+     */
+    protected static TinkerLog open(final TinkerGraph graph, final File file, final int syncBatch) throws IOException {
+        if (syncBatch < 1)
+            throw new IllegalArgumentException("The provided sync batch is not supported: " + syncBatch);
+        file.getParentFile().mkdirs();
+        final long length = file.exists() ? replay(graph, file) : 0l;
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(length);
+        channel.position(length);
+        return new TinkerLog(channel, syncBatch);
+    }
+
+    private static long replay(final TinkerGraph graph, final File file) throws IOException {
+        final Kryo kryo = TinkerMappedStorage.createKryo();
+        final CRC32 checksum = new CRC32();
+        long length = 0l;
+        try (final Input input = new Input(new FileInputStream(file), 1 << 16)) {
+            byte[] record;
+            while (null != (record = readRecord(input, checksum, file.length()))) {
+                apply(graph, kryo, new Input(record));
+                length = input.total();
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Reads the next record or {@code null} at the end of the log or at a record that was only partly written.
+     */
+    private static byte[] readRecord(final Input input, final CRC32 checksum, final long fileLength) {
+        try {
+            if (input.eof())
+                return null;
+            final int length = input.readInt();
+            final int expected = input.readInt();
+            if (length < 1 || length > fileLength)
+                return null;
+            final byte[] record = input.readBytes(length);
+            checksum.reset();
+            checksum.update(record, 0, length);
+            return expected == (int) checksum.getValue() ? record : null;
+        } catch (KryoException e) {
+            return null;
+        }
+    }
+
+    private static void apply(final TinkerGraph graph, final Kryo kryo, final Input input) {
+        final byte operation = input.readByte();
+        switch (operation) {
+            case ADD_VERTEX:
+                graph.addVertex(Element.ID, kryo.readClassAndObject(input), Element.LABEL, input.readString());
+                break;
+            case ADD_EDGE:
+                final Object id = kryo.readClassAndObject(input);
+                final Vertex outVertex = graph.v(kryo.readClassAndObject(input));
+                final String label = input.readString();
+                outVertex.addEdge(label, graph.v(kryo.readClassAndObject(input)), Element.ID, id);
+                break;
+            case SET_VERTEX_PROPERTY:
+                graph.v(kryo.readClassAndObject(input)).setProperty(input.readString(), kryo.readClassAndObject(input));
+                break;
+            case SET_VERTEX_ANNOTATED_LIST:
+                graph.v(kryo.readClassAndObject(input)).setProperty(input.readString(), AnnotatedList.make());
+                break;
+            case SET_EDGE_PROPERTY:
+                graph.e(kryo.readClassAndObject(input)).setProperty(input.readString(), kryo.readClassAndObject(input));
+                break;
+            case REMOVE_VERTEX_PROPERTY:
+                graph.v(kryo.readClassAndObject(input)).getProperty(input.readString()).remove();
+                break;
+            case REMOVE_EDGE_PROPERTY:
+                graph.e(kryo.readClassAndObject(input)).getProperty(input.readString()).remove();
+                break;
+            case REMOVE_VERTEX:
+                graph.v(kryo.readClassAndObject(input)).remove();
+                break;
+            case REMOVE_EDGE:
+                graph.e(kryo.readClassAndObject(input)).remove();
+                break;
+            case CREATE_INDEX:
+                graph.createIndex(input.readString(), readElementClass(input), TinkerGraph.IndexType.values()[input.readByte()]);
+                break;
+            case DROP_INDEX:
+                graph.dropIndex(input.readString(), readElementClass(input));
+                break;
+            case CREATE_COMPOSITE_INDEX:
+                graph.createCompositeIndex(readElementClass(input), readKeys(input));
+                break;
+            case DROP_COMPOSITE_INDEX:
+                graph.dropCompositeIndex(readElementClass(input), readKeys(input));
+                break;
+            case CLEAR:
+                graph.clear();
+                break;
+            case CREATE_VERTEX_CENTRIC_INDEX:
+                graph.createVertexCentricIndex(input.readString(), input.readString());
+                break;
+            case DROP_VERTEX_CENTRIC_INDEX:
+                graph.dropVertexCentricIndex(input.readString(), input.readString());
+                break;
+            case ADD_ANNOTATED_VALUE:
+                final TinkerAnnotatedList addList = readAnnotatedList(graph, kryo, input);
+                final Object value = kryo.readClassAndObject(input);
+                final Object[] annotationKeyValues = new Object[input.readInt(true) * 2];
+                for (int i = 0; i < annotationKeyValues.length; i = i + 2) {
+                    annotationKeyValues[i] = input.readString();
+                    annotationKeyValues[i + 1] = kryo.readClassAndObject(input);
+                }
+                addList.addValue(value, annotationKeyValues);
+                break;
+            case REMOVE_ANNOTATED_VALUE:
+                final TinkerAnnotatedList removeList = readAnnotatedList(graph, kryo, input);
+                final int removeSlot = removeList.getSlot(input.readLong(), -1);
+                if (removeSlot != -1)
+                    removeList.remove(removeSlot);
+                break;
+            case SET_ANNOTATION:
+                final TinkerAnnotatedList setList = readAnnotatedList(graph, kryo, input);
+                final int setSlot = setList.getSlot(input.readLong(), -1);
+                final String setKey = input.readString();
+                final Object annotation = kryo.readClassAndObject(input);
+                if (setSlot != -1)
+                    setList.setAnnotation(setSlot, setKey, annotation);
+                break;
+            case REMOVE_ANNOTATION:
+                final TinkerAnnotatedList unsetList = readAnnotatedList(graph, kryo, input);
+                final int unsetSlot = unsetList.getSlot(input.readLong(), -1);
+                final String unsetKey = input.readString();
+                if (unsetSlot != -1)
+                    unsetList.removeAnnotation(unsetSlot, unsetKey);
+                break;
+            default:
+                throw new IllegalStateException("The log holds an unknown operation: " + operation);
+        }
+    }
+
+    private static TinkerAnnotatedList readAnnotatedList(final TinkerGraph graph, final Kryo kryo, final Input input) {
+        return (TinkerAnnotatedList) graph.v(kryo.readClassAndObject(input)).getValue(input.readString());
+    }
+
+    private static Class<? extends Element> readElementClass(final Input input) {
+        return input.readBoolean() ? Vertex.class : Edge.class;
+    }
+
+    private static String[] readKeys(final Input input) {
+        final String[] keys = new String[input.readInt(true)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = input.readString();
+        }
+        return keys;
+    }
+
+    ///////////// RECORDS ///////////////
+
+    protected void addVertex(final TinkerVertex vertex) {
+        this.commit(this.append(output -> {
+            output.writeByte(ADD_VERTEX);
+            this.kryo.writeClassAndObject(output, vertex.id);
+            output.writeString(vertex.label);
+        }));
+    }
+
+    protected void addEdge(final TinkerEdge edge) {
+        this.commit(this.append(output -> {
+            output.writeByte(ADD_EDGE);
+            this.kryo.writeClassAndObject(output, edge.id);
+            this.kryo.writeClassAndObject(output, edge.getVertex(Direction.OUT).getId());
+            output.writeString(edge.label);
+            this.kryo.writeClassAndObject(output, edge.getVertex(Direction.IN).getId());
+        }));
+    }
+
+    /**
+     * Appends the setting of a property without waiting for it to be on disk so that it can be called while the
+     * element is locked.  The returned position is to be passed to {@link #commit(long)} once it is unlocked.
+     */
+    protected long setProperty(final TinkerElement element, final String key, final Object value) {
+        final boolean annotatedList = value == AnnotatedList.make() && element instanceof Vertex;
+        return this.append(output -> {
+            if (annotatedList)
+                output.writeByte(SET_VERTEX_ANNOTATED_LIST);
+            else
+                output.writeByte(element instanceof Vertex ? SET_VERTEX_PROPERTY : SET_EDGE_PROPERTY);
+            this.kryo.writeClassAndObject(output, element.id);
+            output.writeString(key);
+            if (!annotatedList)
+                this.kryo.writeClassAndObject(output, value);
+        });
+    }
+
+    /**
+     * Appends the removal of a property without waiting for it to be on disk, as with {@link #setProperty}.
+     */
+    protected long removeProperty(final TinkerElement element, final String key) {
+        return this.append(output -> {
+            output.writeByte(element instanceof Vertex ? REMOVE_VERTEX_PROPERTY : REMOVE_EDGE_PROPERTY);
+            this.kryo.writeClassAndObject(output, element.id);
+            output.writeString(key);
+        });
+    }
+
+    protected void remove(final TinkerElement element) {
+        this.commit(this.append(output -> {
+            output.writeByte(element instanceof Vertex ? REMOVE_VERTEX : REMOVE_EDGE);
+            this.kryo.writeClassAndObject(output, element.id);
+        }));
+    }
+
+    protected void createIndex(final String key, final Class<? extends Element> elementClass, final TinkerGraph.IndexType indexType) {
+        this.commit(this.append(output -> {
+            output.writeByte(CREATE_INDEX);
+            output.writeString(key);
+            output.writeBoolean(Vertex.class.isAssignableFrom(elementClass));
+            output.writeByte(indexType.ordinal());
+        }));
+    }
+
+    protected void dropIndex(final String key, final Class<? extends Element> elementClass) {
+        this.commit(this.append(output -> {
+            output.writeByte(DROP_INDEX);
+            output.writeString(key);
+            output.writeBoolean(Vertex.class.isAssignableFrom(elementClass));
+        }));
+    }
+
+    protected void createCompositeIndex(final Class<? extends Element> elementClass, final String... keys) {
+        this.commit(this.append(output -> {
+            output.writeByte(CREATE_COMPOSITE_INDEX);
+            output.writeBoolean(Vertex.class.isAssignableFrom(elementClass));
+            writeKeys(output, keys);
+        }));
+    }
+
+    protected void dropCompositeIndex(final Class<? extends Element> elementClass, final String... keys) {
+        this.commit(this.append(output -> {
+            output.writeByte(DROP_COMPOSITE_INDEX);
+            output.writeBoolean(Vertex.class.isAssignableFrom(elementClass));
+            writeKeys(output, keys);
+        }));
+    }
+
+    protected int getSyncBatch() {
+        return this.syncBatch;
+    }
+
+    protected void createVertexCentricIndex(final String label, final String key) {
+        this.commit(this.append(output -> {
+            output.writeByte(CREATE_VERTEX_CENTRIC_INDEX);
+            output.writeString(label);
+            output.writeString(key);
+        }));
+    }
+
+    protected void dropVertexCentricIndex(final String label, final String key) {
+        this.commit(this.append(output -> {
+            output.writeByte(DROP_VERTEX_CENTRIC_INDEX);
+            output.writeString(label);
+            output.writeString(key);
+        }));
+    }
+
+    /**
+     * Appends the addition of a value to the {@link AnnotatedList} of a vertex.  The values of a list are identified
+     * in the order they are added, so the value is given the same identifier when the log is replayed.
+     */
+    protected void addAnnotatedValue(final TinkerVertex vertex, final String key, final Object value, final Object... annotationKeyValues) {
+        this.commit(this.append(output -> {
+            output.writeByte(ADD_ANNOTATED_VALUE);
+            this.kryo.writeClassAndObject(output, vertex.id);
+            output.writeString(key);
+            this.kryo.writeClassAndObject(output, value);
+            output.writeInt(annotationKeyValues.length / 2, true);
+            for (int i = 0; i < annotationKeyValues.length; i = i + 2) {
+                output.writeString((String) annotationKeyValues[i]);
+                this.kryo.writeClassAndObject(output, annotationKeyValues[i + 1]);
+            }
+        }));
+    }
+
+    protected void removeAnnotatedValue(final TinkerVertex vertex, final String key, final long id) {
+        this.commit(this.append(output -> {
+            output.writeByte(REMOVE_ANNOTATED_VALUE);
+            this.kryo.writeClassAndObject(output, vertex.id);
+            output.writeString(key);
+            output.writeLong(id);
+        }));
+    }
+
+    protected void setAnnotation(final TinkerVertex vertex, final String key, final long id, final String annotationKey, final Object annotationValue) {
+        this.commit(this.append(output -> {
+            output.writeByte(SET_ANNOTATION);
+            this.kryo.writeClassAndObject(output, vertex.id);
+            output.writeString(key);
+            output.writeLong(id);
+            output.writeString(annotationKey);
+            this.kryo.writeClassAndObject(output, annotationValue);
+        }));
+    }
+
+    protected void removeAnnotation(final TinkerVertex vertex, final String key, final long id, final String annotationKey) {
+        this.commit(this.append(output -> {
+            output.writeByte(REMOVE_ANNOTATION);
+            this.kryo.writeClassAndObject(output, vertex.id);
+            output.writeString(key);
+            output.writeLong(id);
+            output.writeString(annotationKey);
+        }));
+    }
+
+    protected void clear() {
+        this.commit(this.append(output -> output.writeByte(CLEAR)));
+    }
+
+    private static void writeKeys(final Output output, final String... keys) {
+        output.writeInt(keys.length, true);
+        for (final String key : keys) {
+            output.writeString(key);
+        }
+    }
+
+    ///////////// GROUP COMMIT ///////////////
+
+    /**
+     * Appends a record to the pending buffer and returns its position in the log.
+     */
+    private synchronized long append(final RecordWriter writer) {
+        this.record.clear();
+        writer.write(this.record);
+        this.checksum.reset();
+        this.checksum.update(this.record.getBuffer(), 0, this.record.position());
+        this.pending.writeInt(this.record.position());
+        this.pending.writeInt((int) this.checksum.getValue());
+        this.pending.writeBytes(this.record.getBuffer(), 0, this.record.position());
+        return ++this.appended;
+    }
+
+    /**
+     * Forces the log to disk if the record at the provided position is due to be.
+     */
+    protected void commit(final long position) {
+        if (position - this.synced >= this.syncBatch)
+            this.sync(position);
+    }
+
+    /**
+     * Forces every pending record up to (at least) the provided position to disk.  A thread that waited for another
+     * to finish forcing the log returns without forcing it again if its record was written out meanwhile.
+     */
+    private void sync(final long position) {
+        synchronized (this.syncLock) {
+            if (this.synced >= position)
+                return;
+            final ByteBuffer buffer;
+            final long appended;
+            synchronized (this) {
+                buffer = ByteBuffer.wrap(Arrays.copyOf(this.pending.getBuffer(), this.pending.position()));
+                appended = this.appended;
+                this.pending.clear();
+            }
+            try {
+                while (buffer.hasRemaining()) {
+                    this.channel.write(buffer);
+                }
+                this.channel.force(false);
+            } catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+            this.synced = appended;
+        }
+    }
+
+    public void close() throws IOException {
+        final long appended;
+        synchronized (this) {
+            appended = this.appended;
+        }
+        this.sync(appended);
+        this.channel.close();
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        public void write(final Output output);
+    }
+}
@@ -0,0 +1,182 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import cern.colt.map.OpenLongObjectHashMap;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link java.util.Map} view over an open-addressing {@code long} keyed hash table.  Used by {@link TinkerGraph}
+ * when configured for primitive storage so that elements are not wrapped in a {@code HashMap.Entry} and their
+ * keys are held as {@code long} rather than boxed objects. Keys must be a {@link Number} or a {@link String}
+ * that parses to a {@code long}.  The views returned by {@link #values()} and {@link #entrySet()} are live
+ * and read-only.
+ */
+class TinkerLongMap<V> extends AbstractMap<Object, V> implements Serializable {
+
+    private final Table table;
+
+    public TinkerLongMap() {
+        this.table = new Table(Table.DEFAULT_CAPACITY);
+    }
+
+    public TinkerLongMap(final int initialCapacity) {
+        this.table = new Table(initialCapacity);
+    }
+
+    /**
+     * Determines whether the key is an identifier the map can hold: an integral number no wider than a long or a
+     * string of one.  A fractional number is not, as it would be truncated onto the key of another identifier.
+     */
+    public static boolean isLong(final Object key) {
+        if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte)
+            return true;
+        else if (key instanceof String) {
+            try {
+                Long.parseLong((String) key);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        } else
+            return false;
+    }
+
+    /**
+     * Converts an identifier that {@link #isLong(Object)} accepts to its key and rejects any other.
+     */
+    public static long toLong(final Object key) {
+        if (!isLong(key))
+            throw new IllegalArgumentException("Primitive storage requires identifiers that are long values: " + key);
+        return key instanceof String ? Long.parseLong((String) key) : ((Number) key).longValue();
+    }
+
+    public int size() {
+        return this.table.size();
+    }
+
+    public boolean containsKey(final Object key) {
+        return isLong(key) && this.table.containsKey(toLong(key));
+    }
+
+    public boolean containsKey(final long key) {
+        return this.table.containsKey(key);
+    }
+
+    public V get(final Object key) {
+        return isLong(key) ? (V) this.table.get(toLong(key)) : null;
+    }
+
+    public V put(final Object key, final V value) {
+        final long k = toLong(key);
+        final V old = (V) this.table.get(k);
+        this.table.put(k, value);
+        return old;
+    }
+
+    public V remove(final Object key) {
+        if (!isLong(key))
+            return null;
+        final long k = toLong(key);
+        final V old = (V) this.table.get(k);
+        if (null != old)
+            this.table.removeKey(k);
+        return old;
+    }
+
+    public void clear() {
+        this.table.clear();
+    }
+
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>() {
+                    public V next() {
+                        return (V) table.slotValues()[this.nextSlot()];
+                    }
+                };
+            }
+
+            public int size() {
+                return table.size();
+            }
+        };
+    }
+
+    public Set<Map.Entry<Object, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, V>>() {
+            public Iterator<Map.Entry<Object, V>> iterator() {
+                return new SlotIterator<Map.Entry<Object, V>>() {
+                    public Map.Entry<Object, V> next() {
+                        final int slot = this.nextSlot();
+                        return new SimpleImmutableEntry<>(table.slotKeys()[slot], (V) table.slotValues()[slot]);
+                    }
+                };
+            }
+
+            public int size() {
+                return table.size();
+            }
+        };
+    }
+
+    /**
+     * Walks the occupied slots of the backing table.  The table must not be structurally modified while iterating.
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private int nextSlot = advance(-1);
+
+        private int advance(int current) {
+            final byte[] state = table.slotStates();
+            while (++current < state.length) {
+                if (state[current] == Table.SLOT_FULL)
+                    return current;
+            }
+            return -1;
+        }
+
+        public boolean hasNext() {
+            return this.nextSlot != -1;
+        }
+
+        protected int nextSlot() {
+            if (this.nextSlot == -1)
+                throw new NoSuchElementException();
+            final int slot = this.nextSlot;
+            this.nextSlot = this.advance(slot);
+            return slot;
+        }
+    }
+
+    /**
+     * Exposes the slot arrays of the colt table for iteration without copying.
+     */
+    private static class Table extends OpenLongObjectHashMap {
+        private static final int DEFAULT_CAPACITY = 277;
+        private static final byte SLOT_FULL = FULL;
+
+        public Table(final int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        private byte[] slotStates() {
+            return this.state;
+        }
+
+        private long[] slotKeys() {
+            return this.table;
+        }
+
+        private Object[] slotValues() {
+            return this.values;
+        }
+    }
+}
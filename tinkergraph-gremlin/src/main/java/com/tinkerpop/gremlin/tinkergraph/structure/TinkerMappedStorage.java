@@ -0,0 +1,662 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.JavaSerializer;
+import com.tinkerpop.gremlin.structure.AnnotatedList;
+import com.tinkerpop.gremlin.structure.AnnotatedValue;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.io.kryo.GremlinKryo;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Persists a {@link TinkerGraph} to a directory of segment files so that it can be reopened without reading it
+ * through a {@link com.tinkerpop.gremlin.structure.io.GraphReader}.  Each checkpoint is written to a new generation
+ * subdirectory which becomes the current one once the {@code CURRENT} file is atomically replaced, so a checkpoint
+ * that fails part way leaves the previous generation intact.  A generation holds:
+ * <ul>
+ * <li>{@code graph.tgs} - the identifier counter, the label dictionary and the graph memory</li>
+ * <li>{@code structure.tgs} - the identifier, label and adjacency of every element</li>
+ * <li>{@code properties-n.tgs} - the properties of each element as a length prefixed blob</li>
+ * <li>{@code index.tgs} - the buckets of the vertex and edge indices and the vertex-centric index definitions</li>
+ * </ul>
+ * On open, the structure is read sequentially and the adjacency is laid out directly in its compact form, the
+ * indices are restored bucket by bucket and the property segments are memory-mapped.  The properties of an element
+ * are only decoded when first accessed, and a later checkpoint copies the blobs of elements whose properties were
+ * never accessed without decoding them.
+ * <p/>
+ * Values are written with {@link GremlinKryo}.  Values of classes it does not register are written with their class
+ * name and, when {@link Serializable}, with Java serialization.
+ */
+class TinkerMappedStorage {
+
+    private static final int MAGIC = 0x54475331;
+    private static final String CURRENT = "CURRENT";
+    private static final String GENERATION = "generation-";
+    private static final String GRAPH = "graph.tgs";
+    private static final String STRUCTURE = "structure.tgs";
+    private static final String INDEX = "index.tgs";
+    private static final String PROPERTIES = "properties-%d.tgs";
+
+    private static final long SEGMENT_SIZE = 1l << 30;
+    private static final long NO_PROPERTIES = -1l;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte VALUE = 0;
+    private static final byte ANNOTATED_LIST = 1;
+
+    private static final GremlinKryo GREMLIN_KRYO = GremlinKryo.create().build();
+
+    private final File directory;
+    private final ThreadLocal<Kryo> kryo = ThreadLocal.withInitial(TinkerMappedStorage::createKryo);
+    private final Map<String, String> keys = new ConcurrentHashMap<>();
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private long generation = 0l;
+
+    private TinkerMappedStorage(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the storage in the directory, restoring the current generation (if there is one) into the graph.  When
+     * {@code log} is {@code true}, the {@link TinkerLog} of the generation is replayed onto the graph and the graph
+     * appends its alterations to it from then on.
+     */
+    protected static TinkerMappedStorage open(final TinkerGraph graph, final String directory, final boolean log, final int syncBatch) throws IOException {
+        final TinkerMappedStorage storage = new TinkerMappedStorage(new File(directory));
+        final File current = new File(storage.directory, CURRENT);
+        if (current.exists()) {
+            final String name = new String(Files.readAllBytes(current.toPath()), StandardCharsets.UTF_8).trim();
+            storage.generation = Long.valueOf(name.substring(GENERATION.length()));
+            storage.load(graph, new File(storage.directory, name));
+        }
+
+        // generations left behind by a checkpoint that did not complete
+        final File[] generations = storage.directory.listFiles((dir, name) -> name.startsWith(GENERATION) && !name.equals(GENERATION + storage.generation));
+        if (null != generations) {
+            for (final File generation : generations) {
+                deleteDirectory(generation);
+            }
+        }
+
+        if (log)
+            graph.log = TinkerLog.open(graph, new File(new File(storage.directory, GENERATION + storage.generation), TinkerLog.LOG), syncBatch);
+        return storage;
+    }
+
+    /**
+     * Writes out what remains of the log, then checkpoints the graph which discards the log.
+     */
+    protected void close(final TinkerGraph graph) throws IOException {
+        if (null != graph.log) {
+            graph.log.close();
+            graph.log = null;
+        }
+        this.checkpoint(graph);
+    }
+
+    ///////////// CHECKPOINT ///////////////
+
+    /**
+     * Checkpoints the graph while it remains open and starts a new log in the new generation, so that alterations
+     * made without being logged are durable.
+     */
+    protected void checkpointLogged(final TinkerGraph graph) throws IOException {
+        final int syncBatch = graph.log.getSyncBatch();
+        graph.log.close();
+        graph.log = null;
+        this.checkpoint(graph);
+        graph.log = TinkerLog.open(graph, new File(new File(this.directory, GENERATION + this.generation), TinkerLog.LOG), syncBatch);
+    }
+
+    /**
+     * Writes the graph to a new generation and makes it the current one.
+     */
+    protected void checkpoint(final TinkerGraph graph) throws IOException {
+        final Kryo kryo = this.kryo.get();
+        final File generation = new File(this.directory, GENERATION + (this.generation + 1));
+        deleteDirectory(generation);
+        if (!generation.mkdirs())
+            throw new IOException("The directory could not be created: " + generation);
+
+        final Map<String, Integer> labels = new HashMap<>();
+        final Map<Object, Integer> ordinals = new HashMap<>();
+        final Object[] vertices = graph.vertices.values().toArray();
+        final int segmentCount;
+        try (final SegmentWriter segments = new SegmentWriter(generation, kryo);
+             final FileOutputStream stream = new FileOutputStream(new File(generation, STRUCTURE))) {
+            final Output output = new Output(stream, BUFFER_SIZE);
+            output.writeInt(vertices.length, true);
+            for (int i = 0; i < vertices.length; i++) {
+                final TinkerVertex vertex = (TinkerVertex) vertices[i];
+                ordinals.put(vertex.id, i);
+                kryo.writeClassAndObject(output, vertex.id);
+                output.writeInt(getLabel(labels, vertex.label), true);
+                output.writeLong(segments.write(vertex));
+                output.writeInt(count(TinkerHelper.getEdges(vertex, Direction.OUT)), true);
+                output.writeInt(count(TinkerHelper.getEdges(vertex, Direction.IN)), true);
+            }
+            for (final Object vertex : vertices) {
+                final Iterator<TinkerEdge> edges = TinkerHelper.getEdges((TinkerVertex) vertex, Direction.OUT);
+                while (edges.hasNext()) {
+                    final TinkerEdge edge = edges.next();
+                    kryo.writeClassAndObject(output, edge.id);
+                    output.writeInt(getLabel(labels, edge.label), true);
+                    output.writeInt(ordinals.get(edge.getVertex(Direction.IN).getId()), true);
+                    output.writeLong(segments.write(edge));
+                }
+            }
+            sync(output, stream);
+            segmentCount = segments.count();
+        }
+
+        try (final FileOutputStream stream = new FileOutputStream(new File(generation, INDEX))) {
+            final Output output = new Output(stream, BUFFER_SIZE);
+            writeIndex(kryo, output, graph.vertexIndex);
+            writeIndex(kryo, output, graph.edgeIndex);
+            writeVertexCentricIndices(output, graph.vertexCentricKeys);
+            sync(output, stream);
+        }
+
+        try (final FileOutputStream stream = new FileOutputStream(new File(generation, GRAPH))) {
+            final Output output = new Output(stream, BUFFER_SIZE);
+            output.writeInt(MAGIC);
+            output.writeLong(graph.currentId.get());
+            output.writeInt(segmentCount, true);
+            final String[] dictionary = new String[labels.size()];
+            labels.forEach((label, index) -> dictionary[index] = label);
+            output.writeInt(dictionary.length, true);
+            for (final String label : dictionary) {
+                output.writeString(label);
+            }
+            final Set<String> variables = graph.graphMemory.getVariables();
+            output.writeInt(variables.size(), true);
+            for (final String variable : variables) {
+                output.writeString(variable);
+                kryo.writeClassAndObject(output, graph.graphMemory.get(variable));
+            }
+            sync(output, stream);
+        }
+
+        final File current = new File(this.directory, CURRENT);
+        final File next = new File(this.directory, CURRENT + ".tmp");
+        Files.write(next.toPath(), generation.getName().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+        Files.move(next.toPath(), current.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // the segments of the previous generation remain mapped for the elements that have not been decoded yet
+        deleteDirectory(new File(this.directory, GENERATION + this.generation));
+        this.generation = this.generation + 1;
+    }
+
+    private static int getLabel(final Map<String, Integer> labels, final String label) {
+        Integer index = labels.get(label);
+        if (null == index) {
+            index = labels.size();
+            labels.put(label, index);
+        }
+        return index;
+    }
+
+    private static int count(final Iterator<?> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeIndex(final Kryo kryo, final Output output, final TinkerIndex<?> index) {
+        final List<String> keys = new ArrayList<>(index.getIndexedKeys());
+        output.writeInt(keys.size(), true);
+        for (final String key : keys) {
+            final TinkerGraph.IndexType indexType = index.getIndexType(key);
+            output.writeString(key);
+            output.writeByte(indexType.ordinal());
+            final List<Map<Object, ? extends Set<? extends Element>>> buckets = new ArrayList<>(index.rangeIndex.getOrDefault(key, Collections.emptyMap()).values());
+            buckets.add(index.index.getOrDefault(key, Collections.emptyMap()));
+            buckets.forEach(map -> map.forEach((value, elements) -> {
+                output.writeBoolean(true);
+                writeIndexedValue(kryo, output, value);
+                writeElements(kryo, output, elements);
+            }));
+            output.writeBoolean(false);
+        }
+
+        final List<List<String>> compositeKeys = new ArrayList<>(index.getCompositeIndexedKeys());
+        output.writeInt(compositeKeys.size(), true);
+        for (final List<String> compositeKey : compositeKeys) {
+            output.writeInt(compositeKey.size(), true);
+            compositeKey.forEach(output::writeString);
+            index.compositeIndex.get(compositeKey).forEach((values, elements) -> {
+                output.writeBoolean(true);
+                output.writeInt(values.size(), true);
+                values.forEach(value -> writeIndexedValue(kryo, output, value));
+                writeElements(kryo, output, elements);
+            });
+            output.writeBoolean(false);
+        }
+    }
+
+    /**
+     * An {@link AnnotatedList} is indexed under the {@link AnnotatedList#make()} marker which is written as a flag.
+     */
+    private static void writeVertexCentricIndices(final Output output, final Map<String, Set<String>> vertexCentricKeys) {
+        output.writeInt(vertexCentricKeys.values().stream().mapToInt(Set::size).sum(), true);
+        vertexCentricKeys.forEach((label, keys) -> keys.forEach(key -> {
+            output.writeString(label);
+            output.writeString(key);
+        }));
+    }
+
+    private static void writeIndexedValue(final Kryo kryo, final Output output, final Object value) {
+        final boolean annotatedList = value == AnnotatedList.make() || value instanceof AnnotatedList;
+        output.writeBoolean(annotatedList);
+        if (!annotatedList)
+            kryo.writeClassAndObject(output, value);
+    }
+
+    private static void writeElements(final Kryo kryo, final Output output, final Set<? extends Element> elements) {
+        output.writeInt(elements.size(), true);
+        elements.forEach(element -> kryo.writeClassAndObject(output, element.getId()));
+    }
+
+    private static void writeValue(final Kryo kryo, final Output output, final Object value) {
+        if (value instanceof TinkerAnnotatedList) {
+            output.writeByte(ANNOTATED_LIST);
+            final TinkerAnnotatedList<Object> annotatedList = (TinkerAnnotatedList<Object>) value;
+            output.writeInt(annotatedList.size(), true);
+            for (final Iterator<TinkerAnnotatedValue<Object>> annotatedValues = annotatedList.iterator(); annotatedValues.hasNext(); ) {
+                final AnnotatedValue<Object> annotatedValue = annotatedValues.next();
+                kryo.writeClassAndObject(output, annotatedValue.getValue());
+                final Set<String> annotationKeys = annotatedValue.getAnnotationKeys();
+                output.writeInt(annotationKeys.size(), true);
+                for (final String annotationKey : annotationKeys) {
+                    output.writeString(annotationKey);
+                    kryo.writeClassAndObject(output, annotatedValue.getAnnotation(annotationKey).get());
+                }
+            }
+        } else {
+            output.writeByte(VALUE);
+            kryo.writeClassAndObject(output, value);
+        }
+    }
+
+    private static void sync(final Output output, final FileOutputStream stream) throws IOException {
+        output.flush();
+        stream.getFD().sync();
+    }
+
+    private static void deleteDirectory(final File directory) {
+        final File[] files = directory.listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Appends the properties of elements to the property segments of a generation, starting a new segment when the
+     * current one would grow past {@link #SEGMENT_SIZE}.  The address of a blob holds its segment in the upper and
+     * its position in the lower 32 bits.
+     */
+    private class SegmentWriter implements Closeable {
+
+        private final File generation;
+        private final Kryo kryo;
+        private final Output buffer = new Output(4096, -1);
+        private FileOutputStream stream = null;
+        private Output output = null;
+        private int segment = -1;
+        private long position = SEGMENT_SIZE;
+
+        public SegmentWriter(final File generation, final Kryo kryo) {
+            this.generation = generation;
+            this.kryo = kryo;
+        }
+
+        public long write(final TinkerElement element) throws IOException {
+            final byte[] bytes;
+            final int length;
+            if (element.properties instanceof LazyProperties && !((LazyProperties) element.properties).isLoaded()) {
+                bytes = readBlob(((LazyProperties) element.properties).address);
+                length = bytes.length;
+            } else {
+                final Map<String, Property> properties = element.properties;
+                if (properties.isEmpty())
+                    return NO_PROPERTIES;
+                this.buffer.clear();
+                this.buffer.writeInt(properties.size(), true);
+                for (final Map.Entry<String, Property> entry : properties.entrySet()) {
+                    this.buffer.writeString(entry.getKey());
+                    writeValue(this.kryo, this.buffer, entry.getValue().get());
+                }
+                bytes = this.buffer.getBuffer();
+                length = this.buffer.position();
+            }
+
+            if (length + 4 > SEGMENT_SIZE)
+                throw new IOException("The properties of the element are too large to be persisted: " + element.id);
+            if (this.position + length + 4 > SEGMENT_SIZE)
+                this.next();
+            final long address = ((long) this.segment << 32) | this.position;
+            this.output.writeInt(length);
+            this.output.writeBytes(bytes, 0, length);
+            this.position = this.position + length + 4;
+            return address;
+        }
+
+        public int count() {
+            return this.segment + 1;
+        }
+
+        private void next() throws IOException {
+            this.close();
+            this.segment++;
+            this.stream = new FileOutputStream(new File(this.generation, String.format(PROPERTIES, this.segment)));
+            this.output = new Output(this.stream, BUFFER_SIZE);
+            this.position = 0l;
+        }
+
+        public void close() throws IOException {
+            if (null != this.stream) {
+                sync(this.output, this.stream);
+                this.stream.close();
+                this.stream = null;
+            }
+        }
+    }
+
+    ///////////// OPEN ///////////////
+
+    private void load(final TinkerGraph graph, final File generation) throws IOException {
+        final Kryo kryo = this.kryo.get();
+        final String[] labels;
+        try (final Input input = new Input(new FileInputStream(new File(generation, GRAPH)), BUFFER_SIZE)) {
+            if (MAGIC != input.readInt())
+                throw new IOException("The directory does not hold a persisted TinkerGraph: " + this.directory);
+            graph.currentId.set(input.readLong());
+            this.segments = new MappedByteBuffer[input.readInt(true)];
+            labels = new String[input.readInt(true)];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = input.readString();
+            }
+            final int variables = input.readInt(true);
+            for (int i = 0; i < variables; i++) {
+                graph.graphMemory.set(input.readString(), kryo.readClassAndObject(input));
+            }
+        }
+
+        for (int i = 0; i < this.segments.length; i++) {
+            try (final FileChannel channel = FileChannel.open(new File(generation, String.format(PROPERTIES, i)).toPath(), StandardOpenOption.READ)) {
+                this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        try (final Input input = new Input(new FileInputStream(new File(generation, STRUCTURE)), BUFFER_SIZE)) {
+            final TinkerVertex[] vertices = new TinkerVertex[input.readInt(true)];
+            final int[] outCounts = new int[vertices.length];
+            final Edge[][] inEdges = new Edge[vertices.length][];
+            for (int i = 0; i < vertices.length; i++) {
+                final TinkerVertex vertex = new TinkerVertex(kryo.readClassAndObject(input), labels[input.readInt(true)], graph);
+                this.setProperties(vertex, input.readLong());
+                outCounts[i] = input.readInt(true);
+                inEdges[i] = new Edge[input.readInt(true)];
+                graph.vertices.put(vertex.id, vertex);
+                vertices[i] = vertex;
+            }
+
+            final int[] inCounts = new int[vertices.length];
+            for (int i = 0; i < vertices.length; i++) {
+                final Edge[] outEdges = new Edge[outCounts[i]];
+                for (int j = 0; j < outEdges.length; j++) {
+                    final Object id = kryo.readClassAndObject(input);
+                    final String label = labels[input.readInt(true)];
+                    final int in = input.readInt(true);
+                    final TinkerEdge edge = new TinkerEdge(id, vertices[i], label, vertices[in], graph);
+                    this.setProperties(edge, input.readLong());
+                    graph.edges.put(edge.id, edge);
+                    outEdges[j] = edge;
+                    inEdges[in][inCounts[in]++] = edge;
+                }
+                vertices[i].compactOutEdges = new TinkerCompactEdges(outEdges, graph.labels);
+                vertices[i].outEdges = null;
+            }
+            for (int i = 0; i < vertices.length; i++) {
+                vertices[i].compactInEdges = new TinkerCompactEdges(inEdges[i], graph.labels);
+                vertices[i].inEdges = null;
+            }
+        }
+
+        try (final Input input = new Input(new FileInputStream(new File(generation, INDEX)), BUFFER_SIZE)) {
+            readIndex(kryo, input, graph.vertexIndex, graph.vertices);
+            readIndex(kryo, input, graph.edgeIndex, graph.edges);
+            readVertexCentricIndices(input, graph);
+        }
+    }
+
+    private void setProperties(final TinkerElement element, final long address) {
+        if (NO_PROPERTIES != address)
+            element.properties = new LazyProperties(element, address);
+    }
+
+    private static <T extends Element> void readIndex(final Kryo kryo, final Input input, final TinkerIndex<T> index, final Map<Object, ? extends Element> elements) {
+        final int keys = input.readInt(true);
+        for (int i = 0; i < keys; i++) {
+            final String key = input.readString();
+            index.restoreKeyIndex(key, TinkerGraph.IndexType.values()[input.readByte()]);
+            while (input.readBoolean()) {
+                final Object value = readIndexedValue(kryo, input);
+                readElements(kryo, input, elements, (T element) -> index.put(key, value, element));
+            }
+        }
+
+        final int compositeKeys = input.readInt(true);
+        for (int i = 0; i < compositeKeys; i++) {
+            final String[] compositeKey = new String[input.readInt(true)];
+            for (int j = 0; j < compositeKey.length; j++) {
+                compositeKey[j] = input.readString();
+            }
+            final List<String> keyList = Arrays.asList(compositeKey);
+            index.restoreCompositeIndex(keyList);
+            while (input.readBoolean()) {
+                final Object[] values = new Object[input.readInt(true)];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = readIndexedValue(kryo, input);
+                }
+                final List<Object> valueList = Arrays.asList(values);
+                readElements(kryo, input, elements, (T element) -> index.putComposite(keyList, valueList, element));
+            }
+        }
+    }
+
+    private static void readVertexCentricIndices(final Input input, final TinkerGraph graph) {
+        final int indices = input.readInt(true);
+        for (int i = 0; i < indices; i++) {
+            final String label = input.readString();
+            final String key = input.readString();
+            graph.vertexCentricKeys.computeIfAbsent(label, l -> ConcurrentHashMap.newKeySet()).add(key);
+            TinkerVertexCentricIndex.build(graph, label, key);
+        }
+    }
+
+    private static Object readIndexedValue(final Kryo kryo, final Input input) {
+        return input.readBoolean() ? AnnotatedList.make() : kryo.readClassAndObject(input);
+    }
+
+    private static <T extends Element> void readElements(final Kryo kryo, final Input input, final Map<Object, ? extends Element> elements, final Consumer<T> consumer) {
+        final int size = input.readInt(true);
+        for (int i = 0; i < size; i++) {
+            consumer.accept((T) elements.get(kryo.readClassAndObject(input)));
+        }
+    }
+
+    private static Object readValue(final Kryo kryo, final Input input, final TinkerElement element, final String key) {
+        if (ANNOTATED_LIST == input.readByte()) {
+            final TinkerAnnotatedList<Object> annotatedList = new TinkerAnnotatedList<>((TinkerVertex) element, key);
+            final int size = input.readInt(true);
+            for (int i = 0; i < size; i++) {
+                final Object value = kryo.readClassAndObject(input);
+                final Object[] annotationKeyValues = new Object[input.readInt(true) * 2];
+                for (int j = 0; j < annotationKeyValues.length; j = j + 2) {
+                    annotationKeyValues[j] = input.readString();
+                    annotationKeyValues[j + 1] = kryo.readClassAndObject(input);
+                }
+                annotatedList.putValue(value, annotationKeyValues);
+            }
+            return annotatedList;
+        } else
+            return kryo.readClassAndObject(input);
+    }
+
+    private byte[] readBlob(final long address) {
+        final ByteBuffer buffer = this.segments[(int) (address >>> 32)].duplicate();
+        buffer.position((int) address);
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Map<String, Property> readProperties(final TinkerElement element, final long address, final Map<String, Property> properties) {
+        final Kryo kryo = this.kryo.get();
+        final Input input = new Input(this.readBlob(address));
+        final int size = input.readInt(true);
+        for (int i = 0; i < size; i++) {
+            final String key = this.keys.computeIfAbsent(input.readString(), k -> k);
+            properties.put(key, new TinkerProperty<>(element, key, readValue(kryo, input, element, key)));
+        }
+        return properties;
+    }
+
+    protected static Kryo createKryo() {
+        final Kryo kryo = GREMLIN_KRYO.createKryo();
+        kryo.setRegistrationRequired(false);
+        kryo.addDefaultSerializer(Serializable.class, JavaSerializer.class);
+        return kryo;
+    }
+
+    /**
+     * The properties of an element that have not been decoded from their segment yet.  The first access decodes
+     * them and hands the decoded map to the element so that later accesses no longer go through this map.
+     */
+    private class LazyProperties extends AbstractMap<String, Property> implements Serializable {
+
+        private final TinkerElement element;
+        private final long address;
+        private final Map<String, Property> target;
+        private volatile Map<String, Property> properties = null;
+
+        /**
+         * The properties are decoded into the empty map the element was created with, which for a graph that holds
+         * its properties in columns keeps the element on the ordinal it was given.
+         */
+        public LazyProperties(final TinkerElement element, final long address) {
+            this.element = element;
+            this.address = address;
+            this.target = element.properties;
+        }
+
+        public boolean isLoaded() {
+            return null != this.properties;
+        }
+
+        private Map<String, Property> load() {
+            Map<String, Property> properties = this.properties;
+            if (null == properties) {
+                synchronized (this) {
+                    if (null == this.properties) {
+                        this.properties = readProperties(this.element, this.address, this.target);
+                        if (this.element.properties == this)
+                            this.element.properties = this.properties;
+                    }
+                    properties = this.properties;
+                }
+            }
+            return properties;
+        }
+
+        public Property get(final Object key) {
+            return this.load().get(key);
+        }
+
+        public Property getOrDefault(final Object key, final Property defaultValue) {
+            return this.load().getOrDefault(key, defaultValue);
+        }
+
+        public boolean containsKey(final Object key) {
+            return this.load().containsKey(key);
+        }
+
+        public Property put(final String key, final Property value) {
+            return this.load().put(key, value);
+        }
+
+        public Property remove(final Object key) {
+            return this.load().remove(key);
+        }
+
+        public void clear() {
+            this.load().clear();
+        }
+
+        public int size() {
+            return this.load().size();
+        }
+
+        public boolean isEmpty() {
+            return this.load().isEmpty();
+        }
+
+        public Set<String> keySet() {
+            return this.load().keySet();
+        }
+
+        public Collection<Property> values() {
+            return this.load().values();
+        }
+
+        public Set<Entry<String, Property>> entrySet() {
+            return this.load().entrySet();
+        }
+
+        public void forEach(final BiConsumer<? super String, ? super Property> action) {
+            this.load().forEach(action);
+        }
+
+        private Object writeReplace() {
+            return this.load();
+        }
+    }
+}
@@ -2,68 +2,186 @@ package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.process.computer.MessageType;
 import com.tinkerpop.gremlin.process.computer.Messenger;
-import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.util.StreamFactory;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
+ * Delivers the messages of a {@link TinkerGraphComputer} run.  A message is kept under the ordinal the
+ * {@link TinkerElementMemory} gave its vertex: the receiving vertex of a {@link MessageType.Global} message and the
+ * sending vertex of a {@link MessageType.Local} message, which its neighbors read.  Each thread appends the messages it
+ * sends to a buffer of its own, so sending takes no lock and allocates nothing but the occasional larger buffer.  The
+ * buffers are held by the messenger, which is created for each run, rather than by the threads so that they are
+ * released with it.  At the end of an iteration the buffers are merged into a single array sorted by ordinal with a
+ * counting sort.  When the message class of the vertex program is {@link Double} or {@link Long}, messages are held
+ * in primitive arrays.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerMessenger<M extends Serializable> implements Messenger<M> {
 
-    // Map<VertexId, MessageQueue>
-    public Map<Object, Queue<M>> sendMessages = new HashMap<>();
-    public Map<Object, Queue<M>> receiveMessages = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final TinkerElementMemory memory;
+    private final Class messageClass;
+    private final Map<Thread, Messages> buffers = new ConcurrentHashMap<>();
+    // the messages received during the iteration, those of ordinal i being at offsets[i] until offsets[i + 1]
+    private int[] offsets = null;
+    private Messages messages = null;
+
+    public TinkerMessenger(final TinkerElementMemory memory, final Class<M> messageClass) {
+        this.memory = memory;
+        this.messageClass = messageClass;
+    }
 
     public Iterable<M> receiveMessages(final Vertex vertex, final MessageType messageType) {
         if (messageType instanceof MessageType.Local) {
             final MessageType.Local<Object, M> localMessageType = (MessageType.Local) messageType;
-            final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
             return StreamFactory.iterable(StreamFactory.stream(localMessageType.getQuery().build().reverse().build(vertex))
-                    .map(e -> {
-                        edge[0] = e;
-                        return receiveMessages.get(e.getVertex(localMessageType.getQuery().direction).getId());
-                    })
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream())
-                    .map(message -> localMessageType.getEdgeFunction().apply(message, edge[0])));
-
+                    .flatMap(edge -> this.<Object>getMessages(edge.getVertex(localMessageType.getQuery().direction))
+                            .map(message -> localMessageType.getEdgeFunction().apply(message, edge))));
         } else {
-            return StreamFactory.iterable(Arrays.asList(vertex).stream()
-                    .map(v -> this.receiveMessages.get(v.getId()))
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream()));
+            return StreamFactory.iterable(this.getMessages(vertex));
         }
     }
 
     public void sendMessage(final Vertex vertex, final MessageType messageType, final M message) {
+        final Messages buffer = this.buffers.computeIfAbsent(Thread.currentThread(), thread -> new Messages(this.messageClass, INITIAL_CAPACITY, true));
         if (messageType instanceof MessageType.Local) {
-            getMessageList(vertex.getId()).add(message);
+            buffer.add(this.getOrdinal(vertex), message);
         } else {
-            ((MessageType.Global) messageType).vertices().forEach(v -> {
-                getMessageList(v.getId()).add(message);
-            });
+            ((MessageType.Global) messageType).vertices().forEach(v -> buffer.add(this.getOrdinal(v), message));
         }
     }
 
-    private Queue<M> getMessageList(final Object vertexId) {
-        Queue<M> messages = this.sendMessages.get(vertexId);
-        if (null == messages) {
-            messages = new ConcurrentLinkedQueue<>();
-            this.sendMessages.put(vertexId, messages);
+    /**
+     * Merges the messages sent by every thread into the messages received during the next iteration.  Must not be
+     * called while messages are sent.
+     */
+    public void completeIteration() {
+        final int vertexCount = this.memory.getVertexCount();
+        final int[] offsets = null == this.offsets ? new int[vertexCount + 1] : this.offsets;
+        Arrays.fill(offsets, 0);
+        for (final Messages buffer : this.buffers.values()) {
+            for (int i = 0; i < buffer.size; i++) {
+                offsets[buffer.ordinals[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            offsets[i + 1] = offsets[i + 1] + offsets[i];
+        }
+
+        // the messages read during the iteration that just completed are no longer needed so their arrays are reused
+        final int total = offsets[vertexCount];
+        final Messages messages = null != this.messages && this.messages.capacity() >= total ?
+                this.messages :
+                new Messages(this.messageClass, total, false);
+        final int[] positions = Arrays.copyOf(offsets, vertexCount);
+        for (final Messages buffer : this.buffers.values()) {
+            for (int i = 0; i < buffer.size; i++) {
+                messages.copy(positions[buffer.ordinals[i]]++, buffer, i);
+            }
+            buffer.clear();
         }
-        return messages;
+        this.offsets = offsets;
+        this.messages = messages;
     }
 
-    public void completeIteration() {
-        this.receiveMessages = this.sendMessages;
-        this.sendMessages = new HashMap<>();
+    private <T> Stream<T> getMessages(final Vertex vertex) {
+        final int ordinal = this.memory.getOrdinal(vertex);
+        if (null == this.offsets || -1 == ordinal || this.offsets[ordinal] == this.offsets[ordinal + 1])
+            return Stream.empty();
+        return IntStream.range(this.offsets[ordinal], this.offsets[ordinal + 1]).mapToObj(i -> (T) this.messages.get(i));
+    }
+
+    private int getOrdinal(final Vertex vertex) {
+        final int ordinal = this.memory.getOrdinal(vertex);
+        if (-1 == ordinal)
+            throw Exceptions.vertexWasNotInGraphWhenComputationStarted(vertex.getId());
+        return ordinal;
+    }
+
+    /**
+     * Messages held in a primitive array when their class is {@link Double} or {@link Long} and in an
+     * {@code Object[]} otherwise.  A send buffer also holds the ordinal each message is kept under.
+     */
+    private static class Messages {
+
+        private double[] doubles = null;
+        private long[] longs = null;
+        private Object[] objects = null;
+        private int[] ordinals = null;
+        private int size = 0;
+
+        private Messages(final Class messageClass, final int capacity, final boolean buffer) {
+            if (Double.class.equals(messageClass))
+                this.doubles = new double[capacity];
+            else if (Long.class.equals(messageClass))
+                this.longs = new long[capacity];
+            else
+                this.objects = new Object[capacity];
+            if (buffer)
+                this.ordinals = new int[capacity];
+        }
+
+        private int capacity() {
+            return null != this.doubles ? this.doubles.length : null != this.longs ? this.longs.length : this.objects.length;
+        }
+
+        private void add(final int ordinal, final Object message) {
+            if (this.size == this.ordinals.length) {
+                final int capacity = this.size * 2;
+                this.ordinals = Arrays.copyOf(this.ordinals, capacity);
+                if (null != this.doubles)
+                    this.doubles = Arrays.copyOf(this.doubles, capacity);
+                else if (null != this.longs)
+                    this.longs = Arrays.copyOf(this.longs, capacity);
+                else
+                    this.objects = Arrays.copyOf(this.objects, capacity);
+            }
+            this.ordinals[this.size] = ordinal;
+            this.set(this.size, message);
+            this.size++;
+        }
+
+        private Object get(final int index) {
+            return null != this.doubles ? (Object) this.doubles[index] : null != this.longs ? (Object) this.longs[index] : this.objects[index];
+        }
+
+        private void set(final int index, final Object message) {
+            if (null != this.doubles)
+                this.doubles[index] = (Double) message;
+            else if (null != this.longs)
+                this.longs[index] = (Long) message;
+            else
+                this.objects[index] = message;
+        }
+
+        private void copy(final int index, final Messages messages, final int from) {
+            if (null != this.doubles)
+                this.doubles[index] = messages.doubles[from];
+            else if (null != this.longs)
+                this.longs[index] = messages.longs[from];
+            else
+                this.objects[index] = messages.objects[from];
+        }
+
+        private void clear() {
+            if (null != this.objects)
+                Arrays.fill(this.objects, 0, this.size, null);
+            this.size = 0;
+        }
+    }
+
+    public static class Exceptions {
+        public static IllegalStateException vertexWasNotInGraphWhenComputationStarted(final Object id) {
+            return new IllegalStateException("Messages can only be sent to vertices that were in the graph when the computation started: " + id);
+        }
     }
 }
@@ -2,7 +2,6 @@ package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Property;
-import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -54,10 +53,31 @@ public class TinkerProperty<V> implements Property<V>, Serializable {
     }
 
     public void remove() {
-        ((TinkerElement) this.element).properties.remove(key);
-        if (this.element instanceof Vertex)
-            this.graph.vertexIndex.remove(key, value, (TinkerVertex) this.element);
+        final TinkerElement element = (TinkerElement) this.element;
+        final TinkerLog log = this.graph.log;
+        long position = 0l;
+        if (element instanceof TinkerEdge)
+            TinkerHelper.lockWithVertices((TinkerEdge) element);
         else
-            this.graph.edgeIndex.remove(key, value, (TinkerEdge) this.element);
+            TinkerHelper.lock(element);
+        try {
+            TinkerHelper.retireProperties(element);
+            element.properties.remove(this.key);
+            if (null != log)
+                position = log.removeProperty(element, this.key);
+            if (element instanceof TinkerVertex)
+                this.graph.vertexIndex.autoRemove(this.key, this.value, (TinkerVertex) element);
+            else {
+                this.graph.edgeIndex.autoRemove(this.key, this.value, (TinkerEdge) element);
+                TinkerVertexCentricIndex.updateEdge((TinkerEdge) element, this.key, this.value, null);
+            }
+        } finally {
+            if (element instanceof TinkerEdge)
+                TinkerHelper.unlockWithVertices((TinkerEdge) element);
+            else
+                TinkerHelper.unlock(element);
+        }
+        if (null != log)
+            log.commit(position);
     }
 }
@@ -0,0 +1,77 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Property;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * The version bookkeeping of a {@link TinkerElement} that is visible to an open snapshot of its graph.  Each part of
+ * the state of an element (its properties and, for a vertex, its out and in adjacency) carries the version of the
+ * graph at which it was created.  When a part that an open snapshot can see is about to be altered, the part is
+ * retired onto a chain of older versions and the alteration is applied to a copy, so that a retired part is never
+ * mutated again.  Elements that no open snapshot can see carry no bookkeeping at all.
+ */
+class TinkerVersions implements Serializable {
+
+    protected final long created;
+    protected volatile long removed = Long.MAX_VALUE;
+
+    protected volatile long properties;
+    protected volatile long outEdges;
+    protected volatile long inEdges;
+    protected volatile Retired<Map<String, Property>> retiredProperties = null;
+    protected volatile Retired<Object> retiredOutEdges = null;
+    protected volatile Retired<Object> retiredInEdges = null;
+
+    protected TinkerVersions(final long created) {
+        this.created = created;
+        this.properties = created;
+        this.outEdges = created;
+        this.inEdges = created;
+    }
+
+    protected boolean isVisible(final long snapshot) {
+        return this.created <= snapshot && snapshot < this.removed;
+    }
+
+    /**
+     * Gets the state that was current at the snapshot version given the live state and the version it was created at.
+     */
+    protected static <S> S resolve(final long version, final S state, final Retired<S> retired, final long snapshot) {
+        if (version <= snapshot)
+            return state;
+        for (Retired<S> r = retired; null != r; r = r.previous) {
+            if (r.version <= snapshot)
+                return r.state;
+        }
+        throw new IllegalStateException("The state of the element at version " + snapshot + " is no longer retained");
+    }
+
+    /**
+     * Pushes a state onto the chain of retired states and drops the states that are older than the one the oldest
+     * open snapshot sees.
+     */
+    protected static <S> Retired<S> retire(final long version, final S state, final Retired<S> retired, final long oldestSnapshot) {
+        final Retired<S> head = new Retired<>(version, state, retired);
+        for (Retired<S> r = head; null != r; r = r.previous) {
+            if (r.version <= oldestSnapshot) {
+                r.previous = null;
+                break;
+            }
+        }
+        return head;
+    }
+
+    protected static class Retired<S> implements Serializable {
+        private final long version;
+        private final S state;
+        private Retired<S> previous;
+
+        private Retired(final long version, final S state, final Retired<S> previous) {
+            this.version = version;
+            this.state = state;
+            this.previous = previous;
+        }
+    }
+}
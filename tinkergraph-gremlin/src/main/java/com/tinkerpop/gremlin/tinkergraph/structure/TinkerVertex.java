@@ -23,9 +23,6 @@ import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerGraphStep;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.map.TinkerVertexStep;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.util.optimizers.TinkerGraphStepOptimizer;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -33,11 +30,34 @@ import java.util.stream.Collectors;
  */
 public class TinkerVertex extends TinkerElement implements Vertex {
 
-    protected Map<String, Set<Edge>> outEdges = new HashMap<>();
-    protected Map<String, Set<Edge>> inEdges = new HashMap<>();
+    protected volatile TinkerAdjacency outEdges;
+    protected volatile TinkerAdjacency inEdges;
+    protected volatile TinkerCompactEdges compactOutEdges = null;
+    protected volatile TinkerCompactEdges compactInEdges = null;
+    protected volatile TinkerVertexCentricIndex[] outIndices = null;
+    protected volatile TinkerVertexCentricIndex[] inIndices = null;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label, graph);
+        this.outEdges = TinkerAdjacency.EMPTY;
+        this.inEdges = TinkerAdjacency.EMPTY;
+    }
+
+    /**
+     * Creates a read-only view of the vertex as it was when the snapshot was taken.
+     */
+    protected TinkerVertex(final TinkerVertex vertex, final TinkerGraphSnapshot snapshot) {
+        super(vertex, snapshot);
+        final Object outEdges = TinkerHelper.getEdges(vertex, Direction.OUT, snapshot.version);
+        final Object inEdges = TinkerHelper.getEdges(vertex, Direction.IN, snapshot.version);
+        if (outEdges instanceof TinkerCompactEdges)
+            this.compactOutEdges = (TinkerCompactEdges) outEdges;
+        else
+            this.outEdges = (TinkerAdjacency) outEdges;
+        if (inEdges instanceof TinkerCompactEdges)
+            this.compactInEdges = (TinkerCompactEdges) inEdges;
+        else
+            this.inEdges = (TinkerAdjacency) inEdges;
     }
 
     public <V> void setProperty(final String key, final V value) {
@@ -45,13 +65,26 @@ public class TinkerVertex extends TinkerElement implements Vertex {
             this.graph.elementMemory.setProperty(this, key, value);
         } else {
             ElementHelper.validateProperty(key, value);
-            final Property oldProperty = super.getProperty(key);
-            if (value == AnnotatedList.make()) {
-                if (!this.properties.containsKey(key) || !(this.properties.get(key) instanceof AnnotatedList))
-                    this.properties.put(key, new TinkerProperty<>(this, key, new TinkerAnnotatedList<>()));
-            } else
-                this.properties.put(key, new TinkerProperty<>(this, key, value));
-            this.graph.vertexIndex.autoUpdate(key, value, oldProperty.isPresent() ? oldProperty.get() : null, this);
+            final TinkerLog log = this.graph.log;
+            long position = 0l;
+            TinkerHelper.lock(this);
+            try {
+                final Property oldProperty = super.getProperty(key);
+                TinkerHelper.retireProperties(this);
+                if (value == AnnotatedList.make()) {
+                    if (!this.properties.containsKey(key) || !(this.properties.get(key) instanceof AnnotatedList))
+                        this.properties.put(key, new TinkerProperty<>(this, key, new TinkerAnnotatedList<>(this, key)));
+                } else
+                    this.properties.put(key, new TinkerProperty<>(this, key, value));
+                if (null != log)
+                    position = log.setProperty(this, key, value);
+                // the index is updated while the stripe is locked so that it sees the changes of the element in order
+                this.graph.vertexIndex.autoUpdate(key, value, oldProperty.isPresent() ? oldProperty.get() : null, this);
+            } finally {
+                TinkerHelper.unlock(this);
+            }
+            if (null != log)
+                log.commit(position);
         }
     }
 
@@ -67,10 +100,22 @@ public class TinkerVertex extends TinkerElement implements Vertex {
         if (!this.graph.vertices.containsKey(this.id))
             throw Element.Exceptions.elementHasAlreadyBeenRemovedOrDoesNotExist(Vertex.class, this.id);
 
+        TinkerHelper.retireElement(this);
         this.bothE().forEach(Edge::remove);
-        this.getProperties().clear();
         this.graph.vertexIndex.removeElement(this);
-        this.graph.vertices.remove(this.id);
+        this.graph.getVerticesForUpdate().remove(this.id);
+        TinkerHelper.lock(this);
+        try {
+            TinkerHelper.retireProperties(this);
+            if (this.properties instanceof TinkerColumnProperties)
+                ((TinkerColumnProperties) this.properties).release();
+            else
+                this.properties.clear();
+        } finally {
+            TinkerHelper.unlock(this);
+        }
+        if (null != this.graph.log)
+            this.graph.log.remove(this);
     }
 
     //////////////////////
@@ -103,6 +148,7 @@ public class TinkerVertex extends TinkerElement implements Vertex {
                 return super.submit(engine);
             }
         };
+        traversal.optimizers().register(new TinkerGraphStepOptimizer());
         return (GraphTraversal) traversal.addStep(new StartStep<>(traversal, this));
     }
 
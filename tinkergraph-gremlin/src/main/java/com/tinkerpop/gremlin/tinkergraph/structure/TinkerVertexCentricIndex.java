@@ -0,0 +1,290 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.util.StreamFactory;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The edges of one label incident to a {@link TinkerVertex} in one direction, sorted by the value of one of their
+ * properties, as created by {@link TinkerGraph#createVertexCentricIndex(String, String)}.  Edges are read from the
+ * index between two bounds in the order of their values, so a range lookup on a vertex with a great many edges costs
+ * the logarithm of its degree plus the edges it returns.  Scanning a few edges is as fast as looking them up, so a
+ * vertex only gets the index once it has {@link #MIN_DEGREE} edges of the label and keeps it from then on.  As with a
+ * {@link TinkerGraph.IndexType#RANGE} index, only {@link Comparable} values are held and values of different classes
+ * are kept apart.
+ */
+class TinkerVertexCentricIndex implements Serializable {
+
+    protected static final int MIN_DEGREE = 64;
+
+    protected final String label;
+    protected final String key;
+    private final Map<Class, NavigableMap<Object, Set<Edge>>> values;
+    private final TinkerGraph graph;
+
+    private TinkerVertexCentricIndex(final TinkerGraph graph, final String label, final String key) {
+        this.graph = graph;
+        this.label = label;
+        this.key = key;
+        this.values = TinkerHelper.createMap(graph);
+    }
+
+    private void put(final Edge edge, final Object propertyValue) {
+        if (!(propertyValue instanceof Comparable))
+            return;
+        final Object value = TinkerHelper.getRangeValue(propertyValue);
+        NavigableMap<Object, Set<Edge>> classMap = this.values.get(value.getClass());
+        if (null == classMap) {
+            classMap = this.graph.usesConcurrentAccess ? new ConcurrentSkipListMap<>() : new TreeMap<>();
+            this.values.put(value.getClass(), classMap);
+        }
+        Set<Edge> edges = classMap.get(value);
+        if (null == edges) {
+            edges = TinkerHelper.createEdgeSet(this.graph);
+            classMap.put(value, edges);
+        }
+        edges.add(edge);
+    }
+
+    private void remove(final Edge edge, final Object propertyValue) {
+        if (!(propertyValue instanceof Comparable))
+            return;
+        final Object value = TinkerHelper.getRangeValue(propertyValue);
+        final NavigableMap<Object, Set<Edge>> classMap = this.values.get(value.getClass());
+        final Set<Edge> edges = null == classMap ? null : classMap.get(value);
+        if (null != edges && edges.remove(edge) && edges.isEmpty())
+            classMap.remove(value);
+    }
+
+    /**
+     * Gets the edges whose value falls between the provided bounds, grouped by value in the order of the values.  A {@code null}
+     * bound leaves that side of the range open, but at least one bound must be provided as it determines the class
+     * of the values that are read.
+     */
+    private Iterator<Map.Entry<Object, Set<Edge>>> get(final Object lowerBound, final boolean lowerInclusive, final Object upperBound, final boolean upperInclusive) {
+        final Object lower = TinkerHelper.getRangeValue(lowerBound);
+        final Object upper = TinkerHelper.getRangeValue(upperBound);
+        final Class boundClass = null == lower ? upper.getClass() : lower.getClass();
+        NavigableMap<Object, Set<Edge>> classMap = this.values.get(boundClass);
+        if (null == classMap || (null != upper && !boundClass.equals(upper.getClass())))
+            return Collections.emptyIterator();
+        if (null != lower && null != upper && ((Comparable) lower).compareTo(upper) > 0)
+            return Collections.emptyIterator();
+        if (null != lower)
+            classMap = classMap.tailMap(lower, lowerInclusive);
+        if (null != upper)
+            classMap = classMap.headMap(upper, upperInclusive);
+        return classMap.entrySet().iterator();
+    }
+
+    /**
+     * Indexes the edge at the vertex it was just added to.  The vertex gets the indices on the label of the edge
+     * once it holds {@link #MIN_DEGREE} of its edges.  Must be called with the stripe of the vertex locked.
+     */
+    protected static void addEdge(final TinkerVertex vertex, final Direction direction, final Set<Edge> edges, final Edge edge) {
+        final Set<String> keys = vertex.graph.vertexCentricKeys.get(edge.getLabel());
+        if (null == keys)
+            return;
+        for (final String key : keys) {
+            final TinkerVertexCentricIndex index = find(vertex, direction, edge.getLabel(), key);
+            if (null != index)
+                index.put(edge, edge.getProperty(key).orElse(null));
+            else if (edges.size() >= MIN_DEGREE)
+                attach(vertex, direction, create(vertex.graph, edge.getLabel(), key, edges.iterator()));
+        }
+    }
+
+    /**
+     * Removes the edge from the indices of the vertex.  Must be called with the stripe of the vertex locked and
+     * before the properties of the edge are cleared.
+     */
+    protected static void removeEdge(final TinkerVertex vertex, final Direction direction, final Edge edge) {
+        final TinkerVertexCentricIndex[] indices = Direction.OUT.equals(direction) ? vertex.outIndices : vertex.inIndices;
+        if (null == indices)
+            return;
+        for (final TinkerVertexCentricIndex index : indices) {
+            if (index.label.equals(edge.getLabel()))
+                index.remove(edge, edge.getProperty(index.key).orElse(null));
+        }
+    }
+
+    /**
+     * Moves the edge within the indices of both of its vertices after the value of one of its properties changed.
+     * A {@code null} value stands for a property that was not present.  Must be called with the stripes of the edge
+     * and of its vertices locked, in the same critical section as the property change, so that concurrent changes
+     * of the property move the edge in the order they were made.
+     */
+    protected static void updateEdge(final TinkerEdge edge, final String key, final Object oldValue, final Object newValue) {
+        final Set<String> keys = edge.graph.vertexCentricKeys.get(edge.label);
+        if (null == keys || !keys.contains(key))
+            return;
+        for (final Direction direction : Arrays.asList(Direction.OUT, Direction.IN)) {
+            final TinkerVertexCentricIndex index = find((TinkerVertex) edge.getVertex(direction), direction, edge.label, key);
+            if (null != index) {
+                index.remove(edge, oldValue);
+                index.put(edge, newValue);
+            }
+        }
+    }
+
+    /**
+     * Gets the edges of the labels incident to the vertex whose value for the key falls between the provided bounds,
+     * or {@code null} if the vertex does not have an index on the key for each of the labels in each of the
+     * directions.  The edges come back in the order of their values also when they are read from several indices,
+     * as the indices are merged as they are read.
+     */
+    protected static Iterator<Edge> getEdges(final TinkerVertex vertex, final Direction direction, final String[] labels, final String key,
+                                              final Object lower, final boolean lowerInclusive, final Object upper, final boolean upperInclusive) {
+        if (labels.length == 0 || (null == lower && null == upper))
+            return null;
+        final Direction[] directions = Direction.BOTH.equals(direction) ? new Direction[]{Direction.OUT, Direction.IN} : new Direction[]{direction};
+        final TinkerVertexCentricIndex[] indices = new TinkerVertexCentricIndex[directions.length * labels.length];
+        for (int i = 0; i < directions.length; i++) {
+            for (int j = 0; j < labels.length; j++) {
+                final TinkerVertexCentricIndex index = find(vertex, directions[i], labels[j], key);
+                if (null == index)
+                    return null;
+                indices[i * labels.length + j] = index;
+            }
+        }
+        if (indices.length == 1)
+            return StreamFactory.stream(indices[0].get(lower, lowerInclusive, upper, upperInclusive)).flatMap(entry -> entry.getValue().stream()).iterator();
+        return new MergingIterator(Arrays.stream(indices).map(index -> index.get(lower, lowerInclusive, upper, upperInclusive)).iterator());
+    }
+
+    /**
+     * Gives every vertex that holds at least {@link #MIN_DEGREE} edges of the label an index on the key.
+     */
+    protected static void build(final TinkerGraph graph, final String label, final String key) {
+        for (final Vertex v : graph.vertices.values()) {
+            final TinkerVertex vertex = (TinkerVertex) v;
+            TinkerHelper.lock(vertex);
+            try {
+                for (final Direction direction : Arrays.asList(Direction.OUT, Direction.IN)) {
+                    if (null == find(vertex, direction, label, key) && StreamFactory.stream(TinkerHelper.getEdges(vertex, direction, label)).limit(MIN_DEGREE).count() >= MIN_DEGREE)
+                        attach(vertex, direction, create(graph, label, key, (Iterator) TinkerHelper.getEdges(vertex, direction, label)));
+                }
+            } finally {
+                TinkerHelper.unlock(vertex);
+            }
+        }
+    }
+
+    protected static void drop(final TinkerGraph graph, final String label, final String key) {
+        for (final Vertex v : graph.vertices.values()) {
+            final TinkerVertex vertex = (TinkerVertex) v;
+            TinkerHelper.lock(vertex);
+            try {
+                vertex.outIndices = without(vertex.outIndices, label, key);
+                vertex.inIndices = without(vertex.inIndices, label, key);
+            } finally {
+                TinkerHelper.unlock(vertex);
+            }
+        }
+    }
+
+    private static TinkerVertexCentricIndex create(final TinkerGraph graph, final String label, final String key, final Iterator<Edge> edges) {
+        final TinkerVertexCentricIndex index = new TinkerVertexCentricIndex(graph, label, key);
+        edges.forEachRemaining(edge -> index.put(edge, edge.getProperty(key).orElse(null)));
+        return index;
+    }
+
+    private static TinkerVertexCentricIndex find(final TinkerVertex vertex, final Direction direction, final String label, final String key) {
+        final TinkerVertexCentricIndex[] indices = Direction.OUT.equals(direction) ? vertex.outIndices : vertex.inIndices;
+        if (null != indices) {
+            for (final TinkerVertexCentricIndex index : indices) {
+                if (index.label.equals(label) && index.key.equals(key))
+                    return index;
+            }
+        }
+        return null;
+    }
+
+    private static void attach(final TinkerVertex vertex, final Direction direction, final TinkerVertexCentricIndex index) {
+        final TinkerVertexCentricIndex[] indices = Direction.OUT.equals(direction) ? vertex.outIndices : vertex.inIndices;
+        final TinkerVertexCentricIndex[] attached = null == indices ? new TinkerVertexCentricIndex[1] : Arrays.copyOf(indices, indices.length + 1);
+        attached[attached.length - 1] = index;
+        if (Direction.OUT.equals(direction))
+            vertex.outIndices = attached;
+        else
+            vertex.inIndices = attached;
+    }
+
+    private static TinkerVertexCentricIndex[] without(final TinkerVertexCentricIndex[] indices, final String label, final String key) {
+        if (null == indices)
+            return null;
+        final TinkerVertexCentricIndex[] remaining = Arrays.stream(indices)
+                .filter(index -> !index.label.equals(label) || !index.key.equals(key))
+                .toArray(TinkerVertexCentricIndex[]::new);
+        return remaining.length == 0 ? null : remaining;
+    }
+
+    /**
+     * Merges the values read from several indices into the order of the values, taking the next value from the
+     * index whose current value is lowest.  As the indices are read between the same bounds, their values are of one
+     * class and compare to one another.
+     */
+    private static class MergingIterator implements Iterator<Edge> {
+
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        private Iterator<Edge> edges = Collections.emptyIterator();
+
+        public MergingIterator(final Iterator<Iterator<Map.Entry<Object, Set<Edge>>>> entries) {
+            entries.forEachRemaining(iterator -> {
+                if (iterator.hasNext())
+                    this.cursors.add(new Cursor(iterator));
+            });
+        }
+
+        public boolean hasNext() {
+            while (!this.edges.hasNext() && !this.cursors.isEmpty()) {
+                final Cursor cursor = this.cursors.poll();
+                this.edges = cursor.entry.getValue().iterator();
+                if (cursor.advance())
+                    this.cursors.add(cursor);
+            }
+            return this.edges.hasNext();
+        }
+
+        public Edge next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            return this.edges.next();
+        }
+
+        private static class Cursor implements Comparable<Cursor> {
+
+            private final Iterator<Map.Entry<Object, Set<Edge>>> entries;
+            private Map.Entry<Object, Set<Edge>> entry;
+
+            private Cursor(final Iterator<Map.Entry<Object, Set<Edge>>> entries) {
+                this.entries = entries;
+                this.entry = entries.next();
+            }
+
+            private boolean advance() {
+                if (!this.entries.hasNext())
+                    return false;
+                this.entry = this.entries.next();
+                return true;
+            }
+
+            public int compareTo(final Cursor other) {
+                return ((Comparable) this.entry.getKey()).compareTo(other.entry.getKey());
+            }
+        }
+    }
+}
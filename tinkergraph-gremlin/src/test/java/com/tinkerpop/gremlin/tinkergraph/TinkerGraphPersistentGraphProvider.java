@@ -0,0 +1,21 @@
+package com.tinkerpop.gremlin.tinkergraph;
+
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Provides {@link TinkerGraph} instances that are persisted to a directory per graph name and that log their
+ * alterations to a write-ahead log.
+ */
+public class TinkerGraphPersistentGraphProvider extends TinkerGraphGraphProvider {
+
+    @Override
+    public Map<String, Object> getBaseConfiguration(final String graphName) {
+        final Map<String, Object> configuration = super.getBaseConfiguration(graphName);
+        configuration.put(TinkerGraph.CONFIG_DIRECTORY, new File("/tmp/tp/tinkergraph-persistent", graphName).getAbsolutePath());
+        configuration.put(TinkerGraph.CONFIG_LOG, true);
+        return configuration;
+    }
+}
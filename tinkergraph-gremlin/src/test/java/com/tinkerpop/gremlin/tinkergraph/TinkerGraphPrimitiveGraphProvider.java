@@ -0,0 +1,18 @@
+package com.tinkerpop.gremlin.tinkergraph;
+
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import java.util.Map;
+
+/**
+ * Provides {@link TinkerGraph} instances that are configured for primitive storage.
+ */
+public class TinkerGraphPrimitiveGraphProvider extends TinkerGraphGraphProvider {
+
+    @Override
+    public Map<String, Object> getBaseConfiguration(final String graphName) {
+        final Map<String, Object> configuration = super.getBaseConfiguration(graphName);
+        configuration.put(TinkerGraph.CONFIG_STORAGE, TinkerGraph.PRIMITIVE_STORAGE);
+        return configuration;
+    }
+}
@@ -0,0 +1,95 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time it takes to iterate deep traversals one holder at a time with the time it takes to iterate them
+ * a batch of holders at a time.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-batch-traversal")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-batch-traversal")
+public class TinkerGraphBatchTraversalPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 2000;
+    private static final int EDGES_PER_VERTEX = 8;
+    private static final int BATCH_SIZE = 256;
+
+    private static TinkerGraph g;
+    private static long expectedOutOutOut;
+    private static long expectedFiltered;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setup() {
+        g = TinkerGraph.open();
+        final Random random = new Random(428934l);
+        final Vertex[] vertices = new Vertex[NUMBER_OF_VERTICES];
+        for (int ix = 0; ix < NUMBER_OF_VERTICES; ix++) {
+            vertices[ix] = g.addVertex("name", "v" + ix, "age", random.nextInt(100));
+        }
+        for (final Vertex vertex : vertices) {
+            for (int ix = 0; ix < EDGES_PER_VERTEX; ix++) {
+                vertex.addEdge("knows", vertices[random.nextInt(NUMBER_OF_VERTICES)]);
+            }
+        }
+        expectedOutOutOut = iterate(g.V().out().out().out().value("name"));
+        expectedFiltered = iterate(g.V().out().out().has("age", T.gt, 50).out().value("name"));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutOutOneAtATime() throws Exception {
+        assertEquals(expectedOutOutOut, iterate(g.V().out().out().out().value("name")));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutOutBatched() throws Exception {
+        assertEquals(expectedOutOutOut, iterate(g.V().out().out().out().value("name").submit(new BatchTraversalEngine(BATCH_SIZE))));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutHasOutOneAtATime() throws Exception {
+        assertEquals(expectedFiltered, iterate(g.V().out().out().has("age", T.gt, 50).out().value("name")));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutHasOutBatched() throws Exception {
+        assertEquals(expectedFiltered, iterate(g.V().out().out().has("age", T.gt, 50).out().value("name").submit(new BatchTraversalEngine(BATCH_SIZE))));
+    }
+
+    /**
+     * Iterates the ends of the traversal one by one as {@link Traversal#count()} would sum bulks instead.
+     */
+    private static long iterate(final Traversal<?, ?> traversal) {
+        long counter = 0l;
+        while (traversal.hasNext()) {
+            traversal.next();
+            counter++;
+        }
+        return counter;
+    }
+}
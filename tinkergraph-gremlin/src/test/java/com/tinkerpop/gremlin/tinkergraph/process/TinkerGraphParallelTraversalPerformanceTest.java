@@ -0,0 +1,84 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time it takes to execute traversals serially with the time it takes to execute them over partitions
+ * of their starts with the {@link ParallelTraversalEngine}.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-parallel-traversal")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-parallel-traversal")
+public class TinkerGraphParallelTraversalPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 2000;
+    private static final int EDGES_PER_VERTEX = 8;
+
+    private static TinkerGraph g;
+    private static TraversalEngine engine;
+    private static long expectedOutOutOut;
+    private static Map expectedGroupCount;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setup() {
+        g = TinkerGraph.open();
+        engine = new ParallelTraversalEngine();
+        final Random random = new Random(428934l);
+        final Vertex[] vertices = new Vertex[NUMBER_OF_VERTICES];
+        for (int ix = 0; ix < NUMBER_OF_VERTICES; ix++) {
+            vertices[ix] = g.addVertex("name", "v" + ix, "age", random.nextInt(100));
+        }
+        for (final Vertex vertex : vertices) {
+            for (int ix = 0; ix < EDGES_PER_VERTEX; ix++) {
+                vertex.addEdge("knows", vertices[random.nextInt(NUMBER_OF_VERTICES)]);
+            }
+        }
+        expectedOutOutOut = g.V().out().out().out().value("name").toList().size();
+        expectedGroupCount = (Map) g.V().out().out().out().value("age").groupCount().next();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutOutSerially() throws Exception {
+        assertEquals(expectedOutOutOut, g.V().out().out().out().value("name").toList().size());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void outOutOutInParallel() throws Exception {
+        assertEquals(expectedOutOutOut, g.V().out().out().out().value("name").submit(engine).toList().size());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void groupCountSerially() throws Exception {
+        assertEquals(expectedGroupCount, g.V().out().out().out().value("age").groupCount().next());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void groupCountInParallel() throws Exception {
+        assertEquals(expectedGroupCount, g.V().out().out().out().value("age").groupCount().submit(engine).next());
+    }
+}
@@ -0,0 +1,86 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput of steps on many short traversals, where the cost of detecting that a step is exhausted
+ * weighs as much as the cost of processing its holders.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-step-throughput")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-step-throughput")
+public class TinkerGraphStepThroughputPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 20000;
+    private static final int EDGES_PER_VERTEX = 4;
+
+    private static TinkerGraph g;
+    private static List<Vertex> vertices;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setup() {
+        g = TinkerGraph.open();
+        final Random random = new Random(428934l);
+        final Vertex[] v = new Vertex[NUMBER_OF_VERTICES];
+        for (int ix = 0; ix < NUMBER_OF_VERTICES; ix++) {
+            v[ix] = g.addVertex("name", "v" + ix, "age", random.nextInt(100));
+        }
+        for (final Vertex vertex : v) {
+            for (int ix = 0; ix < EDGES_PER_VERTEX; ix++) {
+                vertex.addEdge("knows", v[random.nextInt(NUMBER_OF_VERTICES)]);
+            }
+        }
+        vertices = g.V().toList().stream().map(o -> (Vertex) o).collect(Collectors.toList());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void filterAdjacentVertices() throws Exception {
+        long counter = 0l;
+        for (final Vertex vertex : vertices) {
+            counter = counter + vertex.out().has("age", T.gt, 80).toList().size();
+        }
+        assertEquals(true, counter > 0l);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void rangeAdjacentVertices() throws Exception {
+        long counter = 0l;
+        for (final Vertex vertex : vertices) {
+            counter = counter + vertex.out().range(0, 1).toList().size();
+        }
+        assertEquals(2l * NUMBER_OF_VERTICES, counter);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void filterAllVertices() throws Exception {
+        long counter = 0l;
+        for (int ix = 0; ix < 10; ix++) {
+            counter = counter + g.V().has("age", T.lt, 5).value("name").toList().size();
+        }
+        assertEquals(true, counter > 0l);
+    }
+}
@@ -1,12 +1,28 @@
 package com.tinkerpop.gremlin.tinkergraph.process.olap;
 
+import com.tinkerpop.gremlin.process.computer.MessageType;
+import com.tinkerpop.gremlin.process.computer.Messenger;
+import com.tinkerpop.gremlin.process.computer.VertexProgram;
+import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.util.VertexQueryBuilder;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphComputer;
+import com.tinkerpop.gremlin.util.StreamFactory;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -54,4 +70,100 @@ public class TinkerGraphComputerTest {
                 .forEachRemaining(System.out::println);
 
     }
+
+    @Test
+    public void shouldDeliverEveryMessageInParallel() throws Exception {
+        final int vertexCount = 500;
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(VertexProgram.VERTEX_PROGRAM_CLASS, MessageCountingVertexProgram.class.getName());
+        configuration.setProperty(TinkerGraphComputer.EXECUTION_TYPE, TinkerGraphComputer.PARALLEL);
+        for (int run = 0; run < 3; run++) {
+            final TinkerGraph g = TinkerGraph.open();
+            final Vertex[] vertices = new Vertex[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                vertices[i] = g.addVertex("i", (long) i);
+            }
+            for (int i = 0; i < vertexCount; i++) {
+                for (int d = 1; d <= MessageCountingVertexProgram.DEGREE; d++) {
+                    vertices[i].addEdge("next", vertices[(i + d) % vertexCount]);
+                }
+            }
+
+            final Graph result = g.compute().configuration(configuration).submit().get();
+            result.V().forEach(vertex -> {
+                long globalSum = 0l;
+                long localSum = 0l;
+                for (int d = 1; d <= MessageCountingVertexProgram.DEGREE; d++) {
+                    final long sender = (vertex.<Long>getValue("i") - d + vertexCount) % vertexCount;
+                    for (int m = 0; m < MessageCountingVertexProgram.GLOBAL_MESSAGES; m++) {
+                        globalSum = globalSum + sender * 10 + m;
+                    }
+                    for (int m = 0; m < MessageCountingVertexProgram.LOCAL_MESSAGES; m++) {
+                        localSum = localSum + sender * 100 + m;
+                    }
+                }
+                assertEquals(MessageCountingVertexProgram.DEGREE * MessageCountingVertexProgram.GLOBAL_MESSAGES, vertex.<Long>getValue(MessageCountingVertexProgram.GLOBAL_COUNT).longValue());
+                assertEquals(globalSum, vertex.<Long>getValue(MessageCountingVertexProgram.GLOBAL_SUM).longValue());
+                assertEquals(MessageCountingVertexProgram.DEGREE * MessageCountingVertexProgram.LOCAL_MESSAGES, vertex.<Long>getValue(MessageCountingVertexProgram.LOCAL_COUNT).longValue());
+                assertEquals(localSum, vertex.<Long>getValue(MessageCountingVertexProgram.LOCAL_SUM).longValue());
+            });
+        }
+    }
+
+    /**
+     * Sends several {@link MessageType.Global} messages to each out vertex and then several
+     * {@link MessageType.Local} messages along the out edges, recording the count and the sum of the messages each
+     * vertex receives.
+     */
+    public static class MessageCountingVertexProgram implements VertexProgram<Long> {
+
+        public static final int DEGREE = 3;
+        public static final int GLOBAL_MESSAGES = 5;
+        public static final int LOCAL_MESSAGES = 4;
+        public static final String GLOBAL_COUNT = "globalCount";
+        public static final String GLOBAL_SUM = "globalSum";
+        public static final String LOCAL_COUNT = "localCount";
+        public static final String LOCAL_SUM = "localSum";
+
+        private final MessageType.Local localMessageType = MessageType.Local.of(new VertexQueryBuilder().direction(Direction.OUT).labels("next"));
+
+        public void initialize(final Configuration configuration) {
+        }
+
+        public void setup(final Graph.Memory.Computer graphMemory) {
+        }
+
+        public void execute(final Vertex vertex, final Messenger<Long> messenger, final Graph.Memory.Computer graphMemory) {
+            final long i = vertex.<Long>getValue("i");
+            if (graphMemory.getIteration() == 0) {
+                final List<Vertex> outVertices = StreamFactory.stream(vertex.out("next")).collect(Collectors.toList());
+                for (int m = 0; m < GLOBAL_MESSAGES; m++) {
+                    messenger.sendMessage(vertex, MessageType.Global.of(outVertices), i * 10 + m);
+                }
+            } else if (graphMemory.getIteration() == 1) {
+                final List<Long> messages = StreamFactory.stream(messenger.receiveMessages(vertex, MessageType.Global.of(vertex))).collect(Collectors.toList());
+                vertex.setProperty(GLOBAL_COUNT, (long) messages.size());
+                vertex.setProperty(GLOBAL_SUM, messages.stream().mapToLong(Long::longValue).sum());
+                for (int m = 0; m < LOCAL_MESSAGES; m++) {
+                    messenger.sendMessage(vertex, this.localMessageType, i * 100 + m);
+                }
+            } else {
+                final List<Long> messages = StreamFactory.stream(messenger.receiveMessages(vertex, this.localMessageType)).collect(Collectors.toList());
+                vertex.setProperty(LOCAL_COUNT, (long) messages.size());
+                vertex.setProperty(LOCAL_SUM, messages.stream().mapToLong(Long::longValue).sum());
+            }
+        }
+
+        public boolean terminate(final Graph.Memory.Computer graphMemory) {
+            return graphMemory.getIteration() >= 3;
+        }
+
+        public Map<String, KeyType> getComputeKeys() {
+            return VertexProgram.ofComputeKeys(GLOBAL_COUNT, KeyType.CONSTANT, GLOBAL_SUM, KeyType.CONSTANT, LOCAL_COUNT, KeyType.CONSTANT, LOCAL_SUM, KeyType.CONSTANT);
+        }
+
+        public Class<Long> getMessageClass() {
+            return Long.class;
+        }
+    }
 }
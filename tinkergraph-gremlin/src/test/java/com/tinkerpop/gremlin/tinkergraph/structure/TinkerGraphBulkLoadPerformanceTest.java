@@ -0,0 +1,72 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time it takes to write the graph of
+ * {@link com.tinkerpop.gremlin.structure.GraphWritePerformanceTest} vertex by vertex with the time it takes to load
+ * it with a {@link TinkerBulkLoader} fed by several producer threads.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-bulk-load")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-bulk-load")
+public class TinkerGraphBulkLoadPerformanceTest {
+
+    private static final int NUMBER_OF_VERTICES = 100000;
+    private static final int NUMBER_OF_PRODUCERS = 4;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void writeVerticesAndEdgesWithProperties() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        Vertex lastVertex = null;
+        for (int ix = 0; ix < NUMBER_OF_VERTICES; ix++) {
+            final Vertex v = g.addVertex("oid", ix, "name", "v" + ix);
+            if (null != lastVertex)
+                v.addEdge("parent", lastVertex, "weight", 0.5d);
+            lastVertex = v;
+        }
+        assertEquals(NUMBER_OF_VERTICES, g.V().count());
+        assertEquals(NUMBER_OF_VERTICES - 1, g.E().count());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void bulkLoadVerticesAndEdgesWithProperties() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final TinkerBulkLoader loader = g.bulkLoader();
+        final Thread[] producers = new Thread[NUMBER_OF_PRODUCERS];
+        for (int t = 0; t < NUMBER_OF_PRODUCERS; t++) {
+            final int producer = t;
+            producers[t] = new Thread(() -> {
+                for (int ix = producer; ix < NUMBER_OF_VERTICES; ix = ix + NUMBER_OF_PRODUCERS) {
+                    loader.addVertex(Element.ID, (long) ix, "oid", ix, "name", "v" + ix);
+                    if (ix > 0)
+                        loader.addEdge((long) ix, (long) ix - 1, "parent", "weight", 0.5d);
+                }
+            });
+            producers[t].start();
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+        loader.load();
+        assertEquals(NUMBER_OF_VERTICES, g.V().count());
+        assertEquals(NUMBER_OF_VERTICES - 1, g.E().count());
+    }
+}
@@ -0,0 +1,120 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import com.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang.RandomStringUtils;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Compares the time it takes to reopen a {@link TinkerGraph} persisted to a {@link TinkerGraph#CONFIG_DIRECTORY}
+ * with the time it takes to load the same graph with {@link KryoReader#readGraph}.
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "tinkergraph-cold-start")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-tinkergraph-cold-start")
+public class TinkerGraphColdStartPerformanceTest {
+
+    private static final String LOCATION = "/tmp/tp/tinkergraph-cold-start";
+    private static final int NUMBER_OF_VERTICES = 100000;
+
+    private static long numberOfEdges;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        deleteDirectory(new File(LOCATION));
+        new File(LOCATION).mkdirs();
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration()));
+        final Random r = new Random(854939487556l);
+        for (int i = 0; i < NUMBER_OF_VERTICES; i++) {
+            g.addVertex("oid", i, "name", RandomStringUtils.randomAlphabetic(r.nextInt(64)));
+        }
+        new DistributionGenerator.Builder(g)
+                .label("knows")
+                .seedGenerator(r::nextLong)
+                .outDistribution(new PowerLawDistribution(2.8))
+                .inDistribution(new PowerLawDistribution(2.3))
+                .expectedNumEdges(NUMBER_OF_VERTICES * 3).build().generate();
+        numberOfEdges = g.E().count();
+
+        try (final OutputStream os = new BufferedOutputStream(new FileOutputStream(LOCATION + ".gio"))) {
+            KryoWriter.create().build().writeGraph(os, g);
+        }
+        g.close();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void openWithKryoReader() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        try (final InputStream is = new BufferedInputStream(new FileInputStream(LOCATION + ".gio"))) {
+            KryoReader.create().build().readGraph(is, g);
+        }
+        assertEquals(NUMBER_OF_VERTICES, g.V().count());
+        assertEquals(numberOfEdges, g.E().count());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void openFromDirectory() throws Exception {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration()));
+        assertEquals(NUMBER_OF_VERTICES, g.V().count());
+        assertEquals(numberOfEdges, g.E().count());
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 1, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void openFromDirectoryAndReadAllProperties() throws Exception {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration()));
+        g.V().forEach(v -> assertNotNull(v.getValue("name")));
+        assertEquals(numberOfEdges, g.E().count());
+    }
+
+    private static Configuration configuration() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, LOCATION);
+        return conf;
+    }
+
+    private static void deleteDirectory(final File directory) {
+        final File[] files = directory.listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                if (file.isDirectory())
+                    deleteDirectory(file);
+                else
+                    file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
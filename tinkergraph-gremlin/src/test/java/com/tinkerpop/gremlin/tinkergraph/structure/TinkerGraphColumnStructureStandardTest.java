@@ -0,0 +1,14 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.StructureStandardSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphColumnGraphProvider;
+import org.junit.runner.RunWith;
+
+/**
+ * Executes the Standard Gremlin Structure Test Suite using TinkerGraph configured to hold properties in columns.
+ */
+@RunWith(StructureStandardSuite.class)
+@StructureStandardSuite.GraphProviderClass(TinkerGraphColumnGraphProvider.class)
+public class TinkerGraphColumnStructureStandardTest {
+
+}
@@ -0,0 +1,15 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.StructureStandardSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphConcurrentGraphProvider;
+import org.junit.runner.RunWith;
+
+/**
+ * Executes the Standard Gremlin Structure Test Suite using TinkerGraph configured for concurrent access, which
+ * includes the multi-threaded tests that require {@link com.tinkerpop.gremlin.structure.Graph.Features.GraphFeatures#FEATURE_CONCURRENT_ACCESS}.
+ */
+@RunWith(StructureStandardSuite.class)
+@StructureStandardSuite.GraphProviderClass(TinkerGraphConcurrentGraphProvider.class)
+public class TinkerGraphConcurrentStructureStandardTest {
+
+}
@@ -0,0 +1,15 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.StructureStandardSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphPersistentGraphProvider;
+import org.junit.runner.RunWith;
+
+/**
+ * Executes the Standard Gremlin Structure Test Suite using TinkerGraph persisted to a directory, which includes the
+ * tests that require {@link com.tinkerpop.gremlin.structure.Graph.Features.GraphFeatures#FEATURE_PERSISTENCE}.
+ */
+@RunWith(StructureStandardSuite.class)
+@StructureStandardSuite.GraphProviderClass(TinkerGraphPersistentGraphProvider.class)
+public class TinkerGraphPersistentStructureStandardTest {
+
+}
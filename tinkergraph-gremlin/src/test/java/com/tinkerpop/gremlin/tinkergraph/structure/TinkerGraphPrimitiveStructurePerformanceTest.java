@@ -0,0 +1,15 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.StructurePerformanceSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphPrimitiveGraphProvider;
+import org.junit.runner.RunWith;
+
+/**
+ * Executes the Gremlin Structure Performance Test Suite using TinkerGraph configured for primitive storage so that
+ * its results can be compared with those of {@link TinkerGraphStructurePerformanceTest}.
+ */
+@RunWith(StructurePerformanceSuite.class)
+@StructurePerformanceSuite.GraphProviderClass(TinkerGraphPrimitiveGraphProvider.class)
+public class TinkerGraphPrimitiveStructurePerformanceTest {
+
+}
@@ -0,0 +1,14 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.StructureStandardSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphPrimitiveGraphProvider;
+import org.junit.runner.RunWith;
+
+/**
+ * Executes the Standard Gremlin Structure Test Suite using TinkerGraph configured for primitive storage.
+ */
+@RunWith(StructureStandardSuite.class)
+@StructureStandardSuite.GraphProviderClass(TinkerGraphPrimitiveGraphProvider.class)
+public class TinkerGraphPrimitiveStructureStandardTest {
+
+}
@@ -2,11 +2,19 @@ package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.AbstractGremlinTest;
 import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.T;
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.computer.VertexProgram;
+import com.tinkerpop.gremlin.process.computer.ranking.PageRankVertexProgram;
+import com.tinkerpop.gremlin.process.util.BatchTraversalEngine;
+import com.tinkerpop.gremlin.process.util.ParallelTraversalEngine;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.structure.AnnotatedList;
 import com.tinkerpop.gremlin.structure.AnnotatedValue;
+import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.IoTest;
 import com.tinkerpop.gremlin.structure.Property;
@@ -15,11 +23,16 @@ import com.tinkerpop.gremlin.structure.io.GraphReader;
 import com.tinkerpop.gremlin.structure.io.graphml.GraphMLReader;
 import com.tinkerpop.gremlin.structure.io.graphml.GraphMLWriter;
 import com.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
+import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
 import com.tinkerpop.gremlin.util.StreamFactory;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -28,12 +41,27 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -206,6 +234,67 @@ public class TinkerGraphTest {
         names.get().annotatedValues().value().forEach(System.out::println);
     }
 
+    @Test
+    public void shouldFilterAnnotatedValuesWithAnnotationIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex sensor = g.addVertex("readings", AnnotatedList.make());
+        final AnnotatedList<Double> readings = sensor.<AnnotatedList<Double>>getProperty("readings").get();
+        for (long i = 0; i < 1000; i++) {
+            readings.addValue(i / 10d, "time", i, "unit", "celsius");
+        }
+        assertEquals(10, sensor.annotatedValues("readings").has("time", T.gte, 990l).count());
+        assertEquals(10, readings.annotatedValues().interval("time", 100l, 110l).count());
+        assertEquals(99.0d, readings.annotatedValues().<AnnotatedValue<Double>>has("time", 990l).next().getValue(), 0.0d);
+        assertEquals(10, readings.annotatedValues().has("time", T.gte, 990).count());
+
+        readings.annotatedValues().<AnnotatedValue>has("time", T.lt, 500l).forEach(AnnotatedValue::remove);
+        readings.annotatedValues().<AnnotatedValue>has("time", 990l).next().setAnnotation("time", 5l);
+        readings.annotatedValues().<AnnotatedValue>has("time", 991l).next().setAnnotation("time", "late");
+        assertEquals(500, readings.annotatedValues().count());
+        assertEquals(1, sensor.annotatedValues("readings").has("time", T.lt, 500l).count());
+        assertEquals(8, sensor.annotatedValues("readings").has("time", T.gte, 990l).count());
+        assertEquals(1, sensor.annotatedValues("readings").has("time", "late").count());
+        assertEquals(500, sensor.annotatedValues("readings").has("unit", "celsius").count());
+    }
+
+    @Test
+    public void shouldFilterAnnotatedValuesInOrderAdded() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex sensor = g.addVertex("readings", AnnotatedList.make());
+        final AnnotatedList<Integer> readings = sensor.<AnnotatedList<Integer>>getProperty("readings").get();
+        for (int i = 0; i < 100; i++) {
+            readings.addValue(i, "time", 1000 - i);
+        }
+        assertEquals(Arrays.asList(95, 96, 97, 98, 99), readings.annotatedValues().has("time", T.lte, 905).value().toList());
+        readings.addValue(100, "time", 950);
+        readings.addValue(101, "time", 10);
+        assertEquals(Arrays.asList(50, 100), readings.annotatedValues().has("time", T.gte, 950).has("time", T.lte, 950).value().toList());
+        assertEquals(Arrays.asList(99, 101), readings.annotatedValues().has("time", T.lt, 902).value().toList());
+    }
+
+    @Test
+    public void shouldKeepAnnotatedValuesAcrossCompaction() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex marko = g.addVertex("names", AnnotatedList.make());
+        final AnnotatedList<String> names = marko.<AnnotatedList<String>>getProperty("names").get();
+        final AnnotatedValue<String> last = names.addValue("marko", "time", 0);
+        for (int i = 1; i < 100; i++) {
+            names.addValue("name" + i, "time", i);
+        }
+        names.annotatedValues().<AnnotatedValue>has("time", T.gt, 0).forEach(AnnotatedValue::remove);
+        for (int i = 100; i < 200; i++) {
+            names.addValue("name" + i, "time", i);
+        }
+        assertEquals(101, names.annotatedValues().count());
+        assertEquals(0, (int) last.getAnnotation("time").get());
+        last.setAnnotation("time", 1000);
+        assertEquals("marko", names.annotatedValues().<AnnotatedValue>has("time", 1000).next().getValue());
+        last.remove();
+        assertFalse(last.getAnnotation("time").isPresent());
+        assertEquals(100, names.annotatedValues().count());
+        assertEquals("name100", names.values().next());
+    }
+
     @Test
     public void shouldManageIndices() {
         final TinkerGraph g = TinkerGraph.open();
@@ -281,6 +370,278 @@ public class TinkerGraphTest {
         g.createIndex("", Edge.class);
     }
 
+    @Test
+    public void shouldAnswerRangeQueriesFromRangeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        assertEquals(TinkerGraph.IndexType.RANGE, g.getIndexType("age", Vertex.class));
+        assertEquals(1, g.getIndexedKeys(Vertex.class).size());
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex("age", random.nextInt(100), "name", "v" + i);
+        }
+        final TinkerGraph h = TinkerGraph.open();
+        g.V().forEach(v -> h.addVertex("age", v.getValue("age"), "name", v.getValue("name")));
+
+        assertEquals(StreamFactory.stream(h.V().interval("age", 20, 30)).count(), StreamFactory.stream(g.V().interval("age", 20, 30)).count());
+        assertEquals(StreamFactory.stream(h.V().has("age", T.gt, 90)).count(), StreamFactory.stream(g.V().has("age", T.gt, 90)).count());
+        assertEquals(StreamFactory.stream(h.V().has("age", T.lte, 10)).count(), StreamFactory.stream(g.V().has("age", T.lte, 10)).count());
+        assertEquals(StreamFactory.stream(h.V().has("age", T.gte, 50).has("age", T.lt, 50)).count(), StreamFactory.stream(g.V().has("age", T.gte, 50).has("age", T.lt, 50)).count());
+        assertEquals(StreamFactory.stream(h.V().has("age", 42)).count(), StreamFactory.stream(g.V().has("age", 42)).count());
+        assertEquals(0, StreamFactory.stream(g.V().interval("age", 30, 20)).count());
+    }
+
+    @Test
+    public void shouldAnswerRangeQueriesWithMixedIntegralBounds() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        for (long i = 0; i < 50; i++) {
+            g.addVertex("age", i);
+        }
+        g.addVertex("age", 45);
+
+        assertEquals(20, StreamFactory.stream(g.V().has("age", T.gt, 30)).count());
+        assertEquals(20, TinkerHelper.countVertexIndex(g, "age", 31, true, null, true, Long.MAX_VALUE));
+        assertEquals(10, StreamFactory.stream(g.V().has("age", T.gte, 20).has("age", T.lt, 30l)).count());
+        assertEquals(10, TinkerHelper.countVertexIndex(g, "age", 20, true, 30l, false, Long.MAX_VALUE));
+        assertEquals(2, StreamFactory.stream(g.V().has("age", T.gte, 45).has("age", T.lte, 45)).count());
+        assertEquals(1, StreamFactory.stream(g.V().has("age", 45)).count());
+
+        g.V().<Vertex>has("age", 45l).toList().forEach(Vertex::remove);
+        assertEquals(1, StreamFactory.stream(g.V().has("age", T.gte, 45).has("age", T.lte, 45)).count());
+        assertEquals(0, StreamFactory.stream(g.V().has("age", T.gt, 2.5d)).count());
+    }
+
+    @Test
+    public void shouldAnswerVertexCentricRangeQueriesWithMixedIntegralBounds() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createVertexCentricIndex("rated", "stars");
+        final Vertex v = g.addVertex();
+        for (long i = 0; i < 100; i++) {
+            v.addEdge("rated", g.addVertex(), "stars", i);
+        }
+        assertEquals(Arrays.asList(0l, 1l, 2l), v.outE("rated").has("stars", T.lt, 3).value("stars").toList());
+        assertEquals(10, v.outE("rated").has("stars", T.gte, 90).count());
+    }
+
+    @Test
+    public void shouldUpdateRangeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.RANGE);
+        final Vertex a = g.addVertex();
+        final Vertex b = g.addVertex();
+        final Edge e1 = a.addEdge("knows", b, "weight", 0.5d);
+        final Edge e2 = a.addEdge("knows", b, "weight", 0.9d);
+        a.addEdge("knows", b, "weight", "heavy");
+
+        assertEquals(1, StreamFactory.stream(g.E().has("weight", T.gt, 0.7d)).count());
+        e1.setProperty("weight", 0.8d);
+        assertEquals(2, StreamFactory.stream(g.E().has("weight", T.gt, 0.7d)).count());
+        e2.remove();
+        assertEquals(1, StreamFactory.stream(g.E().has("weight", T.gt, 0.7d)).count());
+        e1.getProperty("weight").remove();
+        assertEquals(0, StreamFactory.stream(g.E().has("weight", T.gt, 0.7d)).count());
+        assertEquals(1, StreamFactory.stream(g.E().has("weight", "heavy")).count());
+
+        g.dropIndex("weight", Edge.class);
+        assertEquals(0, g.getIndexedKeys(Edge.class).size());
+    }
+
+    @Test
+    public void shouldIndexValuesThatAreNotComparableUnderRangeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex a = g.addVertex("tags", Arrays.asList("x", "y"));
+        g.createIndex("tags", Vertex.class, TinkerGraph.IndexType.RANGE);
+        final Vertex b = g.addVertex("tags", Arrays.asList("x", "y"));
+        final Vertex c = g.addVertex("tags", Arrays.asList("z"));
+        g.addVertex("tags", "x");
+
+        assertEquals(2, StreamFactory.stream(g.V().has("tags", Arrays.asList("x", "y"))).count());
+        assertEquals(1, StreamFactory.stream(g.V().has("tags", Arrays.asList("z"))).count());
+        assertEquals(1, StreamFactory.stream(g.V().has("tags", "x")).count());
+        assertEquals(4, g.getIndexStatistics("tags", Vertex.class).getElementCount());
+
+        c.setProperty("tags", Arrays.asList("x", "y"));
+        assertEquals(3, StreamFactory.stream(g.V().has("tags", Arrays.asList("x", "y"))).count());
+        assertEquals(0, StreamFactory.stream(g.V().has("tags", Arrays.asList("z"))).count());
+        a.remove();
+        b.getProperty("tags").remove();
+        assertEquals(c, g.V().has("tags", Arrays.asList("x", "y")).next());
+        assertEquals(1, StreamFactory.stream(g.V().has("tags", Arrays.asList("x", "y"))).count());
+
+        g.dropIndex("tags", Vertex.class);
+        assertEquals(1, StreamFactory.stream(g.V().has("tags", Arrays.asList("x", "y"))).count());
+    }
+
+    @Test
+    public void shouldAnswerLookupsFromCompositeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+        g.createCompositeIndex(Vertex.class, "tenant", "type");
+        g.createCompositeIndex(Vertex.class, "tenant", "type");
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(Arrays.asList("tenant", "type"), g.getCompositeIndexedKeys(Vertex.class).iterator().next());
+
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex("tenant", i % 2 == 0 ? "big" : "small" + i, "type", i % 10 == 0 ? "person" : "software");
+        }
+        final Vertex v = g.addVertex("tenant", "big");
+
+        assertEquals(100, StreamFactory.stream(g.V().has("tenant", "big").has("type", "person")).count());
+        assertEquals(100, StreamFactory.stream(g.V().has("type", "person").has("tenant", "big")).count());
+        assertEquals(501, StreamFactory.stream(g.V().has("tenant", "big")).count());
+
+        v.setProperty("type", "person");
+        assertEquals(101, StreamFactory.stream(g.V().has("tenant", "big").has("type", "person")).count());
+        v.setProperty("tenant", "other");
+        assertEquals(100, StreamFactory.stream(g.V().has("tenant", "big").has("type", "person")).count());
+        assertEquals(1, StreamFactory.stream(g.V().has("tenant", "other").has("type", "person")).count());
+        v.getProperty("type").remove();
+        assertEquals(0, StreamFactory.stream(g.V().has("tenant", "other").has("type", "person")).count());
+
+        g.V().has("tenant", "big").<Vertex>has("type", "person").toList().forEach(Vertex::remove);
+        assertEquals(0, StreamFactory.stream(g.V().has("tenant", "big").has("type", "person")).count());
+
+        g.dropCompositeIndex(Vertex.class, "tenant", "type");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(400, StreamFactory.stream(g.V().has("tenant", "big")).count());
+    }
+
+    @Test
+    public void shouldMaintainIndexStatistics() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("country", i < 90 ? "usa" : "c" + i, "age", i);
+        }
+        g.createIndex("country", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+
+        TinkerIndexStatistics statistics = g.getIndexStatistics("country", Vertex.class);
+        assertEquals(11, statistics.getDistinctValues());
+        assertEquals(100, statistics.getElementCount());
+        assertEquals(90, statistics.getMaxBucketSize());
+        assertEquals(10, statistics.getHistogram()[0]);
+        assertEquals(1, statistics.getHistogram()[6]);
+        assertEquals(100, g.getIndexStatistics("age", Vertex.class).getDistinctValues());
+        assertEquals(null, g.getIndexStatistics("name", Vertex.class));
+
+        g.V().has("country", "usa").has("age", T.gte, 10).toList().forEach(v -> ((Vertex) v).remove());
+        statistics = g.getIndexStatistics("country", Vertex.class);
+        assertEquals(11, statistics.getDistinctValues());
+        assertEquals(20, statistics.getElementCount());
+        assertEquals(10, statistics.getMaxBucketSize());
+        assertEquals(10, statistics.getHistogram()[0]);
+        assertEquals(1, statistics.getHistogram()[3]);
+        assertEquals(20, g.getIndexStatistics("age", Vertex.class).getElementCount());
+
+        assertEquals(1, StreamFactory.stream(g.V().has("country", "usa").has("age", T.lt, 1)).count());
+        assertEquals(0, StreamFactory.stream(g.V().has("country", "c95").has("age", T.lt, 50)).count());
+    }
+
+    @Test
+    public void shouldRemoveElementsFromIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        g.createCompositeIndex(Vertex.class, "name", "age");
+        g.createIndex(Element.LABEL, Edge.class);
+        g.createIndex("weight", Edge.class);
+
+        final Vertex marko = g.addVertex("name", "marko", "age", 29);
+        final Vertex josh = g.addVertex("name", "josh", "age", 32);
+        marko.addEdge("knows", josh, "weight", 1.0d);
+        josh.addEdge("knows", marko, "weight", 0.5d);
+
+        marko.remove();
+        assertEquals(0, StreamFactory.stream(g.V().has("name", "marko")).count());
+        assertEquals(0, StreamFactory.stream(g.V().has("name", "marko").has("age", 29)).count());
+        assertEquals(0, StreamFactory.stream(g.V().has("age", T.lt, 30)).count());
+        assertEquals(0, StreamFactory.stream(g.E().has(Element.LABEL, "knows")).count());
+        assertEquals(1, g.getIndexStatistics("name", Vertex.class).getElementCount());
+        assertEquals(1, g.getIndexStatistics("age", Vertex.class).getElementCount());
+        assertEquals(0, g.getIndexStatistics(Element.LABEL, Edge.class).getElementCount());
+        assertEquals(0, g.getIndexStatistics("weight", Edge.class).getElementCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, "tenant");
+    }
+
+    @Test
+    public void shouldFilterVerticesLazily() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex("age", i);
+        }
+        final AtomicInteger tested = new AtomicInteger(0);
+        assertEquals(10, StreamFactory.stream(g.V().has("age", (t, u) -> {
+            tested.incrementAndGet();
+            return true;
+        }, 0).range(0, 9)).count());
+        assertTrue(tested.get() < 1000);
+    }
+
+    @Test
+    public void shouldIterateElementsAsTheyWereWhenTraversalStarted() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex().addEdge("self", g.addVertex());
+        }
+        final TinkerGraph snapshot = g.snapshot();
+
+        final Iterator<Vertex> vertices = g.V();
+        final Iterator<Edge> edges = g.E();
+        edges.next();
+        vertices.next().addEdge("self", g.addVertex());
+        assertEquals(199, StreamFactory.stream(vertices).count());
+        assertEquals(99, StreamFactory.stream(edges).count());
+
+        g.V().forEach(v -> g.addVertex());
+        assertEquals(402, StreamFactory.stream(g.V()).count());
+        g.V().forEach(Vertex::remove);
+        assertEquals(0, StreamFactory.stream(g.V()).count());
+        assertEquals(0, StreamFactory.stream(g.E()).count());
+
+        assertEquals(200, StreamFactory.stream(snapshot.V()).count());
+        assertEquals(100, StreamFactory.stream(snapshot.E()).count());
+        snapshot.close();
+    }
+
+    @Test
+    public void shouldCopyElementsOnlyWhenAlteredDuringScan() throws Exception {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final Map<Object, Vertex> vertices = g.vertices;
+        final Map<Object, Edge> edges = g.edges;
+
+        // scans that ran to their end or were closed leave the maps as they are
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, g.V().has("name", "marko").count());
+            assertEquals(6 + i, StreamFactory.stream(g.V()).count());
+            g.addVertex();
+        }
+        final Iterator<Edge> closed = TinkerHelper.iterateEdges(g);
+        closed.next();
+        ((AutoCloseable) closed).close();
+        g.v(1).addEdge("knows", g.v(6));
+        assertSame(vertices, g.vertices);
+        assertSame(edges, g.edges);
+        assertEquals(0, g.vertexScans.get());
+        assertEquals(0, g.edgeScans.get());
+
+        // a scan in progress keeps the map it started on
+        final Iterator<Vertex> scan = g.V();
+        scan.next();
+        g.addVertex();
+        assertNotSame(vertices, g.vertices);
+        assertEquals(15, StreamFactory.stream(scan).count());
+        final Map<Object, Vertex> copy = g.vertices;
+        g.addVertex();
+        assertSame(copy, g.vertices);
+    }
+
     @Ignore
     public void shouldUpdateVertexIndicesInNewGraph() {
         final TinkerGraph g = TinkerGraph.open();
@@ -454,6 +815,1125 @@ public class TinkerGraphTest {
         }
     }
 
+    @Test
+    public void shouldAssignLongIdsWithPrimitiveStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_STORAGE, TinkerGraph.PRIMITIVE_STORAGE);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        assertFalse(g.getFeatures().vertex().supportsUserSuppliedIds());
+        assertFalse(g.getFeatures().edge().supportsUserSuppliedIds());
+        final Vertex a = g.addVertex("name", "a");
+        final Vertex b = g.addVertex("name", "b");
+        final Edge e = a.addEdge("knows", b);
+        assertEquals(0l, a.getId());
+        assertEquals(1l, b.getId());
+        assertEquals(2l, e.getId());
+        assertEquals(a, g.v(0));
+        assertEquals(b, g.v("1"));
+        assertEquals(e, g.e(2l));
+        assertEquals(2, g.V().count());
+        assertEquals(1, g.E().count());
+
+        e.remove();
+        b.remove();
+        assertEquals(1, g.V().count());
+        assertEquals(0, g.E().count());
+        assertEquals("a", g.v(0l).getValue("name"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowUserSuppliedVertexIdsWithPrimitiveStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_STORAGE, TinkerGraph.PRIMITIVE_STORAGE);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        g.addVertex(Element.ID, 10l);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowUserSuppliedEdgeIdsWithPrimitiveStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_STORAGE, TinkerGraph.PRIMITIVE_STORAGE);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final Vertex v = g.addVertex();
+        v.addEdge("self", v, Element.ID, 10l);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotOpenWithUnknownStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_STORAGE, "unknown");
+        TinkerGraph.open(Optional.of(conf));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotOpenConcurrentWithPrimitiveStorage() {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_STORAGE, TinkerGraph.PRIMITIVE_STORAGE);
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        TinkerGraph.open(Optional.of(configuration));
+    }
+
+    @Test
+    public void shouldMaintainIndicesUnderConcurrentUpdates() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration));
+        g.createIndex("bucket", Vertex.class);
+        assertTrue(g.getFeatures().graph().supportsConcurrentAccess());
+
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    final Vertex v = g.addVertex("bucket", j % 10);
+                    v.setProperty("bucket", j % 5);
+                }
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(4000, g.V().count());
+        assertEquals(800, g.V().has("bucket", 0).count());
+        assertEquals(0, g.V().has("bucket", 7).count());
+        assertEquals(4000, g.getIndexStatistics("bucket", Vertex.class).getElementCount());
+    }
+
+    @Test
+    public void shouldTraverseCompactedAdjacency() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final long outCount = g.V().out().count();
+        final long bothCount = g.V().both("knows", "created").count();
+        final long inECount = g.V().inE("created").count();
+        g.compact();
+        assertEquals(outCount, g.V().out().count());
+        assertEquals(bothCount, g.V().both("knows", "created").count());
+        assertEquals(inECount, g.V().inE("created").count());
+        assertEquals(0, g.V().out("missing").count());
+        assertEquals(2, g.v(1).out("knows").count());
+        assertEquals(3, g.v(1).outE().count());
+    }
+
+    @Test
+    public void shouldMutateCompactedAdjacency() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        g.compact();
+        final Vertex marko = g.v(1);
+        final Edge e = marko.addEdge("knows", g.v(3));
+        assertEquals(3, marko.out("knows").count());
+        assertEquals(4, g.v(3).in().count());
+
+        e.remove();
+        g.v(2).remove();
+        assertEquals(1, marko.out("knows").count());
+        assertEquals(3, g.v(3).in().count());
+
+        g.compact();
+        assertEquals(1, marko.out("knows").count());
+        assertEquals(5, g.V().out().count());
+    }
+
+    @Test
+    public void shouldExpandLabelsAddedAfterTraversalWasBuilt() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final Traversal<Vertex, Vertex> traversal = g.V().has("name", "marko").out("likes", "knows");
+        g.v(1).addEdge("likes", g.v(5));
+        assertEquals(3, traversal.count());
+        assertEquals(0, g.v(1).out("hates").count());
+        assertEquals(0, g.v(1).outE("hates", "loves").count());
+    }
+
+    @Test
+    public void shouldNotInternLabelsWhenReading() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final int labelCount = g.labels.size();
+        final TinkerGraph snapshot = g.snapshot();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, g.v(1).out("typo" + i).count());
+            assertEquals(0, snapshot.v(1).bothE("typo" + i, "knows").has("weight", 0.0f).count());
+        }
+        assertEquals(labelCount, g.labels.size());
+        assertEquals(-1, g.labels.getId("typo0"));
+        snapshot.close();
+
+        // a label first added while the traversal runs is resolved by the vertices expanded after it
+        final Traversal<Vertex, Vertex> traversal = g.V().sideEffect(holder -> {
+            if (holder.get().getId().equals(2))
+                holder.get().addEdge("follows", g.v(1));
+        }).out("follows");
+        assertEquals(1, StreamFactory.stream(traversal).count());
+        assertEquals(labelCount + 1, g.labels.size());
+    }
+
+    @Test
+    public void shouldExpandLabelsOfMutableAndCompactedAdjacency() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        for (int i = 0; i < 2; i++) {
+            assertEquals(3, g.v(1).out().count());
+            assertEquals(2, g.v(1).out("knows").count());
+            assertEquals(3, g.v(1).out("knows", "created").count());
+            assertEquals(1, g.v(1).out("created", "hates").count());
+            assertEquals(3, g.v(3).in("created").count());
+            assertEquals(3, g.v(4).both("knows", "created").count());
+            g.compact();
+        }
+    }
+
+    @Test
+    public void shouldIsolateSnapshotFromWrites() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerGraph snapshot = g.snapshot();
+
+        g.v(1).setProperty("name", "mark");
+        g.v(1).addEdge("knows", g.v(3));
+        g.v(2).remove();
+        g.e(12).remove();
+        g.addVertex(Element.ID, 100, "name", "stephen");
+        g.compact();
+        g.v(4).addEdge("knows", g.v(6));
+
+        assertEquals(6, snapshot.V().count());
+        assertEquals(6, snapshot.E().count());
+        assertEquals("marko", snapshot.v(1).getValue("name"));
+        assertEquals("vadas", snapshot.v(2).getValue("name"));
+        assertEquals(2, snapshot.v(1).out("knows").count());
+        assertEquals(3, snapshot.v(3).in("created").count());
+        assertEquals(0, snapshot.v(4).out("knows").count());
+        assertEquals(0, snapshot.V().has("name", "stephen").count());
+        assertEquals("marko", snapshot.v(1).out("knows").in("knows").value("name").next());
+
+        assertEquals(6, g.V().count());
+        assertEquals("mark", g.v(1).getValue("name"));
+        assertEquals(2, g.v(1).out("knows").count());
+        assertEquals(2, g.v(3).in("created").count());
+        assertEquals(1, g.v(4).out("knows").count());
+
+        snapshot.close();
+        g.v(1).setProperty("name", "marko");
+        assertEquals("marko", g.v(1).getValue("name"));
+    }
+
+    @Test
+    public void shouldIterateSnapshotWhileWriting() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerGraph snapshot = g.snapshot();
+        snapshot.V().forEach(v -> g.v(v.getId()).addEdge("self", g.v(v.getId())));
+        snapshot.v(1).outE().forEach(e -> {
+            g.v(1).addEdge("knows", g.v(e.getVertex(Direction.IN).getId()));
+            g.e(e.getId()).remove();
+        });
+        snapshot.E().forEach(e -> g.e(e.getId()).setProperty("weight", 0.0f));
+
+        assertEquals(6, snapshot.E().count());
+        assertEquals(3, snapshot.v(1).outE().count());
+        assertEquals(0, snapshot.E().has("weight", 0.0f).count());
+        assertEquals(12, g.E().count());
+        assertEquals(4, g.v(1).outE().count());
+        snapshot.close();
+    }
+
+    @Test
+    public void shouldIterateSnapshotElementsWhileAddingAndRemovingThem() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 1; i <= 6; i++) {
+            g.addVertex(Element.ID, i);
+        }
+        g.v(1).addEdge("knows", g.v(2));
+        g.v(3).addEdge("knows", g.v(4));
+        final TinkerGraph snapshot = g.snapshot();
+        final Set<Object> ids = new HashSet<>();
+        for (final Vertex v : snapshot.vertices.values()) {
+            ids.add(v.getId());
+            g.v(v.getId()).remove();
+            g.addVertex(Element.ID, 100 + (Integer) v.getId());
+        }
+
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4, 5, 6)), ids);
+        assertEquals(6, snapshot.vertices.size());
+        assertEquals(6, snapshot.vertices.values().size());
+        assertEquals(6, snapshot.vertices.entrySet().size());
+        assertEquals(2, snapshot.edges.size());
+        assertEquals(6, g.V().count());
+        assertEquals(0, g.E().count());
+        snapshot.close();
+    }
+
+    @Test
+    public void shouldCloseSnapshotOfFailedComputation() throws Exception {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraphComputer.SNAPSHOT_GRAPH, true);
+
+        final Graph result = g.compute().configuration(conf).program(PageRankVertexProgram.create().vertexCount(6)).submit().get();
+        assertEquals(1, g.snapshots.size());
+        result.close();
+        assertTrue(g.snapshots.isEmpty());
+
+        conf.setProperty(TinkerGraphComputer.EXECUTION_TYPE, "unknown");
+        try {
+            g.compute().configuration(conf).program(PageRankVertexProgram.create().vertexCount(6)).submit().get();
+            fail("The computation should have failed on the execution type");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertTrue(g.snapshots.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotWriteToSnapshot() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        g.snapshot().v(1).setProperty("name", "mark");
+    }
+
+    @Test
+    public void shouldRunGraphComputerOnSnapshot() throws Exception {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerGraph snapshot = g.snapshot();
+        g.addVertex("name", "stephen");
+
+        final Graph result = snapshot.compute().program(PageRankVertexProgram.create().vertexCount(6)).submit().get();
+        assertEquals(6, result.V().count());
+        result.V().forEach(v -> assertTrue(v.getProperty(PageRankVertexProgram.PAGE_RANK).isPresent()));
+        assertEquals(7, g.V().count());
+        assertFalse(g.v(1).getProperty(PageRankVertexProgram.PAGE_RANK).isPresent());
+        g.v(1).setProperty("name", "mark");
+        assertEquals("mark", g.v(1).getValue("name"));
+        snapshot.close();
+    }
+
+    @Test
+    public void shouldSwapComputeKeysAtTheEndOfEachIteration() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerElementMemory memory = useElementMemory(g);
+        final Vertex v = g.v(1);
+
+        v.setProperty("rank", 1.0d);
+        assertFalse(v.getProperty("rank").isPresent());
+        memory.completeIteration();
+        assertEquals(1.0d, v.<Double>getValue("rank"), 0.0d);
+        v.setProperty("rank", 2.0d);
+        assertEquals(1.0d, v.<Double>getValue("rank"), 0.0d);
+        memory.completeIteration();
+        assertEquals(2.0d, v.<Double>getValue("rank"), 0.0d);
+        memory.completeIteration();
+        assertFalse(v.getProperty("rank").isPresent());
+        assertFalse(g.v(2).getProperty("rank").isPresent());
+
+        v.setProperty("seed", 7l);
+        assertEquals(7l, v.<Long>getValue("seed").longValue());
+        memory.completeIteration();
+        assertEquals(7l, v.<Long>getValue("seed").longValue());
+        try {
+            v.setProperty("seed", 8l);
+            fail("A constant compute key can only be set once");
+        } catch (IllegalStateException e) {
+            assertEquals(7l, v.<Long>getValue("seed").longValue());
+        }
+        assertEquals("marko", v.getValue("name"));
+    }
+
+    @Test
+    public void shouldHoldComputeKeysOfEdges() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerElementMemory memory = useElementMemory(g);
+        g.e(7).setProperty("rank", 0.5d);
+        g.e(8).setProperty("rank", 1l);
+        memory.completeIteration();
+        assertEquals(0.5d, g.e(7).<Double>getValue("rank"), 0.0d);
+        assertEquals(1l, g.e(8).<Long>getValue("rank").longValue());
+        assertFalse(g.e(9).getProperty("rank").isPresent());
+        assertFalse(g.v(1).getProperty("rank").isPresent());
+        assertEquals(0.5f, g.e(7).<Float>getValue("weight"), 0.0f);
+    }
+
+    @Test
+    public void shouldHoldComputeKeysOfMixedClasses() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerElementMemory memory = useElementMemory(g);
+        g.v(1).setProperty("rank", 1.5d);
+        g.v(2).setProperty("rank", 3l);
+        g.v(3).setProperty("rank", "high");
+        g.v(4).setProperty("rank", 2.5d);
+        memory.completeIteration();
+        assertEquals(1.5d, g.v(1).<Object>getValue("rank"));
+        assertEquals(3l, g.v(2).<Object>getValue("rank"));
+        assertEquals("high", g.v(3).<Object>getValue("rank"));
+        assertEquals(2.5d, g.v(4).<Object>getValue("rank"));
+
+        g.v(1).setProperty("rank", "low");
+        g.v(2).setProperty("rank", 4.0d);
+        g.v(3).setProperty("rank", 5.0d);
+        memory.completeIteration();
+        assertEquals("low", g.v(1).<Object>getValue("rank"));
+        assertEquals(4.0d, g.v(2).<Object>getValue("rank"));
+        assertEquals(5.0d, g.v(3).<Object>getValue("rank"));
+        assertFalse(g.v(4).getProperty("rank").isPresent());
+    }
+
+    @Test
+    public void shouldHoldComputeKeysOfElementsAddedDuringComputation() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerElementMemory memory = useElementMemory(g);
+        final Vertex v = g.addVertex();
+        v.setProperty("rank", 1.0d);
+        v.setProperty("seed", 3l);
+        assertFalse(v.getProperty("rank").isPresent());
+        assertEquals(3l, v.<Long>getValue("seed").longValue());
+        memory.completeIteration();
+        assertEquals(1.0d, v.<Double>getValue("rank"), 0.0d);
+        v.getProperty("rank").remove();
+        memory.completeIteration();
+        assertFalse(v.getProperty("rank").isPresent());
+        assertEquals(3l, v.<Long>getValue("seed").longValue());
+    }
+
+    private static TinkerElementMemory useElementMemory(final TinkerGraph g) {
+        g.usesElementMemory = true;
+        g.elementMemory = new TinkerElementMemory(GraphComputer.Isolation.BSP,
+                VertexProgram.ofComputeKeys("rank", VertexProgram.KeyType.VARIABLE, "seed", VertexProgram.KeyType.CONSTANT), g);
+        return g.elementMemory;
+    }
+
+    @Test
+    public void shouldPersistGraphToDirectory() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-persistence-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        assertTrue(g.getFeatures().graph().supportsPersistence());
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        KryoWriter.create().build().writeGraph(os, TinkerFactory.createClassic());
+        KryoReader.create().build().readGraph(new ByteArrayInputStream(os.toByteArray()), g);
+        g.close();
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        IoTest.assertClassicGraph(g1, false, false);
+        g1.close();
+
+        // a checkpoint copies the properties that were never read without decoding them
+        final TinkerGraph g2 = TinkerGraph.open(Optional.of(conf));
+        IoTest.assertClassicGraph(g2, false, false);
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldAlterPersistedGraphAfterReopening() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-persistence-alter-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final Vertex marko = g.addVertex("name", "marko");
+        final Vertex stephen = g.addVertex("name", "stephen");
+        marko.setProperty("locations", AnnotatedList.make());
+        final Property<AnnotatedList<String>> locations = marko.getProperty("locations");
+        locations.get().addValue("san diego", "startTime", 1997, "endTime", 2001);
+        locations.get().addValue("santa fe", "startTime", 2005);
+        marko.addEdge("knows", stephen, "weight", 0.5f);
+        g.memory().set("run", 1l);
+        g.close();
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(2, g1.V().count());
+        assertEquals(1l, (long) g1.memory().get("run"));
+        final Vertex marko1 = g1.v(marko.getId());
+        final AnnotatedList<String> locations1 = marko1.getValue("locations");
+        assertEquals(2, locations1.annotatedValues().count());
+        final AnnotatedValue<String> sanDiego = locations1.annotatedValues().toList().stream().filter(v -> v.getValue().equals("san diego")).findFirst().get();
+        assertEquals(2001, sanDiego.getAnnotation("endTime").get());
+        assertEquals(0.5f, marko1.outE("knows").next().getValue("weight"), 0.0001f);
+
+        final Vertex josh = g1.addVertex("name", "josh");
+        marko1.addEdge("knows", josh);
+        g1.v(stephen.getId()).addEdge("knows", marko1);
+        g1.v(stephen.getId()).remove();
+        marko1.setProperty("name", "marko a. rodriguez");
+        g1.close();
+
+        final TinkerGraph g2 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(2, g2.V().count());
+        assertEquals(1, g2.E().count());
+        assertEquals("marko a. rodriguez", g2.v(marko.getId()).getValue("name"));
+        assertEquals("josh", g2.v(marko.getId()).out("knows").next().getValue("name"));
+        assertFalse(g2.v(josh.getId()).out().hasNext());
+        assertEquals(josh, g2.v(marko.getId()).out("knows").next());
+        assertFalse(g2.v(marko.getId()).in().hasNext());
+        assertFalse(josh.getId().equals(g2.addVertex().getId()));
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldRestoreIndicesOfPersistedGraph() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-persistence-index-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.RANGE);
+        g.createIndex(Element.LABEL, Edge.class);
+        g.createCompositeIndex(Vertex.class, "name", "age");
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        KryoWriter.create().build().writeGraph(os, TinkerFactory.createClassic());
+        KryoReader.create().build().readGraph(new ByteArrayInputStream(os.toByteArray()), g);
+        g.close();
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(2, g1.getIndexedKeys(Vertex.class).size());
+        assertEquals(TinkerGraph.IndexType.RANGE, g1.getIndexType("age", Vertex.class));
+        assertEquals(1, g1.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g1, "name", "marko").size());
+        assertEquals(2, TinkerHelper.queryVertexIndex(g1, "age", 29, true, 32, true).size());
+        assertEquals(1, TinkerHelper.queryVertexIndex(g1, Arrays.asList("name", "age"), Arrays.asList("josh", 32)).size());
+        assertEquals(2, TinkerHelper.queryEdgeIndex(g1, Element.LABEL, "knows").size());
+        assertEquals(6, g1.getIndexStatistics("name", Vertex.class).getElementCount());
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldReplayLogAfterCrash() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-log-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+        conf.setProperty(TinkerGraph.CONFIG_LOG, true);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        KryoWriter.create().build().writeGraph(os, TinkerFactory.createClassic());
+        KryoReader.create().build().readGraph(new ByteArrayInputStream(os.toByteArray()), g);
+        g.close();
+
+        // the graph is not closed after these alterations, as if the process had died
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        g1.createIndex("name", Vertex.class);
+        final Vertex stephen = g1.addVertex(Element.LABEL, "person", "name", "stephen");
+        g1.v(1).addEdge("knows", stephen, "weight", 0.75f);
+        g1.v(1).setProperty("name", "mark");
+        g1.v(2).getProperty("age").remove();
+        g1.v(6).remove();
+        g1.e(7).setProperty("weight", 0.25f);
+        g1.e(9).remove();
+
+        final TinkerGraph g2 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(6, g2.V().count());
+        assertEquals(5, g2.E().count());
+        assertTrue(g2.getIndexedKeys(Vertex.class).contains("name"));
+        assertEquals(1, TinkerHelper.queryVertexIndex(g2, "name", "stephen").size());
+        assertEquals("person", g2.v(stephen.getId()).getLabel());
+        assertEquals(0.75f, g2.v(stephen.getId()).inE("knows").next().getValue("weight"), 0.0001f);
+        assertEquals("mark", g2.v(1).getValue("name"));
+        assertFalse(g2.v(2).getProperty("age").isPresent());
+        assertEquals(0.25f, g2.e(7).getValue("weight"), 0.0001f);
+        assertEquals(3, g2.v(1).outE().count());
+        g2.close();
+
+        final TinkerGraph g3 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(6, g3.V().count());
+        assertEquals(5, g3.E().count());
+        assertEquals(0l, new File(location, "generation-2/log.tgl").length());
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldReplayAnnotatedListLogAfterCrash() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-log-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+        conf.setProperty(TinkerGraph.CONFIG_LOG, true);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final Vertex marko = g.addVertex(Element.ID, 1, "names", AnnotatedList.make());
+        marko.<AnnotatedList<String>>getValue("names").addValue("marko", "time", 1);
+        marko.<AnnotatedList<String>>getValue("names").addValue("mrodriguez", "time", 2);
+        g.close();
+
+        // the graph is not closed after these alterations, as if the process had died
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        final AnnotatedList<String> names = g1.v(1).getValue("names");
+        names.addValue("marko a. rodriguez", "time", 3, "source", "dblp");
+        names.addValue("okram", "time", 4);
+        names.annotatedValues().<AnnotatedValue<String>>has("time", 1).forEach(AnnotatedValue::remove);
+        names.annotatedValues().<AnnotatedValue<String>>has("time", 2).forEach(value -> value.setAnnotation("source", "twitter"));
+        names.annotatedValues().<AnnotatedValue<String>>has("time", 3).forEach(value -> value.removeAnnotation("source"));
+        names.annotatedValues().<AnnotatedValue<String>>has("time", 4).forEach(value -> value.setAnnotation("time", 5));
+
+        final TinkerGraph g2 = TinkerGraph.open(Optional.of(conf));
+        final List<AnnotatedValue<String>> values = g2.v(1).<AnnotatedList<String>>getValue("names").annotatedValues().toList();
+        assertEquals(Arrays.asList("mrodriguez", "marko a. rodriguez", "okram"), values.stream().map(AnnotatedValue::getValue).collect(Collectors.toList()));
+        assertEquals("twitter", values.get(0).<String>getAnnotation("source").get());
+        assertFalse(values.get(1).getAnnotation("source").isPresent());
+        assertEquals(3, values.get(1).<Integer>getAnnotation("time").get().intValue());
+        assertEquals(5, values.get(2).<Integer>getAnnotation("time").get().intValue());
+        g2.close();
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldTruncateLogAtPartlyWrittenRecord() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-log-truncate-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+        conf.setProperty(TinkerGraph.CONFIG_LOG, true);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        g.addVertex("name", "marko");
+        final File log = new File(location, "generation-0/log.tgl");
+        final long length = log.length();
+        try (final OutputStream out = new FileOutputStream(log, true)) {
+            out.write(new byte[]{0, 0, 0, 20, 1, 2, 3, 4, 5});
+        }
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(1, g1.V().count());
+        assertEquals(length, log.length());
+        g1.addVertex("name", "stephen");
+
+        final TinkerGraph g2 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(2, g2.V().count());
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldForceLogInBatches() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-log-batch-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+        conf.setProperty(TinkerGraph.CONFIG_LOG, true);
+        conf.setProperty(TinkerGraph.CONFIG_LOG_SYNC_BATCH, 3);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final File log = new File(location, "generation-0/log.tgl");
+        g.addVertex();
+        g.addVertex();
+        assertEquals(0l, log.length());
+        g.addVertex();
+        assertTrue(log.length() > 0l);
+        g.close();
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(3, g1.V().count());
+        deleteDirectory(new File(location));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotLogWithoutDirectory() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_LOG, true);
+        TinkerGraph.open(Optional.of(conf));
+    }
+
+    @Test
+    public void shouldHoldPropertiesInColumns() throws Exception {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(columnConfiguration()));
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        KryoWriter.create().build().writeGraph(os, TinkerFactory.createClassic());
+        KryoReader.create().build().readGraph(new ByteArrayInputStream(os.toByteArray()), g);
+        IoTest.assertClassicGraph(g, false, false);
+
+        assertEquals(2, g.V().has("age", T.gt, 30).count());
+        assertEquals(1, g.E().has("weight", 1.0f).has(Element.LABEL, "knows").count());
+        assertEquals(4, g.V().has("age").count());
+        assertEquals(2, g.V().hasNot("age").count());
+
+        // a value of another class moves the column off its primitive array without losing the values it held
+        g.v(1).setProperty("age", "old");
+        assertEquals("old", g.v(1).getValue("age"));
+        assertEquals(27, (int) g.v(2).getValue("age"));
+        assertEquals(1, g.V().has("age", "old").count());
+
+        g.v(2).getProperty("age").remove();
+        assertFalse(g.v(2).getProperty("age").isPresent());
+        assertEquals(1, g.v(2).getProperties().size());
+        g.v(2).remove();
+        assertEquals(3, g.V().has("age").count());
+        assertEquals(1, g.addVertex("age", 1).getProperties().size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotGetValueOfMissingColumnProperty() {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(columnConfiguration()));
+        g.addVertex("name", "marko").getValue("age");
+    }
+
+    @Test
+    public void shouldHoldColumnPropertiesPastTheDictionaryLimit() {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(columnConfiguration()));
+        for (int i = 0; i < 70000; i++) {
+            g.addVertex(Element.ID, i, "name", "vertex" + i);
+        }
+        assertEquals("vertex0", g.v(0).getValue("name"));
+        assertEquals("vertex69999", g.v(69999).getValue("name"));
+        assertEquals(1, g.V().has("name", "vertex65536").count());
+    }
+
+    @Test
+    public void shouldReuseColumnOrdinalsOfRemovedElements() {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(columnConfiguration()));
+        final List<Vertex> removed = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            removed.add(g.addVertex("name", "vertex" + i, "age", i));
+        }
+        removed.forEach(Vertex::remove);
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex(Element.ID, i, "name", "new" + i);
+        }
+
+        assertEquals(1000, g.columns.nextOrdinal());
+        assertEquals(1000, g.V().count());
+        assertEquals(0, g.V().has("age").count());
+        assertEquals("new500", g.v(500).getValue("name"));
+        assertEquals(1, g.v(500).getProperties().size());
+        assertTrue(removed.get(0).getProperties().isEmpty());
+        assertFalse(removed.get(0).getProperty("name").isPresent());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotSetColumnPropertyOfRemovedElement() {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(columnConfiguration()));
+        final Vertex v = g.addVertex("name", "marko");
+        v.remove();
+        g.addVertex("name", "stephen");
+        v.setProperty("name", "mark");
+    }
+
+    @Test
+    public void shouldIsolateSnapshotFromColumnWrites() throws Exception {
+        final TinkerGraph g = TinkerGraph.open(Optional.of(columnConfiguration()));
+        final Vertex v = g.addVertex(Element.ID, 1, "name", "marko", "age", 29);
+        final TinkerGraph snapshot = g.snapshot();
+        final Vertex view = snapshot.v(1);
+
+        v.setProperty("name", "mark");
+        v.getProperty("age").remove();
+
+        assertEquals("marko", view.getValue("name"));
+        assertEquals("marko", snapshot.v(1).getValue("name"));
+        assertEquals(29, (int) snapshot.v(1).getValue("age"));
+        assertEquals("mark", g.v(1).getValue("name"));
+        assertFalse(g.v(1).getProperty("age").isPresent());
+        snapshot.close();
+    }
+
+    @Test
+    public void shouldPersistColumnProperties() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-column-persistence-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = columnConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        KryoWriter.create().build().writeGraph(os, TinkerFactory.createClassic());
+        KryoReader.create().build().readGraph(new ByteArrayInputStream(os.toByteArray()), g);
+        g.close();
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        IoTest.assertClassicGraph(g1, false, false);
+        g1.v(1).setProperty("name", "mark");
+        g1.close();
+
+        final TinkerGraph g2 = TinkerGraph.open(Optional.of(conf));
+        assertEquals("mark", g2.v(1).getValue("name"));
+        assertEquals(29, (int) g2.v(1).getValue("age"));
+        g2.close();
+        deleteDirectory(new File(location));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotHoldColumnPropertiesInConcurrentMode() {
+        final Configuration conf = columnConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        TinkerGraph.open(Optional.of(conf));
+    }
+
+    @Test
+    public void shouldReadEdgesFromVertexCentricIndexInOrder() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        for (int i = 0; i < 100; i++) {
+            v.addEdge("rated", g.addVertex(), "stars", (i * 37) % 100);
+        }
+        v.addEdge("knows", g.addVertex(), "stars", 99);
+        g.createVertexCentricIndex("rated", "stars");
+        assertTrue(g.getVertexCentricIndexedKeys("rated").contains("stars"));
+
+        assertEquals(Arrays.asList(90, 91, 92, 93, 94, 95, 96, 97, 98, 99), v.outE("rated").has("stars", T.gte, 90).value("stars").toList());
+        assertEquals(Arrays.asList(10, 11, 12), v.outE("rated").interval("stars", 10, 20).value("stars").range(0, 2).toList());
+        assertEquals(Arrays.asList(50), v.outE("rated").has("stars", 50).value("stars").toList());
+        assertEquals(11, v.outE("rated", "knows").has("stars", T.gte, 90).count());
+        assertEquals(0, v.inE("rated").has("stars", T.gte, 90).count());
+
+        final Edge edge = v.outE("rated").<Edge>has("stars", 5).next();
+        edge.setProperty("stars", 200);
+        assertEquals(11, v.outE("rated").has("stars", T.gte, 90).count());
+        assertEquals(0, v.outE("rated").has("stars", 5).count());
+        edge.getProperty("stars").remove();
+        assertEquals(10, v.outE("rated").has("stars", T.gte, 90).count());
+        v.outE("rated").<Edge>has("stars", 99).next().remove();
+        assertEquals(9, v.outE("rated").has("stars", T.gte, 90).count());
+    }
+
+    @Test
+    public void shouldReadEdgesFromSeveralVertexCentricIndicesInOrder() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        for (int i = 0; i < 100; i++) {
+            v.addEdge("rated", g.addVertex(), "stars", 2 * i);
+            v.addEdge("liked", g.addVertex(), "stars", 2 * i + 1);
+            g.addVertex().addEdge("rated", v, "stars", 2 * i + 1);
+        }
+        g.createVertexCentricIndex("rated", "stars");
+        g.createVertexCentricIndex("liked", "stars");
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), v.outE("rated", "liked").has("stars", T.lt, 6).value("stars").toList());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), v.bothE("rated").has("stars", T.lt, 6).value("stars").toList());
+        assertEquals(Arrays.asList(197, 198, 199), v.bothE("rated").has("stars", T.gt, 196).value("stars").toList());
+    }
+
+    @Test
+    public void shouldUpdateVertexCentricIndexWithConcurrentWrites() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        g.createVertexCentricIndex("rated", "stars");
+        final Vertex v = g.addVertex();
+        for (int i = 0; i < 100; i++) {
+            v.addEdge("rated", g.addVertex(), "stars", 10000 + i);
+        }
+        final Edge edge = v.outE("rated").<Edge>has("stars", 10000).next();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    edge.setProperty("stars", (i * threads.length + offset) % 10000);
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(Arrays.asList(edge.<Integer>getValue("stars")), v.outE("rated").has("stars", T.lt, 10000).value("stars").toList());
+    }
+
+    @Test
+    public void shouldIndexVertexCentricEdgesOnceDegreeIsReached() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createVertexCentricIndex("rated", "stars");
+        final Vertex v = g.addVertex();
+        for (int i = 99; i >= 0; i--) {
+            v.addEdge("rated", g.addVertex(), "stars", i);
+        }
+        assertEquals(Arrays.asList(0, 1, 2), v.outE("rated").has("stars", T.lt, 3).value("stars").toList());
+        assertEquals(Arrays.asList(0, 1, 2), g.V().outE("rated").has("stars", T.lt, 3).value("stars").toList());
+        assertEquals(3, v.outE("rated").has("stars", T.lt, 3).inV().inE("rated").has("stars", T.lt, 3).count());
+
+        g.dropVertexCentricIndex("rated", "stars");
+        assertTrue(g.getVertexCentricIndexedKeys("rated").isEmpty());
+        assertEquals(3, v.outE("rated").has("stars", T.lt, 3).count());
+    }
+
+    @Test
+    public void shouldPersistVertexCentricIndex() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-vertex-centric-index-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final Vertex v = g.addVertex(Element.ID, 1l);
+        for (int i = 0; i < 100; i++) {
+            v.addEdge("rated", g.addVertex(), "stars", 99 - i);
+        }
+        g.createVertexCentricIndex("rated", "stars");
+        g.close();
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        assertTrue(g1.getVertexCentricIndexedKeys("rated").contains("stars"));
+        assertEquals(Arrays.asList(0, 1, 2), g1.v(1l).outE("rated").has("stars", T.lt, 3).value("stars").toList());
+        g1.close();
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldBulkLoadFromManyThreads() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("oid", Vertex.class);
+        final TinkerBulkLoader loader = g.bulkLoader();
+        final int threads = 4;
+        final int verticesPerThread = 1000;
+        final Thread[] producers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < verticesPerThread; i++) {
+                    final int oid = thread * verticesPerThread + i;
+                    loader.addVertex(Element.ID, "v" + oid, Element.LABEL, "person", "oid", oid);
+                    // each vertex links to one added by the next thread, which may not have been added yet
+                    loader.addEdge("v" + oid, "v" + ((oid + verticesPerThread) % (threads * verticesPerThread)), "next", "weight", 0.5d);
+                }
+            });
+            producers[t].start();
+        }
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+        loader.load();
+
+        assertEquals(threads * verticesPerThread, g.V().count());
+        assertEquals(threads * verticesPerThread, g.E().count());
+        assertEquals("person", g.v("v10").getLabel());
+        assertEquals(1, g.v("v10").out("next").count());
+        assertEquals("v" + (10 + verticesPerThread), g.v("v10").out("next").next().getId());
+        assertEquals(1, g.v("v10").in("next").count());
+        assertEquals(0.5d, g.v("v10").outE("next").next().getValue("weight"), 0.0001d);
+        assertEquals(1, TinkerHelper.queryVertexIndex(g, "oid", 10).size());
+
+        g.v("v10").addEdge("next", g.v("v11"));
+        assertEquals(2, g.v("v10").out("next").count());
+        assertEquals(2, g.v("v11").in("next").count());
+    }
+
+    @Test
+    public void shouldBulkLoadIntoGraphWithElements() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerBulkLoader loader = g.bulkLoader();
+        final Object id = loader.addVertex("name", "stephen");
+        loader.addEdge(1, id, "knows", "weight", 0.75f);
+        loader.addEdge(id, 2, "knows");
+        loader.load();
+
+        assertEquals(7, g.V().count());
+        assertEquals(8, g.E().count());
+        assertEquals("stephen", g.v(id).getValue("name"));
+        assertEquals(3, g.v(1).out("knows").count());
+        assertEquals(2, g.v(2).in("knows").count());
+        assertEquals(1, g.v(id).in("knows").count());
+        assertEquals(1, g.v(id).out("knows").count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotBulkLoadVertexWithTakenId() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerBulkLoader loader = g.bulkLoader();
+        loader.addVertex(Element.ID, 1);
+        loader.load();
+    }
+
+    @Test
+    public void shouldNotBulkLoadWithIdsTakenInGraph() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex(Element.ID, "1");
+        g.addVertex(Element.ID, "2");
+        final TinkerBulkLoader loader = g.bulkLoader();
+        final Object id = loader.addVertex();
+        assertFalse(id.equals("1") || id.equals("2"));
+        loader.load();
+        assertEquals(3, g.V().count());
+    }
+
+    @Test
+    public void shouldLeaveGraphAsItWasAfterFailedBulkLoad() {
+        final TinkerGraph g = TinkerFactory.createClassic();
+        final TinkerBulkLoader loader = g.bulkLoader();
+        final Object id = loader.addVertex("name", "stephen");
+        loader.addEdge(id, 1, "knows");
+        loader.addEdge(id, 100, "knows");
+        try {
+            loader.load();
+            fail("The edge to a vertex that does not exist should have failed the load");
+        } catch (IllegalStateException e) {
+            assertEquals(6, g.V().count());
+            assertEquals(6, g.E().count());
+            assertEquals(0, g.v(1).in("knows").count());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotAddToLoadedBulkLoader() {
+        final TinkerBulkLoader loader = TinkerGraph.open().bulkLoader();
+        loader.addVertex();
+        loader.load();
+        loader.addVertex();
+    }
+
+    @Test
+    public void shouldBulkLoadIntoLoggedGraph() throws Exception {
+        final String location = "/tmp/tp/tinkergraph-bulk-load-log-test";
+        deleteDirectory(new File(location));
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, location);
+        conf.setProperty(TinkerGraph.CONFIG_LOG, true);
+
+        // the graph is not closed after these alterations, as if the process had died
+        final TinkerGraph g = TinkerGraph.open(Optional.of(conf));
+        final TinkerBulkLoader loader = g.bulkLoader();
+        final Object marko = loader.addVertex("name", "marko");
+        final Object stephen = loader.addVertex("name", "stephen");
+        loader.addEdge(marko, stephen, "knows");
+        loader.load();
+        g.v(stephen).addEdge("knows", g.addVertex("name", "daniel"));
+
+        final TinkerGraph g1 = TinkerGraph.open(Optional.of(conf));
+        assertEquals(3, g1.V().count());
+        assertEquals(2, g1.E().count());
+        assertEquals("daniel", g1.v(marko).out("knows").out("knows").next().getValue("name"));
+        g1.close();
+        deleteDirectory(new File(location));
+    }
+
+    @Test
+    public void shouldBuildIndexInBackgroundWhileWriting() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration));
+        for (int i = 0; i < 50000; i++) {
+            g.addVertex(Element.ID, i, "bucket", i % 10);
+        }
+
+        final TinkerIndexBuild build = g.createIndexInBackground("bucket", Vertex.class);
+        for (int i = 0; i < 1000; i++) {
+            g.v(i).setProperty("bucket", 10);
+            g.v(i + 1000).getProperty("bucket").remove();
+            g.v(i + 2000).remove();
+            g.addVertex(Element.ID, 50000 + i, "bucket", 10);
+        }
+        build.await();
+
+        assertTrue(build.isReady());
+        assertEquals(1.0d, build.getProgress(), 0.0d);
+        assertEquals(50000, build.getElementCount());
+        assertTrue(g.getIndexedKeys(Vertex.class).contains("bucket"));
+        assertEquals(2000, g.V().has("bucket", 10).count());
+        assertEquals(4700, g.V().has("bucket", 0).count());
+        assertEquals(49000, g.getIndexStatistics("bucket", Vertex.class).getElementCount());
+    }
+
+    @Test
+    public void shouldUpdateIndexWithConcurrentWrites() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration));
+        g.createIndex("bucket", Vertex.class);
+        final Vertex v = g.addVertex("bucket", -1);
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    v.setProperty("bucket", (i * threads.length + offset) % 100);
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, g.V().has("bucket", v.getValue("bucket")).count());
+        assertEquals(1, g.getIndexStatistics("bucket", Vertex.class).getElementCount());
+    }
+
+    @Test
+    public void shouldNotReportIndexUntilBuiltInBackground() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration));
+        g.addVertex("name", "marko");
+
+        final TinkerIndexBuild build = g.createIndexInBackground("name", Vertex.class, TinkerGraph.IndexType.RANGE);
+        assertEquals(build.isReady(), g.getIndexedKeys(Vertex.class).contains("name"));
+        assertEquals(1, g.V().has("name", "marko").count());
+        build.await();
+        assertTrue(g.getIndexedKeys(Vertex.class).contains("name"));
+        assertEquals(TinkerGraph.IndexType.RANGE, g.getIndexType("name", Vertex.class));
+        assertTrue(g.createIndexInBackground("name", Vertex.class).isReady());
+        assertEquals(1, g.V().has("name", "marko").count());
+    }
+
+    @Test
+    public void shouldDropIndexBeingBuiltInBackground() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(Optional.of(configuration));
+        for (int i = 0; i < 50000; i++) {
+            g.addVertex("bucket", i % 10);
+        }
+
+        final TinkerIndexBuild build = g.createIndexInBackground("bucket", Vertex.class);
+        g.dropIndex("bucket", Vertex.class);
+        build.await();
+        assertFalse(g.getIndexedKeys(Vertex.class).contains("bucket"));
+        assertEquals(5000, g.V().has("bucket", 0).count());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotBuildIndexInBackgroundWithoutConcurrentAccess() {
+        TinkerGraph.open().createIndexInBackground("name", Vertex.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotBatchWithoutRoomForAHolder() {
+        new BatchTraversalEngine(0);
+    }
+
+    @Test
+    public void shouldNotProcessEveryPartitionToReadTheFirstEndInParallel() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 10000; i++) {
+            g.addVertex("i", i);
+        }
+        final Traversal<Vertex, Object> traversal = g.V().groupCount("a").value("i");
+        final Iterator<Object> ends = traversal.submit(new ParallelTraversalEngine(new ForkJoinPool(2)));
+        ends.next();
+        assertTrue(traversal.memory().<Map<Object, Long>>get("a").size() < 10000);
+        ends.forEachRemaining(end -> {
+        });
+        assertEquals(10000, traversal.memory().<Map<Object, Long>>get("a").size());
+    }
+
+    @Test
+    public void shouldApplyClosuresOnTheCallingThreadInParallel() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex().addEdge("knows", v);
+        }
+        final Set<Thread> threads = g.V().out("knows").map(h -> Thread.currentThread())
+                .submit(new ParallelTraversalEngine(new ForkJoinPool(2))).toList().stream().collect(Collectors.toSet());
+        assertEquals(1, threads.size());
+        assertTrue(threads.contains(Thread.currentThread()));
+    }
+
+    private static Configuration columnConfiguration() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_PROPERTIES, TinkerGraph.COLUMN_PROPERTIES);
+        return conf;
+    }
+
+    protected void deleteDirectory(final File directory) {
+        final File[] files = directory.listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                if (file.isDirectory())
+                    deleteDirectory(file);
+                else
+                    file.delete();
+            }
+        }
+        directory.delete();
+    }
+
     protected void deleteFile(final String path) throws IOException {
         final File file = new File(path);
         if (file.exists()) {